@@ -1,6 +1,7 @@
 #!/bin/bash
 
-BASE="http://localhost:4567"
+# Server root can be overridden, e.g. BASE_URL=http://localhost:8080 ./interoperabilityCapability.sh
+BASE="${BASE_URL:-http://localhost:4567}"
 CT_JSON="Content-Type: application/json"
 
 echo "==== API TESTING START (Interoperability JSON) ===="
@@ -1,6 +1,7 @@
 #!/bin/bash
 
-BASE_URL="http://localhost:4567/projects"
+# Server root can be overridden, e.g. BASE_URL=http://localhost:8080 ./projectCapability.sh
+BASE_URL="${BASE_URL:-http://localhost:4567}/projects"
 CONTENT_TYPE="Content-Type: application/json"
 
 echo "==== API TESTING START ===="
@@ -1,18 +1,41 @@
 package com.ecse429.restapi;
 
+import com.ecse429.restapi.calls.JsonCalls;
+import com.ecse429.restapi.calls.RestAssuredJsonCalls;
+import com.ecse429.restapi.calls.SdkJsonCalls;
+import com.ecse429.restapi.client.TodoManagerClient;
+import com.ecse429.restapi.metrics.LatencyRecordingFilter;
+import com.ecse429.restapi.metrics.LatencyReportExtension;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.replay.RecordingFilter;
+import com.ecse429.restapi.replay.TrafficLog;
+import com.ecse429.restapi.server.ManagedServerExtension;
+import com.ecse429.restapi.server.ServerTarget;
 import io.restassured.RestAssured;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Base test class for all API tests.
  * Sets up RestAssured configuration for testing the Todo Manager REST API.
+ * Every request is timed; percentiles land in target/perf-reports (see {@link LatencyReportExtension}).
+ * With -Dserver.managed=true the run launches its own server (see {@link ManagedServerExtension}).
+ * With -Drecord.traffic=<file> every request and response is logged for replay (see {@link RecordingFilter}).
  */
+@ExtendWith({ManagedServerExtension.class, LatencyReportExtension.class})
 public abstract class BaseApiTest {
 
     protected static final String BASE_URI = "http://localhost";
-    protected static final int PORT = 4567;
     protected static final String BASE_PATH = "";
 
+    // Distinguishes this JVM from other forks or runs sharing the same server
+    private static final String RUN_ID = Long.toString(System.nanoTime() ^ ProcessHandle.current().pid(), 36);
+    private static final AtomicLong TITLE_SEQ = new AtomicLong();
+    private static TodoManagerClient client;
+
     /**
      * Configure RestAssured before all tests.
      * Sets the base URI and port for the REST API.
@@ -20,10 +43,68 @@ public abstract class BaseApiTest {
     @BeforeAll
     public static void setupRestAssured() {
         RestAssured.baseURI = BASE_URI;
-        RestAssured.port = PORT;
+        RestAssured.port = port();
         RestAssured.basePath = BASE_PATH;
-        
+
+        // Record latency of every given()/when() call, registered once per JVM
+        synchronized (BaseApiTest.class) {
+            if (!RestAssured.filters().contains(LatencyRecordingFilter.INSTANCE)) {
+                RestAssured.filters(LatencyRecordingFilter.INSTANCE);
+            }
+            // With -Drecord.traffic=<file>, also log every request and response for replay
+            TrafficLog.recorder().ifPresent(log -> {
+                if (RestAssured.filters().stream().noneMatch(f -> f instanceof RecordingFilter)) {
+                    RestAssured.filters(new RecordingFilter(log));
+                }
+            });
+        }
+
         // Enable logging for debugging (optional)
         // RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
     }
+
+    /**
+     * Title no other test, parallel worker or concurrent run can produce, e.g. "UniqueTitle_k3x9a_17".
+     * Use it wherever a test filters or searches the shared collections by title.
+     */
+    protected static String uniqueTitle(String prefix) {
+        return prefix + "_" + RUN_ID + "_" + TITLE_SEQ.incrementAndGet();
+    }
+
+    /**
+     * Port of the server under test: the managed server, this fork's shard in -Dserver.ports,
+     * or 4567 (see {@link ServerTarget}).
+     */
+    protected static int port() {
+        return ServerTarget.port();
+    }
+
+    /**
+     * Base URL of the API under test, for code that talks to the server
+     * without RestAssured (load engine, benchmarks).
+     */
+    public static String baseUrl() {
+        return BASE_URI + ":" + port() + BASE_PATH;
+    }
+
+    /**
+     * The JSON calls of the functional suites: through RestAssured, or with -Dsuite.client=sdk
+     * through {@link #client()} (see {@link JsonCalls}).
+     */
+    protected static JsonCalls jsonCalls() {
+        return PerfConfig.stringProp("suite.client", "restassured").equalsIgnoreCase("sdk")
+            ? new SdkJsonCalls(BaseApiTest::client) : new RestAssuredJsonCalls();
+    }
+
+    /**
+     * Typed async client for the same server, shared by the whole JVM. Its requests are timed
+     * into the same latency reports as RestAssured's.
+     */
+    protected static synchronized TodoManagerClient client() {
+        URI base = URI.create(baseUrl());
+        if (client == null || !client.baseUri().equals(base)) {
+            client = TodoManagerClient.create(base, LatencyRecordingFilter::begin);
+        }
+        return client;
+    }
 }
@@ -0,0 +1,183 @@
+package com.ecse429.restapi.Benchmarks.aggregate;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.BackgroundTraffic;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.Workload;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.metrics.EndpointLatency;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.perf.RequestSampler;
+import com.ecse429.restapi.seed.DataSeeder;
+import com.ecse429.restapi.seed.Degree;
+import com.ecse429.restapi.seed.SeedDataset;
+import com.ecse429.restapi.seed.SeedDatasets;
+import com.ecse429.restapi.seed.SeedPlan;
+import org.junit.jupiter.api.*;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cost of the two undocumented aggregate endpoints that touch the whole data set,
+ * covered functionally by GetCategoriesFromTodosUndocTest and DeleteProjectsTasksUndocTest:
+ *
+ * - GET /todos/categories       every category linked to any todo
+ * - DELETE /projects/tasks      deletes every todo that is a task of any project
+ *                               (the todos themselves, not only the links)
+ *
+ * For each size it reports the operation's own latency, the time until its effect is
+ * visible to a client (a new link shows up / the task todos are gone), and the latency
+ * of concurrent by-id reads before and while the operation runs.
+ *
+ * DELETE /projects/tasks wipes task todos server-wide, including those of other seeded
+ * datasets, so run this benchmark on its own server. Everything the run seeded, the
+ * {@code aggregate} dataset included, is deleted afterwards along with its checkpoint.
+ *
+ * mvn test -Pperf -Dtest=AggregateEndpointsBenchmark -Dbench.sizes=1000,10000,100000
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // allow non-static @AfterAll
+public class AggregateEndpointsBenchmark extends BaseApiTest {
+
+    private static final int TASKS_PER_PROJECT = 10;
+    /** Poll pause, doubled after every miss up to the maximum, so waiting does not load the server. */
+    private static final long POLL_MIN_NANOS = TimeUnit.MICROSECONDS.toNanos(250);
+    private static final long POLL_MAX_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private LoadContext ctx;
+    private DataSeeder seeder;
+    private SeedDataset dataset;
+
+    @Test
+    void aggregateEndpointsCost() throws Exception {
+        List<Integer> sizes = PerfConfig.intListProp("bench.sizes", List.of(100, 1000, 10000));
+        Duration window = PerfConfig.durationProp("bench.window", Duration.ofSeconds(3));
+        int users = PerfConfig.intProp("bench.backgroundUsers", 4);
+        ctx = LoadContext.forBaseApiTest();
+        seeder = new DataSeeder(ctx, PerfConfig.intProp("seed.parallelism", 32));
+        RequestSampler sampler = RequestSampler.fromSystemProperties(ctx.client());
+        Workload reads = new Workload("by-id", List.of(Workloads.getByIdOp("todos", 1), Workloads.getByIdOp("projects", 1)));
+
+        ReportTable table = new ReportTable("Aggregate endpoints vs data size (background: " + users + " readers)",
+            "operation", "size", "bytes", "op ms", "visible after ms",
+            "bg p50 before", "bg p50 during", "bg p99 before", "bg p99 during", "bg p99 x");
+        int pooled = 0;
+        for (int size : sizes) {
+            dataset = SeedDatasets.reuseOrSeed(ctx, seeder, "aggregate", new SeedPlan(
+                size, Math.max(1, size / 10), Math.max(1, size / 10), Degree.fixed(0),
+                Degree.parse(PerfConfig.stringProp("seed.categoriesPerTodo", "uniform:0-2")), Degree.fixed(0), 42));
+            for (; pooled < dataset.count("todos"); pooled++) ctx.stable("todos").add(dataset.ids("todos").get(pooled));
+            ctx.stable("projects").add(dataset.ids("projects").get(0));
+
+            // GET /todos/categories
+            RequestSampler.Sample s = sampler.sample("GET /todos/categories", ctx.get("/todos/categories", "application/json"));
+            Assertions.assertEquals(0, s.errors, "GET /todos/categories failed at size " + size);
+            double visible = categoryVisibleAfterMillis(dataset.ids("todos").get(0));
+            try (BackgroundTraffic bg = BackgroundTraffic.start(ctx, reads, users)) {
+                Thread.sleep(window.toMillis());
+                long from = System.nanoTime();
+                long until = from + window.toNanos();
+                while (System.nanoTime() < until) {
+                    ctx.client().send(ctx.get("/todos/categories", "application/json"), HttpResponse.BodyHandlers.discarding());
+                }
+                row(table, "GET /todos/categories (back to back)", size, Math.round(s.bytesPerResponse()),
+                    s.latency.responseMillis(50), visible, bg, from, System.nanoTime());
+            }
+
+            // DELETE /projects/tasks
+            List<String> tasks = seedProjectsWithTasks(size);
+            try (BackgroundTraffic bg = BackgroundTraffic.start(ctx, reads, users)) {
+                Thread.sleep(window.toMillis());
+                long from = System.nanoTime();
+                HttpResponse<Void> resp = ctx.client().send(ctx.delete("/projects/tasks"), HttpResponse.BodyHandlers.discarding());
+                double opMillis = (System.nanoTime() - from) / 1e6;
+                Assertions.assertEquals(200, resp.statusCode(), "DELETE /projects/tasks at size " + size);
+                awaitDeleted(tasks);
+                long to = System.nanoTime();
+                row(table, "DELETE /projects/tasks (" + size / TASKS_PER_PROJECT + " projects)", size, null,
+                    opMillis, (to - from) / 1e6, bg, from, to);
+                Assertions.assertEquals(0, bg.errors(), "background reads failed at size " + size);
+            }
+        }
+        seeder.report().save("aggregate-endpoints-seeding");
+        table.publish("aggregate-endpoints");
+    }
+
+    @AfterAll
+    void deleteSeededData() throws Exception {
+        if (seeder == null) return;
+        seeder.deleteCreated();
+        if (dataset != null) Files.deleteIfExists(SeedDatasets.checkpoint("aggregate"));
+    }
+
+    private static void row(ReportTable table, String operation, int size, Long bytes, double opMillis,
+                            double visibleMillis, BackgroundTraffic bg, long from, long to) {
+        EndpointLatency before = bg.before("before", from);
+        EndpointLatency during = bg.overlapping("during", from, to);
+        table.row(operation, size, bytes, opMillis, visibleMillis,
+            before.responseMillis(50), during.responseMillis(50), before.responseMillis(99), during.responseMillis(99),
+            during.responseMillis(99) / before.responseMillis(99));
+    }
+
+    /**
+     * Links a new category to {@code todoId} and polls GET /todos/categories, with backoff, until it
+     * is listed; NaN after 30s.
+     */
+    private double categoryVisibleAfterMillis(String todoId) throws Exception {
+        String categoryId = seeder.createEntities("categories", 1, "aggregateProbe").get(0);
+        long t0 = System.nanoTime();
+        ctx.client().send(ctx.postJson("/todos/" + todoId + "/categories", "{\"id\":\"" + categoryId + "\"}"),
+            HttpResponse.BodyHandlers.discarding());
+        long deadline = t0 + Duration.ofSeconds(30).toNanos();
+        for (long pause = POLL_MIN_NANOS; System.nanoTime() < deadline; pause = Math.min(2 * pause, POLL_MAX_NANOS)) {
+            String body = ctx.client().send(ctx.get("/todos/categories", "application/json"),
+                HttpResponse.BodyHandlers.ofString()).body();
+            if (body.contains("\"id\":\"" + categoryId + "\"")) return (System.nanoTime() - t0) / 1e6;
+            LockSupport.parkNanos(Math.min(pause, deadline - System.nanoTime()));
+        }
+        return Double.NaN;
+    }
+
+    /** {@code size} fresh todos spread over projects, TASKS_PER_PROJECT each. */
+    private List<String> seedProjectsWithTasks(int size) throws Exception {
+        List<String> todos = seeder.createEntities("todos", size, "aggregateTask");
+        List<String> projects = seeder.createEntities("projects", Math.max(1, size / TASKS_PER_PROJECT), "aggregateTask");
+        List<SeedDataset.Edge> edges = new ArrayList<>(size);
+        for (int i = 0; i < todos.size(); i++) {
+            edges.add(new SeedDataset.Edge(projects.get(i % projects.size()), todos.get(i)));
+        }
+        seeder.link(new SeedDataset(ctx.baseUri().toString()), "projects", "tasks", edges);
+        return todos;
+    }
+
+    /**
+     * Polls a sample of the task todos, all at once per pass with backoff between passes, until
+     * every one of them returns 404.
+     */
+    private void awaitDeleted(List<String> todos) throws Exception {
+        List<String> probes = new ArrayList<>();
+        for (int i = 0; i < todos.size(); i += Math.max(1, todos.size() / 20)) probes.add(todos.get(i));
+        probes.add(todos.get(todos.size() - 1));
+        long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+        for (long pause = POLL_MIN_NANOS; !probes.isEmpty(); pause = Math.min(2 * pause, POLL_MAX_NANOS)) {
+            Assertions.assertTrue(System.nanoTime() < deadline, probes.size() + " task todos still present after 60s");
+            List<CompletableFuture<HttpResponse<Void>>> pass = new ArrayList<>();
+            for (String id : probes) {
+                pass.add(ctx.client().sendAsync(ctx.get("/todos/" + id, "application/json"), HttpResponse.BodyHandlers.discarding()));
+            }
+            List<String> remaining = new ArrayList<>();
+            for (int i = 0; i < probes.size(); i++) {
+                if (pass.get(i).join().statusCode() != 404) remaining.add(probes.get(i));
+            }
+            probes = remaining;
+            if (!probes.isEmpty()) LockSupport.parkNanos(pause);
+        }
+    }
+}
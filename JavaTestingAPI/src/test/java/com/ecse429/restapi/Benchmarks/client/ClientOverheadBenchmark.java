@@ -0,0 +1,107 @@
+package com.ecse429.restapi.Benchmarks.client;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.client.TodoManagerClient;
+import com.ecse429.restapi.perf.ClientUsage;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import io.restassured.builder.RequestSpecBuilder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Client-side cost of the same scenario through RestAssured and through the
+ * {@link TodoManagerClient} SDK, against the same server.
+ *
+ * One iteration is the four requests of {@link ClientScenario}: GET /todos/:id,
+ * GET /projects/:id/tasks (5 tasks), POST /todos and DELETE of that todo. It runs {@code bench.warmupIterations} (default 500) times unmeasured,
+ * then {@code bench.iterations} (default 2000) times with:
+ *
+ *   restassured   given()/when()/then() and JsonPath, one iteration at a time
+ *   sdk           the SDK with join() after every call, one iteration at a time
+ *   sdk-async     the SDK's futures chained, {@code bench.inflight} (default 8) iterations at once
+ *
+ * Client CPU is this JVM's process CPU time (JIT and GC included) and client allocation the
+ * growth of every live thread's allocated-bytes counter, both per request. Both clients record
+ * into the suite's latency registry, as they do in the tests.
+ *
+ * mvn test -Pperf -Dtest=ClientOverheadBenchmark -Dbench.iterations=5000 -Dbench.inflight=16
+ */
+public class ClientOverheadBenchmark extends BaseApiTest {
+
+    private ClientScenario scenario;
+
+    @BeforeEach
+    void createEntities() {
+        scenario = new ClientScenario(new RequestSpecBuilder().build(), client(), uniqueTitle("clientBench"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        scenario.close();
+    }
+
+    @Test
+    void compareClients() {
+        int warmup = PerfConfig.intProp("bench.warmupIterations", 500);
+        int iterations = PerfConfig.intProp("bench.iterations", 2000);
+        int inflight = PerfConfig.intProp("bench.inflight", 8);
+
+        Map<String, Supplier<CompletableFuture<?>>> clients = new LinkedHashMap<>();
+        clients.put("restassured", () -> CompletableFuture.completedFuture(scenario.restAssuredIteration()));
+        clients.put("sdk", () -> CompletableFuture.completedFuture(scenario.sdkIteration()));
+        clients.put("sdk-async", scenario::asyncIteration);
+
+        ReportTable table = new ReportTable("Client overhead, " + iterations + " iterations of "
+            + ClientScenario.REQUESTS_PER_ITERATION + " requests (sdk-async: " + inflight + " in flight)",
+            "client", "iterations/s", "requests/s", "iteration p50 ms", "iteration p99 ms",
+            "client CPU us/request", "client KB/request");
+        for (Map.Entry<String, Supplier<CompletableFuture<?>>> c : clients.entrySet()) {
+            int concurrency = c.getKey().equals("sdk-async") ? inflight : 1;
+            run(c.getValue(), warmup, concurrency, new ConcurrentHistogram(3));
+
+            Histogram latency = new ConcurrentHistogram(3);
+            ClientUsage usage = ClientUsage.start();
+            long t0 = System.nanoTime();
+            run(c.getValue(), iterations, concurrency, latency);
+            double seconds = (System.nanoTime() - t0) / 1e9;
+            usage.stop();
+            double requests = (double) iterations * ClientScenario.REQUESTS_PER_ITERATION;
+            table.row(c.getKey(), iterations / seconds, requests / seconds,
+                latency.getValueAtPercentile(50) / 1e6, latency.getValueAtPercentile(99) / 1e6,
+                usage.cpuNanos() / 1e3 / requests, usage.allocatedBytes() / 1e3 / requests);
+            Assertions.assertEquals(iterations, latency.getTotalCount(), c.getKey());
+        }
+        table.publish("client-overhead");
+    }
+
+    /** Runs {@code iterations} with at most {@code concurrency} outstanding, recording each one's time. */
+    private static void run(Supplier<CompletableFuture<?>> iteration, int iterations, int concurrency, Histogram latency) {
+        Semaphore slots = new Semaphore(concurrency);
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            slots.acquireUninterruptibly();
+            long start = System.nanoTime();
+            iteration.get().whenComplete((r, e) -> {
+                if (e != null) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+                latency.recordValue(System.nanoTime() - start);
+                slots.release();
+            });
+        }
+        slots.acquireUninterruptibly(concurrency);
+        if (!failures.isEmpty()) throw new AssertionError(failures.size() + " iterations failed", failures.get(0));
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecse429.restapi.Benchmarks.client;
+
+import com.ecse429.restapi.client.Project;
+import com.ecse429.restapi.client.Todo;
+import com.ecse429.restapi.client.TodoManagerClient;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * The scenario the client benchmarks time: a todo to read and a project with {@value #TASKS}
+ * tasks on one server, created up front and deleted on {@link #close()}.
+ *
+ * One iteration is {@value #REQUESTS_PER_ITERATION} requests, each parsed into a value the way a
+ * test would read it: GET /todos/:id (title), GET /projects/:id/tasks (ids of the tasks),
+ * POST /todos (id) and DELETE of that todo. RestAssured requests go through {@code spec}, on top
+ * of the suite's global RestAssured settings and, unless told otherwise, its global filters
+ * (latency and traffic recording); SDK requests through {@code api}.
+ */
+final class ClientScenario implements AutoCloseable {
+
+    static final int REQUESTS_PER_ITERATION = 4;
+    static final int TASKS = 5;
+
+    private final RequestSpecification spec;
+    private final boolean globalFilters;
+    private final TodoManagerClient api;
+    private final String tmpTitle;
+    private final String todoId;
+    private final String projectId;
+    private final List<String> taskIds = new ArrayList<>();
+
+    /** Creates the entities, named after {@code title}, through {@code api}. */
+    ClientScenario(RequestSpecification spec, TodoManagerClient api, String title) {
+        this(spec, true, api, title);
+    }
+
+    /** As above; with {@code globalFilters} false the RestAssured requests skip RestAssured.filters(). */
+    ClientScenario(RequestSpecification spec, boolean globalFilters, TodoManagerClient api, String title) {
+        this.spec = spec;
+        this.globalFilters = globalFilters;
+        this.api = api;
+        this.tmpTitle = title + "Tmp";
+        todoId = api.todos().create(new Todo(title).withDescription("read target")).join().id();
+        projectId = api.projects().create(new Project(title)).join().id();
+        for (int i = 0; i < TASKS; i++) {
+            String id = api.todos().create(new Todo(title + "Task" + i)).join().id();
+            api.projectTasks().link(projectId, id).join();
+            taskIds.add(id);
+        }
+    }
+
+    /** given()/when()/then() and JsonPath. */
+    Object restAssuredIteration() {
+        String title = request().accept(ContentType.JSON)
+            .when().get("/todos/" + todoId)
+            .then().statusCode(200)
+            .extract().path("todos[0].title");
+        List<String> ids = request().accept(ContentType.JSON)
+            .when().get("/projects/" + projectId + "/tasks")
+            .then().statusCode(200)
+            .extract().jsonPath().getList("todos.id", String.class);
+        String created = request().contentType(ContentType.JSON).accept(ContentType.JSON)
+            .body(String.format("{\"title\":\"%s\",\"doneStatus\":false}", tmpTitle))
+            .when().post("/todos")
+            .then().statusCode(201)
+            .extract().path("id");
+        request().when().delete("/todos/" + created).then().statusCode(200);
+        return title + ids.size();
+    }
+
+    private RequestSpecification request() {
+        return globalFilters ? given(spec) : given(spec).noFilters();
+    }
+
+    /** The SDK with join() after every call. */
+    Object sdkIteration() {
+        String title = api.todos().get(todoId).join().orElseThrow().title();
+        int tasks = api.projectTasks().list(projectId).join().size();
+        String created = api.todos().create(new Todo(tmpTitle).withDoneStatus(false)).join().id();
+        api.todos().delete(created).join();
+        return title + tasks;
+    }
+
+    /** The same four requests, the reads and the create/delete pair running concurrently. */
+    CompletableFuture<?> asyncIteration() {
+        CompletableFuture<String> title = api.todos().get(todoId).thenApply(t -> t.orElseThrow().title());
+        CompletableFuture<Integer> tasks = api.projectTasks().list(projectId).thenApply(List::size);
+        CompletableFuture<Boolean> churn = api.todos().create(new Todo(tmpTitle).withDoneStatus(false))
+            .thenCompose(t -> api.todos().delete(t.id()));
+        return CompletableFuture.allOf(title, tasks, churn);
+    }
+
+    @Override
+    public void close() {
+        api.todos().delete(todoId).join();
+        api.projects().delete(projectId).join();
+        taskIds.forEach(id -> api.todos().delete(id).join());
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecse429.restapi.Benchmarks.client;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.client.TodoManagerClient;
+import com.ecse429.restapi.perf.ClientUsage;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.server.StandInServer;
+import io.restassured.builder.RequestSpecBuilder;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * How much of a test request's time is the client and how much the server: the same requests
+ * against the Todo Manager under test and against an in-process {@link StandInServer}.
+ *
+ * The stand-in answers from in-memory maps, so a request to it costs the client everything a
+ * request to the jar does (building, sending, reading and parsing the same bytes) while the
+ * server's part is close to nothing. Its time per request is therefore the client's floor, and
+ * the difference to the jar the server's share. The stand-in runs in this JVM, so its (small)
+ * handling cost is part of the client CPU column for that target.
+ *
+ * Both clients run bare: the RestAssured requests skip the suite's global filters and the SDK
+ * has no latency listener. So neither pays for recording, and the stand-in's requests stay out of
+ * the suite's latency reports and traffic logs, where they would merge with the real server's
+ * under the same endpoint keys.
+ *
+ * One iteration is the four requests of {@link ClientScenario}: GET /todos/:id,
+ * GET /projects/:id/tasks (5 tasks), POST /todos and DELETE of that todo, sent one at a time
+ * through RestAssured and through the SDK. Each client and target gets
+ * {@code bench.warmupIterations} (default 500) unmeasured iterations, then {@code bench.iterations}
+ * (default 2000). Two reports:
+ *
+ *   standin-calibration   latency, throughput and client CPU per client and target
+ *   standin-split         mean ms per request split into client (stand-in) and server (difference)
+ *
+ * mvn test -Pperf -Dtest=StandInCalibrationBenchmark -Dbench.iterations=5000
+ */
+public class StandInCalibrationBenchmark extends BaseApiTest {
+
+    @Test
+    void splitClientAndServer() {
+        int warmup = PerfConfig.intProp("bench.warmupIterations", 500);
+        int iterations = PerfConfig.intProp("bench.iterations", 2000);
+
+        ReportTable table = new ReportTable("Stand-in calibration, " + iterations + " iterations of "
+            + ClientScenario.REQUESTS_PER_ITERATION + " requests", "client", "target", "requests/s", "mean ms/request",
+            "iteration p50 ms", "iteration p99 ms", "client CPU us/request");
+        Map<String, Double> meanMillis = new LinkedHashMap<>();
+        try (StandInServer standIn = StandInServer.start(0)) {
+            Map<String, String> targets = new LinkedHashMap<>();
+            targets.put("todo manager", baseUrl());
+            targets.put("stand-in", standIn.baseUrl());
+            for (String clientName : List.of("restassured", "sdk")) {
+                for (Map.Entry<String, String> target : targets.entrySet()) {
+                    try (ClientScenario scenario = new ClientScenario(
+                            new RequestSpecBuilder().setBaseUri(target.getValue()).build(), false,
+                            TodoManagerClient.create(URI.create(target.getValue())), uniqueTitle("standInBench"))) {
+                        Supplier<Object> iteration = clientName.equals("sdk") ? scenario::sdkIteration : scenario::restAssuredIteration;
+                        for (int i = 0; i < warmup; i++) iteration.get();
+
+                        Histogram latency = new Histogram(3);
+                        ClientUsage usage = ClientUsage.start();
+                        long t0 = System.nanoTime();
+                        for (int i = 0; i < iterations; i++) {
+                            long start = System.nanoTime();
+                            iteration.get();
+                            latency.recordValue(System.nanoTime() - start);
+                        }
+                        double seconds = (System.nanoTime() - t0) / 1e9;
+                        usage.stop();
+                        double requests = (double) iterations * ClientScenario.REQUESTS_PER_ITERATION;
+                        double mean = seconds * 1e3 / requests;
+                        meanMillis.put(clientName + "/" + target.getKey(), mean);
+                        table.row(clientName, target.getKey(), requests / seconds, mean,
+                            latency.getValueAtPercentile(50) / 1e6, latency.getValueAtPercentile(99) / 1e6,
+                            usage.cpuNanos() / 1e3 / requests);
+                        Assertions.assertEquals(iterations, latency.getTotalCount(), clientName + " " + target.getKey());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        table.publish("standin-calibration");
+
+        ReportTable split = new ReportTable("Time per request: client (stand-in) vs server (todo manager - stand-in)",
+            "client", "todo manager ms", "client ms", "server ms", "client % of request");
+        for (String clientName : List.of("restassured", "sdk")) {
+            double real = meanMillis.get(clientName + "/todo manager");
+            double client = meanMillis.get(clientName + "/stand-in");
+            split.row(clientName, real, client, Math.max(0, real - client), 100.0 * Math.min(1, client / real));
+        }
+        split.publish("standin-split");
+    }
+}
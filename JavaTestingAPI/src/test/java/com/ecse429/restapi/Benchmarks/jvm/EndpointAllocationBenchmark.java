@@ -0,0 +1,95 @@
+package com.ecse429.restapi.Benchmarks.jvm;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.EndpointStats;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.LoadEngine;
+import com.ecse429.restapi.load.LoadProfile;
+import com.ecse429.restapi.load.LoadResult;
+import com.ecse429.restapi.load.Operation;
+import com.ecse429.restapi.load.Workload;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.server.ManagedServer;
+import com.ecse429.restapi.server.ServerJmx;
+import com.ecse429.restapi.server.ServerLaunch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Server-side bytes allocated per request, one endpoint at a time, next to its latency.
+ *
+ * A Todo Manager is launched for the run with {@code bench.entities} (default 100) todos,
+ * projects and categories. Each endpoint then gets {@code bench.users} closed-loop users for
+ * {@code bench.warmup} (not measured, lets the JIT settle) and {@code bench.duration}:
+ *
+ *   GET /todos (JSON)           the whole collection, Accept: application/json
+ *   GET /todos (XML)            the same, Accept: application/xml
+ *   POST /projects              create
+ *   POST /todos/:id/categories  link a random todo to a random category
+ *
+ * Allocation is the growth of the per-thread allocated-bytes counters of the server's Jetty
+ * threads ({@link ServerJmx#workerAllocatedBytes}) over the measured window, divided by the
+ * requests sent in it. The counters are exact (TLAB accounting), so no JFR is needed; what
+ * JIT compiler and GC threads allocate is not included. Allocation per response byte is left
+ * out ("-") for links and for responses under {@value #MIN_RATIO_BYTES} bytes, where the response
+ * hardly figures in what the request cost. A failed request fails the run.
+ *
+ * mvn test -Pperf -Dtest=EndpointAllocationBenchmark -Dbench.entities=500 -Dbench.duration=30s
+ */
+public class EndpointAllocationBenchmark extends BaseApiTest {
+
+    private static final int MIN_RATIO_BYTES = 64;
+
+    @Test
+    void allocationPerRequest() throws Exception {
+        int entities = PerfConfig.intProp("bench.entities", 100);
+        int users = PerfConfig.intProp("bench.users", 4);
+        Duration warmup = PerfConfig.durationProp("bench.warmup", Duration.ofSeconds(5));
+        Duration duration = PerfConfig.durationProp("bench.duration", Duration.ofSeconds(15));
+        Operation link = Workloads.linkOp("todos", "categories", "categories", 1);
+        List<Operation> endpoints = List.of(
+            Operation.of("GET /todos (JSON)", 1, ctx -> ctx.get("/todos", "application/json")),
+            Operation.of("GET /todos (XML)", 1, ctx -> ctx.get("/todos", "application/xml")),
+            Workloads.createOp("projects", 1),
+            link);
+
+        ReportTable table = new ReportTable("Server allocation per request (" + entities + " entities per collection, "
+            + users + " users, " + duration.toSeconds() + "s each)",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "KB/response",
+            "server KB/request", "server MB/s", "alloc bytes per response byte");
+        try (ManagedServer server = ManagedServer.start(ServerLaunch.fromSystemProperties().withPort(0));
+             ServerJmx jmx = ServerJmx.attach(server.process().pid())) {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            LoadContext ctx = new LoadContext(URI.create(server.baseUrl()), client);
+            ctx.prime(entities);
+            LoadEngine engine = new LoadEngine(ctx);
+
+            for (Operation op : endpoints) {
+                Workload workload = new Workload(op.name(), List.of(op));
+                engine.run(workload, LoadProfile.closed(users, warmup).withWarmup(Duration.ZERO));
+                long before = jmx.workerAllocatedBytes();
+                LoadResult result = engine.run(workload, LoadProfile.closed(users, duration).withWarmup(Duration.ZERO));
+                long allocated = jmx.workerAllocatedBytes() - before;
+
+                EndpointStats e = result.endpoints().iterator().next();
+                long requests = Math.max(1, e.requests());
+                double perRequest = allocated / (double) requests;
+                double responseBytes = e.bytes() / (double) requests;
+                table.row(op.name(), e.requests(), e.errors(), result.throughput(),
+                    e.latency().responseMillis(50), e.latency().responseMillis(99), responseBytes / 1e3,
+                    perRequest / 1e3, allocated / 1e6 / (result.measured().toNanos() / 1e9),
+                    op == link || responseBytes < MIN_RATIO_BYTES ? "-" : perRequest / responseBytes);
+                Assertions.assertTrue(e.requests() > 0, "no requests for " + op.name());
+                Assertions.assertEquals(0, e.errors(), "failed requests for " + op.name());
+            }
+        }
+        table.publish("endpoint-allocation");
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecse429.restapi.Benchmarks.jvm;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.LoadEngine;
+import com.ecse429.restapi.load.LoadProfile;
+import com.ecse429.restapi.load.LoadResult;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.server.GcLog;
+import com.ecse429.restapi.server.ManagedServer;
+import com.ecse429.restapi.server.ServerLaunch;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The same load against the Todo Manager under every collector x heap size combination.
+ *
+ * For each of {@code bench.collectors} (G1, Parallel, Serial, Z) and {@code bench.heaps}
+ * (-Xmx values) a fresh server is launched with {@link GcLog#FLAGS}, primed with
+ * {@code load.prime} entities per collection and driven by {@code load.workload} (default
+ * {@code relations}: CRUD on /todos, /projects and /categories plus category and task links)
+ * under the usual {@code load.*} profile. Reported per configuration:
+ *
+ *   throughput and errors of the measured window
+ *   response-time p50/p99/p99.9/max over all endpoints
+ *   GC pauses that ended inside the measured window: collections, count, total, longest,
+ *   share of the window spent paused, full collections
+ *
+ * A configuration whose server fails to start (e.g. a heap too small) is listed as such.
+ * GC logs stay in {@code target/gc-logs}.
+ *
+ * mvn test -Pperf -Dtest=GcMatrixBenchmark -Dbench.heaps=64m,256m,1g -Dload.duration=60s
+ */
+public class GcMatrixBenchmark extends BaseApiTest {
+
+    @Test
+    void collectorHeapMatrix() throws Exception {
+        List<String> collectors = PerfConfig.listProp("bench.collectors", List.of("G1", "Parallel", "Serial", "Z"));
+        List<String> heaps = PerfConfig.listProp("bench.heaps", List.of("64m", "128m", "512m"));
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        String workload = PerfConfig.stringProp("load.workload", "relations");
+        int prime = PerfConfig.intProp("load.prime", 50);
+        ServerLaunch base = ServerLaunch.fromSystemProperties().withPort(0);
+        Path logs = Paths.get("target", "gc-logs");
+        Files.createDirectories(logs);
+
+        ReportTable table = new ReportTable("GC x heap matrix: " + workload + " / " + profile,
+            "collector", "Xmx", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms",
+            "GCs", "pauses", "pause total ms", "pause max ms", "paused %", "full GCs");
+        int ran = 0;
+        for (String collector : collectors) {
+            for (String heap : heaps) {
+                Path log = logs.resolve(collector + "-" + heap + ".log");
+                List<String> flags = new ArrayList<>(base.jvmArgs());
+                flags.add("-XX:+Use" + collector + "GC");
+                flags.add("-Xmx" + heap);
+                flags.add(GcLog.FLAGS + ":file=" + log.toAbsolutePath());
+
+                // only the launch may fail with "did not start"; a failing run fails the benchmark
+                ManagedServer started;
+                try {
+                    started = ManagedServer.start(base.withJvmArgs(flags));
+                } catch (IllegalStateException e) {
+                    table.row(collector, heap, "did not start", "-", "-", "-", "-", "-", "-", "-", "-", "-", "-", "-");
+                    continue;
+                }
+                double from, to;
+                LoadResult result;
+                try (ManagedServer server = started) {
+                    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5)).build();
+                    LoadContext ctx = new LoadContext(URI.create(server.baseUrl()), client);
+                    ctx.prime(prime);
+                    from = seconds(server.sinceLaunch().plus(profile.warmup()));
+                    result = new LoadEngine(ctx).run(Workloads.named(workload), profile);
+                    to = seconds(server.sinceLaunch());
+                }
+                // the log is complete once the server has exited
+                GcLog gc = GcLog.parse(log).since(from);
+                Histogram all = result.responseHistogram();
+                table.row(collector, heap, result.throughput(), result.totalErrors(),
+                    all.getValueAtPercentile(50) / 1e6, all.getValueAtPercentile(99) / 1e6,
+                    all.getValueAtPercentile(99.9) / 1e6, all.getMaxValue() / 1e6,
+                    gc.collections(), gc.pauses().size(), gc.totalMillis(), gc.maxMillis(),
+                    100 * gc.totalMillis() / ((to - from) * 1e3), gc.fullCollections());
+                ran++;
+            }
+        }
+        table.publish("gc-matrix");
+        Assertions.assertTrue(ran > 0, "no configuration started");
+    }
+
+    private static double seconds(Duration d) {
+        return d.toNanos() / 1e9;
+    }
+}
@@ -0,0 +1,278 @@
+package com.ecse429.restapi.Benchmarks.jvm;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.seed.DataSeeder;
+import com.ecse429.restapi.seed.SeedDataset;
+import com.ecse429.restapi.server.HeapHistogram;
+import com.ecse429.restapi.server.ManagedServer;
+import com.ecse429.restapi.server.ServerLaunch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Server heap cost of each kind of entity and of a relationship link, from live-object
+ * class histograms ({@code jcmd GC.class_histogram}) of a Todo Manager launched for the run.
+ *
+ * Growth: todos, projects and categories are created up to each of {@code bench.steps}
+ * (per collection, cumulative), then todo-category links up to each of {@code bench.edgeSteps}.
+ * A histogram after every step gives bytes per item (growth since the collection's baseline
+ * / items) and marginal bytes per item (between the last two steps, which excludes one-off
+ * costs such as lazily created indexes).
+ *
+ * Noise: a histogram is taken again (each one a full GC) until two readings in a row agree
+ * within {@code bench.noiseBytes} (default 64 KB); the first GCs after a burst of requests can
+ * still free about 1 MB. Any delta below that, negative ones included, is shown as {@code -}
+ * rather than as a figure.
+ *
+ * Reclaim: two operations that should give memory back are checked on a fresh batch:
+ *
+ *   DELETE /todos/:id      linked todos created and deleted again; nothing should remain
+ *   DELETE /projects/tasks projects with task todos, then the bulk delete; the task todos and
+ *                          links should go, the projects stay (expected retained = projects x
+ *                          bytes per project measured above)
+ *
+ * Each check runs {@code bench.reclaimRounds} (default 3, at least 2) times. Classes that grow in
+ * every round after the first (which also pays one-off costs) are the leak candidates; if their
+ * growth per round, less the expectation, exceeds {@code bench.leakTolerance} (default 5%) of
+ * what one batch added and the noise, the operation is flagged {@code NOT RECLAIMED}, and with
+ * {@code -Dbench.failOnLeak=true} fails the test.
+ *
+ * mvn test -Pperf -Dtest=MemoryPerEntityBenchmark -Dbench.steps=1000,5000,20000
+ */
+public class MemoryPerEntityBenchmark extends BaseApiTest {
+
+    private static final String[] COLLECTIONS = {"todos", "projects", "categories"};
+
+    private static final int MAX_READINGS = 6;
+
+    private final List<Integer> steps = PerfConfig.intListProp("bench.steps", List.of(1000, 2000, 4000));
+    private final List<Integer> edgeSteps = PerfConfig.intListProp("bench.edgeSteps", List.of(2000, 4000, 8000));
+    private final int batch = PerfConfig.intProp("bench.reclaimBatch", 3000);
+    private final int rounds = PerfConfig.intProp("bench.reclaimRounds", 3);
+    private final double tolerance = PerfConfig.doubleProp("bench.leakTolerance", 0.05);
+    private final long noiseBytes = PerfConfig.longProp("bench.noiseBytes", 64 * 1024);
+
+    private ManagedServer server;
+    private LoadContext ctx;
+    private int parallelism;
+    private DataSeeder seeder;
+
+    @Test
+    void bytesPerEntityAndReclaim() throws Exception {
+        if (rounds < 2) {
+            throw new IllegalArgumentException("bench.reclaimRounds must be at least 2: " + rounds);
+        }
+        try (ManagedServer started = ManagedServer.start(ServerLaunch.fromSystemProperties().withPort(0))) {
+            server = started;
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            ctx = new LoadContext(URI.create(server.baseUrl()), client);
+            parallelism = PerfConfig.intProp("seed.parallelism", 16);
+            seeder = new DataSeeder(ctx, parallelism);
+            // concurrent traffic first, so the server's worker threads (and their per-thread
+            // buffers) and lazily initialised state are already in every baseline
+            for (String c : COLLECTIONS) {
+                seeder.deleteEntities(c, seeder.createEntities(c, parallelism * 20, "memWarmup"));
+            }
+
+            ReportTable growth = new ReportTable("Server heap per item (live objects after full GC, noise "
+                + noiseBytes + " bytes)",
+                "item", "count", "heap growth bytes", "bytes/item", "marginal bytes/item",
+                "ThingInstance/item", "RelationshipInstance/item", "top classes");
+            List<String> todos = null, categories = null;
+            double bytesPerProject = Double.NaN;
+            for (String c : COLLECTIONS) {
+                List<String> ids = new ArrayList<>();
+                double perItem = grow(growth, c, this::histogram, (from, to) ->
+                    ids.addAll(createExactly(c, to - from, "mem")), steps);
+                if (c.equals("todos")) todos = ids;
+                if (c.equals("categories")) categories = ids;
+                if (c.equals("projects")) bytesPerProject = perItem;
+            }
+            List<String> t = todos, cat = categories;
+            grow(growth, "todo-category link", this::histogram, (from, to) -> {
+                List<SeedDataset.Edge> edges = new ArrayList<>();
+                for (int e = from; e < to; e++) {
+                    edges.add(new SeedDataset.Edge(t.get(e % t.size()), cat.get(e / t.size() % cat.size())));
+                }
+                seeder.link(new SeedDataset(server.baseUrl()), "todos", "categories", edges);
+            }, edgeSteps);
+            growth.publish("memory-per-entity");
+
+            ReportTable reclaim = new ReportTable("Heap reclaimed after deletes (batch of " + batch + ")",
+                "operation", "round", "grew bytes", "retained bytes", "expected retained",
+                "ThingInstance left", "RelationshipInstance left", "leaked bytes/round", "verdict", "growing every round");
+            int flagged = reclaimTodoDelete(reclaim, categories) + reclaimProjectTasksDelete(reclaim, bytesPerProject);
+            reclaim.publish("memory-reclaim");
+            if (PerfConfig.boolProp("bench.failOnLeak", false)) {
+                Assertions.assertEquals(0, flagged, "memory not reclaimed, see memory-reclaim");
+            }
+        }
+    }
+
+    private interface Step {
+        void run(int from, int to) throws Exception;
+    }
+
+    private interface Snapshot {
+        HeapHistogram take() throws Exception;
+    }
+
+    /** Grows one item kind through {@code sizes}, adds a row per size and returns the final bytes per item. */
+    private double grow(ReportTable table, String item, Snapshot snapshot, Step step, List<Integer> sizes)
+            throws Exception {
+        HeapHistogram base = snapshot.take();
+        HeapHistogram previous = base;
+        int count = 0;
+        double perItem = Double.NaN;
+        for (int size : sizes) {
+            if (size <= count) continue;
+            step.run(count, size);
+            HeapHistogram now = snapshot.take();
+            HeapHistogram grown = now.minus(base);
+            perItem = grown.totalBytes() / (double) size;
+            table.row(item, size, aboveNoise(grown.totalBytes()), perItem(grown.totalBytes(), size),
+                perItem(now.minus(previous).totalBytes(), size - count),
+                grown.instances(HeapHistogram.THING_INSTANCE) / (double) size,
+                grown.instances(HeapHistogram.RELATIONSHIP_INSTANCE) / (double) size,
+                String.join(", ", grown.top(3)));
+            previous = now;
+            count = size;
+        }
+        return perItem;
+    }
+
+    private int reclaimTodoDelete(ReportTable table, List<String> categories) throws Exception {
+        List<String> ids = new ArrayList<>();
+        return reclaim(table, "DELETE /todos/:id (linked)", 0, () -> {
+            ids.clear();
+            ids.addAll(createExactly("todos", batch, "memReclaim"));
+            List<SeedDataset.Edge> edges = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) edges.add(new SeedDataset.Edge(ids.get(i), categories.get(i % categories.size())));
+            seeder.link(new SeedDataset(server.baseUrl()), "todos", "categories", edges);
+        }, () -> seeder.deleteEntities("todos", ids));
+    }
+
+    private int reclaimProjectTasksDelete(ReportTable table, double bytesPerProject) throws Exception {
+        int projects = Math.max(1, batch / 10);
+        return reclaim(table, "DELETE /projects/tasks (" + projects + " projects x 10 tasks)", projects * bytesPerProject, () -> {
+            List<String> projectIds = createExactly("projects", projects, "memTasks");
+            List<String> tasks = createExactly("todos", projects * 10, "memTask");
+            List<SeedDataset.Edge> edges = new ArrayList<>();
+            for (int i = 0; i < tasks.size(); i++) edges.add(new SeedDataset.Edge(projectIds.get(i / 10), tasks.get(i)));
+            seeder.link(new SeedDataset(server.baseUrl()), "projects", "tasks", edges);
+        }, () -> {
+            // removes every todo that is a task of any project; the growth phases linked none
+            HttpResponse<byte[]> resp = ctx.client().send(
+                HttpRequest.newBuilder(URI.create(server.baseUrl() + "/projects/tasks")).DELETE().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            Assertions.assertEquals(200, resp.statusCode(), "DELETE /projects/tasks");
+        });
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Creates {@code count} entities and fails unless all of them were created: the seeder
+     * tolerates a few failed creates, but the per-item figures divide by {@code count} and the
+     * task links index the projects by it.
+     */
+    private List<String> createExactly(String collection, int count, String titlePrefix) throws InterruptedException {
+        List<String> ids = seeder.createEntities(collection, count, i -> Workloads.bodyFor(collection, titlePrefix + i));
+        Assertions.assertEquals(count, ids.size(), "POST /" + collection + ": not every create succeeded");
+        return ids;
+    }
+
+    /**
+     * Runs create-then-delete {@code bench.reclaimRounds} times and adds a row per round. Retained
+     * heap alone is noisy (request scratch arrays come and go), so the verdict on the last row
+     * only counts classes that grew in every round after the first: their growth per round, less
+     * what the operation is expected to keep, must stay within the tolerance. The first round is
+     * left out because it also pays one-off costs, such as the relation map a category gets on
+     * its first link. Returns 1 when flagged.
+     */
+    private int reclaim(ReportTable table, String operation, double expectedPerRound, Action create, Action delete)
+            throws Exception {
+        HeapHistogram before = histogram();
+        HeapHistogram first = null;
+        List<HeapHistogram> retained = new ArrayList<>();
+        long grew = 0;
+        for (int round = 1; round <= rounds; round++) {
+            HeapHistogram start = histogram();
+            create.run();
+            grew = histogram().minus(start).totalBytes();
+            delete.run();
+            HeapHistogram now = histogram().minus(before);
+            if (round == 1) first = now;
+            else retained.add(now.minus(first));
+            boolean last = round == rounds;
+            Map<String, Long> growing = last ? HeapHistogram.growingAtEveryStep(retained) : Map.of();
+            long leaked = growing.values().stream().mapToLong(Long::longValue).sum();
+            double leakPerRound = leaked / (double) (rounds - 1) - expectedPerRound;
+            boolean leak = last && leakPerRound > tolerance * grew && leaked > noiseBytes;
+            table.row(operation, round, aboveNoise(grew), aboveNoise(now.totalBytes()), expectedPerRound * round,
+                now.instances(HeapHistogram.THING_INSTANCE), now.instances(HeapHistogram.RELATIONSHIP_INSTANCE),
+                last && leaked > noiseBytes ? leakPerRound : "-", !last ? "-" : leak ? "NOT RECLAIMED" : "ok",
+                last ? topGrowing(growing, rounds - 1) : "-");
+            if (leak) return 1;
+        }
+        return 0;
+    }
+
+    /** {@code bytes}, or {@code "-"} when it is below the noise of two readings (negative ones included). */
+    private Object aboveNoise(long bytes) {
+        return bytes < noiseBytes ? "-" : bytes;
+    }
+
+    /** {@code bytes / items}, or {@code "-"} when {@code bytes} is below the noise. */
+    private Object perItem(long bytes, int items) {
+        return bytes < noiseBytes ? "-" : bytes / (double) items;
+    }
+
+    /** {@code "ConcurrentHashMap$Node +192000/round"} for the three fastest growing classes. */
+    private static String topGrowing(Map<String, Long> growing, int rounds) {
+        return growing.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
+            .limit(3)
+            .map(e -> e.getKey().substring(e.getKey().lastIndexOf('.') + 1) + " +" + e.getValue() / rounds + "/round")
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * The server's worker threads keep scratch arrays from the last request they handled, about
+     * 1 MB of int[] after a burst of POSTs. A burst of identical cheap GETs first puts every
+     * snapshot on the same footing. The next few full GCs can still free up to about 1 MB, so
+     * readings are repeated until two in a row agree within the noise; after
+     * {@link #MAX_READINGS} the last one is used.
+     */
+    private HeapHistogram histogram() throws Exception {
+        List<CompletableFuture<HttpResponse<Void>>> settle = new ArrayList<>();
+        for (int i = 0; i < parallelism * 8; i++) {
+            settle.add(ctx.client().sendAsync(ctx.get("/projects?title=memSettle", "application/json"),
+                HttpResponse.BodyHandlers.discarding()));
+        }
+        CompletableFuture.allOf(settle.toArray(new CompletableFuture[0])).join();
+        HeapHistogram previous = HeapHistogram.capture(server.process().pid());
+        for (int reading = 2; reading <= MAX_READINGS; reading++) {
+            HeapHistogram now = HeapHistogram.capture(server.process().pid());
+            if (Math.abs(now.totalBytes() - previous.totalBytes()) <= noiseBytes) return now;
+            previous = now;
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecse429.restapi.Benchmarks.jvm;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.LoadEngine;
+import com.ecse429.restapi.load.LoadProfile;
+import com.ecse429.restapi.load.LoadResult;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.server.ServerJmx;
+import com.ecse429.restapi.server.ServerProcesses;
+import com.ecse429.restapi.server.StackSampler;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Where the server spends its time for each workload, from thread dumps taken every
+ * {@code profile.interval} (default 10ms) while the workload runs (see {@link StackSampler}).
+ *
+ * For each of {@code bench.workloads} (default read, crud, relations) the load runs under the
+ * usual {@code load.*} profile, and the stacks go to
+ * {@code target/perf-reports/stacks/<workload>.collapsed} for a flame graph
+ * ({@code flamegraph.pl}, or drop the file on speedscope.app). {@code stack-samples-<workload>}
+ * lists the top self frames and the top Todo Manager frames. By default only threads serving a
+ * request are sampled, in any state; {@code -Dprofile.allThreads=true} and
+ * {@code -Dprofile.runnableOnly=true} change that.
+ *
+ * Needs the server process on this machine (managed, or started by hand from the jar).
+ *
+ * mvn test -Pperf -Dtest=StackSamplingBenchmark -Dbench.workloads=relations -Dload.duration=60s
+ */
+public class StackSamplingBenchmark extends BaseApiTest {
+
+    private LoadContext ctx;
+
+    @BeforeEach
+    void primeEntities() throws Exception {
+        ctx = LoadContext.forBaseApiTest();
+        ctx.prime(PerfConfig.intProp("load.prime", 50));
+    }
+
+    @AfterEach
+    void cleanup() {
+        ctx.cleanup();
+    }
+
+    @Test
+    void sampleServerStacks() throws Exception {
+        ProcessHandle server = ServerProcesses.require();
+        List<String> workloads = PerfConfig.listProp("bench.workloads", List.of("read", "crud", "relations"));
+        Duration interval = PerfConfig.durationProp("profile.interval", Duration.ofMillis(10));
+        boolean requestThreads = !PerfConfig.boolProp("profile.allThreads", false);
+        boolean runnable = PerfConfig.boolProp("profile.runnableOnly", false);
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        Path dir = ReportTable.reportDir().resolve("stacks");
+
+        ReportTable summary = new ReportTable("Stack sampling every " + interval.toMillis() + "ms ("
+            + (requestThreads ? "request threads" : "all threads") + (runnable ? ", runnable" : "") + ") / " + profile,
+            "workload", "req/s", "p99 ms", "dumps", "stacks sampled", "stacks/dump", "mean dump ms", "distinct stacks", "file");
+        try (ServerJmx jmx = ServerJmx.attach(server.pid())) {
+            for (String workload : workloads) {
+                LoadResult result;
+                StackSampler sampler;
+                // the warm-up runs first and the sampler starts with the measured window,
+                // so class loading and JIT compilation stay out of the stacks
+                LoadEngine engine = new LoadEngine(ctx);
+                if (!profile.warmup().isZero()) engine.run(Workloads.named(workload), profile.warmupOnly());
+                try (StackSampler s = StackSampler.start(jmx.threads(), interval, requestThreads, runnable)) {
+                    sampler = s;
+                    result = engine.run(Workloads.named(workload), profile.withWarmup(Duration.ZERO));
+                }
+                Path file = dir.resolve(workload + ".collapsed");
+                sampler.writeCollapsed(file);
+                sampler.topFrames("Top frames: " + workload, PerfConfig.intProp("profile.top", 15))
+                    .publish("stack-samples-" + workload);
+                summary.row(workload, result.throughput(), result.responseHistogram().getValueAtPercentile(99) / 1e6,
+                    sampler.dumps(), sampler.samples(), sampler.samples() / (double) Math.max(1, sampler.dumps()),
+                    sampler.meanDumpMillis(), sampler.stacks().size(), file);
+                Assertions.assertTrue(sampler.dumps() > 0, "no thread dumps taken during " + workload);
+            }
+        }
+        summary.publish("stack-sampling");
+    }
+}
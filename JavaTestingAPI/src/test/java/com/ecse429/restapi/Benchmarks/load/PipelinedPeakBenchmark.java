@@ -0,0 +1,130 @@
+package com.ecse429.restapi.Benchmarks.load;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.LoadEngine;
+import com.ecse429.restapi.load.LoadProfile;
+import com.ecse429.restapi.load.LoadResult;
+import com.ecse429.restapi.load.PipelinedDriver;
+import com.ecse429.restapi.load.RawRequest;
+import com.ecse429.restapi.load.Workload;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.perf.ClientUsage;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.seed.DataSeeder;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.*;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The server's throughput ceiling, measured with {@link PipelinedDriver} so that the client is
+ * not what saturates.
+ *
+ * {@code bench.entities} (default 50) todos are created; the driver then cycles through a
+ * pre-encoded GET /todos/:id for each, with a POST /todos after every {@code bench.postEvery}
+ * GETs (default 0, reads only: every create makes the collection, and with it later GETs by id,
+ * a little slower, so the rows of a grid would not be comparable). Each pair of {@code bench.connections} (default 1, 4, 16)
+ * and {@code bench.depth} (default 1, 8, 32, requests pipelined per connection) runs for
+ * {@code bench.warmup} (3s) plus {@code bench.duration} (10s) on {@code bench.ioThreads}
+ * (default 2) selector threads. For comparison the same mix also runs through the
+ * {@link LoadEngine} (HttpClient, one thread per user) with {@code bench.engineUsers} (16) users.
+ *
+ * {@code pipelined-peak} has req/s and latency next to the client's CPU and bytes allocated per
+ * request. Both are sampled over the measured window only, so the warm-up and each run's set-up
+ * (threads, buffers, histograms) do not count against the requests. The created todos share one
+ * title and are deleted afterwards.
+ *
+ * mvn test -Pperf -Dtest=PipelinedPeakBenchmark -Dbench.connections=8,32 -Dbench.depth=16,64 -Dbench.postEvery=10
+ */
+public class PipelinedPeakBenchmark extends BaseApiTest {
+
+    private static final Pattern JSON_ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private LoadContext ctx;
+    private String createdTitle;
+
+    @BeforeEach
+    void primeEntities() throws Exception {
+        ctx = LoadContext.forBaseApiTest();
+        int entities = PerfConfig.intProp("bench.entities", 50);
+        List<String> ids = new DataSeeder(ctx, 8).createEntities("todos", entities, "pipelinedRead");
+        ids.forEach(ctx.stable("todos")::add);
+        createdTitle = uniqueTitle("pipelinedCreate");
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        String query = "/todos?title=" + URLEncoder.encode(createdTitle, StandardCharsets.UTF_8);
+        HttpResponse<String> resp = ctx.client().send(ctx.get(query, "application/json"),
+            HttpResponse.BodyHandlers.ofString());
+        List<String> created = new ArrayList<>();
+        Matcher m = JSON_ID.matcher(resp.body());
+        while (m.find()) created.add(m.group(1));
+        new DataSeeder(ctx, 16).deleteEntities("todos", created);
+        ctx.cleanup();
+    }
+
+    @Test
+    void findServerCeiling() throws Exception {
+        List<Integer> connections = PerfConfig.intListProp("bench.connections", List.of(1, 4, 16));
+        List<Integer> depths = PerfConfig.intListProp("bench.depth", List.of(1, 8, 32));
+        int postEvery = PerfConfig.intProp("bench.postEvery", 0);
+        int ioThreads = PerfConfig.intProp("bench.ioThreads", 2);
+        Duration warmup = PerfConfig.durationProp("bench.warmup", Duration.ofSeconds(3));
+        Duration duration = PerfConfig.durationProp("bench.duration", Duration.ofSeconds(10));
+
+        URI base = ctx.baseUri();
+        String createBody = "{\"title\":\"" + createdTitle + "\",\"doneStatus\":false,\"description\":\"pipelined\"}";
+        RawRequest create = RawRequest.postJson("POST /todos", base, "/todos", createBody);
+        List<RawRequest> cycle = new ArrayList<>();
+        List<String> ids = ctx.stable("todos").snapshot();
+        for (int i = 0; i < ids.size(); i++) {
+            cycle.add(RawRequest.get("GET /todos/:id", base, "/todos/" + ids.get(i)));
+            if (postEvery > 0 && i % postEvery == postEvery - 1) cycle.add(create);
+        }
+
+        ReportTable table = new ReportTable("Server ceiling, GET /todos/:id" + (postEvery > 0 ? " + 1 POST /todos per "
+            + postEvery : "") + ", " + duration.toSeconds() + "s each", "client", "connections", "depth", "in flight",
+            "req/s", "p50 ms", "p99 ms", "errors", "client CPU %", "client bytes/request");
+        for (int c : connections) {
+            for (int d : depths) {
+                AtomicReference<ClientUsage> window = new AtomicReference<>();
+                PipelinedDriver.Result r = new PipelinedDriver(base, c, d, ioThreads).run(cycle, warmup, duration,
+                    () -> window.set(ClientUsage.start()), () -> window.get().stop());
+                ClientUsage usage = window.get();
+                Histogram h = r.latency();
+                table.row("pipelined", c, d, c * d, r.throughput(), h.getValueAtPercentile(50) / 1e6,
+                    h.getValueAtPercentile(99) / 1e6, r.totalErrors(), usage.cpuPercent(),
+                    usage.allocatedBytes() / (double) Math.max(1, r.totalRequests()));
+                r.toTable("Pipelined " + c + " connections x depth " + d).save("pipelined-" + c + "x" + d);
+                Assertions.assertTrue(r.totalRequests() > 0, "no responses with " + c + "x" + d);
+            }
+        }
+
+        int users = PerfConfig.intProp("bench.engineUsers", 16);
+        Workload mix = new Workload("get+create", postEvery > 0
+            ? List.of(Workloads.getByIdOp("todos", postEvery), Workloads.createOp("todos", 1))
+            : List.of(Workloads.getByIdOp("todos", 1)));
+        LoadEngine loadEngine = new LoadEngine(ctx);
+        loadEngine.run(mix, LoadProfile.closed(users, duration).withWarmup(warmup).warmupOnly());
+        ClientUsage usage = ClientUsage.start();
+        LoadResult engine = loadEngine.run(mix, LoadProfile.closed(users, duration).withWarmup(Duration.ZERO));
+        usage.stop();
+        table.row("HttpClient (LoadEngine)", users, 1, users, engine.throughput(),
+            engine.responseHistogram().getValueAtPercentile(50) / 1e6,
+            engine.responseHistogram().getValueAtPercentile(99) / 1e6, engine.totalErrors(), usage.cpuPercent(),
+            usage.allocatedBytes() / (double) Math.max(1, engine.totalRequests()));
+        table.publish("pipelined-peak");
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecse429.restapi.Benchmarks.load;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.LoadEngine;
+import com.ecse429.restapi.load.LoadProfile;
+import com.ecse429.restapi.load.LoadResult;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.metrics.RequestTrace;
+import com.ecse429.restapi.metrics.TailAttribution;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.server.ManagedServer;
+import com.ecse429.restapi.server.PauseTimeline;
+import com.ecse429.restapi.server.ServerLaunch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Why the slowest requests were slow: a load run against a Todo Manager launched with a
+ * {@link PauseTimeline} log, then every request at the tail of its endpoint is labelled GC pause,
+ * safepoint or unexplained by {@link TailAttribution}.
+ *
+ * The server gets {@code server.jvmArgs} (a small heap such as {@code -Xmx64m} makes pauses
+ * frequent), is primed with {@code load.prime} entities per collection and driven by
+ * {@code load.workload} (default {@code relations}) under the usual {@code load.*} profile.
+ * The pause log stays in {@code target/gc-logs/tail-<epoch millis>.log}.
+ *
+ * mvn test -Pperf -Dtest=TailAttributionBenchmark -Dserver.jvmArgs=-Xmx64m -Dload.duration=60s [-Dtrace.percentile=99]
+ */
+public class TailAttributionBenchmark extends BaseApiTest {
+
+    @Test
+    void attributeOutliers() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        String workload = PerfConfig.stringProp("load.workload", "relations");
+        Path logs = Paths.get("target", "gc-logs");
+        Files.createDirectories(logs);
+        Path log = logs.resolve("tail-" + System.currentTimeMillis() + ".log");
+        ServerLaunch base = ServerLaunch.fromSystemProperties().withPort(0);
+        List<String> flags = new ArrayList<>(base.jvmArgs());
+        flags.add(PauseTimeline.flags(log));
+
+        boolean traced = RequestTrace.enabled();
+        RequestTrace.enable();
+        RequestTrace.clear();
+        try {
+            LoadResult result;
+            try (ManagedServer server = ManagedServer.start(base.withJvmArgs(flags))) {
+                HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                LoadContext ctx = new LoadContext(URI.create(server.baseUrl()), client);
+                ctx.prime(PerfConfig.intProp("load.prime", 50));
+                result = new LoadEngine(ctx).run(Workloads.named(workload), profile);
+            }
+
+            result.toTable().publish("tail-load");
+            TailAttribution tail = TailAttribution.analyse(workload + " / " + profile, RequestTrace.snapshot(),
+                PauseTimeline.parse(log), 0);
+            tail.publish("tail-attribution-load");
+            Assertions.assertTrue(tail.outliers() > 0, "no requests traced");
+        } finally {
+            // leave tracing as the rest of the fork had it, or later tests keep queueing requests
+            if (!traced) RequestTrace.disable();
+            RequestTrace.clear();
+        }
+    }
+}
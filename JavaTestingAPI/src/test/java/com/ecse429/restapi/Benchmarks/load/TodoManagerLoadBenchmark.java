@@ -0,0 +1,49 @@
+package com.ecse429.restapi.Benchmarks.load;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.LoadEngine;
+import com.ecse429.restapi.load.LoadProfile;
+import com.ecse429.restapi.load.LoadResult;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import org.junit.jupiter.api.*;
+
+/**
+ * Runs one load scenario against the Todo Manager and reports throughput,
+ * error rate and per-endpoint latency.
+ *
+ * mvn test -Pperf -Dtest=TodoManagerLoadBenchmark -Dload.model=open -Dload.rate=500 -Dload.duration=60s
+ */
+public class TodoManagerLoadBenchmark extends BaseApiTest {
+
+    private LoadContext ctx;
+
+    @BeforeEach
+    void primeEntities() throws Exception {
+        ctx = LoadContext.forBaseApiTest();
+        ctx.prime(PerfConfig.intProp("load.prime", 50));
+    }
+
+    @AfterEach
+    void cleanup() {
+        ctx.cleanup();
+    }
+
+    @Test
+    void runLoadScenario() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        LoadResult result = new LoadEngine(ctx)
+            .run(Workloads.named(PerfConfig.stringProp("load.workload", "crud")), profile);
+
+        String name = "load-" + profile.model().name().toLowerCase();
+        result.toTable().publish(name);
+        result.latencies().writeHistogramLog(ReportTable.reportDir().resolve(name + ".hlog"));
+
+        Assertions.assertTrue(result.totalRequests() > 0, "load run sent no requests");
+        double maxErrorRate = PerfConfig.doubleProp("load.maxErrorRate", 0.01);
+        Assertions.assertTrue(result.errorRate() <= maxErrorRate,
+            String.format("error rate %.4f above %.4f", result.errorRate(), maxErrorRate));
+    }
+}
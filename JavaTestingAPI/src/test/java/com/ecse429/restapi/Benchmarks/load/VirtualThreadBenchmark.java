@@ -0,0 +1,106 @@
+package com.ecse429.restapi.Benchmarks.load;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.LoadEngine;
+import com.ecse429.restapi.load.LoadProfile;
+import com.ecse429.restapi.load.LoadResult;
+import com.ecse429.restapi.load.ThreadMode;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.perf.ClientUsage;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * How many concurrent users one client JVM can simulate on platform threads versus virtual
+ * threads ({@link ThreadMode}), and what it costs the client.
+ *
+ * For each of {@code bench.users} (default 100, 1000, 5000) and each of {@code bench.modes}
+ * (default platform, virtual) it runs {@code load.workload} (default read) as closed-loop users
+ * who think {@code bench.think} (default 1s) between requests, for {@code bench.warmup} (5s)
+ * plus {@code bench.duration} (20s). Platform mode is a fixed pool with one thread per user.
+ *
+ * Every user waits for its response and then thinks, so the rate the users should reach is
+ * users / (think + mean response time). When the achieved rate falls short of that, some users
+ * were not running: the client is the bottleneck, not the server. Once the server saturates,
+ * response times grow and the expected rate falls with them; keep {@code bench.duration} to
+ * several think + response cycles or the ratio is noise. The table also has this
+ * JVM's CPU use, peak RSS, peak heap and peak platform thread count during the run.
+ *
+ * Virtual mode needs Java 21 ({@code mvn test -Pperf,java21 ...}); on older JVMs its rows say so.
+ *
+ * mvn test -Pperf,java21 -Dtest=VirtualThreadBenchmark -Dbench.users=1000,10000,20000 -Dbench.think=2s
+ */
+public class VirtualThreadBenchmark extends BaseApiTest {
+
+    private LoadContext ctx;
+
+    @BeforeEach
+    void primeEntities() throws Exception {
+        ctx = LoadContext.forBaseApiTest();
+        ctx.prime(PerfConfig.intProp("load.prime", 50));
+    }
+
+    @AfterEach
+    void cleanup() {
+        ctx.cleanup();
+    }
+
+    @Test
+    void platformVersusVirtualUsers() throws Exception {
+        List<Integer> userCounts = PerfConfig.intListProp("bench.users", List.of(100, 1000, 5000));
+        List<String> modes = PerfConfig.listProp("bench.modes", List.of("platform", "virtual"));
+        Duration think = PerfConfig.durationProp("bench.think", Duration.ofSeconds(1));
+        Duration warmup = PerfConfig.durationProp("bench.warmup", Duration.ofSeconds(5));
+        Duration duration = PerfConfig.durationProp("bench.duration", Duration.ofSeconds(20));
+        String workload = PerfConfig.stringProp("load.workload", "read");
+
+        ReportTable table = new ReportTable("Closed-loop users on platform vs virtual threads (" + workload + ", think "
+            + think.toMillis() + "ms, " + duration.toSeconds() + "s, Java " + Runtime.version().feature() + ")",
+            "threads", "users", "req/s", "expected req/s", "achieved %", "p50 ms", "p99 ms", "errors",
+            "client CPU %", "peak RSS MB", "peak heap MB", "peak platform threads", "client-bound");
+        int measured = 0;
+        for (int users : userCounts) {
+            for (String m : modes) {
+                ThreadMode mode = ThreadMode.valueOf(m.toUpperCase());
+                if (mode == ThreadMode.VIRTUAL && !ThreadMode.virtualAvailable()) {
+                    table.row(m, users, "-", "-", "-", "-", "-", "-", "-", "-", "-", "-",
+                        "needs Java 21, this is " + Runtime.version().feature());
+                    continue;
+                }
+                LoadProfile profile = LoadProfile.closed(users, duration).withWarmup(warmup).withThinkTime(think);
+                LoadResult result = null;
+                OutOfMemoryError failure = null;
+                System.gc();
+                ClientUsage usage = ClientUsage.start();
+                try {
+                    result = new LoadEngine(ctx, mode).run(Workloads.named(workload), profile);
+                } catch (OutOfMemoryError e) {
+                    failure = e;
+                } finally {
+                    usage.stop();
+                }
+                if (failure != null) {
+                    table.row(m, users, "-", "-", "-", "-", "-", "-", "-", usage.peakRssMb(), usage.peakHeapMb(),
+                        usage.peakThreads(), "failed: " + failure.getMessage());
+                    continue;
+                }
+                double meanSeconds = result.responseHistogram().getMean() / 1e9;
+                double expected = users / (think.toNanos() / 1e9 + meanSeconds);
+                double achieved = 100 * result.throughput() / expected;
+                table.row(m, users, result.throughput(), expected, achieved,
+                    result.responseHistogram().getValueAtPercentile(50) / 1e6,
+                    result.responseHistogram().getValueAtPercentile(99) / 1e6, result.totalErrors(),
+                    usage.cpuPercent(), usage.peakRssMb(), usage.peakHeapMb(), usage.peakThreads(),
+                    achieved < 90 ? "yes" : "no");
+                measured++;
+            }
+        }
+        table.publish("virtual-threads");
+        Assertions.assertTrue(measured > 0, "no mode could run");
+    }
+}
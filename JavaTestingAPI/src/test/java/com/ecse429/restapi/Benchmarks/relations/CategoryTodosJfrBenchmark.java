@@ -0,0 +1,90 @@
+package com.ecse429.restapi.Benchmarks.relations;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.EndpointStats;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.LoadEngine;
+import com.ecse429.restapi.load.LoadProfile;
+import com.ecse429.restapi.load.LoadResult;
+import com.ecse429.restapi.load.Workload;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.seed.DataSeeder;
+import com.ecse429.restapi.seed.SeedDataset;
+import com.ecse429.restapi.server.JfrSummary;
+import com.ecse429.restapi.server.ManagedServer;
+import com.ecse429.restapi.server.ServerLaunch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Why GET /categories/:id/todos gets slow as categories fill up: the same load with the
+ * Todo Manager under Java Flight Recorder, summarised by {@link JfrSummary} over the measured
+ * window only (warm-up and seeding are left out).
+ *
+ * {@code bench.categories} categories each get the same {@code bench.fanout} todos. The workload
+ * reads the category todos four times for every plain GET /todos/:id, which is the baseline
+ * in the latency table. The JFR tables then show where the time goes: the hot methods, what
+ * the requests allocate per second, whether workers block on locks, and the GC pauses.
+ *
+ * mvn test -Pperf -Dtest=CategoryTodosJfrBenchmark -Dbench.fanout=5000 [-Dserver.jfr=default]
+ */
+public class CategoryTodosJfrBenchmark extends BaseApiTest {
+
+    @Test
+    void profileCategoryTodos() throws Exception {
+        int categories = PerfConfig.intProp("bench.categories", 10);
+        int fanout = PerfConfig.intProp("bench.fanout", 1000);
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        ServerLaunch launch = ServerLaunch.fromSystemProperties().withPort(0)
+            .withJfr(PerfConfig.stringProp("server.jfr", "profile"));
+
+        ManagedServer server;
+        LoadResult result;
+        Instant measuredFrom;
+        try (ManagedServer started = ManagedServer.start(launch)) {
+            server = started;
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            LoadContext ctx = new LoadContext(URI.create(server.baseUrl()), client);
+            DataSeeder seeder = new DataSeeder(ctx, PerfConfig.intProp("seed.parallelism", 16));
+            List<String> hubs = seeder.createEntities("categories", categories, "jfrHub");
+            List<String> todos = seeder.createEntities("todos", fanout, "jfrLeaf");
+            List<SeedDataset.Edge> edges = new ArrayList<>();
+            for (String hub : hubs) {
+                for (String todo : todos) edges.add(new SeedDataset.Edge(hub, todo));
+            }
+            seeder.link(new SeedDataset(server.baseUrl()), "categories", "todos", edges);
+            hubs.forEach(ctx.stable("categories")::add);
+            todos.forEach(ctx.stable("todos")::add);
+
+            Workload workload = new Workload("category-todos", List.of(
+                Workloads.relationReadOp("categories", "todos", 4),
+                Workloads.getByIdOp("todos", 1)));
+            measuredFrom = Instant.now().plus(profile.warmup());
+            result = new LoadEngine(ctx).run(workload, profile);
+        }
+
+        ReportTable latency = new ReportTable("Category todos under JFR: " + categories + " categories x "
+            + fanout + " todos / " + profile, "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "KB/response");
+        for (EndpointStats e : result.endpoints()) {
+            latency.row(e.name(), e.requests(), e.errors(), e.requests() / (result.measured().toNanos() / 1e9),
+                e.latency().responseMillis(50), e.latency().responseMillis(99),
+                e.requests() == 0 ? 0 : e.bytes() / 1e3 / e.requests());
+        }
+        latency.publish("jfr-category-todos-latency");
+
+        Path recording = server.jfrRecording()
+            .orElseThrow(() -> new IllegalStateException("no JFR recording from " + server.baseUrl()));
+        JfrSummary.read(recording, measuredFrom).publish("jfr-category-todos",
+            "GET /categories/:id/todos at fan-out " + fanout + ", measured window");
+        Assertions.assertEquals(0, result.totalErrors(), "requests failed during the profiled load");
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecse429.restapi.Benchmarks.relations;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.metrics.EndpointLatency;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.perf.RequestSampler;
+import com.ecse429.restapi.perf.ScalingCurve;
+import com.ecse429.restapi.seed.DataSeeder;
+import com.ecse429.restapi.seed.SeedDataset;
+import org.junit.jupiter.api.*;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fan-out curve for the relation endpoints. The interoperability tests link one todo,
+ * one project and one category; here one hub of each kind grows to thousands of links:
+ *
+ *   hub project   --tasks-->    N todos      GET /projects/:id/tasks
+ *   hub todo      --tasksof-->  N projects   GET /todos/:id/tasksof
+ *   hub category  --todos-->    N todos      GET /categories/:id/todos
+ *   hub category  --projects--> N projects   GET /categories/:id/projects
+ *
+ * At each fan-out the GETs are sampled, and a spare entity is linked and unlinked
+ * repeatedly on each hub to time POST and DELETE on the relation as the hub grows.
+ * Hubs, spares and leaves are deleted again after the run.
+ *
+ * mvn test -Pperf -Dtest=RelationFanoutBenchmark -Dbench.fanouts=1,10,100,1000,10000
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // allow non-static @AfterAll
+public class RelationFanoutBenchmark extends BaseApiTest {
+
+    /** Hub collection, relation, and the collection its targets live in. */
+    private static final String[][] RELATIONS = {
+        {"projects", "tasks", "todos"},
+        {"todos", "tasksof", "projects"},
+        {"categories", "todos", "todos"},
+        {"categories", "projects", "projects"},
+    };
+
+    private LoadContext ctx;
+    private DataSeeder seeder;
+
+    @Test
+    void relationEndpointsFanout() throws Exception {
+        List<Integer> fanouts = PerfConfig.intListProp("bench.fanouts", List.of(1, 10, 100, 1000, 10000));
+        int mutations = PerfConfig.intProp("bench.iterations", 50);
+        ctx = LoadContext.forBaseApiTest();
+        seeder = new DataSeeder(ctx, PerfConfig.intProp("seed.parallelism", 32));
+        RequestSampler sampler = RequestSampler.fromSystemProperties(ctx.client());
+        ScalingCurve curve = new ScalingCurve();
+        SeedDataset dataset = new SeedDataset(ctx.baseUri().toString());
+
+        String hubProject = seeder.createEntities("projects", 1, "fanoutHub").get(0);
+        String hubTodo = seeder.createEntities("todos", 1, "fanoutHub").get(0);
+        String hubCategory = seeder.createEntities("categories", 1, "fanoutHub").get(0);
+        String spareTodo = seeder.createEntities("todos", 1, "fanoutSpare").get(0);
+        String spareProject = seeder.createEntities("projects", 1, "fanoutSpare").get(0);
+
+        ReportTable reads = new ReportTable("Relation GET vs fan-out",
+            "endpoint", "fan-out", "bytes", "mean ms", "p50 ms", "p99 ms", "server cpu ms/req", "k");
+        ReportTable writes = new ReportTable("Relation POST/DELETE vs fan-out",
+            "endpoint", "fan-out", "mean ms", "p50 ms", "p99 ms", "k");
+        List<String> todos = new ArrayList<>();
+        List<String> projects = new ArrayList<>();
+        for (int fanout : fanouts) {
+            // the seeder tolerates a few failed creates, so each list is sliced by what it actually got
+            int todosFrom = todos.size();
+            int projectsFrom = projects.size();
+            todos.addAll(seeder.createEntities("todos", fanout - todos.size(), "fanoutLeaf"));
+            projects.addAll(seeder.createEntities("projects", fanout - projects.size(), "fanoutLeaf"));
+            List<String> newTodos = todos.subList(todosFrom, todos.size());
+            List<String> newProjects = projects.subList(projectsFrom, projects.size());
+            seeder.link(dataset, "projects", "tasks", edges(hubProject, newTodos));
+            seeder.link(dataset, "todos", "tasksof", edges(hubTodo, newProjects));
+            seeder.link(dataset, "categories", "todos", edges(hubCategory, newTodos));
+            seeder.link(dataset, "categories", "projects", edges(hubCategory, newProjects));
+
+            for (String[] r : RELATIONS) {
+                String hub = hubFor(r[0], hubProject, hubTodo, hubCategory);
+                String endpoint = "GET /" + r[0] + "/:id/" + r[1];
+                RequestSampler.Sample s = sampler.sample(endpoint, ctx.get("/" + r[0] + "/" + hub + "/" + r[1], "application/json"));
+                Assertions.assertEquals(0, s.errors, endpoint + " failed at fan-out " + fanout);
+                reads.row(endpoint, fanout, Math.round(s.bytesPerResponse()), s.latency.meanResponseMillis(),
+                    s.latency.responseMillis(50), s.latency.responseMillis(99), s.serverCpuMillisPerRequest,
+                    curve.add(endpoint, fanout, s.latency.responseMillis(50)));
+            }
+            for (String[] r : RELATIONS) {
+                String hub = hubFor(r[0], hubProject, hubTodo, hubCategory);
+                String spare = r[2].equals("todos") ? spareTodo : spareProject;
+                EndpointLatency[] timings = linkUnlink(r[0], hub, r[1], spare, mutations);
+                for (EndpointLatency l : timings) {
+                    writes.row(l.key(), fanout, l.meanResponseMillis(), l.responseMillis(50), l.responseMillis(99),
+                        curve.add(l.key(), fanout, l.responseMillis(50)));
+                }
+            }
+        }
+        seeder.report().save("relation-fanout-seeding");
+        reads.publish("relation-fanout-reads");
+        writes.publish("relation-fanout-writes");
+    }
+
+    @AfterAll
+    void deleteSeededData() throws InterruptedException {
+        if (seeder == null) return;
+        seeder.deleteCreated();
+    }
+
+    /** Links and unlinks {@code spare} on the hub {@code times} times; returns POST and DELETE timings. */
+    private EndpointLatency[] linkUnlink(String collection, String hub, String relation, String spare, int times)
+            throws Exception {
+        String path = "/" + collection + "/" + hub + "/" + relation;
+        EndpointLatency post = new EndpointLatency("POST /" + collection + "/:id/" + relation);
+        EndpointLatency delete = new EndpointLatency("DELETE /" + collection + "/:id/" + relation + "/:id");
+        HttpRequest link = ctx.postJson(path, "{\"id\":\"" + spare + "\"}");
+        HttpRequest unlink = ctx.delete(path + "/" + spare);
+        for (int i = 0; i < times; i++) {
+            timed(post, link);
+            timed(delete, unlink);
+        }
+        return new EndpointLatency[]{post, delete};
+    }
+
+    private void timed(EndpointLatency into, HttpRequest request) throws Exception {
+        long t0 = System.nanoTime();
+        HttpResponse<Void> resp = ctx.client().send(request, HttpResponse.BodyHandlers.discarding());
+        into.record(t0, t0, System.nanoTime());
+        Assertions.assertTrue(resp.statusCode() < 300, into.key() + " returned " + resp.statusCode());
+    }
+
+    private static String hubFor(String collection, String project, String todo, String category) {
+        switch (collection) {
+            case "projects": return project;
+            case "todos": return todo;
+            default: return category;
+        }
+    }
+
+    private static List<SeedDataset.Edge> edges(String hub, List<String> targets) {
+        List<SeedDataset.Edge> edges = new ArrayList<>(targets.size());
+        for (String t : targets) edges.add(new SeedDataset.Edge(hub, t));
+        return edges;
+    }
+}
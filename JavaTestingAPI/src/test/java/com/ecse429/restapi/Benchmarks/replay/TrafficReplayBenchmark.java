@@ -0,0 +1,144 @@
+package com.ecse429.restapi.Benchmarks.replay;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.replay.Exchange;
+import com.ecse429.restapi.replay.RecordingProxy;
+import com.ecse429.restapi.replay.Replayer;
+import com.ecse429.restapi.replay.TrafficLog;
+import com.ecse429.restapi.server.ManagedServer;
+import com.ecse429.restapi.server.ServerLaunch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Replays recorded functional traffic as load.
+ *
+ * The logs ({@code replay.log}, comma-separated) come from a suite run with
+ * {@code -Drecord.traffic=<file>} ({@link com.ecse429.restapi.replay.RecordingFilter}). Without
+ * {@code replay.log} the benchmark records its own first: it runs every
+ * {@code CapabilityScripts/*.sh} (found above the working directory, or {@code -Dreplay.scripts})
+ * with {@code BASE_URL} pointed at a {@link RecordingProxy} in front of a server, into
+ * {@code target/traffic/capability-scripts.tml}, one session per script.
+ *
+ * The recording and every round run on a fresh managed server ({@link ServerLaunch}
+ * properties), so each replay starts from the state the recording started from and a status
+ * mismatch points at the replay, not at what earlier rounds or suites left on the server.
+ * {@code -Dreplay.freshServer=false} records and replays against the server under test instead.
+ * Logs from {@code -Drecord.traffic} compare cleanly only if that suite run also had a server
+ * of its own ({@code -Dserver.managed=true}).
+ *
+ * Sessions keep their order, but at a concurrency above 1 they interleave differently from the
+ * recording, so a request that reads what another session changes (a collection listing, a
+ * shared seed todo) can see a different state. On a fresh server the capability scripts replay
+ * without mismatches at concurrency 1 and with about one in ten at 16. A round fails when more
+ * than {@code replay.maxMismatches} (default 0.15) of its exchanges get a different status;
+ * use 0 with {@code -Dreplay.concurrency=1} for an exact comparison.
+ *
+ * Each log is replayed {@code replay.rounds} (default 1) times at {@code replay.speed}: 1 for the
+ * recorded pace, N for N times faster, or {@code max} (default), with {@code replay.concurrency}
+ * (default 16) requests outstanding. {@code traffic-replay} has one summary row per round;
+ * {@code traffic-replay-endpoints} the recorded and replayed latency per endpoint of the last round.
+ *
+ * mvn test -Pperf -Dtest=TrafficReplayBenchmark -Dreplay.log=target/traffic/suites.tml -Dreplay.speed=10 -Dreplay.concurrency=32
+ */
+public class TrafficReplayBenchmark extends BaseApiTest {
+
+    private static final Path SCRIPT_LOG = Paths.get("target", "traffic", "capability-scripts.tml");
+
+    @Test
+    void replayRecordedTraffic() throws Exception {
+        String speedProp = PerfConfig.stringProp("replay.speed", "max");
+        double speed = speedProp.equalsIgnoreCase("max") ? 0 : Double.parseDouble(speedProp.replaceAll("[xX]$", ""));
+        int concurrency = PerfConfig.intProp("replay.concurrency", 16);
+        int rounds = PerfConfig.intProp("replay.rounds", 1);
+        double maxMismatches = PerfConfig.doubleProp("replay.maxMismatches", 0.15);
+        boolean fresh = PerfConfig.boolProp("replay.freshServer", true);
+        List<Path> logs = PerfConfig.listProp("replay.log", List.of()).stream().map(Paths::get).collect(Collectors.toList());
+        if (logs.isEmpty()) {
+            try (ManagedServer server = fresh ? startServer() : null) {
+                logs = List.of(recordCapabilityScripts(URI.create(fresh ? server.baseUrl() : baseUrl())));
+            }
+        }
+
+        ReportTable summary = Replayer.Result.summaryTable("Traffic replay against "
+            + (fresh ? "a fresh server per round" : baseUrl()));
+        Replayer.Result last = null;
+        for (Path log : logs) {
+            List<Exchange> exchanges = TrafficLog.read(log);
+            Assertions.assertFalse(exchanges.isEmpty(), log + " holds no traffic");
+            for (int round = 1; round <= rounds; round++) {
+                try (ManagedServer server = fresh ? startServer() : null) {
+                    URI target = URI.create(fresh ? server.baseUrl() : baseUrl());
+                    last = Replayer.create(target, speed, concurrency).run(exchanges);
+                }
+                String name = log.getFileName() + (rounds > 1 ? " #" + round : "");
+                last.summaryRow(summary, name, speed, concurrency);
+                Assertions.assertEquals(exchanges.size(), last.requests() + last.errors(), "every exchange sent");
+                Assertions.assertEquals(0, last.errors(), "requests that got no response");
+                Assertions.assertTrue(last.mismatches() <= maxMismatches * exchanges.size(),
+                    name + ": " + last.mismatches() + " of " + exchanges.size()
+                        + " exchanges got a different status than recorded (limit replay.maxMismatches="
+                        + maxMismatches + ")");
+            }
+        }
+        summary.publish("traffic-replay");
+        last.endpoints("Replayed vs recorded latency per endpoint (last round)").publish("traffic-replay-endpoints");
+    }
+
+    private static ManagedServer startServer() throws IOException, InterruptedException {
+        return ManagedServer.start(ServerLaunch.fromSystemProperties().withPort(0));
+    }
+
+    /** Runs the capability scripts through a recording proxy in front of {@code server}. */
+    private static Path recordCapabilityScripts(URI server) throws IOException, InterruptedException {
+        Path dir = scriptsDir();
+        Files.deleteIfExists(SCRIPT_LOG);
+        Path output = SCRIPT_LOG.resolveSibling("capability-scripts.out");
+        List<Path> scripts;
+        try (Stream<Path> s = Files.list(dir)) {
+            scripts = s.filter(p -> p.toString().endsWith(".sh")).sorted().collect(Collectors.toList());
+        }
+        try (TrafficLog log = TrafficLog.open(SCRIPT_LOG);
+             RecordingProxy proxy = RecordingProxy.start(server, log)) {
+            Files.deleteIfExists(output);
+            for (Path script : scripts) {
+                proxy.session("script/" + script.getFileName());
+                ProcessBuilder pb = new ProcessBuilder("bash", script.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(output.toFile()));
+                pb.environment().put("BASE_URL", proxy.baseUrl());
+                Process p = pb.start();
+                if (!p.waitFor(2, TimeUnit.MINUTES)) {
+                    p.destroyForcibly();
+                    Assertions.fail(script + " did not finish within 2 minutes");
+                }
+            }
+            System.out.printf("Recorded %d exchanges from %d capability scripts into %s%n",
+                log.appended(), scripts.size(), SCRIPT_LOG);
+        }
+        return SCRIPT_LOG;
+    }
+
+    private static Path scriptsDir() {
+        String configured = PerfConfig.stringProp("replay.scripts", "");
+        if (!configured.isEmpty()) return Paths.get(configured);
+        for (Path dir = Paths.get("").toAbsolutePath(); dir != null; dir = dir.getParent()) {
+            Path candidate = dir.resolve("CapabilityScripts");
+            if (Files.isDirectory(candidate)) return candidate;
+        }
+        throw new IllegalStateException("CapabilityScripts not found above "
+            + Paths.get("").toAbsolutePath() + "; set -Dreplay.scripts");
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecse429.restapi.Benchmarks.scaling;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.perf.RequestSampler;
+import com.ecse429.restapi.perf.ScalingCurve;
+import com.ecse429.restapi.seed.DataSeeder;
+import com.ecse429.restapi.seed.SeedDataset;
+import com.ecse429.restapi.seed.SeedDatasets;
+import com.ecse429.restapi.seed.SeedPlan;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Scaling curve for the list endpoints exercised by testGetAllToDos, testGetAllProjects
+ * and testGetAllCategories: latency, bytes and server CPU per request as every
+ * collection grows, for JSON and XML.
+ *
+ * The "k" column is the local exponent in latency ~ size^k against the previous size;
+ * values near 1 mean the endpoint serialises the whole collection on every call.
+ * The {@code scaling} dataset, reused or seeded, is deleted after the run along with its checkpoint.
+ *
+ * mvn test -Pperf -Dtest=CollectionScalingBenchmark -Dbench.sizes=10,100,1000,10000,100000
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // allow non-static @AfterAll
+public class CollectionScalingBenchmark extends BaseApiTest {
+
+    private static final String[] ACCEPT = {"application/json", "application/xml"};
+
+    private DataSeeder seeder;
+
+    @Test
+    void listEndpointsScaling() throws Exception {
+        List<Integer> sizes = PerfConfig.intListProp("bench.sizes", List.of(10, 100, 1000, 10000));
+        LoadContext ctx = LoadContext.forBaseApiTest();
+        seeder = new DataSeeder(ctx, PerfConfig.intProp("seed.parallelism", 32));
+        RequestSampler sampler = RequestSampler.fromSystemProperties(ctx.client());
+        ScalingCurve curve = new ScalingCurve();
+
+        ReportTable table = new ReportTable("GET list endpoints vs collection size",
+            "endpoint", "accept", "size", "bytes", "mean ms", "p50 ms", "p99 ms", "server cpu ms/req", "k");
+        for (int size : sizes) {
+            SeedDataset dataset = SeedDatasets.reuseOrSeed(ctx, seeder, "scaling", SeedPlan.entities(size, size, size));
+            for (String collection : LoadContext.COLLECTIONS) {
+                for (String accept : ACCEPT) {
+                    String series = collection + " " + accept;
+                    RequestSampler.Sample s = sampler.sample("GET /" + collection, ctx.get("/" + collection, accept));
+                    Assertions.assertEquals(0, s.errors, "GET /" + collection + " failed at size " + size);
+                    double k = curve.add(series, dataset.count(collection), s.latency.responseMillis(50));
+                    table.row("GET /" + collection, accept.substring("application/".length()), dataset.count(collection),
+                        Math.round(s.bytesPerResponse()), s.latency.meanResponseMillis(), s.latency.responseMillis(50),
+                        s.latency.responseMillis(99), s.serverCpuMillisPerRequest, k);
+                }
+            }
+        }
+        seeder.report().save("collection-scaling-seeding");
+        table.publish("collection-scaling");
+    }
+
+    @AfterAll
+    void deleteSeededData() throws Exception {
+        if (seeder == null) return;
+        seeder.deleteCreated();
+        Files.deleteIfExists(SeedDatasets.checkpoint("scaling"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecse429.restapi.Benchmarks.scaling;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.perf.RequestSampler;
+import com.ecse429.restapi.perf.ScalingCurve;
+import com.ecse429.restapi.seed.DataSeeder;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.*;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filter queries (?title=, ?doneStatus=, ?active=) over growing collections,
+ * the large-data counterpart of testFilterTodosByTitle and collectionFilters_Smoke.
+ *
+ * Seeded todos alternate doneStatus true/false and share one bulk title, except for a
+ * single "needle" todo; projects alternate active true/false. That gives queries with
+ * one match, ~50% matches and no match, alone and combined. Each query is compared
+ * with the unfiltered list at the same size: if a 1-match query costs about as much as
+ * the full list, the server filters by linear scan. Queries without the bulk title also
+ * match entities already on the server, so the "matches" column is the real count.
+ * Everything seeded is deleted again after the run.
+ *
+ * mvn test -Pperf -Dtest=FilterScalingBenchmark -Dbench.sizes=1000,10000,100000
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // allow non-static @AfterAll
+public class FilterScalingBenchmark extends BaseApiTest {
+
+    private DataSeeder seeder;
+
+    @Test
+    void filterQueriesScaling() throws Exception {
+        List<Integer> sizes = PerfConfig.intListProp("bench.sizes", List.of(100, 1000, 10000));
+        LoadContext ctx = LoadContext.forBaseApiTest();
+        seeder = new DataSeeder(ctx, PerfConfig.intProp("seed.parallelism", 32));
+        RequestSampler sampler = RequestSampler.fromSystemProperties(ctx.client());
+        ScalingCurve curve = new ScalingCurve();
+
+        String bulk = uniqueTitle("filterBulk");
+        String needle = uniqueTitle("filterNeedle");
+        seeder.createEntities("todos", 1,
+            i -> "{\"title\":\"" + needle + "\",\"doneStatus\":true,\"description\":\"needle\"}");
+
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("todos (unfiltered)", "/todos");
+        queries.put("todos title=needle (1 match)", "/todos?title=" + needle);
+        queries.put("todos title=missing (0 matches)", "/todos?title=" + bulk + "_missing");
+        queries.put("todos doneStatus=true (~50%)", "/todos?doneStatus=true");
+        queries.put("todos title=bulk (~100%)", "/todos?title=" + bulk);
+        queries.put("todos title=needle&doneStatus=true (1)", "/todos?title=" + needle + "&doneStatus=true");
+        queries.put("todos title=bulk&doneStatus=false (~50%)", "/todos?title=" + bulk + "&doneStatus=false");
+        queries.put("projects (unfiltered)", "/projects");
+        queries.put("projects active=true (~50%)", "/projects?active=true");
+        queries.put("projects active=true&completed=false (~50%)", "/projects?active=true&completed=false");
+        queries.put("projects title=bulk&active=false (~50%)", "/projects?title=" + bulk + "&active=false");
+
+        ReportTable table = new ReportTable("Filter queries vs collection size",
+            "query", "size", "matches", "bytes", "mean ms", "p50 ms", "p99 ms", "x unfiltered", "k");
+        List<String> todos = new ArrayList<>();
+        List<String> projects = new ArrayList<>();
+        for (int size : sizes) {
+            int base = todos.size();
+            todos.addAll(seeder.createEntities("todos", size - todos.size(), i -> "{\"title\":\"" + bulk
+                + "\",\"doneStatus\":" + ((base + i) % 2 == 0) + ",\"description\":\"bulk\"}"));
+            int pbase = projects.size();
+            projects.addAll(seeder.createEntities("projects", size - projects.size(), i -> "{\"title\":\"" + bulk
+                + "\",\"completed\":false,\"active\":" + ((pbase + i) % 2 == 0) + "}"));
+
+            Map<String, Double> unfiltered = new LinkedHashMap<>();
+            for (Map.Entry<String, String> q : queries.entrySet()) {
+                String collection = q.getValue().substring(1).split("\\?")[0];
+                RequestSampler.Sample s = sampler.sample(q.getKey(), ctx.get(q.getValue(), "application/json"));
+                Assertions.assertEquals(0, s.errors, q.getValue() + " failed at size " + size);
+                double p50 = s.latency.responseMillis(50);
+                if (!q.getValue().contains("?")) unfiltered.put(collection, p50);
+                table.row(q.getKey(), size, matches(ctx, q.getValue(), collection), Math.round(s.bytesPerResponse()),
+                    s.latency.meanResponseMillis(), p50, s.latency.responseMillis(99),
+                    p50 / unfiltered.get(collection), curve.add(q.getKey(), size, p50));
+            }
+        }
+        seeder.report().save("filter-scaling-seeding");
+        table.publish("filter-scaling");
+    }
+
+    @AfterAll
+    void deleteSeededData() throws InterruptedException {
+        if (seeder == null) return;
+        seeder.deleteCreated();
+    }
+
+    private static int matches(LoadContext ctx, String path, String collection) throws Exception {
+        HttpResponse<String> resp = ctx.client().send(ctx.get(path, "application/json"), HttpResponse.BodyHandlers.ofString());
+        return JsonParser.parseString(resp.body()).getAsJsonObject().getAsJsonArray(collection).size();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecse429.restapi.Benchmarks.seed;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.seed.DataSeeder;
+import com.ecse429.restapi.seed.SeedDataset;
+import com.ecse429.restapi.seed.SeedDatasets;
+import com.ecse429.restapi.seed.SeedPlan;
+import org.junit.jupiter.api.*;
+
+/**
+ * Seeds a large dataset and reports seeding throughput. The ids are checkpointed to
+ * target/perf-data/<seed.name>.json so other benchmarks can reuse the data.
+ *
+ * mvn test -Pperf -Dtest=BulkSeedBenchmark -Dseed.todos=100000 -Dseed.projects=5000 -Dseed.parallelism=64
+ */
+public class BulkSeedBenchmark extends BaseApiTest {
+
+    @Test
+    void seedDataset() throws Exception {
+        SeedPlan plan = SeedPlan.fromSystemProperties();
+        String name = PerfConfig.stringProp("seed.name", "default");
+        LoadContext ctx = LoadContext.forBaseApiTest();
+        DataSeeder seeder = new DataSeeder(ctx, PerfConfig.intProp("seed.parallelism", 32));
+
+        SeedDataset dataset = SeedDatasets.reuseOrSeed(ctx, seeder, name, plan);
+
+        seeder.report().publish("seed-" + name);
+        System.out.printf("Dataset '%s': %d todos, %d projects, %d categories, %d relation edges -> %s%n",
+            name, dataset.count("todos"), dataset.count("projects"), dataset.count("categories"),
+            dataset.edgeCount(), SeedDatasets.checkpoint(name).toAbsolutePath());
+
+        Assertions.assertTrue(dataset.count("todos") >= plan.todos, "not all todos were seeded");
+        Assertions.assertTrue(dataset.count("projects") >= plan.projects, "not all projects were seeded");
+        Assertions.assertTrue(dataset.count("categories") >= plan.categories, "not all categories were seeded");
+    }
+}
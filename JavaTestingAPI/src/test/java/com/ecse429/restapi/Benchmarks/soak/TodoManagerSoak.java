@@ -0,0 +1,209 @@
+package com.ecse429.restapi.Benchmarks.soak;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.EndpointStats;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.LoadEngine;
+import com.ecse429.restapi.load.LoadProfile;
+import com.ecse429.restapi.load.LoadResult;
+import com.ecse429.restapi.load.Workload;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.server.HeapHistogram;
+import com.ecse429.restapi.server.ServerProcesses;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hours of randomised churn against the Todo Manager, watching for leaks and slow degradation.
+ *
+ * Runs {@link Workloads#soakChurn} (create/delete capped at {@code soak.churnCap} entities per
+ * collection, link/unlink on tasks/tasksof and categories/todos) with {@code soak.users}
+ * closed-loop users for {@code soak.duration}, one {@code soak.interval} window at a time. After each window it samples the server:
+ *
+ *   soak entities and links      the run's own id and link pools (LoadContext)
+ *   server entities, heap        jcmd GC.class_histogram (ThingInstance count, total live bytes after GC)
+ *   RSS and threads              /proc/<pid>/status
+ *   latency                      p50/p99 overall and per endpoint for the window
+ *
+ * {@code soak-samples} and {@code soak-latency} are saved after every window, so a run
+ * cut short still leaves its data. At the end the first windows after {@code soak.warmupWindows}
+ * are compared with the last ones (median of {@code soak.compareWindows} each), and heap is
+ * regressed on the soak's entity count and the window number over all measured windows: the
+ * window coefficient is growth that churn does not account for. Server-wide counts are reported
+ * but not judged, since other clients of a shared server change them. The run fails if
+ *
+ *   - an endpoint's p99 grew more than {@code soak.maxLatencyDrift} times, or
+ *   - heap after GC grew by more than {@code soak.maxHeapGrowthMb} over the measured windows
+ *     beyond what the soak's own entities and links explain, or
+ *   - the error rate exceeded {@code soak.maxErrorRate}.
+ *
+ * Needs the server process on this machine (managed, or started by hand from the jar).
+ *
+ * mvn test -Psoak -Dsoak.duration=8h [-Dserver.managed=true]
+ */
+public class TodoManagerSoak extends BaseApiTest {
+
+    private final Duration duration = PerfConfig.durationProp("soak.duration", Duration.ofHours(2));
+    private final Duration interval = PerfConfig.durationProp("soak.interval", Duration.ofMinutes(1));
+    private final int users = PerfConfig.intProp("soak.users", 8);
+    private final int warmupWindows = PerfConfig.intProp("soak.warmupWindows", 2);
+    private final int compareWindows = PerfConfig.intProp("soak.compareWindows", 3);
+
+    private LoadContext ctx;
+
+    @BeforeEach
+    void primeEntities() throws Exception {
+        ctx = LoadContext.forBaseApiTest();
+        ctx.prime(PerfConfig.intProp("soak.prime", 20));
+    }
+
+    @AfterEach
+    void cleanup() {
+        ctx.cleanup();
+    }
+
+    /** Server and latency figures of one window. */
+    private static final class Sample {
+        long requests;
+        long errors;
+        double p99;
+        long soakEntities;
+        long serverEntities;
+        long heapBytes;
+        final Map<String, Double> endpointP99 = new LinkedHashMap<>();
+    }
+
+    @Test
+    void soak() throws Exception {
+        ProcessHandle server = ServerProcesses.require();
+        Workload workload = Workloads.soakChurn(PerfConfig.intProp("soak.churnCap", 200));
+        LoadEngine engine = new LoadEngine(ctx);
+
+        ReportTable samples = new ReportTable("Soak samples every " + interval.toSeconds() + "s (" + workload.name()
+            + ", " + users + " users)", "window", "requests", "errors", "req/s", "p50 ms", "p99 ms",
+            "soak entities", "server entities", "heap after GC MB", "RSS MB", "threads");
+        ReportTable latency = new ReportTable("Soak latency per endpoint and window",
+            "window", "endpoint", "requests", "errors", "p50 ms", "p99 ms");
+        List<Sample> windows = new ArrayList<>();
+        long end = System.nanoTime() + duration.toNanos();
+        for (int w = 1; System.nanoTime() < end; w++) {
+            LoadResult result = engine.run(workload, LoadProfile.closed(users, interval));
+            HeapHistogram heap = HeapHistogram.capture(server.pid());
+
+            Sample s = new Sample();
+            Histogram all = result.responseHistogram();
+            s.requests = result.totalRequests();
+            s.errors = result.totalErrors();
+            s.p99 = all.getValueAtPercentile(99) / 1e6;
+            s.soakEntities = ctx.entityCount() + ctx.linkCount();
+            s.serverEntities = heap.instances(HeapHistogram.THING_INSTANCE);
+            s.heapBytes = heap.totalBytes();
+            for (EndpointStats e : result.endpoints()) {
+                s.endpointP99.put(e.name(), e.latency().responseMillis(99));
+                latency.row(w, e.name(), e.requests(), e.errors(), e.latency().responseMillis(50), e.latency().responseMillis(99));
+            }
+            windows.add(s);
+            long rss = ServerProcesses.rssBytes(server);
+            samples.row(w, s.requests, s.errors, result.throughput(), all.getValueAtPercentile(50) / 1e6, s.p99,
+                s.soakEntities, s.serverEntities, s.heapBytes / 1e6, rss < 0 ? Double.NaN : rss / 1e6, ServerProcesses.threads(server));
+            samples.save("soak-samples");
+            latency.save("soak-latency");
+        }
+        samples.publish("soak-samples");
+        verdict(windows);
+    }
+
+    private void verdict(List<Sample> windows) {
+        ReportTable table = new ReportTable("Soak verdict: first vs last " + compareWindows + " windows after "
+            + warmupWindows + " warm-up windows", "check", "start", "end", "change", "limit", "result");
+        List<String> failures = new ArrayList<>();
+
+        long requests = windows.stream().mapToLong(s -> s.requests).sum();
+        long errors = windows.stream().mapToLong(s -> s.errors).sum();
+        double errorRate = requests == 0 ? 0 : errors / (double) requests;
+        double maxErrorRate = PerfConfig.doubleProp("soak.maxErrorRate", 0.01);
+        check(table, failures, "error rate", 0, errorRate, errorRate, maxErrorRate, errorRate > maxErrorRate);
+
+        List<Sample> measured = windows.subList(Math.min(warmupWindows, windows.size()), windows.size());
+        if (measured.size() < 2 * compareWindows) {
+            table.row("drift and growth", "-", "-", "-", "-", "skipped: only " + measured.size() + " windows after warm-up");
+        } else {
+            List<Sample> first = measured.subList(0, compareWindows);
+            List<Sample> last = measured.subList(measured.size() - compareWindows, measured.size());
+            double maxDrift = PerfConfig.doubleProp("soak.maxLatencyDrift", 1.5);
+            for (String endpoint : last.get(0).endpointP99.keySet()) {
+                double before = median(first, s -> s.endpointP99.getOrDefault(endpoint, Double.NaN));
+                double after = median(last, s -> s.endpointP99.getOrDefault(endpoint, Double.NaN));
+                double ratio = after / before;
+                check(table, failures, endpoint + " p99 ms", before, after, ratio, maxDrift, ratio > maxDrift);
+            }
+
+            double heapBefore = median(first, s -> s.heapBytes);
+            double heapAfter = median(last, s -> s.heapBytes);
+            table.row("soak entities and links", median(first, s -> s.soakEntities), median(last, s -> s.soakEntities),
+                "-", "-", "info");
+            table.row("server entities", median(first, s -> s.serverEntities), median(last, s -> s.serverEntities),
+                "-", "-", "info");
+            // heap = a + perEntity * soakEntities + perWindow * window, least squares over measured windows
+            double[] fit = fitHeap(measured);
+            double unexplainedMb = fit[1] * (measured.size() - 1) / 1e6;
+            double floorMb = PerfConfig.doubleProp("soak.maxHeapGrowthMb", 16);
+            table.row("heap per soak entity KB", "-", "-", fit[0] / 1e3, "-", "info");
+            table.row("heap after GC MB", heapBefore / 1e6, heapAfter / 1e6, (heapAfter - heapBefore) / 1e6, "-", "info");
+            check(table, failures, "heap growth not explained by entities MB", 0, unexplainedMb, unexplainedMb,
+                floorMb, unexplainedMb > floorMb);
+        }
+        table.publish("soak-verdict");
+        Assertions.assertTrue(failures.isEmpty(), "soak failed: " + String.join("; ", failures));
+    }
+
+    private static void check(ReportTable table, List<String> failures, String check, double start, double end,
+                              double change, double limit, boolean failed) {
+        table.row(check, start, end, change, limit, failed ? "FAIL" : "ok");
+        if (failed) failures.add(check + " " + start + " -> " + end);
+    }
+
+    /**
+     * Least-squares {@code {perEntity, perWindow}} bytes for heap against soak entities and window
+     * index. With a constant entity count the first is 0 and the second the plain slope over time.
+     */
+    private static double[] fitHeap(List<Sample> samples) {
+        int n = samples.size();
+        double meanE = 0, meanW = 0, meanH = 0;
+        for (int i = 0; i < n; i++) {
+            meanE += samples.get(i).soakEntities / (double) n;
+            meanW += i / (double) n;
+            meanH += samples.get(i).heapBytes / (double) n;
+        }
+        double ee = 0, ww = 0, ew = 0, eh = 0, wh = 0;
+        for (int i = 0; i < n; i++) {
+            double e = samples.get(i).soakEntities - meanE, w = i - meanW, h = samples.get(i).heapBytes - meanH;
+            ee += e * e;
+            ww += w * w;
+            ew += e * w;
+            eh += e * h;
+            wh += w * h;
+        }
+        double det = ee * ww - ew * ew;
+        if (ww == 0) return new double[]{0, 0};
+        if (det <= 1e-9 * ee * ww || ee == 0) return new double[]{0, wh / ww};
+        return new double[]{(ww * eh - ew * wh) / det, (ee * wh - ew * eh) / det};
+    }
+
+    private interface Metric {
+        double of(Sample s);
+    }
+
+    private static double median(List<Sample> samples, Metric metric) {
+        double[] v = samples.stream().mapToDouble(metric::of).filter(d -> !Double.isNaN(d)).sorted().toArray();
+        return v.length == 0 ? Double.NaN : v[v.length / 2];
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecse429.restapi.Benchmarks.startup;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.server.ManagedServer;
+import com.ecse429.restapi.server.ServerLaunch;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Todo Manager start-up with and without the AppCDS archive trained by {@code -Pcds,cds-train}.
+ *
+ * Launches the jar {@code bench.launches} times per setting, alternating between the settings
+ * so that disk cache and machine load hit both alike, and reports process start to the first
+ * 200 on /docs. Skipped when the archive ({@code -Dbench.cdsArchive}, default
+ * {@code target/cds/server.jsa}) has not been trained yet.
+ *
+ * mvn test -Pperf -Dtest=CdsStartupBenchmark -Dbench.launches=20
+ */
+public class CdsStartupBenchmark extends BaseApiTest {
+
+    @Test
+    void serverStartupWithArchive() throws Exception {
+        Path archive = Paths.get(PerfConfig.stringProp("bench.cdsArchive", "target/cds/server.jsa"));
+        Assumptions.assumeTrue(Files.isRegularFile(archive), archive + " missing; run mvn verify -Pcds,cds-train first");
+        int launches = PerfConfig.intProp("bench.launches", 10);
+
+        ServerLaunch base = ServerLaunch.fromSystemProperties().withPort(0);
+        Map<String, List<String>> settings = new LinkedHashMap<>();
+        settings.put("-Xshare:off", List.of("-Xshare:off"));
+        settings.put("default (JDK archive)", List.of());
+        // -Xshare:on fails the launch instead of silently running without a stale archive
+        settings.put("AppCDS " + archive.getFileName(), List.of("-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-Xshare:on"));
+
+        Map<String, double[]> millis = new LinkedHashMap<>();
+        settings.keySet().forEach(k -> millis.put(k, new double[launches]));
+        for (int i = 0; i < launches; i++) {
+            for (Map.Entry<String, List<String>> s : settings.entrySet()) {
+                List<String> flags = new ArrayList<>(base.jvmArgs());
+                flags.addAll(s.getValue());
+                try (ManagedServer server = ManagedServer.start(base.withJvmArgs(flags))) {
+                    millis.get(s.getKey())[i] = server.timeToFirstSuccess().toNanos() / 1e6;
+                }
+            }
+        }
+
+        ReportTable table = new ReportTable("Todo Manager time to first 200 by CDS setting (" + launches + " launches each)",
+            "setting", "mean ms", "p50 ms", "min ms", "max ms", "vs default");
+        double defaultMean = Arrays.stream(millis.get("default (JDK archive)")).average().orElse(Double.NaN);
+        for (Map.Entry<String, double[]> e : millis.entrySet()) {
+            double[] sorted = e.getValue().clone();
+            Arrays.sort(sorted);
+            double mean = Arrays.stream(sorted).average().orElse(Double.NaN);
+            table.row(e.getKey(), mean, sorted[sorted.length / 2], sorted[0], sorted[sorted.length - 1], mean / defaultMean);
+        }
+        table.publish("cds-server-startup");
+    }
+}
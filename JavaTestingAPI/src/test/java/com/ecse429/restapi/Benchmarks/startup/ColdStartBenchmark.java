@@ -0,0 +1,195 @@
+package com.ecse429.restapi.Benchmarks.startup;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.metrics.EndpointLatency;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.server.ManagedServer;
+import com.ecse429.restapi.server.ServerLaunch;
+import org.junit.jupiter.api.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Start-up and JIT warm-up of the Todo Manager.
+ *
+ * Launches the jar {@code bench.launches} times (JVM flags from {@code -Dserver.jvmArgs}).
+ * For each launch it measures process start to the first 200 on /docs, then replays the
+ * CRUD sequence of todosEndpoint in rounds until the round time settles:
+ *
+ *   GET /todos, HEAD /todos, POST /todos, GET /todos/:id, HEAD /todos/:id,
+ *   POST /todos/:id, PUT /todos/:id, DELETE /todos/:id, GET /todos/:id (404)
+ *
+ * Steady state is reached once the median of the last {@code bench.steadyWindow} rounds is
+ * within {@code bench.steadyTolerance} of the median of the window before it, three rounds
+ * in a row. Latencies are reported separately for the first round (cold), the rounds before
+ * steady state (warm) and one window after it (steady).
+ *
+ * The test JVM warms up too, so one unrecorded launch runs first ({@code bench.clientWarmupLaunches}).
+ *
+ * mvn test -Pperf -Dtest=ColdStartBenchmark -Dbench.launches=10
+ */
+public class ColdStartBenchmark extends BaseApiTest {
+
+    private static final String[] STEPS = {
+        "GET /todos", "HEAD /todos", "POST /todos", "GET /todos/:id", "HEAD /todos/:id",
+        "POST /todos/:id", "PUT /todos/:id", "DELETE /todos/:id", "GET /todos/:id (deleted)"};
+    /** {@link #round} result when the create gave no id and the rest of the round was skipped. */
+    private static final int ABORTED = -1;
+
+    private final int window = PerfConfig.intProp("bench.steadyWindow", 20);
+    private final double tolerance = PerfConfig.doubleProp("bench.steadyTolerance", 0.10);
+    private final int maxRounds = PerfConfig.intProp("bench.maxRounds", 3000);
+
+    private final Map<String, List<EndpointLatency>> phases = new LinkedHashMap<>();
+
+    @Test
+    void coldStartAndWarmup() throws Exception {
+        int launches = PerfConfig.intProp("bench.launches", 5);
+        int clientWarmup = PerfConfig.intProp("bench.clientWarmupLaunches", 1);
+        ServerLaunch launch = ServerLaunch.fromSystemProperties().withPort(0);
+        for (String step : STEPS) {
+            phases.put(step, List.of(new EndpointLatency("cold"), new EndpointLatency("warm"), new EndpointLatency("steady")));
+        }
+
+        ReportTable perLaunch = new ReportTable("Cold start and warm-up per launch (jvm flags: "
+            + (launch.jvmArgs().isEmpty() ? "default" : String.join(" ", launch.jvmArgs())) + ")",
+            "launch", "first 200 ms", "cold round ms", "warm-up rounds", "warm-up requests", "warm-up s",
+            "warm round p50 ms", "steady round p50 ms");
+        for (int i = -clientWarmup; i < launches; i++) {
+            try (ManagedServer server = ManagedServer.start(launch)) {
+                Launch result = warmUp(server, i >= 0);
+                if (i < 0) continue;
+                Assertions.assertEquals(0, result.errors, "unexpected status codes in launch " + (i + 1)
+                    + " (" + result.aborted + " rounds aborted without an id)");
+                perLaunch.row(i + 1, server.timeToFirstSuccess().toNanos() / 1e6, result.roundMillis[0],
+                    result.steadyFrom == null ? "not reached" : result.steadyFrom,
+                    result.steadyFrom == null ? "-" : result.steadyFrom * STEPS.length,
+                    result.secondsToSteady, result.warmP50, result.steadyP50);
+            }
+        }
+
+        ReportTable perStep = new ReportTable("Request latency by phase over " + launches + " launches",
+            "request", "cold mean ms", "warm p50 ms", "warm p99 ms", "steady p50 ms", "steady p99 ms", "cold/steady");
+        for (Map.Entry<String, List<EndpointLatency>> e : phases.entrySet()) {
+            EndpointLatency cold = e.getValue().get(0), warm = e.getValue().get(1), steady = e.getValue().get(2);
+            perStep.row(e.getKey(), cold.meanResponseMillis(), warm.responseMillis(50), warm.responseMillis(99),
+                steady.responseMillis(50), steady.responseMillis(99), cold.meanResponseMillis() / steady.responseMillis(50));
+        }
+        perLaunch.publish("cold-start");
+        perStep.publish("cold-start-phases");
+    }
+
+    /** Outcome of one launch. {@code steadyFrom} is the first round of the steady window, or null. */
+    private static final class Launch {
+        double[] roundMillis;
+        Integer steadyFrom;
+        double secondsToSteady = Double.NaN;
+        double warmP50 = Double.NaN;
+        double steadyP50 = Double.NaN;
+        int errors;
+        int aborted;
+    }
+
+    private Launch warmUp(ManagedServer server, boolean record) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        LoadContext ctx = new LoadContext(URI.create(server.baseUrl()), client);
+        Launch result = new Launch();
+        List<Double> rounds = new ArrayList<>();
+        List<long[]> timings = new ArrayList<>();
+        long t0 = System.nanoTime();
+        int stable = 0;
+        Integer steadyFrom = null;
+        for (int r = 0; r < maxRounds; r++) {
+            long[] steps = new long[STEPS.length];
+            int errors = round(ctx, steps);
+            if (errors == ABORTED) {
+                // a partial round would enter the phases and the medians as zero-time steps
+                result.aborted++;
+                result.errors++;
+                continue;
+            }
+            result.errors += errors;
+            timings.add(steps);
+            rounds.add(Arrays.stream(steps).sum() / 1e6);
+            int n = rounds.size();
+            if (steadyFrom == null && n > 2 * window) {
+                double last = median(rounds.subList(n - window, n));
+                double before = median(rounds.subList(n - 2 * window, n - window));
+                stable = Math.abs(last - before) <= tolerance * before ? stable + 1 : 0;
+                if (stable >= 3) {
+                    steadyFrom = n;
+                    result.secondsToSteady = (System.nanoTime() - t0) / 1e9;
+                }
+            }
+            if (steadyFrom != null && n >= steadyFrom + window) break;
+        }
+        result.roundMillis = rounds.stream().mapToDouble(Double::doubleValue).toArray();
+        result.steadyFrom = steadyFrom;
+        int warmEnd = steadyFrom == null ? rounds.size() : steadyFrom;
+        result.warmP50 = median(rounds.subList(Math.min(1, warmEnd), warmEnd));
+        if (steadyFrom != null) result.steadyP50 = median(rounds.subList(steadyFrom, rounds.size()));
+        if (record) {
+            for (int r = 0; r < timings.size(); r++) {
+                int phase = r == 0 ? 0 : r < warmEnd ? 1 : 2;
+                for (int s = 0; s < STEPS.length; s++) {
+                    phases.get(STEPS[s]).get(phase).record(0, 0, timings.get(r)[s]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One pass of the todosEndpoint sequence; fills in nanos per step and returns the number of
+     * unexpected statuses, or {@link #ABORTED} when the create returned no id.
+     */
+    private static int round(LoadContext ctx, long[] nanos) throws Exception {
+        int errors = 0;
+        errors += timed(ctx, ctx.get("/todos", "application/json"), 200, nanos, 0).errors;
+        errors += timed(ctx, ctx.head("/todos"), 200, nanos, 1).errors;
+        Step created = timed(ctx, ctx.postJson("/todos", "{\"title\":\"jsonToDo\",\"description\":\"test json\"}"), 201, nanos, 2);
+        errors += created.errors;
+        String id = LoadContext.extractId(created.body);
+        if (id == null) return ABORTED;
+        errors += timed(ctx, ctx.get("/todos/" + id, "application/json"), 200, nanos, 3).errors;
+        errors += timed(ctx, ctx.head("/todos/" + id), 200, nanos, 4).errors;
+        errors += timed(ctx, ctx.postJson("/todos/" + id, "{\"description\":\"jsonUpdated\"}"), 200, nanos, 5).errors;
+        errors += timed(ctx, ctx.putJson("/todos/" + id, "{\"title\":\"PutTest\",\"description\":\"jsonPutUpdated\"}"), 200, nanos, 6).errors;
+        errors += timed(ctx, ctx.delete("/todos/" + id), 200, nanos, 7).errors;
+        errors += timed(ctx, ctx.get("/todos/" + id, "application/json"), 404, nanos, 8).errors;
+        return errors;
+    }
+
+    private static final class Step {
+        final byte[] body;
+        final int errors;
+
+        Step(byte[] body, int errors) {
+            this.body = body;
+            this.errors = errors;
+        }
+    }
+
+    private static Step timed(LoadContext ctx, HttpRequest request, int expected, long[] nanos, int index) throws Exception {
+        long t0 = System.nanoTime();
+        HttpResponse<byte[]> resp = ctx.client().send(request, HttpResponse.BodyHandlers.ofByteArray());
+        nanos[index] = System.nanoTime() - t0;
+        return new Step(resp.body(), resp.statusCode() == expected ? 0 : 1);
+    }
+
+    private static double median(List<Double> values) {
+        if (values.isEmpty()) return Double.NaN;
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        return sorted[sorted.length / 2];
+    }
+}
@@ -1,8 +1,9 @@
 package com.ecse429.restapi.JsonTests.categories;
 
+import com.ecse429.restapi.calls.JsonCalls;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.*;
-import static io.restassured.RestAssured.given;
+import java.util.Map;
 import static org.hamcrest.Matchers.*;
 import com.ecse429.restapi.BaseApiTest;
 
@@ -11,14 +12,12 @@ public class CategoriesApiJsonTest extends BaseApiTest {
 
     // No shared state; each test will create its own category and use its ID
 
+    private final JsonCalls api = jsonCalls();
+
     @Test
     @Order(1)
     void testGetAllCategories() {
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/categories")
-        .then()
+        api.list("categories", Map.of())
             .statusCode(200)
             .contentType(ContentType.JSON);
     }
@@ -26,151 +25,90 @@ public class CategoriesApiJsonTest extends BaseApiTest {
     @Test
     @Order(2)
     void testHeadAllCategories() {
-        given()
-        .when()
-            .head("/categories")
-        .then()
+        api.headAll("categories")
             .statusCode(200);
     }
 
     @Test
     @Order(3)
     void testCreateCategory() {
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"jsonCategory\",\"description\":\"test json\"}")
-        .when()
-            .post("/categories")
-        .then()
+        String idString = api.create("categories", "{\"title\":\"jsonCategory\",\"description\":\"test json\"}")
             .statusCode(201)
             .body("title", equalTo("jsonCategory"))
-            .extract().path("id");
+            .path("id");
         // Clean up
-        given().when().delete("/categories/" + idString).then().statusCode(200);
+        api.delete("categories", idString).statusCode(200);
     }
 
     @Test
     @Order(4)
     void testGetCategoryById() {
         // Create a category
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"jsonCategory\",\"description\":\"test json\"}")
-        .when()
-            .post("/categories")
-        .then()
+        String idString = api.create("categories", "{\"title\":\"jsonCategory\",\"description\":\"test json\"}")
             .statusCode(201)
-            .extract().path("id");
+            .path("id");
         // Get by id
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/categories/" + idString)
-        .then()
+        api.get("categories", idString)
             .statusCode(200)
             .body("categories[0].id", equalTo(idString))
             .body("categories[0].title", equalTo("jsonCategory"));
         // Clean up
-        given().when().delete("/categories/" + idString).then().statusCode(200);
+        api.delete("categories", idString).statusCode(200);
     }
 
     @Test
     @Order(5)
     void testHeadCategoryById() {
         // Create a category
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"HeadCatTest\"}")
-        .when()
-            .post("/categories")
-        .then()
+        String idString = api.create("categories", "{\"title\":\"HeadCatTest\"}")
             .statusCode(201)
-            .extract().path("id");
+            .path("id");
         // Head by id
-        given()
-            .when()
-            .head("/categories/" + idString)
-        .then()
+        api.head("categories", idString)
             .statusCode(200);
         // Clean up
-        given().when().delete("/categories/" + idString).then().statusCode(200);
+        api.delete("categories", idString).statusCode(200);
     }
 
     @Test
     @Order(6)
     void testPostUpdateCategory() {
         // Create a category
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"PostUpdateCatTest\"}")
-        .when()
-            .post("/categories")
-        .then()
+        String idString = api.create("categories", "{\"title\":\"PostUpdateCatTest\"}")
             .statusCode(201)
-            .extract().path("id");
+            .path("id");
         // Post update
-        given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"description\":\"jsonUpdated\"}")
-        .when()
-            .post("/categories/" + idString)
-        .then()
+        api.amend("categories", idString, "{\"description\":\"jsonUpdated\"}")
             .statusCode(200)
             .body("description", equalTo("jsonUpdated"));
         // Clean up
-        given().when().delete("/categories/" + idString).then().statusCode(200);
+        api.delete("categories", idString).statusCode(200);
     }
 
     @Test
     @Order(7)
     void testPutUpdateCategory() {
         // Create a category
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"PutTest\"}")
-        .when()
-            .post("/categories")
-        .then()
+        String idString = api.create("categories", "{\"title\":\"PutTest\"}")
             .statusCode(201)
-            .extract().path("id");
+            .path("id");
         // Put update
-        given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"PutTest\",\"description\":\"jsonPutUpdated\"}")
-        .when()
-            .put("/categories/" + idString)
-        .then()
+        api.replace("categories", idString, "{\"title\":\"PutTest\",\"description\":\"jsonPutUpdated\"}")
             .statusCode(200)
             .body("description", equalTo("jsonPutUpdated"));
         // Clean up
-        given().when().delete("/categories/" + idString).then().statusCode(200);
+        api.delete("categories", idString).statusCode(200);
     }
 
     @Test
     @Order(8)
     void testDeleteCategory() {
         // Create a category
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"DeleteCatTest\"}")
-        .when()
-            .post("/categories")
-        .then()
+        String idString = api.create("categories", "{\"title\":\"DeleteCatTest\"}")
             .statusCode(201)
-            .extract().path("id");
+            .path("id");
         // Delete
-        given()
-            .when()
-            .delete("/categories/" + idString)
-        .then()
+        api.delete("categories", idString)
             .statusCode(200);
     }
 
@@ -178,21 +116,12 @@ public class CategoriesApiJsonTest extends BaseApiTest {
     @Order(9)
     void testGetDeletedCategoryShould404() {
         // Create and delete a category
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"Delete404CatTest\"}")
-        .when()
-            .post("/categories")
-        .then()
+        String idString = api.create("categories", "{\"title\":\"Delete404CatTest\"}")
             .statusCode(201)
-            .extract().path("id");
-        given().when().delete("/categories/" + idString).then().statusCode(200);
+            .path("id");
+        api.delete("categories", idString).statusCode(200);
         // Confirm 404
-        given()
-            .when()
-            .get("/categories/" + idString)
-        .then()
+        api.get("categories", idString)
             .statusCode(404);
     }
 }
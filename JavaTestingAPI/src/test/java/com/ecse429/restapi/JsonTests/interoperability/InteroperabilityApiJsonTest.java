@@ -1,9 +1,11 @@
 package com.ecse429.restapi.JsonTests.interoperability;
 
-import io.restassured.http.ContentType;
+import com.ecse429.restapi.calls.Answer;
+import com.ecse429.restapi.calls.JsonCalls;
 import org.junit.jupiter.api.*;
 
-import static io.restassured.RestAssured.given;
+import java.util.Map;
+
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -14,6 +16,7 @@ import com.ecse429.restapi.BaseApiTest;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS) // allow non-static @BeforeAll/@AfterAll
 public class InteroperabilityApiJsonTest extends BaseApiTest {
 
+    private final JsonCalls api = jsonCalls();
     private String todoId;
     private String projectId;
     private String categoryId;
@@ -21,57 +24,38 @@ public class InteroperabilityApiJsonTest extends BaseApiTest {
     @BeforeAll
     void createSharedEntities() {
         // create todo
-        todoId = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"interopTodo\",\"doneStatus\":false,\"description\":\"interop todo\"}")
-        .when()
-            .post("/todos")
-        .then()
+        todoId = api.create("todos", "{\"title\":\"interopTodo\",\"doneStatus\":false,\"description\":\"interop todo\"}")
             .statusCode(anyOf(is(200), is(201)))
-            .extract().path("id");
+            .path("id");
         Assertions.assertNotNull(todoId, "todoId should not be null");
 
         // create project
-        projectId = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"interopProject\",\"completed\":false,\"active\":true,\"description\":\"interop project\"}")
-        .when()
-            .post("/projects")
-        .then()
+        projectId = api.create("projects", "{\"title\":\"interopProject\",\"completed\":false,\"active\":true,\"description\":\"interop project\"}")
             .statusCode(anyOf(is(200), is(201)))
-            .extract().path("id");
+            .path("id");
         Assertions.assertNotNull(projectId, "projectId should not be null");
 
         // create category
-        categoryId = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"interopCategory\",\"description\":\"interop category\"}")
-        .when()
-            .post("/categories")
-        .then()
+        categoryId = api.create("categories", "{\"title\":\"interopCategory\",\"description\":\"interop category\"}")
             .statusCode(anyOf(is(200), is(201)))
-            .extract().path("id");
+            .path("id");
         Assertions.assertNotNull(categoryId, "categoryId should not be null");
     }
 
     @AfterAll
     void cleanupAll() {
         // Best-effort deletes: allow 200/204/404 so cleanup doesn’t fail the suite
-        safeDelete(String.format("/todos/%s/categories/%s", todoId, categoryId));
-        safeDelete(String.format("/projects/%s/categories/%s", projectId, categoryId));
-        safeDelete(String.format("/projects/%s/tasks/%s", projectId, todoId));
+        safeDelete(api.unlink("todos", todoId, "categories", categoryId));
+        safeDelete(api.unlink("projects", projectId, "categories", categoryId));
+        safeDelete(api.unlink("projects", projectId, "tasks", todoId));
 
-        safeDelete("/todos/" + todoId);
-        safeDelete("/projects/" + projectId);
-        safeDelete("/categories/" + categoryId);
+        safeDelete(api.delete("todos", todoId));
+        safeDelete(api.delete("projects", projectId));
+        safeDelete(api.delete("categories", categoryId));
     }
 
-    private void safeDelete(String path) {
-        given().when().delete(path)
-            .then()
+    private void safeDelete(Answer deleted) {
+        deleted
             .statusCode(anyOf(is(200), is(204), is(404)));
     }
 
@@ -80,29 +64,16 @@ public class InteroperabilityApiJsonTest extends BaseApiTest {
         // Create relationship: POST /projects/:id/tasks with { "id": "<todoId>" }
         String relBody = String.format("{\"id\":\"%s\"}", todoId);
 
-        given()
-            .contentType(ContentType.JSON)
-            .body(relBody)
-        .when()
-            .post("/projects/" + projectId + "/tasks")
-        .then()
+        api.link("projects", projectId, "tasks", relBody)
             .statusCode(anyOf(is(200), is(201)));
 
         // Verify tasks under project
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/projects/" + projectId + "/tasks")
-        .then()
+        api.relation("projects", projectId, "tasks")
             .statusCode(200)
             .body("todos.id", hasItem(todoId));
 
         // Verify project appears in todo tasksof
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/todos/" + todoId + "/tasksof")
-        .then()
+        api.relation("todos", todoId, "tasksof")
             .statusCode(200)
             .body("projects.id", hasItem(projectId));
     }
@@ -112,153 +83,102 @@ public class InteroperabilityApiJsonTest extends BaseApiTest {
         String relBodyCat = String.format("{\"id\":\"%s\"}", categoryId);
 
         // Link todo -> category
-        given()
-            .contentType(ContentType.JSON)
-            .body(relBodyCat)
-        .when()
-            .post("/todos/" + todoId + "/categories")
-        .then()
+        api.link("todos", todoId, "categories", relBodyCat)
             .statusCode(anyOf(is(200), is(201)));
 
         // Verify via GET /todos/:id/categories
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/todos/" + todoId + "/categories")
-        .then()
+        api.relation("todos", todoId, "categories")
             .statusCode(200)
             .body("categories.id", hasItem(categoryId));
 
         // Link project -> category
-        given()
-            .contentType(ContentType.JSON)
-            .body(relBodyCat)
-        .when()
-            .post("/projects/" + projectId + "/categories")
-        .then()
+        api.link("projects", projectId, "categories", relBodyCat)
             .statusCode(anyOf(is(200), is(201)));
 
         // Verify via GET /projects/:id/categories
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/projects/" + projectId + "/categories")
-        .then()
+        api.relation("projects", projectId, "categories")
             .statusCode(200)
             .body("categories.id", hasItem(categoryId));
     }
     @Test
     void linkProjectFromTodoSideAndVerify() {
         // POST /todos/:id/tasksof with {"id":"<projectId>"}
-        given()
-            .contentType(ContentType.JSON)
-            .body("{\"id\":\"" + projectId + "\"}")
-        .when()
-            .post("/todos/" + todoId + "/tasksof")
-        .then()
+        api.link("todos", todoId, "tasksof", "{\"id\":\"" + projectId + "\"}")
             .statusCode(anyOf(is(200), is(201)));
 
         // Verify both views
-        given().accept(ContentType.JSON)
-        .when().get("/todos/" + todoId + "/tasksof")
-        .then().statusCode(200).body("projects.id", hasItem(projectId));
+        api.relation("todos", todoId, "tasksof")
+            .statusCode(200).body("projects.id", hasItem(projectId));
 
-        given().accept(ContentType.JSON)
-        .when().get("/projects/" + projectId + "/tasks")
-        .then().statusCode(200).body("todos.id", hasItem(todoId));
+        api.relation("projects", projectId, "tasks")
+            .statusCode(200).body("todos.id", hasItem(todoId));
     }
 
     @Test
     void categorySideMirrors_TodosAndProjects() {
         // Link category -> todo
-        given()
-            .contentType(ContentType.JSON)
-            .body("{\"id\":\"" + todoId + "\"}")
-        .when()
-            .post("/categories/" + categoryId + "/todos")
-        .then()
+        api.link("categories", categoryId, "todos", "{\"id\":\"" + todoId + "\"}")
             .statusCode(anyOf(is(200), is(201)));
 
         // Link category -> project
-        given()
-            .contentType(ContentType.JSON)
-            .body("{\"id\":\"" + projectId + "\"}")
-        .when()
-            .post("/categories/" + categoryId + "/projects")
-        .then()
+        api.link("categories", categoryId, "projects", "{\"id\":\"" + projectId + "\"}")
             .statusCode(anyOf(is(200), is(201)));
 
         // Verify mirrors
-        given().accept(ContentType.JSON)
-        .when().get("/categories/" + categoryId + "/todos")
-        .then().statusCode(200).body("todos.id", hasItem(todoId));
+        api.relation("categories", categoryId, "todos")
+            .statusCode(200).body("todos.id", hasItem(todoId));
 
-        given().accept(ContentType.JSON)
-        .when().get("/categories/" + categoryId + "/projects")
-        .then().statusCode(200).body("projects.id", hasItem(projectId));
+        api.relation("categories", categoryId, "projects")
+            .statusCode(200).body("projects.id", hasItem(projectId));
     }
 
     @Test
     void headEndpoints_Smoke() {
         // Collections
-        given().when().head("/todos").then().statusCode(200);
-        given().when().head("/projects").then().statusCode(200);
-        given().when().head("/categories").then().statusCode(200);
+        api.headAll("todos").statusCode(200);
+        api.headAll("projects").statusCode(200);
+        api.headAll("categories").statusCode(200);
 
         // Instances
-        given().when().head("/todos/" + todoId).then().statusCode(200);
-        given().when().head("/projects/" + projectId).then().statusCode(200);
-        given().when().head("/categories/" + categoryId).then().statusCode(200);
+        api.head("todos", todoId).statusCode(200);
+        api.head("projects", projectId).statusCode(200);
+        api.head("categories", categoryId).statusCode(200);
 
         // Relationships
-        given().when().head("/projects/" + projectId + "/tasks").then().statusCode(200);
-        given().when().head("/todos/" + todoId + "/tasksof").then().statusCode(200);
-        given().when().head("/todos/" + todoId + "/categories").then().statusCode(200);
-        given().when().head("/projects/" + projectId + "/categories").then().statusCode(200);
-        given().when().head("/categories/" + categoryId + "/todos").then().statusCode(200);
-        given().when().head("/categories/" + categoryId + "/projects").then().statusCode(200);
+        api.headRelation("projects", projectId, "tasks").statusCode(200);
+        api.headRelation("todos", todoId, "tasksof").statusCode(200);
+        api.headRelation("todos", todoId, "categories").statusCode(200);
+        api.headRelation("projects", projectId, "categories").statusCode(200);
+        api.headRelation("categories", categoryId, "todos").statusCode(200);
+        api.headRelation("categories", categoryId, "projects").statusCode(200);
     }
 
     @Test
     void collectionFilters_Smoke() {
         // Create a done todo so the filter has something to find
         String doneTodoId =
-            given().contentType(ContentType.JSON).accept(ContentType.JSON)
-                .body("{\"title\":\"doneOne\",\"doneStatus\":true}")
-            .when().post("/todos")
-            .then().statusCode(anyOf(is(200), is(201)))
-            .extract().path("id");
+            api.create("todos", "{\"title\":\"doneOne\",\"doneStatus\":true}")
+            .statusCode(anyOf(is(200), is(201)))
+            .path("id");
 
         // Filter
-        given().accept(ContentType.JSON)
-        .when().get("/todos?doneStatus=true")
-        .then().statusCode(200).body("todos.id", hasItem(doneTodoId));
+        api.list("todos", Map.of("doneStatus", "true"))
+            .statusCode(200).body("todos.id", hasItem(doneTodoId));
 
         // Basic project filter example (adjust to your data)
-        given().accept(ContentType.JSON)
-        .when().get("/projects?active=true")
-        .then().statusCode(200);
+        api.list("projects", Map.of("active", "true"))
+            .statusCode(200);
 
         // Cleanup created todo
-        given().when().delete("/todos/" + doneTodoId)
-        .then().statusCode(anyOf(is(200), is(204)));
+        api.delete("todos", doneTodoId)
+            .statusCode(anyOf(is(200), is(204)));
     }
 
     @Test
     void amendEndpoints_PutAndPost() {
         // PUT update todo
-        var resp = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"interopTodoUpdated\",\"doneStatus\":true}")
-            .log().ifValidationFails()
-        .when()
-            .put("/todos/" + todoId)
-        .then()
-            .log().ifValidationFails()
-            .statusCode(anyOf(is(200), is(201)))
-            .extract()
-            .response();
+        var resp = api.replace("todos", todoId, "{\"title\":\"interopTodoUpdated\",\"doneStatus\":true}")
+            .statusCode(anyOf(is(200), is(201)));
 
         // Parse flexibly
         io.restassured.path.json.JsonPath jp = resp.jsonPath();
@@ -283,15 +203,15 @@ public class InteroperabilityApiJsonTest extends BaseApiTest {
     @Test
     void deleteFromMirrorSides() {
         // DELETE from category side
-        given().when().delete("/categories/" + categoryId + "/todos/" + todoId)
-        .then().statusCode(anyOf(is(200), is(204), is(404)));
+        api.unlink("categories", categoryId, "todos", todoId)
+            .statusCode(anyOf(is(200), is(204), is(404)));
 
-        given().when().delete("/categories/" + categoryId + "/projects/" + projectId)
-        .then().statusCode(anyOf(is(200), is(204), is(404)));
+        api.unlink("categories", categoryId, "projects", projectId)
+            .statusCode(anyOf(is(200), is(204), is(404)));
 
         // DELETE from todo side for tasksof
-        given().when().delete("/todos/" + todoId + "/tasksof/" + projectId)
-        .then().statusCode(anyOf(is(200), is(204), is(404)));
+        api.unlink("todos", todoId, "tasksof", projectId)
+            .statusCode(anyOf(is(200), is(204), is(404)));
     }
 
 }
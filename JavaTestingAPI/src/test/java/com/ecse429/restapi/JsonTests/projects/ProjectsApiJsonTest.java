@@ -1,8 +1,9 @@
 package com.ecse429.restapi.JsonTests.projects;
 
+import com.ecse429.restapi.calls.JsonCalls;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.*;
-import static io.restassured.RestAssured.given;
+import java.util.Map;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -11,16 +12,13 @@ import com.ecse429.restapi.BaseApiTest;
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class ProjectsApiJsonTest extends BaseApiTest {
 
-    static String createdId;
+    private final JsonCalls api = jsonCalls();
+    private String createdId;
 
     @Test
     @Order(1)
     void testGetAllProjects() {
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/projects")
-        .then()
+        api.list("projects", Map.of())
             .statusCode(200)
             .contentType(ContentType.JSON);
     }
@@ -28,10 +26,7 @@ public class ProjectsApiJsonTest extends BaseApiTest {
     @Test
     @Order(2)
     void testHeadAllProjects() {
-        given()
-        .when()
-            .head("/projects")
-        .then()
+        api.headAll("projects")
             .statusCode(200);
     }
 
@@ -40,17 +35,10 @@ public class ProjectsApiJsonTest extends BaseApiTest {
     void testCreateProject() {
         String body = "{\"title\":\"runt mollit anim ida\",\"completed\":false,\"active\":true,\"description\":\"do eiusmod tempor ia\"}";
 
-        createdId = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body(body)
-        .when()
-            .post("/projects")
-        .then()
+        createdId = api.create("projects", body)
             .statusCode(anyOf(is(200), is(201)))
             .contentType(ContentType.JSON)
             .body("title", equalTo("runt mollit anim ida"))
-            .extract()
             .path("id");
 
         Assertions.assertNotNull(createdId);
@@ -59,11 +47,7 @@ public class ProjectsApiJsonTest extends BaseApiTest {
     @Test
     @Order(4)
     void testGetProjectById() {
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/projects/" + createdId)
-        .then()
+        api.get("projects", createdId)
             .statusCode(200)
             .contentType(ContentType.JSON)
             .body("projects[0].id", equalTo(createdId))
@@ -73,10 +57,7 @@ public class ProjectsApiJsonTest extends BaseApiTest {
     @Test
     @Order(5)
     void testHeadProjectById() {
-        given()
-        .when()
-            .head("/projects/" + createdId)
-        .then()
+        api.head("projects", createdId)
             .statusCode(200);
     }
 
@@ -84,13 +65,7 @@ public class ProjectsApiJsonTest extends BaseApiTest {
     @Order(6)
     void testPostUpdateProject() {
         String update = "{\"description\":\"updated project desc via POST\"}";
-        given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body(update)
-        .when()
-            .post("/projects/" + createdId)
-        .then()
+        api.amend("projects", createdId, update)
             .statusCode(200)
             .body("description", equalTo("updated project desc via POST"));
     }
@@ -99,13 +74,7 @@ public class ProjectsApiJsonTest extends BaseApiTest {
     @Order(7)
     void testPutUpdateProject() {
         String update = "{\"description\":\"updated project desc via PUT\"}";
-        given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body(update)
-        .when()
-            .put("/projects/" + createdId)
-        .then()
+        api.replace("projects", createdId, update)
             .statusCode(200)
             .body("description", equalTo("updated project desc via PUT"));
     }
@@ -115,63 +84,34 @@ public class ProjectsApiJsonTest extends BaseApiTest {
     void testProjectsCategoriesRelationshipCrud() {
         // Create a category to relate to
         String catBody = "{\"title\":\"projCatForRel\",\"description\":\"proj rel test\"}";
-        String catId = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body(catBody)
-        .when()
-            .post("/categories")
-        .then()
+        String catId = api.create("categories", catBody)
             .statusCode(anyOf(is(200), is(201)))
-            .extract()
             .path("id");
 
         // Create relationship: POST /projects/:id/categories with { "id": "<catId>" }
         String relBody = String.format("{\"id\":\"%s\"}", catId);
-        given()
-            .contentType(ContentType.JSON)
-            .body(relBody)
-        .when()
-            .post("/projects/" + createdId + "/categories")
-        .then()
+        api.link("projects", createdId, "categories", relBody)
             .statusCode(anyOf(is(200), is(201)));
 
         // Verify relationship via GET /projects/:id/categories
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/projects/" + createdId + "/categories")
-        .then()
+        api.relation("projects", createdId, "categories")
             .statusCode(200);
         // Cleanup relationship and category
-        given()
-        .when()
-            .delete("/projects/" + createdId + "/categories/" + catId)
-        .then()
+        api.unlink("projects", createdId, "categories", catId)
             .statusCode(anyOf(is(200), is(204)));
 
-        given()
-        .when()
-            .delete("/categories/" + catId)
-        .then()
+        api.delete("categories", catId)
             .statusCode(anyOf(is(200), is(204)));
     }
 
     @Test
     @Order(9)
     void testDeleteProject() {
-        given()
-        .when()
-            .delete("/projects/" + createdId)
-        .then()
+        api.delete("projects", createdId)
             .statusCode(anyOf(is(200), is(204)));
 
         // verify deleted
-        given()
-        .when()
-            .get("/projects/" + createdId)
-        .then()
+        api.get("projects", createdId)
             .statusCode(404);
     }
 }
-
@@ -1,8 +1,9 @@
 package com.ecse429.restapi.JsonTests.todos;
 
+import com.ecse429.restapi.calls.JsonCalls;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.*;
-import static io.restassured.RestAssured.given;
+import java.util.Map;
 import static org.hamcrest.Matchers.*;
 
 
@@ -12,14 +13,12 @@ public class todosEndpoint extends com.ecse429.restapi.BaseApiTest {
 
     // No fixed IDs needed; each test will create its own todo and use its ID
 
+    private final JsonCalls api = jsonCalls();
+
     @Test
     @Order(1)
     void testGetAllToDos() {
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/todos")
-        .then()
+        api.list("todos", Map.of())
             .statusCode(200)
             .contentType(ContentType.JSON);
     }
@@ -27,23 +26,14 @@ public class todosEndpoint extends com.ecse429.restapi.BaseApiTest {
     @Test
     @Order(2)
     void testHeadTodos() {
-        given()
-            .when()
-            .head("/todos")
-        .then()
+        api.headAll("todos")
             .statusCode(200);
     }
 
     @Test
     @Order(3)
     void testCreateToDo() {
-        given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"jsonToDo\",\"description\":\"test json\"}")
-        .when()
-            .post("/todos")
-        .then()
+        api.create("todos", "{\"title\":\"jsonToDo\",\"description\":\"test json\"}")
             .statusCode(201)
             .body("title", equalTo("jsonToDo"));
     }
@@ -52,122 +42,70 @@ public class todosEndpoint extends com.ecse429.restapi.BaseApiTest {
     @Order(4)
     void testGetToDoById() {
         // Create a todo
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"GetByIdTest\",\"description\":\"desc\"}")
-        .when()
-            .post("/todos")
-        .then()
+        String idString = api.create("todos", "{\"title\":\"GetByIdTest\",\"description\":\"desc\"}")
             .statusCode(201)
-            .extract().path("id");
+            .path("id");
         // Get by id
-        given()
-            .accept(ContentType.JSON)
-        .when()
-            .get("/todos/" + idString)
-        .then()
+        api.get("todos", idString)
             .statusCode(200)
             .body("todos[0].id", equalTo(idString));
         // Clean up
-        given().when().delete("/todos/" + idString).then().statusCode(200);
+        api.delete("todos", idString).statusCode(200);
     }
 
     @Test
     @Order(5)
     void testHeadToDoById() {
         // Create a todo
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"HeadByIdTest\"}")
-        .when()
-            .post("/todos")
-        .then()
+        String idString = api.create("todos", "{\"title\":\"HeadByIdTest\"}")
             .statusCode(201)
-            .extract().path("id");
+            .path("id");
         // Head by id
-        given()
-            .when()
-            .head("/todos/" + idString)
-        .then()
+        api.head("todos", idString)
             .statusCode(200);
         // Clean up
-        given().when().delete("/todos/" + idString).then().statusCode(200);
+        api.delete("todos", idString).statusCode(200);
     }
 
     @Test
     @Order(6)
     void testPostUpdateToDo() {
         // Create a todo
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"PostUpdateTest\"}")
-        .when()
-            .post("/todos")
-        .then()
+        String idString = api.create("todos", "{\"title\":\"PostUpdateTest\"}")
             .statusCode(201)
-            .extract().path("id");
+            .path("id");
         // Post update
-        given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"description\":\"jsonUpdated\"}")
-        .when()
-            .post("/todos/" + idString)
-        .then()
+        api.amend("todos", idString, "{\"description\":\"jsonUpdated\"}")
             .statusCode(200)
             .body("description", equalTo("jsonUpdated"));
         // Clean up
-        given().when().delete("/todos/" + idString).then().statusCode(200);
+        api.delete("todos", idString).statusCode(200);
     }
 
     @Test
     @Order(7)
     void testPutUpdateToDo() {
         // Create a todo
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"PutTest\"}")
-        .when()
-            .post("/todos")
-        .then()
+        String idString = api.create("todos", "{\"title\":\"PutTest\"}")
             .statusCode(201)
-            .extract().path("id");
+            .path("id");
         // Put update
-        given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"PutTest\",\"description\":\"jsonPutUpdated\"}")
-        .when()
-            .put("/todos/" + idString)
-        .then()
+        api.replace("todos", idString, "{\"title\":\"PutTest\",\"description\":\"jsonPutUpdated\"}")
             .statusCode(200)
             .body("description", equalTo("jsonPutUpdated"));
         // Clean up
-        given().when().delete("/todos/" + idString).then().statusCode(200);
+        api.delete("todos", idString).statusCode(200);
     }
 
     @Test
     @Order(8)
     void testDeleteToDo() {
         // Create a todo
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"DeleteTest\"}")
-        .when()
-            .post("/todos")
-        .then()
+        String idString = api.create("todos", "{\"title\":\"DeleteTest\"}")
             .statusCode(201)
-            .extract().path("id");
+            .path("id");
         // Delete
-        given()
-            .when()
-            .delete("/todos/" + idString)
-        .then()
+        api.delete("todos", idString)
             .statusCode(200);
     }
 
@@ -175,21 +113,12 @@ public class todosEndpoint extends com.ecse429.restapi.BaseApiTest {
     @Order(9)
     void testGetDeletedToDoShould404() {
         // Create and delete a todo
-        String idString = given()
-            .contentType(ContentType.JSON)
-            .accept(ContentType.JSON)
-            .body("{\"title\":\"Delete404Test\"}")
-        .when()
-            .post("/todos")
-        .then()
+        String idString = api.create("todos", "{\"title\":\"Delete404Test\"}")
             .statusCode(201)
-            .extract().path("id");
-        given().when().delete("/todos/" + idString).then().statusCode(200);
+            .path("id");
+        api.delete("todos", idString).statusCode(200);
         // Confirm 404
-        given()
-            .when()
-            .get("/todos/" + idString)
-        .then()
+        api.get("todos", idString)
             .statusCode(404);
     }
 }
@@ -1,95 +1,64 @@
 package com.ecse429.restapi.JsonTests.todos;
 
-import io.restassured.http.ContentType;
+import com.ecse429.restapi.calls.JsonCalls;
 import org.junit.jupiter.api.*;
-import static io.restassured.RestAssured.given;
+import java.util.Map;
 import static org.hamcrest.Matchers.*;
 
 @TestMethodOrder(MethodOrderer.Random.class)
 public class todosExtraEndpoint extends com.ecse429.restapi.BaseApiTest {
 
+    private final JsonCalls api = jsonCalls();
+
     @Test
     @Order(1)
     void testCreateToDoWithAllFields() {
-        String idString = given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("{\"title\":\"Full ToDo\",\"doneStatus\":true,\"description\":\"A full todo\"}")
-                .when()
-                .post("/todos")
-                .then()
+        String idString = api.create("todos", "{\"title\":\"Full ToDo\",\"doneStatus\":true,\"description\":\"A full todo\"}")
                 .statusCode(201)
                 .body("title", equalTo("Full ToDo"))
                 .body("doneStatus", equalTo("true"))
                 .body("description", equalTo("A full todo"))
-                .extract()
                 .path("id");
         int id = Integer.parseInt(idString);
         // Clean up
-        given().when().delete("/todos/" + id).then().statusCode(200);
+        api.delete("todos", String.valueOf(id)).statusCode(200);
     }
 
     @Test
     @Order(2)
     void testFilterTodosByTitle() {
         // Create a unique todo
-        String uniqueTitle = "UniqueTitle123";
-        String idString = given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("{\"title\":\"" + uniqueTitle + "\"}")
-                .when()
-                .post("/todos")
-                .then()
+        String uniqueTitle = uniqueTitle("UniqueTitle123");
+        String idString = api.create("todos", "{\"title\":\"" + uniqueTitle + "\"}")
                 .statusCode(201)
-                .extract()
                 .path("id");
         // Filter by title
-        given()
-                .accept(ContentType.JSON)
-                .queryParam("title", uniqueTitle)
-                .when()
-                .get("/todos")
-                .then()
+        api.list("todos", Map.of("title", uniqueTitle))
                 .statusCode(200)
                 .body("todos[0].title", equalTo(uniqueTitle));
         // Clean up
-        given().when().delete("/todos/" + idString).then().statusCode(200);
+        api.delete("todos", idString).statusCode(200);
     }
 
     @Test
     @Order(3)
     void testGetCategoriesOfToDo() {
         // Create a todo
-        String idString = given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("{\"title\":\"CatTest\"}")
-                .when()
-                .post("/todos")
-                .then()
+        String idString = api.create("todos", "{\"title\":\"CatTest\"}")
                 .statusCode(201)
-                .extract()
                 .path("id");
         // Get categories
-        given()
-                .accept(ContentType.JSON)
-                .when()
-                .get("/todos/" + idString + "/categories")
-                .then()
+        api.relation("todos", idString, "categories")
                 .statusCode(200)
                 .body("categories.size()", equalTo(0));
         // Clean up
-        given().when().delete("/todos/" + idString).then().statusCode(200);
+        api.delete("todos", idString).statusCode(200);
     }
 
     @Test
     @Order(4)
     void testDeleteNonExistentToDo() {
-        given()
-                .when()
-                .delete("/todos/999999")
-                .then()
+        api.delete("todos", "999999")
                 .statusCode(anyOf(is(404), is(200)));
     }
 
@@ -97,31 +66,18 @@ public class todosExtraEndpoint extends com.ecse429.restapi.BaseApiTest {
     @Order(5)
     void testPutUpdateToDoAllFields() {
                 // Create a todo and extract the ID
-                String idString = given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("{\"title\":\"PutAllTest\"}")
-                .when()
-                        .post("/todos")
-                .then()
+                String idString = api.create("todos", "{\"title\":\"PutAllTest\"}")
                         .statusCode(201)
-                        .extract()
                         .path("id").toString();
 
                 // Update the todo with all fields (doneStatus as boolean)
-                given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("{\"title\":\"UpdatedTitle\",\"doneStatus\":true,\"description\":\"UpdatedDesc\"}")
-                .when()
-                        .put("/todos/" + idString)
-                .then()
+                api.replace("todos", idString, "{\"title\":\"UpdatedTitle\",\"doneStatus\":true,\"description\":\"UpdatedDesc\"}")
                         .statusCode(200)
                         .body("title", equalTo("UpdatedTitle"))
                         .body("doneStatus", equalTo("true"))
                         .body("description", equalTo("UpdatedDesc"));
 
                 // Clean up
-                given().when().delete("/todos/" + idString).then().statusCode(200);
+                api.delete("todos", idString).statusCode(200);
     }
 }
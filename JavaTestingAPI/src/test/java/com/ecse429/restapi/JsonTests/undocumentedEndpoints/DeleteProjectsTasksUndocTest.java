@@ -4,14 +4,20 @@ import com.ecse429.restapi.BaseApiTest;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.parallel.Isolated;
+import java.util.concurrent.TimeUnit;
+
 import static io.restassured.RestAssured.given;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.is;
 
+// DELETE /projects/tasks deletes every todo that is a task of any project, so nothing may run alongside it
+@Isolated
 public class DeleteProjectsTasksUndocTest extends BaseApiTest {
     @Test
-    void deleteProjectsTasksRemovesProjectTaskRelations() throws InterruptedException {
+    void deleteProjectsTasksRemovesProjectTaskRelations() {
         String unique = String.valueOf(System.currentTimeMillis());
         String todoId = given()
             .contentType(ContentType.JSON)
@@ -35,12 +41,14 @@ public class DeleteProjectsTasksUndocTest extends BaseApiTest {
         given().accept(ContentType.JSON)
         .when().get("/projects/" + projectId + "/tasks")
         .then().statusCode(200).body("todos.id", hasItem(todoId));
-        given().when().delete("/projects/tasks");
-        Thread.sleep(500);
-        var ids = given().accept(ContentType.JSON)
-            .when().get("/projects/" + projectId + "/tasks")
-            .then().statusCode(200).extract().path("todos.id");
-        Assertions.assertTrue(ids == null || !ids.toString().contains(todoId));
+        given().when().delete("/projects/tasks")
+        .then().statusCode(200);
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(50, TimeUnit.MILLISECONDS).untilAsserted(() -> {
+            var ids = given().accept(ContentType.JSON)
+                .when().get("/projects/" + projectId + "/tasks")
+                .then().statusCode(200).extract().path("todos.id");
+            Assertions.assertTrue(ids == null || !ids.toString().contains(todoId));
+        });
         try { given().when().delete("/todos/" + todoId); } catch (Exception ignored) {}
         try { given().when().delete("/projects/" + projectId); } catch (Exception ignored) {}
     }
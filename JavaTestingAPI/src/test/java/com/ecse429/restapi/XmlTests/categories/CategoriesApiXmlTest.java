@@ -2,42 +2,31 @@ package com.ecse429.restapi.XmlTests.categories;
 
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.is;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.fixtures.EntityFixturePool;
+import com.ecse429.restapi.fixtures.MutatesFixture;
 
 @TestMethodOrder(org.junit.jupiter.api.MethodOrderer.Random.class)
 public class CategoriesApiXmlTest extends BaseApiTest {
 
-    static String createdId;
+    // Pre-created categories; tests that change or delete theirs are marked @MutatesFixture
+    @RegisterExtension
+    static final EntityFixturePool CATEGORIES = EntityFixturePool.xml("categories",
+        "<category><title>xmlCategory</title><description>xml test</description></category>");
+
+    private String createdId;
 
     @BeforeEach
     void createCategoryPerTest() {
-        String xmlBody = "<category><title>xmlCategory</title><description>xml test</description></category>";
-
-        createdId = given()
-            .contentType(ContentType.XML)
-            .accept(ContentType.XML)
-            .body(xmlBody)
-        .when()
-            .post("/categories")
-        .then()
-            .statusCode(anyOf(is(200), is(201)))
-            .extract()
-            .path("category.id");
-
+        createdId = CATEGORIES.acquire();
         Assertions.assertNotNull(createdId);
     }
 
-    @AfterEach
-    void cleanupCategoryPerTest() {
-        // tolerate 200/204/404 so cleanup doesn't fail
-        given().when().delete("/categories/" + createdId)
-            .then().statusCode(anyOf(is(200), is(204), is(404)));
-    }
-
     @Test
     @Order(1)
     void testGetAllCategoriesXml() {
@@ -96,6 +85,7 @@ public class CategoriesApiXmlTest extends BaseApiTest {
 
     @Test
     @Order(6)
+    @MutatesFixture
     void testPostUpdateCategoryXml() {
         String xmlBody = "<category><description>xmlUpdated</description></category>";
 
@@ -112,6 +102,7 @@ public class CategoriesApiXmlTest extends BaseApiTest {
 
     @Test
     @Order(7)
+    @MutatesFixture
     void testPutUpdateCategoryXml() {
         String xmlBody = "<category><title>PutTest</title><description>PutXmlUpdate</description></category>";
 
@@ -127,6 +118,7 @@ public class CategoriesApiXmlTest extends BaseApiTest {
     }
 
     @Test
+    @MutatesFixture
     void testDeleteCategoryXml() {
         // allow 200/204/404 so test is tolerant
         given().when().delete("/categories/" + createdId)
@@ -134,6 +126,7 @@ public class CategoriesApiXmlTest extends BaseApiTest {
     }
 
     @Test
+    @MutatesFixture
     void testGetDeletedCategoryXmlShould404() {
         // delete then verify 404 so test is self-contained
         given().when().delete("/categories/" + createdId)
@@ -2,6 +2,7 @@ package com.ecse429.restapi.XmlTests.projects;
 
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
@@ -9,36 +10,25 @@ import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.is;
 
 import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.fixtures.EntityFixturePool;
+import com.ecse429.restapi.fixtures.MutatesFixture;
 
 @TestMethodOrder(org.junit.jupiter.api.MethodOrderer.Random.class)
 public class ProjectsApiXmlTest extends BaseApiTest {
 
-    static String createdId;
+    // Pre-created projects; tests that change or delete theirs are marked @MutatesFixture
+    @RegisterExtension
+    static final EntityFixturePool PROJECTS = EntityFixturePool.xml("projects",
+        "<project><title>xmlProject</title><completed>false</completed><active>true</active><description>xml test</description></project>");
+
+    private String createdId;
 
     @BeforeEach
     void createProjectPerTest() {
-        String xmlBody = "<project><title>xmlProject</title><completed>false</completed><active>true</active><description>xml test</description></project>";
-
-        createdId = given()
-            .contentType(ContentType.XML)
-            .accept(ContentType.XML)
-            .body(xmlBody)
-        .when()
-            .post("/projects")
-        .then()
-            .statusCode(anyOf(is(200), is(201)))
-            .extract()
-            .path("project.id");
-
+        createdId = PROJECTS.acquire();
         Assertions.assertNotNull(createdId);
     }
 
-    @AfterEach
-    void cleanupProjectPerTest() {
-        given().when().delete("/projects/" + createdId)
-            .then().statusCode(anyOf(is(200), is(204), is(404)));
-    }
-
     @Test
     void testGetAllProjectsXml() {
         given()
@@ -91,6 +81,7 @@ public class ProjectsApiXmlTest extends BaseApiTest {
     }
 
     @Test
+    @MutatesFixture
     void testPostUpdateProjectXml() {
         String xmlBody = "<project><description>xmlUpdated</description></project>";
 
@@ -106,6 +97,7 @@ public class ProjectsApiXmlTest extends BaseApiTest {
     }
 
     @Test
+    @MutatesFixture
     void testPutUpdateProjectXml() {
         String xmlBody = "<project><title>PutTest</title><description>PutXmlUpdate</description><completed>true</completed><active>false</active></project>";
 
@@ -121,6 +113,7 @@ public class ProjectsApiXmlTest extends BaseApiTest {
     }
 
     @Test
+    @MutatesFixture
     void testDeleteProjectXml() {
         given()
         .when()
@@ -130,6 +123,7 @@ public class ProjectsApiXmlTest extends BaseApiTest {
     }
 
     @Test
+    @MutatesFixture
     void testGetDeletedProjectXmlShould404() {
         given().when().delete("/projects/" + createdId)
             .then().statusCode(anyOf(is(200), is(204), is(404)));
@@ -2,6 +2,7 @@ package com.ecse429.restapi.XmlTests.todos;
 
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
@@ -9,36 +10,25 @@ import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.is;
 
 import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.fixtures.EntityFixturePool;
+import com.ecse429.restapi.fixtures.MutatesFixture;
 
 @TestMethodOrder(org.junit.jupiter.api.MethodOrderer.Random.class)
 public class TodosApiXmlTest extends BaseApiTest {
 
-    static String createdId;
+    // Pre-created todos; tests that change or delete theirs are marked @MutatesFixture
+    @RegisterExtension
+    static final EntityFixturePool TODOS = EntityFixturePool.xml("todos",
+        "<todo><title>xmlTodo</title><doneStatus>false</doneStatus><description>xml test</description></todo>");
+
+    private String createdId;
 
     @BeforeEach
     void createTodoPerTest() {
-        String xmlBody = "<todo><title>xmlTodo</title><doneStatus>false</doneStatus><description>xml test</description></todo>";
-
-        createdId = given()
-            .contentType(ContentType.XML)
-            .accept(ContentType.XML)
-            .body(xmlBody)
-        .when()
-            .post("/todos")
-        .then()
-            .statusCode(anyOf(is(200), is(201)))
-            .extract()
-            .path("todo.id");
-
+        createdId = TODOS.acquire();
         Assertions.assertNotNull(createdId);
     }
 
-    @AfterEach
-    void cleanupTodoPerTest() {
-        given().when().delete("/todos/" + createdId)
-            .then().statusCode(anyOf(is(200), is(204), is(404)));
-    }
-
     @Test
     void testGetAllTodosXml() {
         given()
@@ -91,6 +81,7 @@ public class TodosApiXmlTest extends BaseApiTest {
     }
 
     @Test
+    @MutatesFixture
     void testPostUpdateTodoXml() {
         String xmlBody = "<todo><description>xmlUpdated</description></todo>";
 
@@ -106,6 +97,7 @@ public class TodosApiXmlTest extends BaseApiTest {
     }
 
     @Test
+    @MutatesFixture
     void testPutUpdateTodoXml() {
         String xmlBody = "<todo><title>PutTest</title><description>PutXmlUpdate</description><doneStatus>true</doneStatus></todo>";
 
@@ -121,6 +113,7 @@ public class TodosApiXmlTest extends BaseApiTest {
     }
 
     @Test
+    @MutatesFixture
     void testDeleteTodoXml() {
         given()
         .when()
@@ -130,6 +123,7 @@ public class TodosApiXmlTest extends BaseApiTest {
     }
 
     @Test
+    @MutatesFixture
     void testGetDeletedTodoXmlShould404() {
         given().when().delete("/todos/" + createdId)
             .then().statusCode(anyOf(is(200), is(204), is(404)));
@@ -152,7 +146,7 @@ public class TodosApiXmlTest extends BaseApiTest {
 
         given().accept(ContentType.XML)
         .when().get("/todos?doneStatus=true")
-        .then().statusCode(200).body("todos.todo.id", hasItem(doneTodoId));
+        .then().statusCode(200).body("todos.todo.id", anyOf(equalTo(doneTodoId), hasItem(doneTodoId)));
 
         // cleanup created todo
         given().when().delete("/todos/" + doneTodoId).then().statusCode(anyOf(is(200), is(204), is(404)));
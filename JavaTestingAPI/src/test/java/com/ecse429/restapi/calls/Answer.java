@@ -0,0 +1,66 @@
+package com.ecse429.restapi.calls;
+
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import org.hamcrest.Matcher;
+
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * What a {@link JsonCalls} request got back, the same whichever client sent it. Checked like
+ * RestAssured's {@code then()}: {@code statusCode}, {@code contentType} and {@code body(path, matcher)}
+ * read the body as the server sent it, so "true" and true are still told apart.
+ */
+public final class Answer {
+
+    private final String request;
+    private final int status;
+    private final String contentType;
+    private final Supplier<JsonPath> body;
+    private JsonPath json;
+
+    Answer(String request, int status, String contentType, Supplier<JsonPath> body) {
+        this.request = request;
+        this.status = status;
+        this.contentType = contentType == null ? "" : contentType;
+        this.body = body;
+    }
+
+    public Answer statusCode(int expected) {
+        return statusCode(equalTo(expected));
+    }
+
+    public Answer statusCode(Matcher<? super Integer> expected) {
+        assertThat(request + " status", status, expected);
+        return this;
+    }
+
+    public Answer contentType(ContentType expected) {
+        assertThat(request + " Content-Type '" + contentType + "'", expected.matches(contentType), equalTo(true));
+        return this;
+    }
+
+    /** Fails the test unless the value at {@code path} (RestAssured's GPath) matches. */
+    public Answer body(String path, Matcher<?> matcher) {
+        assertThat(request + " " + path, jsonPath().get(path), matcher);
+        return this;
+    }
+
+    /** The value at {@code path}, as {@code extract().path(path)}. */
+    public <T> T path(String path) {
+        return jsonPath().get(path);
+    }
+
+    public JsonPath jsonPath() {
+        if (json == null) json = body.get();
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return request + " " + status;
+    }
+}
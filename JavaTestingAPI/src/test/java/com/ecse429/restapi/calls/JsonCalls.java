@@ -0,0 +1,51 @@
+package com.ecse429.restapi.calls;
+
+import java.util.Map;
+
+/**
+ * The JSON requests the functional suites make, so one suite can run through RestAssured
+ * ({@link RestAssuredJsonCalls}, the default) or the typed client ({@link SdkJsonCalls},
+ * {@code -Dsuite.client=sdk}) with the same assertions. Every call returns the {@link Answer}
+ * whatever the status; the test checks status, content type and body on it.
+ *
+ * Request bodies are JSON text, as the suites write them. Relations are named as in the URL:
+ * {@code relation("projects", id, "tasks")} is GET /projects/:id/tasks.
+ */
+public interface JsonCalls {
+
+    /** GET /collection, filtered by exact match on the given fields when there are any. */
+    Answer list(String collection, Map<String, String> filter);
+
+    /** HEAD /collection */
+    Answer headAll(String collection);
+
+    /** POST /collection */
+    Answer create(String collection, String body);
+
+    /** GET /collection/:id */
+    Answer get(String collection, String id);
+
+    /** HEAD /collection/:id */
+    Answer head(String collection, String id);
+
+    /** POST /collection/:id, the server's amend. */
+    Answer amend(String collection, String id, String body);
+
+    /** PUT /collection/:id */
+    Answer replace(String collection, String id, String body);
+
+    /** DELETE /collection/:id */
+    Answer delete(String collection, String id);
+
+    /** GET /owner/:id/relation */
+    Answer relation(String owner, String ownerId, String relation);
+
+    /** HEAD /owner/:id/relation */
+    Answer headRelation(String owner, String ownerId, String relation);
+
+    /** POST /owner/:id/relation with {@code {"id": "<targetId>"}} */
+    Answer link(String owner, String ownerId, String relation, String body);
+
+    /** DELETE /owner/:id/relation/:targetId */
+    Answer unlink(String owner, String ownerId, String relation, String targetId);
+}
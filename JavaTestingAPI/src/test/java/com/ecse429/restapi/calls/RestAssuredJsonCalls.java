@@ -0,0 +1,95 @@
+package com.ecse429.restapi.calls;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSender;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * {@link JsonCalls} through RestAssured's given()/when(), on the suite's global settings and
+ * filters; bodies are read with the response's own {@code jsonPath()}.
+ */
+public final class RestAssuredJsonCalls implements JsonCalls {
+
+    @Override
+    public Answer list(String collection, Map<String, String> filter) {
+        Response r = given().accept(ContentType.JSON).queryParams(filter).when().get("/" + collection);
+        return answer("GET /" + collection + (filter.isEmpty() ? "" : " " + filter), r);
+    }
+
+    @Override
+    public Answer headAll(String collection) {
+        return answer("HEAD /" + collection, given().when().head("/" + collection));
+    }
+
+    @Override
+    public Answer create(String collection, String body) {
+        String path = "/" + collection;
+        return answer("POST " + path, send(body).post(path));
+    }
+
+    @Override
+    public Answer get(String collection, String id) {
+        String path = "/" + collection + "/" + id;
+        return answer("GET " + path, given().accept(ContentType.JSON).when().get(path));
+    }
+
+    @Override
+    public Answer head(String collection, String id) {
+        String path = "/" + collection + "/" + id;
+        return answer("HEAD " + path, given().when().head(path));
+    }
+
+    @Override
+    public Answer amend(String collection, String id, String body) {
+        String path = "/" + collection + "/" + id;
+        return answer("POST " + path, send(body).post(path));
+    }
+
+    @Override
+    public Answer replace(String collection, String id, String body) {
+        String path = "/" + collection + "/" + id;
+        return answer("PUT " + path, send(body).put(path));
+    }
+
+    @Override
+    public Answer delete(String collection, String id) {
+        String path = "/" + collection + "/" + id;
+        return answer("DELETE " + path, given().when().delete(path));
+    }
+
+    @Override
+    public Answer relation(String owner, String ownerId, String relation) {
+        String path = "/" + owner + "/" + ownerId + "/" + relation;
+        return answer("GET " + path, given().accept(ContentType.JSON).when().get(path));
+    }
+
+    @Override
+    public Answer headRelation(String owner, String ownerId, String relation) {
+        String path = "/" + owner + "/" + ownerId + "/" + relation;
+        return answer("HEAD " + path, given().when().head(path));
+    }
+
+    @Override
+    public Answer link(String owner, String ownerId, String relation, String body) {
+        String path = "/" + owner + "/" + ownerId + "/" + relation;
+        return answer("POST " + path, given().contentType(ContentType.JSON).body(body).when().post(path));
+    }
+
+    @Override
+    public Answer unlink(String owner, String ownerId, String relation, String targetId) {
+        String path = "/" + owner + "/" + ownerId + "/" + relation + "/" + targetId;
+        return answer("DELETE " + path, given().when().delete(path));
+    }
+
+    private static RequestSender send(String body) {
+        return given().contentType(ContentType.JSON).accept(ContentType.JSON).body(body).when();
+    }
+
+    private static Answer answer(String request, Response r) {
+        return new Answer(request, r.statusCode(), r.getContentType(), r::jsonPath);
+    }
+}
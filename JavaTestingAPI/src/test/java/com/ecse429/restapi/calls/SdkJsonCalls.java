@@ -0,0 +1,154 @@
+package com.ecse429.restapi.calls;
+
+import com.ecse429.restapi.client.Category;
+import com.ecse429.restapi.client.Entity;
+import com.ecse429.restapi.client.Project;
+import com.ecse429.restapi.client.Relation;
+import com.ecse429.restapi.client.Reply;
+import com.ecse429.restapi.client.Resource;
+import com.ecse429.restapi.client.Todo;
+import com.ecse429.restapi.client.TodoManagerClient;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.restassured.path.json.JsonPath;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * {@link JsonCalls} through the typed client's {@code replies()} views, so status,
+ * Content-Type and body reach the test as they do through RestAssured. Fields outside the SDK's entity
+ * model fail the call instead of being dropped from the request.
+ */
+public final class SdkJsonCalls implements JsonCalls {
+
+    private static final Set<String> FIELDS = Set.of("title", "description", "doneStatus", "completed", "active");
+
+    private final Supplier<TodoManagerClient> client;
+
+    /** {@code client} is asked on every call, so a suite can create this before its server is up. */
+    public SdkJsonCalls(Supplier<TodoManagerClient> client) {
+        this.client = client;
+    }
+
+    @Override
+    public Answer list(String collection, Map<String, String> filter) {
+        return answer(resource(collection).replies().list(filter).join());
+    }
+
+    @Override
+    public Answer headAll(String collection) {
+        return answer(resource(collection).replies().head().join());
+    }
+
+    @Override
+    public Answer create(String collection, String body) {
+        return answer(resource(collection).replies().create(entity(collection, body)).join());
+    }
+
+    @Override
+    public Answer get(String collection, String id) {
+        return answer(resource(collection).replies().get(id).join());
+    }
+
+    @Override
+    public Answer head(String collection, String id) {
+        return answer(resource(collection).replies().head(id).join());
+    }
+
+    @Override
+    public Answer amend(String collection, String id, String body) {
+        return answer(resource(collection).replies().amend(id, entity(collection, body)).join());
+    }
+
+    @Override
+    public Answer replace(String collection, String id, String body) {
+        return answer(resource(collection).replies().update(id, entity(collection, body)).join());
+    }
+
+    @Override
+    public Answer delete(String collection, String id) {
+        return answer(resource(collection).replies().delete(id).join());
+    }
+
+    @Override
+    public Answer relation(String owner, String ownerId, String relation) {
+        return answer(relation(owner, relation).replies().list(ownerId).join());
+    }
+
+    @Override
+    public Answer headRelation(String owner, String ownerId, String relation) {
+        return answer(relation(owner, relation).replies().head(ownerId).join());
+    }
+
+    @Override
+    public Answer link(String owner, String ownerId, String relation, String body) {
+        String targetId = JsonParser.parseString(body).getAsJsonObject().get("id").getAsString();
+        return answer(relation(owner, relation).replies().link(ownerId, targetId).join());
+    }
+
+    @Override
+    public Answer unlink(String owner, String ownerId, String relation, String targetId) {
+        return answer(relation(owner, relation).replies().unlink(ownerId, targetId).join());
+    }
+
+    // the collections hold subtypes of Entity; the entities built below match the collection
+    @SuppressWarnings("unchecked")
+    private Resource<Entity> resource(String collection) {
+        TodoManagerClient api = client.get();
+        switch (collection) {
+            case "todos": return (Resource<Entity>) (Resource<?>) api.todos();
+            case "projects": return (Resource<Entity>) (Resource<?>) api.projects();
+            case "categories": return (Resource<Entity>) (Resource<?>) api.categories();
+            default: throw new IllegalArgumentException("No SDK resource for /" + collection);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Relation<Entity> relation(String owner, String relation) {
+        TodoManagerClient api = client.get();
+        Relation<?> r;
+        switch (owner + "/" + relation) {
+            case "projects/tasks": r = api.projectTasks(); break;
+            case "todos/tasksof": r = api.todoTasksof(); break;
+            case "todos/categories": r = api.todoCategories(); break;
+            case "projects/categories": r = api.projectCategories(); break;
+            case "categories/todos": r = api.categoryTodos(); break;
+            case "categories/projects": r = api.categoryProjects(); break;
+            default: throw new IllegalArgumentException("No SDK relation for /" + owner + "/:id/" + relation);
+        }
+        return (Relation<Entity>) r;
+    }
+
+    private static Entity entity(String collection, String body) {
+        JsonObject fields = JsonParser.parseString(body).getAsJsonObject();
+        for (String f : fields.keySet()) {
+            if (!FIELDS.contains(f)) throw new IllegalArgumentException("The SDK has no field '" + f + "'");
+        }
+        String title = fields.has("title") ? fields.get("title").getAsString() : null;
+        Entity e;
+        switch (collection) {
+            case "todos":
+                Todo todo = new Todo(title);
+                if (fields.has("doneStatus")) todo.withDoneStatus(fields.get("doneStatus").getAsBoolean());
+                e = todo;
+                break;
+            case "projects":
+                Project project = new Project(title);
+                if (fields.has("completed")) project.withCompleted(fields.get("completed").getAsBoolean());
+                if (fields.has("active")) project.withActive(fields.get("active").getAsBoolean());
+                e = project;
+                break;
+            default:
+                e = new Category(title);
+        }
+        if (fields.has("description")) e.withDescription(fields.get("description").getAsString());
+        return e;
+    }
+
+    /** Assertions read the body the server sent; the SDK has parsed its own value from it. */
+    private static Answer answer(Reply<?> r) {
+        return new Answer(r.request(), r.status(), r.contentType(), () -> new JsonPath(r.body()));
+    }
+}
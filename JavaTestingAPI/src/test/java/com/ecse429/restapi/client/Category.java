@@ -0,0 +1,24 @@
+package com.ecse429.restapi.client;
+
+/** A category. Its links to todos and projects are only visible through the relation endpoints. */
+public final class Category extends Entity {
+
+    Category() {
+    }
+
+    public Category(String title) {
+        super(title);
+    }
+
+    @Override
+    public Category withTitle(String title) {
+        super.withTitle(title);
+        return this;
+    }
+
+    @Override
+    public Category withDescription(String description) {
+        super.withDescription(description);
+        return this;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecse429.restapi.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fields every Todo Manager entity has. Unset fields are left out of request bodies, so an
+ * entity with only a title is a valid create or partial update.
+ */
+public abstract class Entity {
+
+    private String id;
+    private String title;
+    private String description;
+
+    Entity() {
+    }
+
+    Entity(String title) {
+        this.title = title;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String title() {
+        return title;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public Entity withTitle(String title) {
+        this.title = title;
+        return this;
+    }
+
+    public Entity withDescription(String description) {
+        this.description = description;
+        return this;
+    }
+
+    /** Ids of a relation as the server embeds it in an entity, e.g. {@code "tasks":[{"id":"3"}]}. */
+    static List<String> ids(List<Ref> refs) {
+        List<String> out = new ArrayList<>();
+        if (refs != null) {
+            for (Ref r : refs) out.add(r.id);
+        }
+        return out;
+    }
+
+    static final class Ref {
+        String id;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + id + " " + title + "]";
+    }
+}
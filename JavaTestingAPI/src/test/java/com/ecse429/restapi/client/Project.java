@@ -0,0 +1,57 @@
+package com.ecse429.restapi.client;
+
+import java.util.List;
+
+/** A project. {@code completed} and {@code active} come back as strings, like every boolean. */
+public final class Project extends Entity {
+
+    private Boolean completed;
+    private Boolean active;
+    private List<Ref> tasks;
+    private List<Ref> categories;
+
+    Project() {
+    }
+
+    public Project(String title) {
+        super(title);
+    }
+
+    public Boolean completed() {
+        return completed;
+    }
+
+    public Boolean active() {
+        return active;
+    }
+
+    public Project withCompleted(boolean completed) {
+        this.completed = completed;
+        return this;
+    }
+
+    public Project withActive(boolean active) {
+        this.active = active;
+        return this;
+    }
+
+    @Override
+    public Project withTitle(String title) {
+        super.withTitle(title);
+        return this;
+    }
+
+    @Override
+    public Project withDescription(String description) {
+        super.withDescription(description);
+        return this;
+    }
+
+    public List<String> taskIds() {
+        return ids(tasks);
+    }
+
+    public List<String> categoryIds() {
+        return ids(categories);
+    }
+}
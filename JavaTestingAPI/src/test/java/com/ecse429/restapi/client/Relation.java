@@ -0,0 +1,84 @@
+package com.ecse429.restapi.client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One relation endpoint, {@code /owner/:id/relation}, whose members are entities of another
+ * collection: {@code /projects/:id/tasks} lists todos, {@code /todos/:id/tasksof} projects.
+ * Only tasks/tasksof is mirrored by the server; linking a todo to a category does not show
+ * the todo under {@code /categories/:id/todos}.
+ */
+public final class Relation<T extends Entity> {
+
+    private final TodoManagerClient client;
+    private final String owner;
+    private final String relation;
+    private final String target;
+    private final Class<T> type;
+    private final Replies replies = new Replies();
+
+    Relation(TodoManagerClient client, String owner, String relation, String target, Class<T> type) {
+        this.client = client;
+        this.owner = owner;
+        this.relation = relation;
+        this.target = target;
+        this.type = type;
+    }
+
+    /** e.g. "projects/:id/tasks" */
+    public String name() {
+        return owner + "/:id/" + relation;
+    }
+
+    private String path(String ownerId) {
+        return "/" + owner + "/" + ownerId + "/" + relation;
+    }
+
+    /** GET /owner/:id/relation */
+    public CompletableFuture<List<T>> list(String ownerId) {
+        return replies.list(ownerId).thenApply(Reply::orThrow);
+    }
+
+    /** POST /owner/:id/relation {"id": targetId}; the server answers 201 with an empty body. */
+    public CompletableFuture<Void> link(String ownerId, String targetId) {
+        return replies.link(ownerId, targetId).thenAccept(Reply::orThrow);
+    }
+
+    /** DELETE /owner/:id/relation/:targetId; {@code false} when there was no such link. */
+    public CompletableFuture<Boolean> unlink(String ownerId, String targetId) {
+        return replies.unlink(ownerId, targetId).thenApply(TodoManagerClient::deleted);
+    }
+
+    /** The same calls, plus HEAD, answered with the whole {@link Reply} whatever the status. */
+    public Replies replies() {
+        return replies;
+    }
+
+    public final class Replies {
+
+        private Replies() {
+        }
+
+        /** GET /owner/:id/relation */
+        public CompletableFuture<Reply<List<T>>> list(String ownerId) {
+            return client.reply("GET", path(ownerId), null, body -> client.parseList(body, target, type));
+        }
+
+        /** HEAD /owner/:id/relation */
+        public CompletableFuture<Reply<Void>> head(String ownerId) {
+            return client.reply("HEAD", path(ownerId), null, body -> null);
+        }
+
+        /** POST /owner/:id/relation {"id": targetId} */
+        public CompletableFuture<Reply<Void>> link(String ownerId, String targetId) {
+            return client.reply("POST", path(ownerId), Map.of("id", targetId), body -> null);
+        }
+
+        /** DELETE /owner/:id/relation/:targetId */
+        public CompletableFuture<Reply<Void>> unlink(String ownerId, String targetId) {
+            return client.reply("DELETE", path(ownerId) + "/" + targetId, null, body -> null);
+        }
+    }
+}
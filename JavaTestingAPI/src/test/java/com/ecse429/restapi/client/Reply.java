@@ -0,0 +1,74 @@
+package com.ecse429.restapi.client;
+
+import java.util.List;
+
+/**
+ * A response as the server sent it: status, Content-Type, body, the server's {@code errorMessages},
+ * and the parsed value when the status is 2xx. Returned by the {@code replies()} views of
+ * {@link Resource} and {@link Relation}, which complete normally whatever the status, for
+ * callers that check the protocol as well as the data (the functional suites do).
+ */
+public final class Reply<T> {
+
+    private final String method;
+    private final String path;
+    private final int status;
+    private final String contentType;
+    private final String body;
+    private final T value;
+    private final List<String> errorMessages;
+
+    Reply(String method, String path, int status, String contentType, String body, T value,
+          List<String> errorMessages) {
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+        this.value = value;
+        this.errorMessages = List.copyOf(errorMessages);
+    }
+
+    /** e.g. "GET /todos/3" */
+    public String request() {
+        return method + " " + path;
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public boolean ok() {
+        return status / 100 == 2;
+    }
+
+    /** The Content-Type header, empty when there was none (HEAD, empty bodies). */
+    public String contentType() {
+        return contentType;
+    }
+
+    /** The body text, empty for HEAD and empty responses. */
+    public String body() {
+        return body;
+    }
+
+    /** The parsed body of a 2xx response; null otherwise and for empty bodies. */
+    public T value() {
+        return value;
+    }
+
+    public List<String> errorMessages() {
+        return errorMessages;
+    }
+
+    /** The value, or a {@link TodoManagerException} for a non-2xx status. */
+    public T orThrow() {
+        if (!ok()) throw new TodoManagerException(method, path, status, errorMessages);
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return request() + " " + status + (errorMessages.isEmpty() ? "" : " " + errorMessages);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecse429.restapi.client;
+
+/**
+ * Hook around every request the client sends, e.g. to time it. {@link #begin} runs on the
+ * calling thread before the request is handed to the HttpClient; the callback it returns runs
+ * once the response, or the failure, arrives, usually on another thread.
+ */
+@FunctionalInterface
+public interface RequestListener {
+
+    RequestListener NONE = (method, pathAndQuery) -> () -> { };
+
+    Runnable begin(String method, String pathAndQuery);
+}
@@ -0,0 +1,118 @@
+package com.ecse429.restapi.client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One top-level collection ({@code /todos}, {@code /projects}, {@code /categories}). Every call
+ * is async; a missing instance is an empty Optional or {@code false} rather than an exception.
+ */
+public final class Resource<T extends Entity> {
+
+    private final TodoManagerClient client;
+    private final String collection;
+    private final Class<T> type;
+    private final Replies replies = new Replies();
+
+    Resource(TodoManagerClient client, String collection, Class<T> type) {
+        this.client = client;
+        this.collection = collection;
+        this.type = type;
+    }
+
+    public String collection() {
+        return collection;
+    }
+
+    /** GET /collection */
+    public CompletableFuture<List<T>> list() {
+        return list(Map.of());
+    }
+
+    /** GET /collection?field=value&..., the server's exact-match filter. */
+    public CompletableFuture<List<T>> list(Map<String, String> filter) {
+        return replies.list(filter).thenApply(Reply::orThrow);
+    }
+
+    /** GET /collection/:id, empty when the server answers 404. */
+    public CompletableFuture<Optional<T>> get(String id) {
+        return replies.get(id).thenApply(r -> r.status() == 404 ? Optional.<T>empty() : Optional.ofNullable(r.orThrow()));
+    }
+
+    /** POST /collection, returning the created entity with its id. */
+    public CompletableFuture<T> create(T entity) {
+        return replies.create(entity).thenApply(Reply::orThrow);
+    }
+
+    /** PUT /collection/:id with the fields set on {@code changes}. */
+    public CompletableFuture<T> update(String id, T changes) {
+        return replies.update(id, changes).thenApply(Reply::orThrow);
+    }
+
+    /** POST /collection/:id, the server's amend. */
+    public CompletableFuture<T> amend(String id, T changes) {
+        return replies.amend(id, changes).thenApply(Reply::orThrow);
+    }
+
+    /** DELETE /collection/:id; {@code false} when it was already gone. */
+    public CompletableFuture<Boolean> delete(String id) {
+        return replies.delete(id).thenApply(TodoManagerClient::deleted);
+    }
+
+    /** The same calls, plus HEAD, answered with the whole {@link Reply} whatever the status. */
+    public Replies replies() {
+        return replies;
+    }
+
+    public final class Replies {
+
+        private Replies() {
+        }
+
+        /** GET /collection?field=value&..., an empty filter lists everything. */
+        public CompletableFuture<Reply<List<T>>> list(Map<String, String> filter) {
+            return client.reply("GET", "/" + collection + TodoManagerClient.query(filter), null,
+                body -> client.parseList(body, collection, type));
+        }
+
+        /** HEAD /collection */
+        public CompletableFuture<Reply<Void>> head() {
+            return client.reply("HEAD", "/" + collection, null, body -> null);
+        }
+
+        /** GET /collection/:id; the value is the one entity the server lists. */
+        public CompletableFuture<Reply<T>> get(String id) {
+            return client.reply("GET", "/" + collection + "/" + id, null, body -> {
+                List<T> found = client.parseList(body, collection, type);
+                return found.isEmpty() ? null : found.get(0);
+            });
+        }
+
+        /** HEAD /collection/:id */
+        public CompletableFuture<Reply<Void>> head(String id) {
+            return client.reply("HEAD", "/" + collection + "/" + id, null, body -> null);
+        }
+
+        /** POST /collection */
+        public CompletableFuture<Reply<T>> create(T entity) {
+            return client.reply("POST", "/" + collection, entity, body -> client.parse(body, type));
+        }
+
+        /** PUT /collection/:id */
+        public CompletableFuture<Reply<T>> update(String id, T changes) {
+            return client.reply("PUT", "/" + collection + "/" + id, changes, body -> client.parse(body, type));
+        }
+
+        /** POST /collection/:id */
+        public CompletableFuture<Reply<T>> amend(String id, T changes) {
+            return client.reply("POST", "/" + collection + "/" + id, changes, body -> client.parse(body, type));
+        }
+
+        /** DELETE /collection/:id */
+        public CompletableFuture<Reply<Void>> delete(String id) {
+            return client.reply("DELETE", "/" + collection + "/" + id, null, body -> null);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecse429.restapi.client;
+
+import java.util.List;
+
+/** A todo. The server sends {@code doneStatus} as the string "true"/"false"; Gson reads both forms. */
+public final class Todo extends Entity {
+
+    private Boolean doneStatus;
+    private List<Ref> tasksof;
+    private List<Ref> categories;
+
+    Todo() {
+    }
+
+    public Todo(String title) {
+        super(title);
+    }
+
+    public Boolean doneStatus() {
+        return doneStatus;
+    }
+
+    public Todo withDoneStatus(boolean doneStatus) {
+        this.doneStatus = doneStatus;
+        return this;
+    }
+
+    @Override
+    public Todo withTitle(String title) {
+        super.withTitle(title);
+        return this;
+    }
+
+    @Override
+    public Todo withDescription(String description) {
+        super.withDescription(description);
+        return this;
+    }
+
+    /** Projects this todo is a task of, as embedded in the entity. */
+    public List<String> tasksofIds() {
+        return ids(tasksof);
+    }
+
+    public List<String> categoryIds() {
+        return ids(categories);
+    }
+}
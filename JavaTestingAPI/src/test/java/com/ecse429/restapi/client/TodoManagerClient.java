@@ -0,0 +1,192 @@
+package com.ecse429.restapi.client;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Typed, asynchronous client for the Todo Manager's JSON API, on the JDK HttpClient and Gson
+ * instead of RestAssured's Groovy JsonPath.
+ *
+ *   client.todos().create(new Todo("write report")).thenCompose(t -> client.projectTasks().link(pid, t.id()))
+ *
+ * The three collections are {@link #todos()}, {@link #projects()} and {@link #categories()}; the
+ * six relation endpoints have one accessor each. Every call returns a CompletableFuture; use
+ * {@code join()} for a blocking call.
+ *
+ * Connections: the HttpClient is HTTP/1.1 and keeps idle connections alive in its own pool,
+ * so consecutive and concurrent calls reuse sockets. The pool is unbounded by default and idle
+ * connections close after {@code jdk.httpclient.keepalive.timeout} seconds (1200); set
+ * {@code jdk.httpclient.connectionPoolSize} to cap it. One client per server is enough, it is
+ * thread-safe.
+ */
+public final class TodoManagerClient {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final HttpClient http;
+    private final Gson gson = new Gson();
+    private final RequestListener listener;
+    private final Duration timeout;
+
+    private final Resource<Todo> todos = new Resource<>(this, "todos", Todo.class);
+    private final Resource<Project> projects = new Resource<>(this, "projects", Project.class);
+    private final Resource<Category> categories = new Resource<>(this, "categories", Category.class);
+    private final Relation<Todo> projectTasks = new Relation<>(this, "projects", "tasks", "todos", Todo.class);
+    private final Relation<Project> todoTasksof = new Relation<>(this, "todos", "tasksof", "projects", Project.class);
+    private final Relation<Category> todoCategories =
+        new Relation<>(this, "todos", "categories", "categories", Category.class);
+    private final Relation<Category> projectCategories =
+        new Relation<>(this, "projects", "categories", "categories", Category.class);
+    private final Relation<Todo> categoryTodos = new Relation<>(this, "categories", "todos", "todos", Todo.class);
+    private final Relation<Project> categoryProjects =
+        new Relation<>(this, "categories", "projects", "projects", Project.class);
+
+    public TodoManagerClient(URI baseUri, HttpClient http, RequestListener listener, Duration timeout) {
+        String s = baseUri.toString();
+        this.baseUri = URI.create(s.endsWith("/") ? s.substring(0, s.length() - 1) : s);
+        this.http = http;
+        this.listener = listener;
+        this.timeout = timeout;
+    }
+
+    /** Client with its own pooled HTTP/1.1 HttpClient and no listener. */
+    public static TodoManagerClient create(URI baseUri) {
+        return create(baseUri, RequestListener.NONE);
+    }
+
+    public static TodoManagerClient create(URI baseUri, RequestListener listener) {
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        return new TodoManagerClient(baseUri, http, listener, DEFAULT_TIMEOUT);
+    }
+
+    public URI baseUri() {
+        return baseUri;
+    }
+
+    public Resource<Todo> todos() {
+        return todos;
+    }
+
+    public Resource<Project> projects() {
+        return projects;
+    }
+
+    public Resource<Category> categories() {
+        return categories;
+    }
+
+    /** /projects/:id/tasks, mirrored by {@link #todoTasksof()}. */
+    public Relation<Todo> projectTasks() {
+        return projectTasks;
+    }
+
+    /** /todos/:id/tasksof, mirrored by {@link #projectTasks()}. */
+    public Relation<Project> todoTasksof() {
+        return todoTasksof;
+    }
+
+    public Relation<Category> todoCategories() {
+        return todoCategories;
+    }
+
+    public Relation<Category> projectCategories() {
+        return projectCategories;
+    }
+
+    public Relation<Todo> categoryTodos() {
+        return categoryTodos;
+    }
+
+    public Relation<Project> categoryProjects() {
+        return categoryProjects;
+    }
+
+    CompletableFuture<HttpResponse<String>> exchange(String method, String pathAndQuery, Object body) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUri + pathAndQuery))
+            .timeout(timeout)
+            .header("Accept", "application/json");
+        if (body == null) {
+            b.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            b.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(gson.toJson(body), StandardCharsets.UTF_8));
+        }
+        Runnable done = listener.begin(method, pathAndQuery);
+        return http.sendAsync(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+            .whenComplete((r, e) -> done.run());
+    }
+
+    /** Sends the request and wraps the response; {@code parse} only sees the bodies of 2xx responses. */
+    <V> CompletableFuture<Reply<V>> reply(String method, String path, Object body, Function<String, V> parse) {
+        return exchange(method, path, body).thenApply(r -> {
+            boolean ok = r.statusCode() / 100 == 2;
+            return new Reply<>(method, path, r.statusCode(), r.headers().firstValue("Content-Type").orElse(""),
+                r.body(), ok ? parse.apply(r.body()) : null, ok ? List.of() : errorMessages(r.body()));
+        });
+    }
+
+    /** {@code false} for a 404, {@code true} for a 2xx, a {@link TodoManagerException} otherwise. */
+    static boolean deleted(Reply<?> r) {
+        if (r.status() == 404) return false;
+        r.orThrow();
+        return true;
+    }
+
+    /** The entity in {@code body}; null for an empty body. */
+    <T> T parse(String body, Class<T> type) {
+        return gson.fromJson(body, type);
+    }
+
+    /** Members of {@code {"<collection>": [...]}}; an empty or missing array is an empty list. */
+    <T> List<T> parseList(String body, String collection, Class<T> type) {
+        JsonElement root = JsonParser.parseString(body);
+        if (!root.isJsonObject()) return new ArrayList<>();
+        JsonArray items = root.getAsJsonObject().getAsJsonArray(collection);
+        if (items == null) return new ArrayList<>();
+        return gson.fromJson(items, TypeToken.getParameterized(List.class, type).getType());
+    }
+
+    private static List<String> errorMessages(String body) {
+        List<String> out = new ArrayList<>();
+        try {
+            JsonElement root = JsonParser.parseString(body);
+            if (root.isJsonObject()) {
+                JsonObject o = root.getAsJsonObject();
+                if (o.has("errorMessages")) o.getAsJsonArray("errorMessages").forEach(m -> out.add(m.getAsString()));
+            }
+        } catch (RuntimeException e) {
+            // not JSON (e.g. an HTML error page); the status says enough
+        }
+        return out;
+    }
+
+    static String query(Map<String, String> filter) {
+        if (filter.isEmpty()) return "";
+        return filter.entrySet().stream()
+            .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+            .collect(Collectors.joining("&", "?", ""));
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecse429.restapi.client;
+
+import java.util.List;
+
+/**
+ * Non-2xx answer from the Todo Manager, with the server's {@code errorMessages}. Async calls
+ * complete exceptionally with it, so {@code join()} throws it wrapped in a CompletionException.
+ */
+public final class TodoManagerException extends RuntimeException {
+
+    private final int status;
+    private final List<String> errorMessages;
+
+    TodoManagerException(String method, String path, int status, List<String> errorMessages) {
+        super(method + " " + path + " returned " + status + (errorMessages.isEmpty() ? "" : ": " + errorMessages));
+        this.status = status;
+        this.errorMessages = List.copyOf(errorMessages);
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public List<String> errorMessages() {
+        return errorMessages;
+    }
+}
@@ -0,0 +1,186 @@
+package com.ecse429.restapi.fixtures;
+
+import com.ecse429.restapi.BaseApiTest;
+import com.ecse429.restapi.load.ThreadMode;
+import com.ecse429.restapi.perf.PerfConfig;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pre-created entities for suites that need a fresh todo/project/category per test.
+ *
+ * Register it as an extension and take an entity in {@code @BeforeEach}:
+ * <pre>
+ * {@literal @}RegisterExtension
+ * static final EntityFixturePool TODOS = EntityFixturePool.xml("todos", "&lt;todo&gt;...&lt;/todo&gt;");
+ *
+ * {@literal @}BeforeEach
+ * void createTodoPerTest() { createdId = TODOS.acquire(); }
+ * </pre>
+ * Entities are created in the background, a few ahead of demand. After each test the
+ * entity goes back to the pool unless the test is annotated {@link MutatesFixture};
+ * mutated ones, plus whatever is left in the pool, are deleted concurrently once the
+ * class finishes. Read-only tests therefore cost no create/delete round-trips at all.
+ */
+public final class EntityFixturePool implements BeforeAllCallback, AfterEachCallback, AfterAllCallback {
+
+    private static final Pattern XML_ID = Pattern.compile("<id>([^<]+)</id>");
+    private static final HttpClient CLIENT = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private static final ExecutorService WORKERS = ThreadMode.fromSystemProperties()
+        .pool("fixture-pool", PerfConfig.intProp("fixtures.threads", 4));
+
+    private final String collection;
+    private final String contentType;
+    private final String body;
+    private final int target;
+
+    private final BlockingQueue<String> available = new LinkedBlockingQueue<>();
+    private final Queue<String> dirty = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<List<String>> leased = ThreadLocal.withInitial(ArrayList::new);
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+
+    private EntityFixturePool(String collection, String contentType, String body, int target) {
+        this.collection = collection;
+        this.contentType = contentType;
+        this.body = body;
+        this.target = target;
+    }
+
+    /** Pool of entities created by POSTing {@code xmlBody} to {@code /<collection>}. */
+    public static EntityFixturePool xml(String collection, String xmlBody) {
+        return new EntityFixturePool(collection, "application/xml", xmlBody, PerfConfig.intProp("fixtures.poolSize", 4));
+    }
+
+    /** Id of a pristine entity, leased to the current test until it finishes. */
+    public String acquire() {
+        String id = available.poll();
+        if (id == null && pending.get() > 0) {
+            try {
+                id = available.poll(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (id == null) {
+            id = create();
+        } else {
+            reused.incrementAndGet();
+        }
+        leased.get().add(id);
+        refill();
+        return id;
+    }
+
+    public int created() {
+        return created.get();
+    }
+
+    public int reused() {
+        return reused.get();
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        refill();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        boolean mutated = context.getRequiredTestMethod().isAnnotationPresent(MutatesFixture.class)
+            || context.getExecutionException().isPresent();
+        List<String> ids = leased.get();
+        for (String id : ids) {
+            if (mutated) dirty.add(id);
+            else available.add(id);
+        }
+        ids.clear();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        // let background creates land first, so none outlives the class and races the next one
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pending.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        List<String> toDelete = new ArrayList<>(dirty);
+        dirty.clear();
+        available.drainTo(toDelete);
+        List<CompletableFuture<?>> deletes = new ArrayList<>();
+        for (String id : toDelete) {
+            HttpRequest request = HttpRequest.newBuilder(uri("/" + collection + "/" + id)).DELETE().build();
+            deletes.add(CLIENT.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        // best effort: a failed delete only leaves an orphan entity behind
+        CompletableFuture.allOf(deletes.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+    }
+
+    private void refill() {
+        while (available.size() + pending.get() < target) {
+            pending.incrementAndGet();
+            WORKERS.execute(() -> {
+                try {
+                    available.add(create());
+                } catch (RuntimeException e) {
+                    // acquire() falls back to a synchronous create and surfaces the error there
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private String create() {
+        HttpRequest request = HttpRequest.newBuilder(uri("/" + collection))
+            .header("Content-Type", contentType)
+            .header("Accept", contentType)
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        try {
+            HttpResponse<String> response = CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+            Matcher m = XML_ID.matcher(response.body());
+            if (response.statusCode() != 201 || !m.find()) {
+                throw new IllegalStateException("POST /" + collection + " returned " + response.statusCode()
+                    + ": " + response.body());
+            }
+            created.incrementAndGet();
+            return m.group(1);
+        } catch (IOException e) {
+            throw new IllegalStateException("POST /" + collection + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating a fixture", e);
+        }
+    }
+
+    private static URI uri(String path) {
+        return URI.create(BaseApiTest.baseUrl() + path);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecse429.restapi.fixtures;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test that updates or deletes the entity it got from an {@link EntityFixturePool}.
+ * Such entities are not handed out again; they are deleted when the class finishes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MutatesFixture {
+}
@@ -0,0 +1,102 @@
+package com.ecse429.restapi.load;
+
+import com.ecse429.restapi.metrics.EndpointLatency;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Closed-loop traffic that runs while a benchmark does something else, keeping the
+ * start and end time of every request. Afterwards the latencies can be split by
+ * whether a request overlapped a window of interest, e.g. an aggregate DELETE, to
+ * see how much that operation slows everyone else down.
+ *
+ * <pre>
+ * try (BackgroundTraffic bg = BackgroundTraffic.start(ctx, workload, 4)) {
+ *     long from = System.nanoTime(); heavyOperation(); long to = System.nanoTime();
+ *     bg.overlapping("during", from, to); bg.before("baseline", from);
+ * }
+ * </pre>
+ */
+public final class BackgroundTraffic implements AutoCloseable {
+
+    private final LoadContext ctx;
+    private final ExecutorService users;
+    private final List<long[]> requests = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private BackgroundTraffic(LoadContext ctx, Workload workload, int users) {
+        this.ctx = ctx;
+        this.users = ThreadMode.fromSystemProperties().pool("background", users);
+        for (int u = 0; u < users; u++) {
+            this.users.execute(() -> loop(workload));
+        }
+    }
+
+    /** Starts {@code users} threads ({@link ThreadMode}) sending {@code workload} back to back until {@link #close()}. */
+    public static BackgroundTraffic start(LoadContext ctx, Workload workload, int users) {
+        return new BackgroundTraffic(ctx, workload, users);
+    }
+
+    private void loop(Workload workload) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        while (running) {
+            HttpRequest request = workload.pick(rnd).create(ctx);
+            if (request == null) continue;
+            long t0 = System.nanoTime();
+            long status;
+            try {
+                status = ctx.client().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                return;
+            }
+            long t1 = System.nanoTime();
+            synchronized (requests) {
+                requests.add(new long[]{t0, t1, status});
+            }
+        }
+    }
+
+    /** Requests whose lifetime intersects {@code [fromNanos, toNanos]}. */
+    public EndpointLatency overlapping(String key, long fromNanos, long toNanos) {
+        return select(key, r -> r[0] <= toNanos && r[1] >= fromNanos);
+    }
+
+    /** Requests that completed before {@code nanos}. */
+    public EndpointLatency before(String key, long nanos) {
+        return select(key, r -> r[1] < nanos);
+    }
+
+    /** Requests that did not complete with 2xx, over the whole run. */
+    public long errors() {
+        synchronized (requests) {
+            return requests.stream().filter(r -> r[2] < 200 || r[2] >= 300).count();
+        }
+    }
+
+    private EndpointLatency select(String key, Predicate<long[]> filter) {
+        EndpointLatency latency = new EndpointLatency(key);
+        synchronized (requests) {
+            for (long[] r : requests) {
+                if (filter.test(r)) latency.record(r[0], r[0], r[1]);
+            }
+        }
+        return latency;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        users.shutdown();
+        if (!users.awaitTermination(30, TimeUnit.SECONDS)) users.shutdownNow();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecse429.restapi.load;
+
+import com.ecse429.restapi.metrics.EndpointLatency;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for one operation name during a load run.
+ */
+public final class EndpointStats {
+
+    private final EndpointLatency latency;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    public EndpointStats(EndpointLatency latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * @param intendedStartNanos when the request should have been sent (open model schedule),
+     *                           equal to {@code startNanos} when there is no schedule
+     */
+    public void record(long intendedStartNanos, long startNanos, long endNanos, boolean success, long responseBytes) {
+        requests.increment();
+        if (!success) errors.increment();
+        bytes.add(responseBytes);
+        latency.record(intendedStartNanos, startNanos, endNanos);
+    }
+
+    public String name() {
+        return latency.key();
+    }
+
+    public EndpointLatency latency() {
+        return latency;
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public long bytes() {
+        return bytes.sum();
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecse429.restapi.load;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Thread-safe set of live entity ids with O(1) random pick and removal,
+ * so load operations can target entities that exist right now.
+ */
+public final class IdPool {
+
+    private final List<String> ids = new ArrayList<>();
+    private final Map<String, Integer> index = new HashMap<>();
+
+    public synchronized void add(String id) {
+        if (id == null || index.containsKey(id)) return;
+        index.put(id, ids.size());
+        ids.add(id);
+    }
+
+    public synchronized boolean remove(String id) {
+        Integer pos = index.remove(id);
+        if (pos == null) return false;
+        String last = ids.remove(ids.size() - 1);
+        if (pos < ids.size()) {
+            ids.set(pos, last);
+            index.put(last, pos);
+        }
+        return true;
+    }
+
+    /** Random live id, or {@code null} when the pool is empty. */
+    public synchronized String random() {
+        if (ids.isEmpty()) return null;
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    /** Removes and returns a random id so no other worker can pick it, or {@code null}. */
+    public synchronized String take() {
+        String id = random();
+        if (id != null) remove(id);
+        return id;
+    }
+
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    public synchronized List<String> snapshot() {
+        return new ArrayList<>(ids);
+    }
+}
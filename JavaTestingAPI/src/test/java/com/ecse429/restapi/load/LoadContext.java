@@ -0,0 +1,167 @@
+package com.ecse429.restapi.load;
+
+import com.ecse429.restapi.BaseApiTest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shared state for one load run: the HTTP client, the target server and the
+ * ids of entities the run can work against.
+ *
+ * Ids are split in two pools per collection. The "stable" pool is created up front
+ * and only ever read or updated; the "churn" pool holds ids created during the run
+ * and is the only one DELETE operations draw from, so readers never race a delete.
+ */
+public final class LoadContext {
+
+    public static final String[] COLLECTIONS = {"todos", "projects", "categories"};
+
+    private static final Pattern JSON_ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final URI baseUri;
+    private final HttpClient client;
+    private final Map<String, IdPool> stable = new HashMap<>();
+    private final Map<String, IdPool> churn = new HashMap<>();
+    private final Map<String, IdPool> links = new ConcurrentHashMap<>();
+
+    public LoadContext(URI baseUri, HttpClient client) {
+        this.baseUri = baseUri;
+        this.client = client;
+        for (String c : COLLECTIONS) {
+            stable.put(c, new IdPool());
+            churn.put(c, new IdPool());
+        }
+    }
+
+    /** Context pointed at the same server the JUnit suites use (see {@link BaseApiTest}). */
+    public static LoadContext forBaseApiTest() {
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        return new LoadContext(URI.create(BaseApiTest.baseUrl()), client);
+    }
+
+    public URI baseUri() {
+        return baseUri;
+    }
+
+    public HttpClient client() {
+        return client;
+    }
+
+    public IdPool stable(String collection) {
+        return stable.get(collection);
+    }
+
+    public IdPool churn(String collection) {
+        return churn.get(collection);
+    }
+
+    /**
+     * Links made during the run for a relation such as {@code "projects/tasks"}, as
+     * {@code "<ownerId>/<targetId>"} entries, so unlink operations only target existing links.
+     */
+    public IdPool links(String relation) {
+        return links.computeIfAbsent(relation, r -> new IdPool());
+    }
+
+    /** Ids in the stable and churn pools of every collection: the entities this run holds. */
+    public int entityCount() {
+        int n = 0;
+        for (String c : COLLECTIONS) n += stable(c).size() + churn(c).size();
+        return n;
+    }
+
+    /** Entries in every {@link #links(String)} pool: the links this run holds. */
+    public int linkCount() {
+        int n = 0;
+        for (IdPool pool : links.values()) n += pool.size();
+        return n;
+    }
+
+    // --- request helpers ---
+
+    public URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    public HttpRequest get(String path, String accept) {
+        return HttpRequest.newBuilder(uri(path)).header("Accept", accept).GET().build();
+    }
+
+    public HttpRequest head(String path) {
+        return HttpRequest.newBuilder(uri(path)).method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    public HttpRequest postJson(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    public HttpRequest putJson(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    public HttpRequest delete(String path) {
+        return HttpRequest.newBuilder(uri(path)).DELETE().build();
+    }
+
+    /** First {@code "id":"..."} in a JSON body, or {@code null}. */
+    public static String extractId(byte[] body) {
+        Matcher m = JSON_ID.matcher(new String(body, java.nio.charset.StandardCharsets.UTF_8));
+        return m.find() ? m.group(1) : null;
+    }
+
+    // --- setup / teardown ---
+
+    /** Creates {@code perCollection} todos, projects and categories into the stable pools. */
+    public void prime(int perCollection) throws IOException, InterruptedException {
+        for (String c : COLLECTIONS) {
+            for (int i = stable(c).size(); i < perCollection; i++) {
+                HttpResponse<byte[]> resp = client.send(postJson("/" + c, Workloads.bodyFor(c, "loadStable" + i)),
+                    HttpResponse.BodyHandlers.ofByteArray());
+                if (resp.statusCode() != 201) {
+                    throw new IOException("Priming POST /" + c + " returned " + resp.statusCode());
+                }
+                stable(c).add(extractId(resp.body()));
+            }
+        }
+    }
+
+    /** Deletes every entity this context knows about; failures are ignored. */
+    public void cleanup() {
+        for (String c : COLLECTIONS) {
+            for (IdPool pool : new IdPool[]{stable(c), churn(c)}) {
+                for (String id : pool.snapshot()) {
+                    try {
+                        client.send(delete("/" + c + "/" + id), HttpResponse.BodyHandlers.discarding());
+                    } catch (IOException e) {
+                        // best effort, the server may already be gone
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    pool.remove(id);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.ecse429.restapi.load;
+
+import com.ecse429.restapi.metrics.LatencyRegistry;
+import com.ecse429.restapi.metrics.RequestTrace;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link Workload} against the Todo Manager with either a closed
+ * (fixed users) or open (fixed arrival rate) {@link LoadProfile}.
+ *
+ * Requests sent during the warm-up window are executed but not recorded. Measured requests also
+ * go to {@link RequestTrace} when tracing is on.
+ *
+ * In the open model each arrival has an intended send time on a fixed schedule.
+ * Latency is measured from that time, not from when a worker got round to sending
+ * it, so a server stall shows up in the percentiles instead of silently lowering
+ * the request rate (coordinated omission). In the closed model there is no
+ * schedule and both are the same.
+ *
+ * Users and open-model workers run on platform or virtual threads ({@link ThreadMode}).
+ */
+public final class LoadEngine {
+
+    private final LoadContext ctx;
+    private final ThreadMode threads;
+
+    /** Engine on the threads chosen by {@code -Dload.threads}. */
+    public LoadEngine(LoadContext ctx) {
+        this(ctx, ThreadMode.fromSystemProperties());
+    }
+
+    public LoadEngine(LoadContext ctx, ThreadMode threads) {
+        this.ctx = ctx;
+        this.threads = threads;
+    }
+
+    public LoadResult run(Workload workload, LoadProfile profile) throws InterruptedException {
+        LatencyRegistry latencies = new LatencyRegistry();
+        Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        for (Operation op : workload.operations()) {
+            stats.put(op.name(), new EndpointStats(latencies.forKey(op.name())));
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + profile.warmup().toNanos();
+        long end = measureFrom + profile.duration().toNanos();
+
+        if (profile.model() == LoadProfile.Model.CLOSED) {
+            runClosed(workload, profile, stats, measureFrom, end);
+        } else {
+            runOpen(workload, profile, stats, start, measureFrom, end);
+        }
+        long measuredNanos = Math.min(System.nanoTime(), end) - measureFrom;
+        return new LoadResult(workload.name(), profile, Duration.ofNanos(Math.max(0, measuredNanos)),
+            stats.values(), latencies);
+    }
+
+    private void runClosed(Workload workload, LoadProfile profile, Map<String, EndpointStats> stats,
+                           long measureFrom, long end) throws InterruptedException {
+        ExecutorService users = threads.pool("load-user", profile.users());
+        long thinkNanos = profile.thinkTime().toNanos();
+        for (int u = 0; u < profile.users(); u++) {
+            users.execute(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    execute(workload.pick(rnd), stats, measureFrom, System.nanoTime());
+                    if (thinkNanos > 0) LockSupport.parkNanos(thinkNanos);
+                }
+            });
+        }
+        users.shutdown();
+        awaitQuietly(users, end);
+    }
+
+    private void runOpen(Workload workload, LoadProfile profile, Map<String, EndpointStats> stats,
+                         long start, long measureFrom, long end) throws InterruptedException {
+        ExecutorService workers = threads.pool("load-worker", profile.maxInFlight());
+        long intervalNanos = (long) (1e9 / profile.ratePerSecond());
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) break;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            Operation op = workload.pick(rnd);
+            workers.execute(() -> execute(op, stats, measureFrom, intended));
+        }
+        workers.shutdown();
+        awaitQuietly(workers, end);
+    }
+
+    private void execute(Operation op, Map<String, EndpointStats> stats, long measureFrom, long intended) {
+        long t0 = System.nanoTime();
+        boolean success;
+        long bytes = 0;
+        try {
+            Operation.Call call = op.call(ctx);
+            if (call == null) return;
+            t0 = System.nanoTime();
+            HttpResponse<byte[]> response = ctx.client().send(call.request(), HttpResponse.BodyHandlers.ofByteArray());
+            success = op.isSuccess(response.statusCode());
+            bytes = response.body() == null ? 0 : response.body().length;
+            op.handle(ctx, call, response);
+        } catch (IOException | RuntimeException e) {
+            // a RuntimeException (a request that cannot be built, a body that does not parse) is an
+            // error too; left uncaught it would end a closed-model user and quietly lower the load
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long t1 = System.nanoTime();
+        if (intended >= measureFrom) {
+            stats.get(op.name()).record(intended, t0, t1, success, bytes);
+            RequestTrace.record(op.name(), intended, t0, t1);
+        }
+    }
+
+    /** Waits for in-flight requests to drain, then gives up and interrupts stragglers. */
+    private static void awaitQuietly(ExecutorService pool, long end) throws InterruptedException {
+        long grace = Math.max(0, end - System.nanoTime()) + TimeUnit.SECONDS.toNanos(30);
+        if (!pool.awaitTermination(grace, TimeUnit.NANOSECONDS)) {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecse429.restapi.load;
+
+import com.ecse429.restapi.perf.PerfConfig;
+
+import java.time.Duration;
+
+/**
+ * How traffic is generated.
+ *
+ * CLOSED: a fixed number of users, each sending its next request as soon as the
+ * previous one returns (plus optional think time). Throughput is an output.
+ *
+ * OPEN: requests arrive at a fixed rate regardless of how fast the server answers.
+ * Latency includes time spent queued behind a slow server. Throughput is an input.
+ */
+public final class LoadProfile {
+
+    public enum Model { CLOSED, OPEN }
+
+    /** Highest open-model rate: one arrival per microsecond, well past what one client can schedule. */
+    static final double MAX_RATE = 1e6;
+
+    private final Model model;
+    private final int users;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration thinkTime;
+
+    private LoadProfile(Model model, int users, double ratePerSecond, int maxInFlight,
+                        Duration duration, Duration warmup, Duration thinkTime) {
+        this.model = model;
+        this.users = users;
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.duration = duration;
+        this.warmup = warmup;
+        this.thinkTime = thinkTime;
+    }
+
+    public static LoadProfile closed(int users, Duration duration) {
+        return new LoadProfile(Model.CLOSED, users, 0, users, duration, Duration.ZERO, Duration.ZERO);
+    }
+
+    /** @throws IllegalArgumentException unless 0 < {@code ratePerSecond} <= {@link #MAX_RATE} */
+    public static LoadProfile open(double ratePerSecond, int maxInFlight, Duration duration) {
+        if (!(ratePerSecond > 0 && ratePerSecond <= MAX_RATE)) {
+            throw new IllegalArgumentException("load.rate must be in (0, " + (long) MAX_RATE + "] req/s: " + ratePerSecond);
+        }
+        return new LoadProfile(Model.OPEN, 0, ratePerSecond, maxInFlight, duration, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * Profile from {@code -Dload.model=closed|open}, {@code -Dload.users}, {@code -Dload.rate},
+     * {@code -Dload.maxInFlight}, {@code -Dload.duration}, {@code -Dload.warmup} and {@code -Dload.think}.
+     */
+    public static LoadProfile fromSystemProperties() {
+        Duration duration = PerfConfig.durationProp("load.duration", Duration.ofSeconds(30));
+        LoadProfile p = "open".equalsIgnoreCase(PerfConfig.stringProp("load.model", "closed"))
+            ? open(PerfConfig.doubleProp("load.rate", 200), PerfConfig.intProp("load.maxInFlight", 256), duration)
+            : closed(PerfConfig.intProp("load.users", 8), duration);
+        return p.withWarmup(PerfConfig.durationProp("load.warmup", Duration.ofSeconds(5)))
+            .withThinkTime(PerfConfig.durationProp("load.think", Duration.ZERO));
+    }
+
+    public LoadProfile withWarmup(Duration warmup) {
+        return new LoadProfile(model, users, ratePerSecond, maxInFlight, duration, warmup, thinkTime);
+    }
+
+    /**
+     * The warm-up on its own: the same traffic for {@link #warmup()}, with no warm-up of its own.
+     * For callers that must start something (a sampler, a recording) between warm-up and measurement.
+     */
+    public LoadProfile warmupOnly() {
+        return new LoadProfile(model, users, ratePerSecond, maxInFlight, warmup, Duration.ZERO, thinkTime);
+    }
+
+    public LoadProfile withThinkTime(Duration thinkTime) {
+        return new LoadProfile(model, users, ratePerSecond, maxInFlight, duration, warmup, thinkTime);
+    }
+
+    public Model model() {
+        return model;
+    }
+
+    public int users() {
+        return users;
+    }
+
+    public double ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    public Duration warmup() {
+        return warmup;
+    }
+
+    public Duration thinkTime() {
+        return thinkTime;
+    }
+
+    @Override
+    public String toString() {
+        String shape = model == Model.CLOSED
+            ? users + " users"
+            : ratePerSecond + " req/s (max " + maxInFlight + " in flight)";
+        return model + " " + shape + ", " + duration.toSeconds() + "s after " + warmup.toSeconds() + "s warm-up";
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecse429.restapi.load;
+
+import com.ecse429.restapi.metrics.EndpointLatency;
+import com.ecse429.restapi.metrics.LatencyRegistry;
+import com.ecse429.restapi.perf.ReportTable;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outcome of one {@link LoadEngine} run: totals plus per-endpoint stats.
+ */
+public final class LoadResult {
+
+    private final String workload;
+    private final LoadProfile profile;
+    private final Duration measured;
+    private final List<EndpointStats> endpoints;
+    private final LatencyRegistry latencies;
+
+    LoadResult(String workload, LoadProfile profile, Duration measured, Collection<EndpointStats> endpoints,
+               LatencyRegistry latencies) {
+        this.workload = workload;
+        this.profile = profile;
+        this.measured = measured;
+        this.endpoints = new ArrayList<>(endpoints);
+        this.endpoints.sort((a, b) -> a.name().compareTo(b.name()));
+        this.latencies = latencies;
+    }
+
+    /** Histograms behind the report, e.g. for {@link LatencyRegistry#writeHistogramLog}. */
+    public LatencyRegistry latencies() {
+        return latencies;
+    }
+
+    public List<EndpointStats> endpoints() {
+        return endpoints;
+    }
+
+    public Duration measured() {
+        return measured;
+    }
+
+    public long totalRequests() {
+        long n = 0;
+        for (EndpointStats s : endpoints) n += s.requests();
+        return n;
+    }
+
+    public long totalErrors() {
+        long n = 0;
+        for (EndpointStats s : endpoints) n += s.errors();
+        return n;
+    }
+
+    /** Requests per second over the measured window. */
+    public double throughput() {
+        double secs = measured.toNanos() / 1e9;
+        return secs <= 0 ? 0 : totalRequests() / secs;
+    }
+
+    /** Response times of all endpoints together, in nanoseconds. */
+    public Histogram responseHistogram() {
+        Histogram all = new Histogram(3);
+        for (EndpointStats s : endpoints) all.add(s.latency().response());
+        return all;
+    }
+
+    public double errorRate() {
+        long total = totalRequests();
+        return total == 0 ? 0 : totalErrors() / (double) total;
+    }
+
+    public ReportTable toTable() {
+        ReportTable table = new ReportTable(
+            String.format("Load %s / %s: %.1f req/s, error rate %.3f%%", workload, profile, throughput(), errorRate() * 100),
+            "endpoint", "requests", "errors", "req/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+            "max ms", "svc p99 ms");
+        double secs = measured.toNanos() / 1e9;
+        for (EndpointStats s : endpoints) {
+            EndpointLatency l = s.latency();
+            table.row(s.name(), s.requests(), s.errors(), s.requests() / secs, l.meanResponseMillis(),
+                l.responseMillis(50), l.responseMillis(90), l.responseMillis(99), l.responseMillis(99.9),
+                l.responseMillis(100), l.serviceMillis(99));
+        }
+        return table;
+    }
+}
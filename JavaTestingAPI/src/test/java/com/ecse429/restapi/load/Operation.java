@@ -0,0 +1,106 @@
+package com.ecse429.restapi.load;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.Consumer;
+
+/**
+ * One kind of request in a workload, e.g. "GET /todos/:id".
+ * The name is the reporting key, so ids are written as {@code :id}.
+ */
+public final class Operation {
+
+    /** Builds the next request, or returns {@code null} when there is nothing to target yet. */
+    public interface RequestFactory {
+        HttpRequest create(LoadContext ctx);
+    }
+
+    /** Builds the next {@link Call}, or returns {@code null} when there is nothing to target yet. */
+    public interface CallFactory {
+        Call create(LoadContext ctx);
+    }
+
+    /**
+     * A request together with a callback for its own response, for operations whose handler needs
+     * more than the request tells, such as the ids in a link body.
+     */
+    public static final class Call {
+        private final HttpRequest request;
+        private final Consumer<HttpResponse<byte[]>> onResponse;
+
+        private Call(HttpRequest request, Consumer<HttpResponse<byte[]>> onResponse) {
+            this.request = request;
+            this.onResponse = onResponse;
+        }
+
+        public static Call of(HttpRequest request, Consumer<HttpResponse<byte[]>> onResponse) {
+            return new Call(request, onResponse);
+        }
+
+        public HttpRequest request() {
+            return request;
+        }
+    }
+
+    /** Reacts to a response, e.g. to remember the id of a created entity. */
+    public interface ResponseHandler {
+        void handle(LoadContext ctx, HttpRequest request, HttpResponse<byte[]> response);
+    }
+
+    private final String name;
+    private final int weight;
+    private final CallFactory factory;
+    private final ResponseHandler handler;
+
+    private Operation(String name, int weight, CallFactory factory, ResponseHandler handler) {
+        if (weight <= 0) throw new IllegalArgumentException("weight must be positive: " + name);
+        this.name = name;
+        this.weight = weight;
+        this.factory = factory;
+        this.handler = handler;
+    }
+
+    public static Operation of(String name, int weight, RequestFactory factory) {
+        return new Operation(name, weight, ctx -> {
+            HttpRequest request = factory.create(ctx);
+            return request == null ? null : new Call(request, null);
+        }, null);
+    }
+
+    /** An operation whose requests each carry their own response callback. */
+    public static Operation ofCalls(String name, int weight, CallFactory factory) {
+        return new Operation(name, weight, factory, null);
+    }
+
+    public Operation onResponse(ResponseHandler handler) {
+        return new Operation(name, weight, factory, handler);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int weight() {
+        return weight;
+    }
+
+    public Call call(LoadContext ctx) {
+        return factory.create(ctx);
+    }
+
+    /** The next request without its callback, for drivers that ignore responses. */
+    public HttpRequest create(LoadContext ctx) {
+        Call call = factory.create(ctx);
+        return call == null ? null : call.request;
+    }
+
+    public void handle(LoadContext ctx, Call call, HttpResponse<byte[]> response) {
+        if (call.onResponse != null) call.onResponse.accept(response);
+        if (handler != null) handler.handle(ctx, call.request, response);
+    }
+
+    /** Anything outside 2xx counts as an error in the report. */
+    public boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+}
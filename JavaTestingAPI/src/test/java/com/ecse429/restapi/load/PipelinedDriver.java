@@ -0,0 +1,466 @@
+package com.ecse429.restapi.load;
+
+import com.ecse429.restapi.perf.ReportTable;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Peak-throughput driver: raw NIO sockets, persistent HTTP/1.1 connections and pipelining, so
+ * the client costs next to nothing and the server's ceiling shows.
+ *
+ * {@code connections} sockets are spread over {@code ioThreads} selector threads. Each keeps up
+ * to {@code depth} requests written but unanswered, cycling through a list of
+ * {@link RawRequest}s whose bytes were encoded once up front. Responses are framed from the
+ * status line plus Content-Length or, as the Todo Manager (Jetty) sends them, chunked encoding;
+ * no other header is looked at and bodies are skipped unread. The hot path allocates nothing:
+ * buffers, send-time rings and histograms all exist before the first request.
+ *
+ * Latency runs from queueing a request on its connection to the last byte of its response, so
+ * with {@code depth > 1} it includes waiting behind the requests ahead of it. Responses other
+ * than 2xx count as errors; an interim 1xx is skipped and the final response read. Only requests
+ * sent after the warm-up are recorded.
+ */
+public final class PipelinedDriver {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final long DRAIN_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final InetSocketAddress address;
+    private final int connections;
+    private final int depth;
+    private final int ioThreads;
+
+    public PipelinedDriver(URI baseUri, int connections, int depth, int ioThreads) {
+        this.address = new InetSocketAddress(baseUri.getHost(), baseUri.getPort());
+        this.connections = connections;
+        this.depth = depth;
+        this.ioThreads = Math.max(1, Math.min(ioThreads, connections));
+    }
+
+    /** Sends {@code cycle} round and round on every connection (each starting at its own offset). */
+    public Result run(List<RawRequest> cycle, Duration warmup, Duration duration) throws IOException, InterruptedException {
+        return run(cycle, warmup, duration, () -> { }, () -> { });
+    }
+
+    /**
+     * As above; {@code opened} and {@code closed} run on the calling thread when the measured
+     * window starts and ends, e.g. to sample the client over that window and not the set-up.
+     */
+    public Result run(List<RawRequest> cycle, Duration warmup, Duration duration, Runnable opened, Runnable closed)
+            throws IOException, InterruptedException {
+        Map<String, Integer> kinds = new LinkedHashMap<>();
+        for (RawRequest r : cycle) kinds.putIfAbsent(r.name(), kinds.size());
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        List<Worker> workers = new ArrayList<>();
+        for (int t = 0; t < ioThreads; t++) {
+            workers.add(new Worker(kinds.size(), measureFrom, end));
+        }
+        for (int c = 0; c < connections; c++) {
+            workers.get(c % ioThreads).add(new Connection(cycle, kinds, c * cycle.size() / connections));
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < workers.size(); t++) {
+            Thread thread = new Thread(workers.get(t), "pipelined-io-" + (t + 1));
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        parkUntil(measureFrom);
+        opened.run();
+        parkUntil(end);
+        closed.run();
+        for (Thread t : threads) t.join();
+
+        long measured = Math.min(System.nanoTime(), end) - measureFrom;
+        Result result = new Result(new ArrayList<>(kinds.keySet()), Duration.ofNanos(Math.max(0, measured)));
+        for (Worker w : workers) {
+            if (w.failure != null) throw w.failure;
+            result.add(w);
+        }
+        return result;
+    }
+
+    private static void parkUntil(long deadline) throws InterruptedException {
+        for (long wait; (wait = deadline - System.nanoTime()) > 0; ) {
+            LockSupport.parkNanos(wait);
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+    }
+
+    /** One selector thread and the connections it owns; records into its own histograms. */
+    private final class Worker implements Runnable {
+
+        final Histogram[] latency;
+        final long[] requests;
+        final long[] errors;
+        final long measureFrom;
+        final long end;
+        final List<Connection> owned = new ArrayList<>();
+        long bytes;
+        long reconnects;
+        IOException failure;
+        private Selector selector;
+        private final Consumer<SelectionKey> onReady = this::ready;
+
+        Worker(int kinds, long measureFrom, long end) {
+            this.latency = new Histogram[kinds];
+            for (int k = 0; k < kinds; k++) latency[k] = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+            this.requests = new long[kinds];
+            this.errors = new long[kinds];
+            this.measureFrom = measureFrom;
+            this.end = end;
+        }
+
+        void add(Connection c) {
+            c.worker = this;
+            owned.add(c);
+        }
+
+        @Override
+        public void run() {
+            try (Selector s = Selector.open()) {
+                selector = s;
+                for (Connection c : owned) c.connect();
+                while (failure == null) {
+                    long now = System.nanoTime();
+                    boolean sending = now < end;
+                    if (!sending && (idle() || now > end + DRAIN_NANOS)) break;
+                    if (sending) {
+                        for (Connection c : owned) c.fillAndFlush(now);
+                    }
+                    selector.select(onReady, 10);
+                }
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                for (Connection c : owned) c.close();
+            }
+        }
+
+        private boolean idle() {
+            for (Connection c : owned) {
+                if (c.outstanding > 0) return false;
+            }
+            return true;
+        }
+
+        private void ready(SelectionKey key) {
+            Connection c = (Connection) key.attachment();
+            try {
+                if (key.isValid() && key.isWritable()) c.flush();
+                if (key.isValid() && key.isReadable()) c.read(System.nanoTime());
+            } catch (IOException e) {
+                c.reconnect();
+            }
+        }
+
+        void complete(int kind, long sentAt, int status, long at) {
+            if (sentAt < measureFrom) return;
+            requests[kind]++;
+            if (status / 100 != 2) errors[kind]++;
+            latency[kind].recordValue(Math.min(at - sentAt, latency[kind].getHighestTrackableValue()));
+        }
+    }
+
+    /** One socket: a write buffer, a ring of requests in flight and the response parser's state. */
+    private final class Connection {
+
+        private static final int STATUS = 0, HEADER = 1, FIXED = 2, CHUNK_SIZE = 3, CHUNK_DATA = 4, TRAILER = 5;
+
+        final byte[][] cycle;
+        final int[] cycleKind;
+        int cursor;
+        Worker worker;
+        SocketChannel channel;
+        SelectionKey key;
+        final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        final long[] sentAt = new long[depth];
+        final int[] inFlightKind = new int[depth];
+        int head;
+        int outstanding;
+
+        int state = STATUS;
+        final byte[] line = new byte[256];
+        int lineLength;
+        int status;
+        long contentLength;
+        boolean chunked;
+        long remaining;
+
+        Connection(List<RawRequest> requests, Map<String, Integer> kinds, int offset) {
+            cycle = new byte[requests.size()][];
+            cycleKind = new int[requests.size()];
+            for (int i = 0; i < requests.size(); i++) {
+                cycle[i] = requests.get(i).bytes();
+                cycleKind[i] = kinds.get(requests.get(i).name());
+            }
+            cursor = offset % cycle.length;
+        }
+
+        void connect() throws IOException {
+            channel = SocketChannel.open(address);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.configureBlocking(false);
+            key = channel.register(worker.selector, SelectionKey.OP_READ, this);
+        }
+
+        /** Queues requests until {@code depth} are in flight or the buffer is full, then writes. */
+        void fillAndFlush(long now) {
+            while (outstanding < depth && out.remaining() >= cycle[cursor].length) {
+                out.put(cycle[cursor]);
+                int slot = (head + outstanding) % depth;
+                sentAt[slot] = now;
+                inFlightKind[slot] = cycleKind[cursor];
+                outstanding++;
+                cursor = cursor + 1 == cycle.length ? 0 : cursor + 1;
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                reconnect();
+            }
+        }
+
+        void flush() throws IOException {
+            if (out.position() == 0) return;
+            out.flip();
+            channel.write(out);
+            out.compact();
+            key.interestOps(out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        void read(long now) throws IOException {
+            int n = channel.read(in);
+            if (n < 0) throw new IOException("server closed the connection");
+            worker.bytes += n;
+            in.flip();
+            while (in.hasRemaining()) {
+                if (state == FIXED || state == CHUNK_DATA) {
+                    int skip = (int) Math.min(remaining, in.remaining());
+                    in.position(in.position() + skip);
+                    remaining -= skip;
+                    if (remaining == 0) {
+                        if (state == FIXED) complete(now);
+                        else state = CHUNK_SIZE;
+                    }
+                    continue;
+                }
+                byte b = in.get();
+                if (b != '\n') {
+                    if (b != '\r' && lineLength < line.length) line[lineLength++] = b;
+                    continue;
+                }
+                endOfLine(now);
+                lineLength = 0;
+            }
+            in.clear();
+        }
+
+        private void endOfLine(long now) {
+            switch (state) {
+                case STATUS:
+                    // "HTTP/1.1 200 OK"
+                    status = lineLength >= 12 ? (line[9] - '0') * 100 + (line[10] - '0') * 10 + (line[11] - '0') : 0;
+                    contentLength = -1;
+                    chunked = false;
+                    state = HEADER;
+                    break;
+                case HEADER:
+                    if (lineLength > 0) {
+                        header();
+                    } else if (status / 100 == 1) {
+                        state = STATUS; // interim (100 Continue): the final response to the same request follows
+                    } else if (status == 204 || status == 304 || contentLength == 0
+                        || (!chunked && contentLength < 0)) {
+                        complete(now);
+                    } else if (chunked) {
+                        state = CHUNK_SIZE;
+                    } else {
+                        remaining = contentLength;
+                        state = FIXED;
+                    }
+                    break;
+                case CHUNK_SIZE:
+                    if (lineLength == 0) break; // CRLF closing the previous chunk's data
+                    long size = hex();
+                    if (size == 0) {
+                        state = TRAILER;
+                    } else {
+                        remaining = size;
+                        state = CHUNK_DATA;
+                    }
+                    break;
+                case TRAILER:
+                    if (lineLength == 0) complete(now);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /** Content-Length and Transfer-Encoding: chunked; every other header is ignored. */
+        private void header() {
+            if (startsWithIgnoreCase("content-length:")) {
+                long v = 0;
+                for (int i = 15; i < lineLength; i++) {
+                    if (line[i] >= '0' && line[i] <= '9') v = v * 10 + (line[i] - '0');
+                }
+                contentLength = v;
+            } else if (startsWithIgnoreCase("transfer-encoding:")) {
+                chunked = true;
+            }
+        }
+
+        private boolean startsWithIgnoreCase(String prefix) {
+            if (lineLength < prefix.length()) return false;
+            for (int i = 0; i < prefix.length(); i++) {
+                if (Character.toLowerCase(line[i]) != prefix.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        private long hex() {
+            long v = 0;
+            for (int i = 0; i < lineLength; i++) {
+                int d = Character.digit(line[i], 16);
+                if (d < 0) break; // chunk extension
+                v = v * 16 + d;
+            }
+            return v;
+        }
+
+        private void complete(long now) {
+            worker.complete(inFlightKind[head], sentAt[head], status, now);
+            head = head + 1 == depth ? 0 : head + 1;
+            outstanding--;
+            state = STATUS;
+        }
+
+        /** Counts what was in flight as failed and starts over on a new socket. */
+        void reconnect() {
+            for (int i = 0; i < outstanding; i++) {
+                int slot = (head + i) % depth;
+                worker.complete(inFlightKind[slot], sentAt[slot], 0, System.nanoTime());
+            }
+            head = 0;
+            outstanding = 0;
+            state = STATUS;
+            lineLength = 0;
+            out.clear();
+            in.clear();
+            close();
+            worker.reconnects++;
+            try {
+                connect();
+            } catch (IOException e) {
+                worker.failure = e;
+            }
+        }
+
+        void close() {
+            try {
+                if (channel != null) channel.close();
+            } catch (IOException e) {
+                // closing anyway
+            }
+        }
+    }
+
+    /** Requests, errors and latency per request name over the measured window. */
+    public static final class Result {
+
+        private final List<String> names;
+        private final Duration measured;
+        private final Histogram[] latency;
+        private final long[] requests;
+        private final long[] errors;
+        private long bytes;
+        private long reconnects;
+
+        Result(List<String> names, Duration measured) {
+            this.names = names;
+            this.measured = measured;
+            this.latency = new Histogram[names.size()];
+            for (int k = 0; k < names.size(); k++) latency[k] = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+            this.requests = new long[names.size()];
+            this.errors = new long[names.size()];
+        }
+
+        void add(Worker w) {
+            for (int k = 0; k < names.size(); k++) {
+                latency[k].add(w.latency[k]);
+                requests[k] += w.requests[k];
+                errors[k] += w.errors[k];
+            }
+            bytes += w.bytes;
+            reconnects += w.reconnects;
+        }
+
+        public Duration measured() {
+            return measured;
+        }
+
+        public long totalRequests() {
+            long n = 0;
+            for (long r : requests) n += r;
+            return n;
+        }
+
+        public long totalErrors() {
+            long n = 0;
+            for (long e : errors) n += e;
+            return n;
+        }
+
+        public double throughput() {
+            return measured.isZero() ? 0 : totalRequests() / (measured.toNanos() / 1e9);
+        }
+
+        /** All request names together. */
+        public Histogram latency() {
+            Histogram all = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+            for (Histogram h : latency) all.add(h);
+            return all;
+        }
+
+        /** Bytes received, warm-up included. */
+        public long bytesReceived() {
+            return bytes;
+        }
+
+        public long reconnects() {
+            return reconnects;
+        }
+
+        public ReportTable toTable(String title) {
+            ReportTable table = new ReportTable(title, "request", "count", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+            double seconds = measured.toNanos() / 1e9;
+            for (int k = 0; k < names.size(); k++) {
+                table.row(names.get(k), requests[k], errors[k], seconds == 0 ? 0 : requests[k] / seconds,
+                    latency[k].getValueAtPercentile(50) / 1e6, latency[k].getValueAtPercentile(99) / 1e6,
+                    latency[k].getMaxValue() / 1e6);
+            }
+            return table;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecse429.restapi.load;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An HTTP/1.1 request encoded once into bytes, for {@link PipelinedDriver} to copy onto the
+ * wire as often as it likes. Requests with the same {@link #name()} are reported together,
+ * e.g. one GET per todo id under "GET /todos/:id".
+ */
+public final class RawRequest {
+
+    private final String name;
+    private final byte[] bytes;
+
+    private RawRequest(String name, byte[] bytes) {
+        this.name = name;
+        this.bytes = bytes;
+    }
+
+    public static RawRequest get(String name, URI base, String path) {
+        return new RawRequest(name, encode("GET", base, path, null));
+    }
+
+    public static RawRequest postJson(String name, URI base, String path, String json) {
+        return new RawRequest(name, encode("POST", base, path, json));
+    }
+
+    private static byte[] encode(String method, URI base, String path, String json) {
+        StringBuilder sb = new StringBuilder()
+            .append(method).append(' ').append(path).append(" HTTP/1.1\r\n")
+            .append("Host: ").append(base.getHost()).append(':').append(base.getPort()).append("\r\n")
+            .append("Accept: application/json\r\n");
+        byte[] body = json == null ? null : json.getBytes(StandardCharsets.UTF_8);
+        if (body != null) {
+            sb.append("Content-Type: application/json\r\n")
+                .append("Content-Length: ").append(body.length).append("\r\n");
+        }
+        sb.append("\r\n");
+        byte[] head = sb.toString().getBytes(StandardCharsets.US_ASCII);
+        if (body == null) return head;
+        byte[] out = new byte[head.length + body.length];
+        System.arraycopy(head, 0, out, 0, head.length);
+        System.arraycopy(body, 0, out, head.length, body.length);
+        return out;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,128 @@
+package com.ecse429.restapi.load;
+
+import com.ecse429.restapi.perf.PerfConfig;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What the load generator's users and the suites' background workers run on, chosen with
+ * {@code -Dload.threads=platform|virtual} (the {@code java21} Maven profile sets virtual).
+ *
+ *   PLATFORM   a fixed pool of daemon threads, one per user or worker
+ *   VIRTUAL    a virtual thread per task, at most {@code size} running at once, so
+ *              thousands of closed-loop users share a few dozen carrier threads
+ *
+ * The sources stay at Java 11, so virtual threads are reached through reflection and are
+ * only available when the tests run on Java 21 or later.
+ */
+public enum ThreadMode {
+
+    PLATFORM,
+    VIRTUAL;
+
+    public static ThreadMode fromSystemProperties() {
+        return valueOf(PerfConfig.stringProp("load.threads", "platform").toUpperCase());
+    }
+
+    /** Whether this JVM has virtual threads (Java 21+). */
+    public static boolean virtualAvailable() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Executor running at most {@code size} tasks at a time on threads named {@code prefix-N};
+     * further tasks queue, as with a fixed pool.
+     */
+    public ExecutorService pool(String prefix, int size) {
+        if (this == PLATFORM) return Executors.newFixedThreadPool(size, daemonThreads(prefix));
+        return new Bounded(virtualPerTask(prefix), size);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /** {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix + "-", 1).factory())} */
+    private static ExecutorService virtualPerTask(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builderType.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) perTask.invoke(null, factory);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("load.threads=virtual needs Java 21 or later, this is "
+                + System.getProperty("java.version"), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual threads", e);
+        }
+    }
+
+    /** Caps how many tasks of a thread-per-task executor run at once. */
+    private static final class Bounded extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Semaphore running;
+
+        Bounded(ExecutorService delegate, int size) {
+            this.delegate = delegate;
+            this.running = new Semaphore(size);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(() -> {
+                running.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    running.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecse429.restapi.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Weighted mix of {@link Operation}s. Each user (closed model) or arrival
+ * (open model) picks the next operation at random according to the weights.
+ */
+public final class Workload {
+
+    private final String name;
+    private final List<Operation> operations;
+    private final int[] cumulative;
+    private final int totalWeight;
+
+    public Workload(String name, List<Operation> operations) {
+        if (operations.isEmpty()) throw new IllegalArgumentException("Workload " + name + " has no operations");
+        this.name = name;
+        this.operations = Collections.unmodifiableList(new ArrayList<>(operations));
+        this.cumulative = new int[operations.size()];
+        int sum = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            sum += operations.get(i).weight();
+            cumulative[i] = sum;
+        }
+        this.totalWeight = sum;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<Operation> operations() {
+        return operations;
+    }
+
+    public Operation pick(Random rnd) {
+        int r = rnd.nextInt(totalWeight);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) return operations.get(i);
+        }
+        return operations.get(operations.size() - 1);
+    }
+}
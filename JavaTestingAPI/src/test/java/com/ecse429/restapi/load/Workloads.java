@@ -0,0 +1,195 @@
+package com.ecse429.restapi.load;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stock workloads against /todos, /projects and /categories.
+ * Pick one with {@code -Dload.workload=read|crud|relations|soak}.
+ */
+public final class Workloads {
+
+    private Workloads() {
+    }
+
+    public static Workload named(String name) {
+        switch (name) {
+            case "read":
+                return readOnly();
+            case "crud":
+                return mixedCrud();
+            case "relations":
+                return crudWithRelations();
+            case "soak":
+                return soakChurn(200);
+            default:
+                throw new IllegalArgumentException("Unknown workload: " + name + " (expected read, crud, relations or soak)");
+        }
+    }
+
+    /** JSON create body for a collection, mirroring the bodies used by the JsonTests suites. */
+    public static String bodyFor(String collection, String title) {
+        switch (collection) {
+            case "todos":
+                return "{\"title\":\"" + title + "\",\"doneStatus\":false,\"description\":\"load\"}";
+            case "projects":
+                return "{\"title\":\"" + title + "\",\"completed\":false,\"active\":true,\"description\":\"load\"}";
+            case "categories":
+                return "{\"title\":\"" + title + "\",\"description\":\"load\"}";
+            default:
+                throw new IllegalArgumentException("Unknown collection: " + collection);
+        }
+    }
+
+    /** GETs only: list and by-id reads on all three collections. */
+    public static Workload readOnly() {
+        List<Operation> ops = new ArrayList<>();
+        for (String c : LoadContext.COLLECTIONS) {
+            ops.add(listOp(c, 2));
+            ops.add(getByIdOp(c, 4));
+        }
+        return new Workload("read", ops);
+    }
+
+    /** Reads plus create, update and delete on all three collections. */
+    public static Workload mixedCrud() {
+        List<Operation> ops = new ArrayList<>();
+        for (String c : LoadContext.COLLECTIONS) {
+            ops.add(listOp(c, 2));
+            ops.add(getByIdOp(c, 4));
+            ops.add(createOp(c, 2));
+            ops.add(updateOp(c, 1));
+            ops.add(deleteOp(c, 1));
+        }
+        return new Workload("crud", ops);
+    }
+
+    /**
+     * {@link #mixedCrud()} plus linking and reading todo categories and project tasks. Links are
+     * made between stable entities only, so they are never dropped by a concurrent delete.
+     */
+    public static Workload crudWithRelations() {
+        List<Operation> ops = new ArrayList<>(mixedCrud().operations());
+        ops.add(linkOp("todos", "categories", "categories", 1));
+        ops.add(relationReadOp("todos", "categories", 2));
+        ops.add(linkOp("projects", "tasks", "todos", 1));
+        ops.add(relationReadOp("projects", "tasks", 2));
+        return new Workload("relations", ops);
+    }
+
+    /**
+     * Randomised churn that keeps the data set flat: creates stop while a collection has
+     * {@code churnCap} run-created entities, deletes draw from the same ids. Links between
+     * stable entities come and go on two relations: made as todo tasksof and removed as project
+     * tasks (the server mirrors the two), and made and removed as category todos. Category todos
+     * is not mirrored into todo categories by the server, so it is unlinked from the side that
+     * made it. All relation sides are read as well.
+     */
+    public static Workload soakChurn(int churnCap) {
+        List<Operation> ops = new ArrayList<>();
+        for (String c : LoadContext.COLLECTIONS) {
+            ops.add(getByIdOp(c, 2));
+            ops.add(cappedCreateOp(c, churnCap, 2));
+            ops.add(updateOp(c, 1));
+            ops.add(deleteOp(c, 2));
+        }
+        ops.add(recordedLinkOp("todos", "tasksof", "projects", "projects/tasks", true, 2));
+        ops.add(unlinkOp("projects", "tasks", 2));
+        ops.add(recordedLinkOp("categories", "todos", "todos", "categories/todos", false, 2));
+        ops.add(unlinkOp("categories", "todos", 2));
+        ops.add(relationReadOp("projects", "tasks", 1));
+        ops.add(relationReadOp("todos", "tasksof", 1));
+        ops.add(relationReadOp("categories", "todos", 1));
+        ops.add(relationReadOp("todos", "categories", 1));
+        return new Workload("soak", ops);
+    }
+
+    public static Operation listOp(String collection, int weight) {
+        return Operation.of("GET /" + collection, weight, ctx -> ctx.get("/" + collection, "application/json"));
+    }
+
+    public static Operation getByIdOp(String collection, int weight) {
+        return Operation.of("GET /" + collection + "/:id", weight, ctx -> {
+            String id = ctx.stable(collection).random();
+            return id == null ? null : ctx.get("/" + collection + "/" + id, "application/json");
+        });
+    }
+
+    public static Operation createOp(String collection, int weight) {
+        return Operation.of("POST /" + collection, weight,
+                ctx -> ctx.postJson("/" + collection, bodyFor(collection, "loadChurn")))
+            .onResponse((ctx, req, resp) -> rememberCreated(ctx, collection, resp));
+    }
+
+    /** Like {@link #createOp} but sends nothing while the churn pool holds {@code cap} ids. */
+    public static Operation cappedCreateOp(String collection, int cap, int weight) {
+        return Operation.of("POST /" + collection, weight,
+                ctx -> ctx.churn(collection).size() >= cap ? null : ctx.postJson("/" + collection, bodyFor(collection, "soakChurn")))
+            .onResponse((ctx, req, resp) -> rememberCreated(ctx, collection, resp));
+    }
+
+    public static Operation updateOp(String collection, int weight) {
+        return Operation.of("POST /" + collection + "/:id", weight, ctx -> {
+            String id = ctx.stable(collection).random();
+            return id == null ? null : ctx.postJson("/" + collection + "/" + id, "{\"description\":\"load update\"}");
+        });
+    }
+
+    public static Operation deleteOp(String collection, int weight) {
+        return Operation.of("DELETE /" + collection + "/:id", weight, ctx -> {
+            String id = ctx.churn(collection).take();
+            return id == null ? null : ctx.delete("/" + collection + "/" + id);
+        });
+    }
+
+    /** {@code POST /<owner>/:id/<relation>} with the id of a random stable {@code target}. */
+    public static Operation linkOp(String owner, String relation, String target, int weight) {
+        return Operation.of("POST /" + owner + "/:id/" + relation, weight, ctx -> {
+            String from = ctx.stable(owner).random();
+            String to = ctx.stable(target).random();
+            return from == null || to == null ? null
+                : ctx.postJson("/" + owner + "/" + from + "/" + relation, "{\"id\":\"" + to + "\"}");
+        });
+    }
+
+    /**
+     * {@code POST /<owner>/:id/<relation>} between random stable entities, recording the link in
+     * {@link LoadContext#links(String) links(pool)} once it succeeded. With {@code reversed} the
+     * entry is stored target-first, for links made from the mirror side of the pool's relation.
+     */
+    public static Operation recordedLinkOp(String owner, String relation, String target, String pool,
+                                           boolean reversed, int weight) {
+        return Operation.ofCalls("POST /" + owner + "/:id/" + relation, weight, ctx -> {
+            String from = ctx.stable(owner).random();
+            String to = ctx.stable(target).random();
+            if (from == null || to == null) return null;
+            String link = reversed ? to + "/" + from : from + "/" + to;
+            return Operation.Call.of(ctx.postJson("/" + owner + "/" + from + "/" + relation, "{\"id\":\"" + to + "\"}"),
+                resp -> {
+                    if (resp.statusCode() >= 200 && resp.statusCode() < 300) ctx.links(pool).add(link);
+                });
+        });
+    }
+
+    /** {@code DELETE /<owner>/:id/<relation>/:id} for a link taken from {@code links("<owner>/<relation>")}. */
+    public static Operation unlinkOp(String owner, String relation, int weight) {
+        return Operation.of("DELETE /" + owner + "/:id/" + relation + "/:id", weight, ctx -> {
+            String link = ctx.links(owner + "/" + relation).take();
+            return link == null ? null : ctx.delete("/" + owner + "/" + link.replace("/", "/" + relation + "/"));
+        });
+    }
+
+    public static Operation relationReadOp(String owner, String relation, int weight) {
+        return Operation.of("GET /" + owner + "/:id/" + relation, weight, ctx -> {
+            String id = ctx.stable(owner).random();
+            return id == null ? null : ctx.get("/" + owner + "/" + id + "/" + relation, "application/json");
+        });
+    }
+
+    static void rememberCreated(LoadContext ctx, String collection, HttpResponse<byte[]> resp) {
+        if (resp.statusCode() == 201) {
+            ctx.churn(collection).add(LoadContext.extractId(resp.body()));
+        }
+    }
+}
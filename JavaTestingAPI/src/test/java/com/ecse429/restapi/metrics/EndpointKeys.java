@@ -0,0 +1,45 @@
+package com.ecse429.restapi.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns concrete requests into endpoint keys so that "/todos/12/categories/3"
+ * and "/todos/40/categories/7" are recorded together as "/todos/:id/categories/:id".
+ * Query parameter names are kept, values dropped: "GET /todos?doneStatus".
+ */
+public final class EndpointKeys {
+
+    private EndpointKeys() {
+    }
+
+    public static String of(String method, String pathAndQuery) {
+        String path = pathAndQuery;
+        String query = null;
+        int q = pathAndQuery.indexOf('?');
+        if (q >= 0) {
+            path = pathAndQuery.substring(0, q);
+            query = pathAndQuery.substring(q + 1);
+        }
+        StringBuilder sb = new StringBuilder(method.toUpperCase()).append(' ').append(template(path));
+        if (query != null && !query.isEmpty()) {
+            List<String> names = new ArrayList<>();
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                names.add(eq < 0 ? pair : pair.substring(0, eq));
+            }
+            sb.append('?').append(String.join("&", names));
+        }
+        return sb.toString();
+    }
+
+    /** Replaces numeric path segments with ":id". */
+    public static String template(String path) {
+        if (path.isEmpty()) return "/";
+        String[] parts = path.split("/", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (!parts[i].isEmpty() && parts[i].chars().allMatch(Character::isDigit)) parts[i] = ":id";
+        }
+        return String.join("/", parts);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecse429.restapi.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms for one endpoint key such as "GET /todos/:id".
+ *
+ * Two views are kept:
+ * - response time, measured from the intended send time. When the sender fell
+ *   behind (server stall, saturated workers) the wait before sending is included,
+ *   which is what a user would have seen. This is the coordinated-omission-correct
+ *   figure and the one to quote.
+ * - service time, measured from the moment the request actually went out.
+ *
+ * When no schedule exists the intended and actual send times are the same and
+ * both views agree. Values are stored in nanoseconds with 3 significant digits.
+ */
+public final class EndpointLatency {
+
+    private final String key;
+    private final Histogram response = new ConcurrentHistogram(3);
+    private final Histogram service = new ConcurrentHistogram(3);
+
+    public EndpointLatency(String key) {
+        this.key = key;
+    }
+
+    public void record(long intendedStartNanos, long actualStartNanos, long endNanos) {
+        long intended = Math.min(intendedStartNanos, actualStartNanos);
+        response.recordValue(Math.max(0, endNanos - intended));
+        service.recordValue(Math.max(0, endNanos - actualStartNanos));
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public long count() {
+        return response.getTotalCount();
+    }
+
+    public Histogram response() {
+        return response;
+    }
+
+    public Histogram service() {
+        return service;
+    }
+
+    /** Response-time percentile (0-100) in milliseconds, NaN when empty. */
+    public double responseMillis(double percentile) {
+        return millis(response, percentile);
+    }
+
+    /** Service-time percentile (0-100) in milliseconds, NaN when empty. */
+    public double serviceMillis(double percentile) {
+        return millis(service, percentile);
+    }
+
+    public double meanResponseMillis() {
+        return response.getTotalCount() == 0 ? Double.NaN : response.getMean() / 1_000_000.0;
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        if (h.getTotalCount() == 0) return Double.NaN;
+        long v = percentile >= 100 ? h.getMaxValue() : h.getValueAtPercentile(percentile);
+        return v / 1_000_000.0;
+    }
+}
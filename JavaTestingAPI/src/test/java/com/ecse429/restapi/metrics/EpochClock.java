@@ -0,0 +1,23 @@
+package com.ecse429.restapi.metrics;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Wall-clock time for {@code System.nanoTime()} readings, through one anchor pair read when the
+ * class loads. Every timestamp that leaves the JVM (request traces, traffic logs) goes through it,
+ * so they line up with each other and with server-side events.
+ */
+public final class EpochClock {
+
+    private static final long ANCHOR_NANOS = System.nanoTime();
+    private static final long ANCHOR_MICROS = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+
+    private EpochClock() {
+    }
+
+    /** Epoch microseconds for a {@code System.nanoTime()} reading of this JVM. */
+    public static long micros(long nanoTime) {
+        return ANCHOR_MICROS + (nanoTime - ANCHOR_NANOS) / 1000;
+    }
+}
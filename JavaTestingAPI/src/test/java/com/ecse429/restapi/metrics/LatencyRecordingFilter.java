@@ -0,0 +1,81 @@
+package com.ecse429.restapi.metrics;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+
+/**
+ * RestAssured filter that times every given()/when() call and records it into
+ * {@link LatencyRegistry#global()} and, when a test class is running, into that
+ * class's registry as well (see {@link LatencyReportExtension}), and into {@link RequestTrace}
+ * when tracing is on.
+ *
+ * Registered once from {@code BaseApiTest.setupRestAssured()}. {@link #begin} does the same for
+ * calls made through the {@code TodoManagerClient} SDK.
+ */
+public final class LatencyRecordingFilter implements Filter {
+
+    public static final LatencyRecordingFilter INSTANCE = new LatencyRecordingFilter();
+
+    private static final ThreadLocal<LatencyRegistry> CLASS_SCOPE = new ThreadLocal<>();
+
+    private LatencyRecordingFilter() {
+    }
+
+    static LatencyRegistry currentClassRegistry() {
+        return CLASS_SCOPE.get();
+    }
+
+    static void bindClassRegistry(LatencyRegistry registry) {
+        if (registry == null) CLASS_SCOPE.remove();
+        else CLASS_SCOPE.set(registry);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long end = System.nanoTime();
+
+        String key = EndpointKeys.of(requestSpec.getMethod(), pathAndQuery(requestSpec.getURI()));
+        record(key, CLASS_SCOPE.get(), start, end);
+        return response;
+    }
+
+    /**
+     * Starts timing a request sent outside RestAssured; run the returned callback when it completes.
+     * The class scope is captured here, on the calling thread, since async completions run elsewhere.
+     * Usable as a {@code client.RequestListener}.
+     */
+    public static Runnable begin(String method, String pathAndQuery) {
+        long start = System.nanoTime();
+        LatencyRegistry scoped = CLASS_SCOPE.get();
+        String key = EndpointKeys.of(method, pathAndQuery);
+        return () -> record(key, scoped, start, System.nanoTime());
+    }
+
+    /** Suite calls are not paced, so the intended send time is the actual one. */
+    private static void record(String key, LatencyRegistry scoped, long start, long end) {
+        LatencyRegistry.global().record(key, start, start, end);
+        if (scoped != null) scoped.record(key, start, start, end);
+        RequestTrace.record(key, start, start, end);
+    }
+
+    /** Path and query of a request URI as RestAssured reports it, without scheme and authority. */
+    public static String pathAndQuery(String uri) {
+        try {
+            URI u = URI.create(uri);
+            return u.getRawQuery() == null ? u.getRawPath() : u.getRawPath() + "?" + u.getRawQuery();
+        } catch (IllegalArgumentException e) {
+            // unencoded characters in a test URI; strip scheme and authority by hand
+            int slash = uri.indexOf('/', uri.indexOf("//") + 2);
+            return slash < 0 ? "/" : uri.substring(slash);
+        }
+    }
+}
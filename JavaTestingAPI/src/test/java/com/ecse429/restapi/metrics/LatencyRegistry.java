@@ -0,0 +1,82 @@
+package com.ecse429.restapi.metrics;
+
+import com.ecse429.restapi.perf.ReportTable;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Set of {@link EndpointLatency} histograms keyed by endpoint.
+ *
+ * {@link #global()} collects every request that goes through RestAssured
+ * (see {@link LatencyRecordingFilter}); load runs create their own instance.
+ */
+public final class LatencyRegistry {
+
+    private static final LatencyRegistry GLOBAL = new LatencyRegistry();
+
+    private final ConcurrentMap<String, EndpointLatency> endpoints = new ConcurrentHashMap<>();
+
+    public static LatencyRegistry global() {
+        return GLOBAL;
+    }
+
+    public EndpointLatency forKey(String key) {
+        return endpoints.computeIfAbsent(key, EndpointLatency::new);
+    }
+
+    public void record(String key, long intendedStartNanos, long actualStartNanos, long endNanos) {
+        forKey(key).record(intendedStartNanos, actualStartNanos, endNanos);
+    }
+
+    public List<EndpointLatency> snapshot() {
+        List<EndpointLatency> out = new ArrayList<>(endpoints.values());
+        out.sort((a, b) -> a.key().compareTo(b.key()));
+        return out;
+    }
+
+    public boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /** Response-time percentiles per endpoint, plus service-time p99 for comparison. */
+    public ReportTable toTable(String title) {
+        ReportTable table = new ReportTable(title,
+            "endpoint", "count", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        for (EndpointLatency e : snapshot()) {
+            table.row(e.key(), e.count(), e.meanResponseMillis(), e.responseMillis(50), e.responseMillis(90),
+                e.responseMillis(99), e.responseMillis(99.9), e.responseMillis(100), e.serviceMillis(99));
+        }
+        return table;
+    }
+
+    /**
+     * Writes every response-time histogram in HdrHistogram log format, tagged with
+     * the endpoint key, so runs can be re-analysed or plotted later.
+     */
+    public void writeHistogramLog(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (EndpointLatency e : snapshot()) {
+                Histogram h = e.response().copy();
+                h.setTag(e.key().replace(' ', '_').replace(',', ';'));
+                writer.outputIntervalHistogram(h);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecse429.restapi.metrics;
+
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.server.ServerTarget;
+import com.ecse429.restapi.server.ShardReport;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reports request latency percentiles for the suites.
+ *
+ * Each test class gets its own registry, saved to
+ * {@code target/perf-reports/latency-<Class>.txt} when the class finishes.
+ * Once the whole run is over the combined table is printed and saved as
+ * {@code latency-suite}, together with an HdrHistogram log. In a sharded run each fork
+ * writes {@code latency-suite-shard<N>} and adds its line to {@link ShardReport}.
+ */
+public class LatencyReportExtension implements BeforeAllCallback, AfterAllCallback {
+
+    private static final ExtensionContext.Namespace NS = ExtensionContext.Namespace.create(LatencyReportExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NS).getOrComputeIfAbsent("suite-summary", k -> new SuiteSummary());
+        SuiteSummary.CLASSES.incrementAndGet();
+        LatencyRegistry registry = new LatencyRegistry();
+        ExtensionContext.Store store = context.getStore(NS);
+        store.put("class-registry", registry);
+        // In parallel mode a worker may pick up another class while this one waits; restore its scope after
+        LatencyRegistry previous = LatencyRecordingFilter.currentClassRegistry();
+        if (previous != null) store.put("previous-registry", previous);
+        LatencyRecordingFilter.bindClassRegistry(registry);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        ExtensionContext.Store store = context.getStore(NS);
+        LatencyRecordingFilter.bindClassRegistry(store.remove("previous-registry", LatencyRegistry.class));
+        LatencyRegistry registry = store.remove("class-registry", LatencyRegistry.class);
+        if (registry != null && !registry.isEmpty()) {
+            String name = context.getRequiredTestClass().getSimpleName();
+            registry.toTable("Latency " + name).save("latency-" + name);
+        }
+    }
+
+    /**
+     * Closed by JUnit when the root context ends, i.e. after the last test class. Forked surefire
+     * runs have one root context per class, so the totals are JVM-wide and each close republishes them.
+     */
+    private static final class SuiteSummary implements ExtensionContext.Store.CloseableResource {
+        private static final long STARTED_AT = System.nanoTime();
+        private static final AtomicInteger CLASSES = new AtomicInteger();
+
+        @Override
+        public void close() throws IOException {
+            LatencyRegistry global = LatencyRegistry.global();
+            if (global.isEmpty()) return;
+            String name = "latency-suite" + ServerTarget.reportSuffix();
+            global.toTable("Request latency across the suite").publish(name);
+            global.writeHistogramLog(ReportTable.reportDir().resolve(name + ".hlog"));
+            long requests = global.snapshot().stream().mapToLong(EndpointLatency::count).sum();
+            ShardReport.record(CLASSES.get(), requests, Duration.ofNanos(System.nanoTime() - STARTED_AT));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ecse429.restapi.metrics;
+
+import com.ecse429.restapi.perf.PerfConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Per-request timestamps on the wall clock, kept when tracing is on so single slow requests
+ * can be lined up with server-side events afterwards (see {@link TailAttribution}).
+ *
+ * Enabled with {@code -Dtrace.tail=true} or {@link #enable()}, switched off again with {@link #disable()}. {@link LatencyRecordingFilter}
+ * and the load engine record into it next to their histograms. Times are taken with
+ * {@code System.nanoTime()} like everywhere else and converted with {@link EpochClock}.
+ */
+public final class RequestTrace {
+
+    private static final Queue<Request> REQUESTS = new ConcurrentLinkedQueue<>();
+    private static volatile boolean enabled = PerfConfig.boolProp("trace.tail", false);
+
+    /** One request: endpoint key, intended send time and end time, in epoch microseconds. */
+    public static final class Request {
+        private final String key;
+        private final long startMicros;
+        private final long endMicros;
+
+        Request(String key, long startMicros, long endMicros) {
+            this.key = key;
+            this.startMicros = startMicros;
+            this.endMicros = endMicros;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public long startMicros() {
+            return startMicros;
+        }
+
+        public long endMicros() {
+            return endMicros;
+        }
+
+        /** Response time, from the intended send time like {@link EndpointLatency#response()}. */
+        public double millis() {
+            return (endMicros - startMicros) / 1e3;
+        }
+    }
+
+    private RequestTrace() {
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean enabled() {
+        return enabled;
+    }
+
+    public static void record(String key, long intendedStartNanos, long actualStartNanos, long endNanos) {
+        if (!enabled) return;
+        REQUESTS.add(new Request(key, EpochClock.micros(Math.min(intendedStartNanos, actualStartNanos)), EpochClock.micros(endNanos)));
+    }
+
+    public static List<Request> snapshot() {
+        return new ArrayList<>(REQUESTS);
+    }
+
+    public static void clear() {
+        REQUESTS.clear();
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecse429.restapi.metrics;
+
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import com.ecse429.restapi.server.PauseTimeline;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Explains the slowest requests of each endpoint with the server's stop-the-world pauses.
+ *
+ * Requests come from {@link RequestTrace}, pauses from a {@link PauseTimeline} of the same run.
+ * Per endpoint, every request at or above the {@code trace.percentile} (default 99.9) response
+ * time, and at least {@code trace.minOutlierMillis}, is an outlier. Its excess over the endpoint
+ * median is compared with how long GC pauses and other safepoints overlapped it:
+ *
+ *   GC pause      GC pauses covered at least {@code trace.minShare} (default 0.25) of the excess
+ *   safepoint     other safepoints did (whichever of the two overlapped more wins)
+ *   unexplained   neither; look at the server itself (CPU, locks, JIT) or the client
+ *
+ * {@link #publish} writes the per-endpoint counts as {@code <name>} and the {@code trace.maxRows}
+ * (default 50) slowest outliers with their overlapping pauses as {@code <name>-outliers}.
+ */
+public final class TailAttribution {
+
+    public static final String GC = "GC pause";
+    public static final String SAFEPOINT = "safepoint";
+    public static final String UNEXPLAINED = "unexplained";
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    /** One outlier and what overlapped it. */
+    private static final class Outlier {
+        final RequestTrace.Request request;
+        final double medianMillis;
+        final double gcMillis;
+        final double safepointMillis;
+        final String label;
+        final String stalls;
+
+        Outlier(RequestTrace.Request request, double medianMillis, double gcMillis, double safepointMillis,
+                String label, String stalls) {
+            this.request = request;
+            this.medianMillis = medianMillis;
+            this.gcMillis = gcMillis;
+            this.safepointMillis = safepointMillis;
+            this.label = label;
+            this.stalls = stalls;
+        }
+    }
+
+    private final String title;
+    private final double percentile;
+    private final ReportTable summary;
+    private final List<Outlier> outliers = new ArrayList<>();
+
+    private TailAttribution(String title, double percentile) {
+        this.title = title;
+        this.percentile = percentile;
+        this.summary = new ReportTable("Tail latency attribution: " + title, "endpoint", "requests", "p50 ms",
+            "p" + percentile + " ms", "outliers", GC, SAFEPOINT, UNEXPLAINED, "worst ms", "worst label");
+    }
+
+    /** Attributes the outliers of {@code requests}, with thresholds from the {@code trace.*} properties. */
+    public static TailAttribution analyse(String title, List<RequestTrace.Request> requests, PauseTimeline pauses,
+                                          double defaultMinOutlierMillis) {
+        double percentile = PerfConfig.doubleProp("trace.percentile", 99.9);
+        double minMillis = PerfConfig.doubleProp("trace.minOutlierMillis", defaultMinOutlierMillis);
+        double minShare = PerfConfig.doubleProp("trace.minShare", 0.25);
+        TailAttribution t = new TailAttribution(title, percentile);
+
+        Map<String, List<RequestTrace.Request>> byEndpoint = requests.stream()
+            .collect(Collectors.groupingBy(RequestTrace.Request::key, TreeMap::new, Collectors.toList()));
+        int[] totals = new int[4];
+        for (Map.Entry<String, List<RequestTrace.Request>> e : byEndpoint.entrySet()) {
+            List<RequestTrace.Request> list = e.getValue();
+            list.sort(Comparator.comparingLong(r -> r.endMicros() - r.startMicros()));
+            double median = at(list, 50);
+            double threshold = Math.max(at(list, percentile), minMillis);
+            int[] counts = new int[4];
+            Outlier worst = null;
+            for (RequestTrace.Request r : list) {
+                if (r.millis() < threshold) continue;
+                Outlier o = attribute(r, median, pauses, minShare);
+                t.outliers.add(o);
+                counts[0]++;
+                counts[o.label.equals(GC) ? 1 : o.label.equals(SAFEPOINT) ? 2 : 3]++;
+                worst = o;
+            }
+            for (int i = 0; i < 4; i++) totals[i] += counts[i];
+            t.summary.row(e.getKey(), list.size(), median, threshold, counts[0], counts[1], counts[2], counts[3],
+                worst == null ? "-" : worst.request.millis(), worst == null ? "-" : worst.label);
+        }
+        t.summary.row("all endpoints", requests.size(), "-", "-", totals[0], totals[1], totals[2], totals[3], "-", "-");
+        t.outliers.sort((a, b) -> Double.compare(b.request.millis(), a.request.millis()));
+        return t;
+    }
+
+    private static Outlier attribute(RequestTrace.Request r, double medianMillis, PauseTimeline pauses, double minShare) {
+        long gc = 0, safepoint = 0;
+        List<String> names = new ArrayList<>();
+        for (PauseTimeline.Stall s : pauses.overlapping(r.startMicros(), r.endMicros())) {
+            long overlap = PauseTimeline.overlapMicros(s, r.startMicros(), r.endMicros());
+            if (s.kind() == PauseTimeline.Kind.GC) gc += overlap;
+            else safepoint += overlap;
+            names.add(s.name() + " " + String.format("%.1f", s.millis()) + "ms");
+        }
+        double excess = Math.max(0.001, r.millis() - medianMillis);
+        String label = UNEXPLAINED;
+        if (Math.max(gc, safepoint) / 1e3 >= minShare * excess) label = gc >= safepoint ? GC : SAFEPOINT;
+        return new Outlier(r, medianMillis, gc / 1e3, safepoint / 1e3, label,
+            names.isEmpty() ? "-" : String.join(", ", names.subList(0, Math.min(3, names.size()))));
+    }
+
+    /** Nearest-rank percentile in milliseconds of a list sorted by response time. */
+    private static double at(List<RequestTrace.Request> sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, rank - 1))).millis();
+    }
+
+    public int outliers() {
+        return outliers.size();
+    }
+
+    /** Outliers with the given label. */
+    public long count(String label) {
+        return outliers.stream().filter(o -> o.label.equals(label)).count();
+    }
+
+    public void publish(String name) {
+        summary.publish(name);
+        ReportTable detail = new ReportTable("Slowest outliers (>= p" + percentile + "): " + title,
+            "time", "endpoint", "ms", "endpoint p50 ms", "label", "GC overlap ms", "safepoint overlap ms", "pauses");
+        for (Outlier o : outliers.subList(0, Math.min(PerfConfig.intProp("trace.maxRows", 50), outliers.size()))) {
+            LocalTime at = LocalTime.ofInstant(Instant.EPOCH.plusNanos(o.request.startMicros() * 1000), ZoneId.systemDefault());
+            detail.row(TIME.format(at), o.request.key(), o.request.millis(), o.medianMillis, o.label,
+                o.gcMillis, o.safepointMillis, o.stalls);
+        }
+        detail.publish(name + "-outliers");
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecse429.restapi.perf;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * What this JVM, the load client, used between {@link #start()} and {@link #stop()}: CPU time,
+ * bytes allocated by its threads, and peak RSS, heap and platform thread count sampled every
+ * 200ms. Benchmarks use it to show whether the client or the server is the limit.
+ *
+ * Allocation is tracked per thread at every sample, so a pool that shuts down before
+ * {@link #stop()} still counts up to its last sample.
+ */
+public final class ClientUsage {
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final long cpu0;
+    private final Map<Long, Long> allocatedAtStart = new HashMap<>();
+    private final Map<Long, Long> allocatedLastSeen = new HashMap<>();
+    private final long wall0;
+    private final Thread sampler;
+    private volatile boolean running = true;
+    private volatile long peakRss;
+    private volatile long peakHeap;
+    private volatile int peakThreads;
+    private long cpu;
+    private long allocated;
+    private long wall;
+
+    private ClientUsage() {
+        cpu0 = processCpuNanos();
+        sampleAllocation(allocatedAtStart);
+        wall0 = System.nanoTime();
+        sampler = new Thread(() -> {
+            while (running) {
+                sample();
+                LockSupport.parkNanos(Duration.ofMillis(200).toNanos());
+            }
+        }, "client-usage");
+        sampler.setDaemon(true);
+    }
+
+    public static ClientUsage start() {
+        ClientUsage u = new ClientUsage();
+        u.sampler.start();
+        return u;
+    }
+
+    private synchronized void sample() {
+        sampleAllocation(allocatedLastSeen);
+        peakRss = Math.max(peakRss, rssBytes());
+        peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+        peakThreads = Math.max(peakThreads, threads.getThreadCount());
+    }
+
+    /** Ends the window; later calls do nothing. */
+    public void stop() {
+        if (!running) return;
+        running = false;
+        sample();
+        cpu = processCpuNanos() - cpu0;
+        synchronized (this) {
+            for (Map.Entry<Long, Long> e : allocatedLastSeen.entrySet()) {
+                allocated += e.getValue() - allocatedAtStart.getOrDefault(e.getKey(), 0L);
+            }
+        }
+        wall = System.nanoTime() - wall0;
+    }
+
+    public long cpuNanos() {
+        return cpu;
+    }
+
+    /** CPU used as a share of all cores over the window. */
+    public double cpuPercent() {
+        return wall == 0 ? 0 : 100.0 * cpu / wall / Runtime.getRuntime().availableProcessors();
+    }
+
+    /** Bytes allocated by all threads over the window, up to each thread's last sample. */
+    public long allocatedBytes() {
+        return allocated;
+    }
+
+    public double peakRssMb() {
+        return peakRss / 1e6;
+    }
+
+    public double peakHeapMb() {
+        return peakHeap / 1e6;
+    }
+
+    public int peakThreads() {
+        return peakThreads;
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+            .getProcessCpuTime();
+    }
+
+    private void sampleAllocation(Map<Long, Long> into) {
+        long[] ids = threads.getAllThreadIds();
+        long[] bytes = threads.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] > 0) into.put(ids[i], bytes[i]);
+        }
+    }
+
+    /** Resident set size from /proc (Linux); elsewhere committed heap plus non-heap as a stand-in. */
+    private long rssBytes() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // not Linux
+        }
+        return memory.getHeapMemoryUsage().getCommitted() + memory.getNonHeapMemoryUsage().getCommitted();
+    }
+}
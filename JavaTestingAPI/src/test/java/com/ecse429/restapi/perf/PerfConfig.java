@@ -0,0 +1,76 @@
+package com.ecse429.restapi.perf;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads performance-run settings from system properties.
+ * Everything has a default so benchmarks run with a plain {@code mvn test -Pperf}.
+ */
+public final class PerfConfig {
+
+    private PerfConfig() {
+    }
+
+    public static String stringProp(String key, String def) {
+        String v = System.getProperty(key);
+        return v == null || v.isBlank() ? def : v.trim();
+    }
+
+    public static int intProp(String key, int def) {
+        String v = System.getProperty(key);
+        return v == null || v.isBlank() ? def : Integer.parseInt(v.trim());
+    }
+
+    public static long longProp(String key, long def) {
+        String v = System.getProperty(key);
+        return v == null || v.isBlank() ? def : Long.parseLong(v.trim());
+    }
+
+    public static double doubleProp(String key, double def) {
+        String v = System.getProperty(key);
+        return v == null || v.isBlank() ? def : Double.parseDouble(v.trim());
+    }
+
+    public static boolean boolProp(String key, boolean def) {
+        String v = System.getProperty(key);
+        return v == null || v.isBlank() ? def : Boolean.parseBoolean(v.trim());
+    }
+
+    /**
+     * Parses durations such as {@code 500ms}, {@code 30s}, {@code 5m} or {@code 2h}.
+     * A bare number is taken as seconds.
+     */
+    public static Duration durationProp(String key, Duration def) {
+        String v = System.getProperty(key);
+        return v == null || v.isBlank() ? def : parseDuration(v.trim());
+    }
+
+    public static Duration parseDuration(String v) {
+        if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        if (v.endsWith("s")) return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        if (v.endsWith("m")) return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        if (v.endsWith("h")) return Duration.ofHours(Long.parseLong(v.substring(0, v.length() - 1)));
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+
+    /** Comma separated list, e.g. {@code -Dbench.sizes=10,100,1000}. */
+    public static List<String> listProp(String key, List<String> def) {
+        String v = System.getProperty(key);
+        if (v == null || v.isBlank()) return def;
+        List<String> out = new ArrayList<>();
+        for (String s : v.split(",")) {
+            if (!s.isBlank()) out.add(s.trim());
+        }
+        return out;
+    }
+
+    public static List<Integer> intListProp(String key, List<Integer> def) {
+        String v = System.getProperty(key);
+        if (v == null || v.isBlank()) return def;
+        List<Integer> out = new ArrayList<>();
+        for (String s : listProp(key, List.of())) out.add(Integer.parseInt(s));
+        return out;
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecse429.restapi.perf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Small column-aligned table used by every benchmark to print its results
+ * and to drop a .txt/.csv copy under {@code target/perf-reports}.
+ */
+public final class ReportTable {
+
+    private final String title;
+    private final List<String> columns;
+    private final List<List<String>> rows = new ArrayList<>();
+
+    public ReportTable(String title, String... columns) {
+        this.title = title;
+        this.columns = Arrays.asList(columns);
+    }
+
+    public synchronized ReportTable row(Object... values) {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values but got " + values.length);
+        }
+        List<String> row = new ArrayList<>();
+        for (Object v : values) row.add(format(v));
+        rows.add(row);
+        return this;
+    }
+
+    public synchronized List<List<String>> rows() {
+        return new ArrayList<>(rows);
+    }
+
+    private static String format(Object v) {
+        if (v == null) return "-";
+        if (v instanceof Double || v instanceof Float) {
+            double d = ((Number) v).doubleValue();
+            if (Double.isNaN(d)) return "-";
+            return Math.abs(d) >= 100 ? String.format("%.0f", d) : String.format("%.2f", d);
+        }
+        return String.valueOf(v);
+    }
+
+    @Override
+    public synchronized String toString() {
+        int[] widths = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) widths[i] = columns.get(i).length();
+        for (List<String> row : rows) {
+            for (int i = 0; i < row.size(); i++) widths[i] = Math.max(widths[i], row.get(i).length());
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("== ").append(title).append(" ==\n");
+        appendLine(sb, columns, widths);
+        for (int i = 0; i < widths.length; i++) {
+            sb.append("-".repeat(widths[i])).append(i == widths.length - 1 ? "\n" : "-+-");
+        }
+        for (List<String> row : rows) appendLine(sb, row, widths);
+        return sb.toString();
+    }
+
+    private static void appendLine(StringBuilder sb, List<String> cells, int[] widths) {
+        for (int i = 0; i < cells.size(); i++) {
+            String cell = cells.get(i);
+            sb.append(cell).append(" ".repeat(widths[i] - cell.length()));
+            sb.append(i == cells.size() - 1 ? "\n" : " | ");
+        }
+    }
+
+    public synchronized String toCsv() {
+        StringBuilder sb = new StringBuilder(String.join(",", columns)).append('\n');
+        for (List<String> row : rows) {
+            List<String> escaped = new ArrayList<>();
+            for (String cell : row) {
+                escaped.add(cell.contains(",") || cell.contains("\"") ? "\"" + cell.replace("\"", "\"\"") + "\"" : cell);
+            }
+            sb.append(String.join(",", escaped)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** Prints the table and writes {@code <name>.txt} and {@code <name>.csv} into the report directory. */
+    public void publish(String name) {
+        System.out.println(this);
+        save(name);
+    }
+
+    /** Writes {@code <name>.txt} and {@code <name>.csv} into the report directory without printing. */
+    public void save(String name) {
+        try {
+            Path dir = reportDir();
+            Files.createDirectories(dir);
+            Files.write(dir.resolve(name + ".txt"), toString().getBytes(StandardCharsets.UTF_8));
+            Files.write(dir.resolve(name + ".csv"), toCsv().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write report " + name, e);
+        }
+    }
+
+    public static Path reportDir() {
+        return Paths.get(PerfConfig.stringProp("perf.reportDir", "target/perf-reports"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecse429.restapi.perf;
+
+import com.ecse429.restapi.metrics.EndpointLatency;
+import com.ecse429.restapi.server.ServerProcesses;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Sends the same request back to back and measures latency, response size and
+ * server CPU per request. Used by the scaling benchmarks, where one request at a
+ * time isolates the cost of the endpoint from queueing effects.
+ */
+public final class RequestSampler {
+
+    /** Result of one {@link #sample} call. */
+    public static final class Sample {
+        public final EndpointLatency latency;
+        public final long requests;
+        public final long totalBytes;
+        public final long errors;
+        /** Server CPU per request in milliseconds, NaN when the server process is not visible. */
+        public final double serverCpuMillisPerRequest;
+
+        Sample(EndpointLatency latency, long requests, long totalBytes, long errors, double serverCpuMillisPerRequest) {
+            this.latency = latency;
+            this.requests = requests;
+            this.totalBytes = totalBytes;
+            this.errors = errors;
+            this.serverCpuMillisPerRequest = serverCpuMillisPerRequest;
+        }
+
+        public double bytesPerResponse() {
+            return requests == 0 ? 0 : totalBytes / (double) requests;
+        }
+    }
+
+    private final HttpClient client;
+    private final int warmup;
+    private final int iterations;
+
+    public RequestSampler(HttpClient client, int warmup, int iterations) {
+        this.client = client;
+        this.warmup = warmup;
+        this.iterations = iterations;
+    }
+
+    /** Sampler configured from {@code -Dbench.warmup} and {@code -Dbench.iterations}. */
+    public static RequestSampler fromSystemProperties(HttpClient client) {
+        return new RequestSampler(client, PerfConfig.intProp("bench.warmup", 10), PerfConfig.intProp("bench.iterations", 50));
+    }
+
+    public Sample sample(String name, HttpRequest request) throws IOException, InterruptedException {
+        for (int i = 0; i < warmup; i++) client.send(request, HttpResponse.BodyHandlers.discarding());
+
+        Optional<ProcessHandle> server = ServerProcesses.current();
+        Duration cpuBefore = server.map(ServerProcesses::cpuTime).orElse(Duration.ZERO);
+        EndpointLatency latency = new EndpointLatency(name);
+        long bytes = 0;
+        long errors = 0;
+        for (int i = 0; i < iterations; i++) {
+            long t0 = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            latency.record(t0, t0, System.nanoTime());
+            bytes += response.body().length;
+            if (response.statusCode() >= 400) errors++;
+        }
+        double cpuPerRequest = Double.NaN;
+        if (server.isPresent()) {
+            long cpuNanos = ServerProcesses.cpuTime(server.get()).minus(cpuBefore).toNanos();
+            cpuPerRequest = cpuNanos / 1e6 / iterations;
+        }
+        return new Sample(latency, iterations, bytes, errors, cpuPerRequest);
+    }
+}
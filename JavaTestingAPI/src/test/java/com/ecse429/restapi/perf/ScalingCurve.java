@@ -0,0 +1,26 @@
+package com.ecse429.restapi.perf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks a metric against data size per series and reports the local scaling
+ * exponent k in {@code cost ~ size^k} between consecutive points.
+ *
+ * k near 0 means the cost does not depend on size, near 1 means linear
+ * (e.g. serialising the whole collection), above 1 means worse than linear.
+ */
+public final class ScalingCurve {
+
+    private final Map<String, double[]> last = new HashMap<>();
+
+    /**
+     * Adds a point and returns the exponent against the previous point of the
+     * same series, or NaN for the first point.
+     */
+    public synchronized double add(String series, double size, double value) {
+        double[] prev = last.put(series, new double[]{size, value});
+        if (prev == null || prev[0] <= 0 || prev[1] <= 0 || size == prev[0] || value <= 0) return Double.NaN;
+        return Math.log(value / prev[1]) / Math.log(size / prev[0]);
+    }
+}
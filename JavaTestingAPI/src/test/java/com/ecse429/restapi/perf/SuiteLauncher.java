@@ -0,0 +1,159 @@
+package com.ecse429.restapi.perf;
+
+import com.ecse429.restapi.server.ManagedServer;
+import com.ecse429.restapi.server.ManagedServerExtension;
+import com.ecse429.restapi.server.ServerLaunch;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the JSON/XML suites from a plain {@code main}, outside surefire.
+ *
+ * Used by the {@code cds} Maven profiles. A JVM can only dump or map an AppCDS archive when
+ * its class path holds nothing but jars, and a surefire fork always has the non-empty
+ * {@code target/test-classes} directory on it. So the profiles package the test classes as a
+ * test-jar and start this class on a jar-only class path that is identical between the
+ * training run and the runs that use the archive.
+ *
+ * A JVM writes its archive on exit but does not create the directory for it, so the launcher
+ * creates the directories named by {@code -XX:ArchiveClassesAtExit} in its own flags and in
+ * {@code -Dserver.jvmArgs} before any test (and so any server) starts.
+ *
+ * Every run in which no test failed appends one line to {@code perf-reports/cds/startup.csv}
+ * and republishes {@code perf-reports/cds-startup.txt} from all lines, so runs without an
+ * archive, with a training flag and with the archive end up side by side:
+ *
+ *   client ms to main      JVM start to the first line of {@code main}
+ *   client ms to 1st test  JVM start to the end of the first test (its first requests included)
+ *   server first 200 ms    launch of the managed Todo Manager to its first 200
+ *   suite s                wall time of the whole run
+ *
+ * Packages come from {@code -Dsuite.packages} (default JsonTests and XmlTests); class names
+ * are filtered like surefire's default includes. Exits with 1 if any test failed.
+ */
+public final class SuiteLauncher {
+
+    private static final String DEFAULT_PACKAGES = "com.ecse429.restapi.JsonTests,com.ecse429.restapi.XmlTests";
+
+    private SuiteLauncher() {
+    }
+
+    public static void main(String[] args) {
+        long toMain = ManagementFactory.getRuntimeMXBean().getUptime();
+        long started = System.nanoTime();
+        createArchiveDirs(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        createArchiveDirs(ServerLaunch.fromSystemProperties().jvmArgs());
+        List<String> packages = PerfConfig.listProp("suite.packages", List.of(DEFAULT_PACKAGES.split(",")));
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+            .selectors(packages.stream().map(DiscoverySelectors::selectPackage).collect(Collectors.toList()))
+            .filters(ClassNameFilter.includeClassNamePatterns(ClassNameFilter.STANDARD_INCLUDE_PATTERN))
+            .configurationParameter("junit.jupiter.testinstance.lifecycle.default", "per_class")
+            .build();
+
+        SummaryGeneratingListener summary = new SummaryGeneratingListener();
+        FirstTest firstTest = new FirstTest();
+        Launcher launcher = LauncherFactory.create();
+        launcher.execute(request, summary, firstTest);
+
+        TestExecutionSummary result = summary.getSummary();
+        PrintWriter out = new PrintWriter(System.out);
+        result.printTo(out);
+        result.printFailuresTo(out, 20);
+        out.flush();
+        if (result.getTotalFailureCount() > 0) {
+            // a failed run's timings say nothing about start-up; keep them out of the comparison
+            System.out.println("Tests failed, start-up not recorded in " + ReportTable.reportDir().resolve("cds-startup.txt"));
+            System.exit(1);
+        }
+        record(toMain, firstTest.uptime, firstTest.serverFlags, firstTest.serverFirst200, (System.nanoTime() - started) / 1e9,
+            result.getTestsSucceededCount(), result.getTotalFailureCount());
+        System.exit(0);
+    }
+
+    /** Notes JVM uptime when the first test finishes, and the managed server's start-up while it is still up. */
+    private static final class FirstTest implements TestExecutionListener {
+        volatile long uptime = -1;
+        volatile List<String> serverFlags = List.of();
+        volatile double serverFirst200 = Double.NaN;
+
+        @Override
+        public void executionFinished(TestIdentifier id, TestExecutionResult result) {
+            if (id.isTest() && uptime < 0) uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        }
+
+        @Override
+        public void testPlanExecutionFinished(TestPlan plan) {
+            ManagedServer server = ManagedServerExtension.current().orElse(null);
+            if (server == null) return;
+            serverFlags = server.jvmArgs();
+            serverFirst200 = server.timeToFirstSuccess().toNanos() / 1e6;
+        }
+    }
+
+    private static void record(long toMain, long toFirstTest, List<String> server, double serverFirst200, double seconds,
+                               long passed, long failed) {
+        List<String> client = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+            .filter(a -> a.startsWith("-XX:SharedArchiveFile") || a.startsWith("-XX:ArchiveClassesAtExit") || a.startsWith("-Xshare"))
+            .collect(Collectors.toList());
+        String line = String.join(";", label(client), label(server),
+            String.valueOf(toMain), String.valueOf(toFirstTest), String.valueOf(serverFirst200),
+            String.valueOf(seconds), String.valueOf(passed), String.valueOf(failed));
+        Path csv = ReportTable.reportDir().resolve("cds").resolve("startup.csv");
+        try {
+            Files.createDirectories(csv.getParent());
+            Files.write(csv, (line + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            ReportTable table = new ReportTable("Suite start-up by CDS setting (client = test JVM, server = Todo Manager)",
+                "client cds", "server cds", "client ms to main", "client ms to 1st test", "server first 200 ms",
+                "suite s", "passed", "failed");
+            for (String l : Files.readAllLines(csv, StandardCharsets.UTF_8)) {
+                String[] v = l.split(";");
+                table.row(v[0], v[1], Long.parseLong(v[2]), Long.parseLong(v[3]), Double.parseDouble(v[4]),
+                    Double.parseDouble(v[5]), Long.parseLong(v[6]), Long.parseLong(v[7]));
+            }
+            table.publish("cds-startup");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write CDS start-up report", e);
+        }
+    }
+
+    private static void createArchiveDirs(List<String> flags) {
+        for (String flag : flags) {
+            if (!flag.startsWith("-XX:ArchiveClassesAtExit=")) continue;
+            Path dir = Path.of(flag.substring(flag.indexOf('=') + 1)).toAbsolutePath().getParent();
+            try {
+                Files.createDirectories(dir);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not create CDS archive directory " + dir, e);
+            }
+        }
+    }
+
+    /** {@code -XX:SharedArchiveFile=/long/path/server.jsa} becomes {@code -XX:SharedArchiveFile=server.jsa}. */
+    private static String label(List<String> flags) {
+        if (flags.isEmpty()) return "default";
+        return flags.stream()
+            .map(f -> f.contains("=") ? f.substring(0, f.indexOf('=') + 1) + Path.of(f.substring(f.indexOf('=') + 1)).getFileName() : f)
+            .collect(Collectors.joining(" "));
+    }
+}
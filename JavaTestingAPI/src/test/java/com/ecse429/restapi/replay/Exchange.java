@@ -0,0 +1,101 @@
+package com.ecse429.restapi.replay;
+
+import com.ecse429.restapi.metrics.EndpointKeys;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One recorded request and its response, as stored in a {@link TrafficLog}.
+ *
+ * {@link #session()} names the sequence the request belonged to, e.g. a test thread
+ * ({@code "suite-4711/main"}) or a script ({@code "script/todoCapability.sh"}); the
+ * {@link Replayer} keeps each session's requests in order. Accept and Content-Type are the only
+ * headers kept, since they are the only ones the Todo Manager looks at. Empty strings and arrays
+ * stand for absent values.
+ */
+public final class Exchange {
+
+    private final long startMicros;
+    private final long durationMicros;
+    private final String session;
+    private final String method;
+    private final String pathAndQuery;
+    private final String accept;
+    private final String contentType;
+    private final byte[] requestBody;
+    private final int status;
+    private final byte[] responseBody;
+
+    public Exchange(long startMicros, long durationMicros, String session, String method, String pathAndQuery,
+                    String accept, String contentType, byte[] requestBody, int status, byte[] responseBody) {
+        this.startMicros = startMicros;
+        this.durationMicros = durationMicros;
+        this.session = session;
+        this.method = method;
+        this.pathAndQuery = pathAndQuery;
+        this.accept = accept == null ? "" : accept;
+        this.contentType = contentType == null ? "" : contentType;
+        this.requestBody = requestBody == null ? new byte[0] : requestBody;
+        this.status = status;
+        this.responseBody = responseBody == null ? new byte[0] : responseBody;
+    }
+
+    /** Send time, epoch microseconds. */
+    public long startMicros() {
+        return startMicros;
+    }
+
+    public long durationMicros() {
+        return durationMicros;
+    }
+
+    public String session() {
+        return session;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    public String pathAndQuery() {
+        return pathAndQuery;
+    }
+
+    public String accept() {
+        return accept;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public byte[] requestBody() {
+        return requestBody;
+    }
+
+    public String requestText() {
+        return new String(requestBody, StandardCharsets.UTF_8);
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public byte[] responseBody() {
+        return responseBody;
+    }
+
+    public String responseText() {
+        return new String(responseBody, StandardCharsets.UTF_8);
+    }
+
+    /** Endpoint key as in the latency reports, e.g. "GET /todos/:id". */
+    public String endpoint() {
+        return EndpointKeys.of(method, pathAndQuery);
+    }
+
+    @Override
+    public String toString() {
+        return session + " " + method + " " + pathAndQuery + " -> " + status;
+    }
+}
@@ -0,0 +1,210 @@
+package com.ecse429.restapi.replay;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Where entity ids appear in Todo Manager traffic, so a replay can swap the ids the recording
+ * created for the ones the live server hands out.
+ *
+ * Ids are keyed by collection, {@code "todos/12"}, since each collection counts its own. They
+ * appear in paths ({@code /projects/3/tasks/12}: projects/3 and todos/12), in the body of a link
+ * ({@code POST /projects/3/tasks {"id":"12"}}) and in relation fields of a create or update
+ * ({@code "tasksof":[{"id":"3"}]}, {@code <tasksof><id>3</id></tasksof>}). New ids come from the
+ * body of a 201: the bare entity of {@code POST /todos}, or of a link without an id, which
+ * creates the target.
+ */
+final class IdRemapper {
+
+    /** Relation field or path segment to the collection its ids belong to. */
+    private static final Map<String, String> TARGETS = Map.of(
+        "tasks", "todos", "tasksof", "projects", "categories", "categories",
+        "todos", "todos", "projects", "projects");
+    private static final List<String> COLLECTIONS = List.of("todos", "projects", "categories");
+
+    private static final Gson GSON = new Gson();
+    private static final Pattern XML_RELATION_ID =
+        Pattern.compile("<(tasksof|tasks|categories|todos|projects)>(\\s*<id>\\s*)(\\d+)(\\s*</id>)");
+    private static final Pattern XML_RELATION = Pattern.compile("<(tasksof|tasks|categories|todos|projects)>.*?</\\1>",
+        Pattern.DOTALL);
+    private static final Pattern XML_ID = Pattern.compile("(<id>\\s*)(\\d+)(\\s*</id>)");
+
+    private IdRemapper() {
+    }
+
+    /** A request with its ids replaced. */
+    static final class Rewritten {
+        final String pathAndQuery;
+        final byte[] body;
+
+        Rewritten(String pathAndQuery, byte[] body) {
+            this.pathAndQuery = pathAndQuery;
+            this.body = body;
+        }
+    }
+
+    /** Collection of the entity this request creates if it succeeds, or null. */
+    static String createdCollection(Exchange e) {
+        if (!e.method().equals("POST")) return null;
+        String[] s = segments(e.pathAndQuery());
+        if (s.length == 1 && COLLECTIONS.contains(s[0])) return s[0];
+        if (s.length == 3 && COLLECTIONS.contains(s[0]) && TARGETS.containsKey(s[2]) && !hasBodyId(e)) {
+            return TARGETS.get(s[2]);
+        }
+        return null;
+    }
+
+    /** Top-level id of an entity in a response body, JSON or XML, or null. */
+    static String createdId(byte[] body) {
+        String text = new String(body, StandardCharsets.UTF_8).trim();
+        if (text.startsWith("<")) {
+            Matcher m = XML_ID.matcher(XML_RELATION.matcher(text).replaceAll(""));
+            return m.find() ? m.group(2) : null;
+        }
+        JsonObject o = jsonObject(text);
+        JsonElement id = o == null ? null : o.get("id");
+        return id != null && id.isJsonPrimitive() ? id.getAsString() : null;
+    }
+
+    /** Every id key ({@code "todos/12"}) the request refers to, in its path or body. */
+    static List<String> references(Exchange e) {
+        List<String> keys = new ArrayList<>();
+        rewrite(e, key -> {
+            keys.add(key);
+            return null;
+        });
+        return keys;
+    }
+
+    /**
+     * The request with every id key passed through {@code mapping}; a null from the mapping keeps
+     * the id as recorded. Bodies are only re-encoded when an id actually changed.
+     */
+    static Rewritten rewrite(Exchange e, Function<String, String> mapping) {
+        String[] s = segments(e.pathAndQuery());
+        String path = e.pathAndQuery();
+        String relationTarget = null;
+        if (s.length >= 2 && COLLECTIONS.contains(s[0])) {
+            String[] mapped = s.clone();
+            mapped[1] = map(s[0], s[1], mapping);
+            if (s.length >= 3) relationTarget = TARGETS.get(s[2]);
+            if (s.length >= 4 && relationTarget != null) mapped[3] = map(relationTarget, s[3], mapping);
+            if (!String.join("/", mapped).equals(String.join("/", s))) {
+                int q = path.indexOf('?');
+                path = "/" + String.join("/", mapped) + (q < 0 ? "" : path.substring(q));
+            }
+        }
+        // only a link (POST /owner/:id/relation) carries a bare id in its body
+        String linkTarget = s.length == 3 && e.method().equals("POST") ? relationTarget : null;
+        byte[] body = e.requestBody().length == 0 ? e.requestBody() : rewriteBody(e.requestText(), linkTarget, mapping);
+        return new Rewritten(path, body == null ? e.requestBody() : body);
+    }
+
+    /** The body with ids mapped, or null when nothing changed or it is not JSON or XML. */
+    private static byte[] rewriteBody(String text, String linkTarget, Function<String, String> mapping) {
+        String trimmed = text.trim();
+        if (trimmed.startsWith("<")) {
+            String mapped = rewriteXml(trimmed, linkTarget, mapping);
+            return mapped.equals(trimmed) ? null : mapped.getBytes(StandardCharsets.UTF_8);
+        }
+        JsonObject o = jsonObject(trimmed);
+        if (o == null) return null;
+        boolean changed = false;
+        for (Map.Entry<String, JsonElement> field : o.entrySet()) {
+            String collection = field.getKey().equals("id") ? linkTarget : TARGETS.get(field.getKey());
+            if (collection == null) continue;
+            JsonElement value = field.getValue();
+            if (field.getKey().equals("id")) {
+                JsonElement mapped = mapPrimitive(collection, value, mapping);
+                if (mapped != value) {
+                    field.setValue(mapped);
+                    changed = true;
+                }
+            } else if (value.isJsonArray()) {
+                for (JsonElement ref : value.getAsJsonArray()) changed |= mapRef(collection, ref, mapping);
+            } else {
+                changed |= mapRef(collection, value, mapping);
+            }
+        }
+        return changed ? GSON.toJson(o).getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static boolean mapRef(String collection, JsonElement ref, Function<String, String> mapping) {
+        if (!ref.isJsonObject() || !ref.getAsJsonObject().has("id")) return false;
+        JsonElement id = ref.getAsJsonObject().get("id");
+        JsonElement mapped = mapPrimitive(collection, id, mapping);
+        if (mapped == id) return false;
+        ref.getAsJsonObject().add("id", mapped);
+        return true;
+    }
+
+    /** The same element when unchanged; a string or a number like the original otherwise. */
+    private static JsonElement mapPrimitive(String collection, JsonElement id, Function<String, String> mapping) {
+        if (!id.isJsonPrimitive()) return id;
+        String original = id.getAsJsonPrimitive().isNumber()
+            ? String.valueOf(id.getAsBigDecimal().stripTrailingZeros().toPlainString()) : id.getAsString();
+        String mapped = map(collection, original, mapping);
+        if (mapped.equals(original)) return id;
+        return id.getAsJsonPrimitive().isNumber() ? new JsonPrimitive(Long.parseLong(mapped)) : new JsonPrimitive(mapped);
+    }
+
+    private static String rewriteXml(String xml, String linkTarget, Function<String, String> mapping) {
+        StringBuffer out = new StringBuffer();
+        Matcher m = XML_RELATION_ID.matcher(xml);
+        while (m.find()) {
+            String mapped = map(TARGETS.get(m.group(1)), m.group(3), mapping);
+            m.appendReplacement(out, Matcher.quoteReplacement("<" + m.group(1) + ">" + m.group(2) + mapped + m.group(4)));
+        }
+        m.appendTail(out);
+        if (linkTarget == null) return out.toString();
+        // the link's own <id>, outside any relation element
+        String rest = out.toString();
+        Matcher strip = XML_RELATION.matcher(rest);
+        String bare = strip.replaceAll(r -> "x".repeat(r.group().length()));
+        Matcher id = XML_ID.matcher(bare);
+        if (!id.find()) return rest;
+        String mapped = map(linkTarget, rest.substring(id.start(2), id.end(2)), mapping);
+        return rest.substring(0, id.start(2)) + mapped + rest.substring(id.end(2));
+    }
+
+    private static boolean hasBodyId(Exchange e) {
+        String text = e.requestText().trim();
+        if (text.startsWith("<")) return XML_ID.matcher(XML_RELATION.matcher(text).replaceAll("")).find();
+        JsonObject o = jsonObject(text);
+        return o != null && o.has("id");
+    }
+
+    private static String map(String collection, String id, Function<String, String> mapping) {
+        if (id.isEmpty() || !id.chars().allMatch(Character::isDigit)) return id;
+        String mapped = mapping.apply(collection + "/" + id);
+        return mapped == null ? id : mapped;
+    }
+
+    private static String[] segments(String pathAndQuery) {
+        int q = pathAndQuery.indexOf('?');
+        String path = q < 0 ? pathAndQuery : pathAndQuery.substring(0, q);
+        return path.replaceAll("^/+|/+$", "").split("/+");
+    }
+
+    private static JsonObject jsonObject(String text) {
+        if (!text.startsWith("{")) return null;
+        try {
+            JsonElement e = JsonParser.parseString(text);
+            return e.isJsonObject() ? e.getAsJsonObject() : null;
+        } catch (JsonParseException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecse429.restapi.replay;
+
+import com.ecse429.restapi.metrics.EpochClock;
+import com.ecse429.restapi.metrics.LatencyRecordingFilter;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RestAssured filter that appends every given()/when() call with its response to the
+ * {@link TrafficLog#recorder()}, so the suites' functional traffic can be replayed as load
+ * ({@link Replayer}).
+ *
+ * Registered from {@code BaseApiTest.setupRestAssured()} when {@code -Drecord.traffic=<file>} is
+ * set. Each test thread is its own session, prefixed with this JVM's pid so forks appending to
+ * the same log stay apart.
+ */
+public final class RecordingFilter implements Filter {
+
+    private static final String SESSION_PREFIX = "suite-" + ProcessHandle.current().pid() + "/";
+
+    private final TrafficLog log;
+
+    public RecordingFilter(TrafficLog log) {
+        this.log = log;
+    }
+
+    public TrafficLog log() {
+        return log;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long end = System.nanoTime();
+
+        log.append(new Exchange(EpochClock.micros(start), (end - start) / 1000,
+            SESSION_PREFIX + Thread.currentThread().getName(), requestSpec.getMethod(),
+            LatencyRecordingFilter.pathAndQuery(requestSpec.getURI()), requestSpec.getHeaders().getValue("Accept"),
+            requestSpec.getContentType(), body(requestSpec.getBody()), response.getStatusCode(),
+            response.asByteArray()));
+        return response;
+    }
+
+    private static byte[] body(Object body) {
+        if (body == null) return null;
+        if (body instanceof byte[]) return (byte[]) body;
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,139 @@
+package com.ecse429.restapi.replay;
+
+import com.ecse429.restapi.metrics.EpochClock;
+import com.ecse429.restapi.server.LoopbackHttpServer;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP proxy in front of a Todo Manager that appends everything passing through to a
+ * {@link TrafficLog}, for clients outside this JVM such as the curl sequences in
+ * {@code CapabilityScripts/*.sh}: point their {@code BASE_URL} at {@link #baseUrl()}.
+ *
+ * Requests are forwarded one to one with their headers (minus hop-by-hop ones), and the server's
+ * status, headers and body go back unchanged. The logged duration is the upstream exchange only.
+ * {@link #session(String)} labels what follows, e.g. one session per script.
+ */
+public final class RecordingProxy implements AutoCloseable {
+
+    /** Headers the JDK client sets itself or refuses, and hop-by-hop headers. */
+    private static final Set<String> SKIPPED_HEADERS = Set.of("host", "connection", "content-length",
+        "transfer-encoding", "expect", "upgrade", "keep-alive", "te", "trailer", "proxy-connection", "date");
+
+    private final HttpServer http;
+    private final ExecutorService executor;
+    private final URI upstream;
+    private final HttpClient client;
+    private final TrafficLog log;
+    private volatile String session = "proxy";
+
+    private RecordingProxy(HttpServer http, URI upstream, TrafficLog log) {
+        this.http = http;
+        this.upstream = upstream;
+        this.log = log;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "recording-proxy");
+            t.setDaemon(true);
+            return t;
+        });
+        http.createContext("/", this::forward);
+        http.setExecutor(executor);
+    }
+
+    /** Starts a proxy to {@code upstream} on a free loopback port. */
+    public static RecordingProxy start(URI upstream, TrafficLog log) throws IOException {
+        RecordingProxy proxy = new RecordingProxy(LoopbackHttpServer.create(0, 64), upstream, log);
+        proxy.http.start();
+        return proxy;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + http.getAddress().getPort();
+    }
+
+    /** Session name for the exchanges that follow. */
+    public void session(String session) {
+        this.session = session;
+    }
+
+    private void forward(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        URI uri = exchange.getRequestURI();
+        String pathAndQuery = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        byte[] requestBody = exchange.getRequestBody().readAllBytes();
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(upstream.resolve(pathAndQuery))
+            .timeout(Duration.ofSeconds(30))
+            .method(method, requestBody.length == 0
+                ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        for (Map.Entry<String, List<String>> h : exchange.getRequestHeaders().entrySet()) {
+            if (SKIPPED_HEADERS.contains(h.getKey().toLowerCase())) continue;
+            for (String v : h.getValue()) request.header(h.getKey(), v);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reply(exchange, 502, "Interrupted".getBytes(StandardCharsets.UTF_8));
+            return;
+        } catch (IOException e) {
+            reply(exchange, 502, String.valueOf(e).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        long end = System.nanoTime();
+
+        log.append(new Exchange(EpochClock.micros(start), (end - start) / 1000, session, method, pathAndQuery,
+            exchange.getRequestHeaders().getFirst("Accept"), exchange.getRequestHeaders().getFirst("Content-Type"),
+            requestBody, response.statusCode(), response.body()));
+
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":") && !SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                exchange.getResponseHeaders().put(name, values);
+            }
+        });
+        reply(exchange, response.statusCode(), method.equals("HEAD") ? new byte[0] : response.body());
+    }
+
+    private static void reply(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        http.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.ecse429.restapi.replay;
+
+import com.ecse429.restapi.perf.ReportTable;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-issues a {@link TrafficLog} against a live server.
+ *
+ * Requests are dispatched in recorded order, either on the recorded schedule sped up by
+ * {@code speed} (1 = real time, 10 = ten times faster) or, with speed 0, as fast as
+ * {@code concurrency} allows. At most {@code concurrency} requests are outstanding; a request
+ * also waits for
+ *
+ *   the previous request of its session, so each test or script still runs in order, and
+ *   the requests that created the ids it uses, wherever they ran
+ *
+ * before it is sent. Ids created during the recording are swapped for the ids the server returns
+ * for the same creates ({@link IdRemapper}); ids that existed before the recording, such as the
+ * seed todos 1 and 2, are sent as recorded. Everything a request waits for was dispatched before
+ * it, so the replay cannot deadlock.
+ *
+ * A status different from the recorded one counts as a mismatch: state that differs between the
+ * recorded and the replayed server (entities already deleted, a failed create upstream) shows up
+ * there rather than as an error.
+ */
+public final class Replayer {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI target;
+    private final HttpClient client;
+    private final double speed;
+    private final int concurrency;
+
+    /** {@code speed} 0 replays as fast as possible. */
+    public Replayer(URI target, HttpClient client, double speed, int concurrency) {
+        if (speed < 0) throw new IllegalArgumentException("speed must be >= 0: " + speed);
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be >= 1: " + concurrency);
+        this.target = target;
+        this.client = client;
+        this.speed = speed;
+        this.concurrency = concurrency;
+    }
+
+    public static Replayer create(URI target, double speed, int concurrency) {
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        return new Replayer(target, client, speed, concurrency);
+    }
+
+    public Result run(List<Exchange> log) {
+        int n = log.size();
+        // who created each id key, as of each request, and the request before it in its session
+        int[] previousInSession = new int[n];
+        List<List<Integer>> creators = new ArrayList<>(n);
+        Map<String, Integer> lastInSession = new HashMap<>();
+        Map<String, Integer> createdBy = new HashMap<>();
+        Map<Integer, String> createdKey = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Exchange e = log.get(i);
+            previousInSession[i] = lastInSession.getOrDefault(e.session(), -1);
+            lastInSession.put(e.session(), i);
+            List<Integer> deps = new ArrayList<>();
+            for (String key : IdRemapper.references(e)) {
+                Integer creator = createdBy.get(key);
+                if (creator != null && !deps.contains(creator)) deps.add(creator);
+            }
+            creators.add(deps);
+            String collection = IdRemapper.createdCollection(e);
+            String id = collection != null && e.status() == 201 ? IdRemapper.createdId(e.responseBody()) : null;
+            if (id != null) {
+                createdBy.put(collection + "/" + id, i);
+                createdKey.put(i, collection + "/" + id);
+            }
+        }
+
+        Result result = new Result(n, lastInSession.size(), createdKey.size());
+        Map<String, String> idMap = new ConcurrentHashMap<>();
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Void>[] done = new CompletableFuture[n];
+        Semaphore slots = new Semaphore(concurrency);
+        long t0 = System.nanoTime();
+        long firstMicros = n == 0 ? 0 : log.get(0).startMicros();
+        for (int i = 0; i < n; i++) {
+            Exchange e = log.get(i);
+            if (speed > 0) {
+                long due = t0 + (long) ((e.startMicros() - firstMicros) * 1000 / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                result.lag.recordValue(Math.max(0, -wait));
+            }
+            slots.acquireUninterruptibly();
+
+            List<CompletableFuture<Void>> before = new ArrayList<>();
+            if (previousInSession[i] >= 0) before.add(done[previousInSession[i]]);
+            for (int c : creators.get(i)) before.add(done[c]);
+            String key = createdKey.get(i);
+            done[i] = CompletableFuture.allOf(before.toArray(new CompletableFuture[0]))
+                .thenCompose(v -> send(e, idMap, key, result))
+                .handle((v, ex) -> {
+                    if (ex != null) result.errors.increment();
+                    slots.release();
+                    return null;
+                });
+        }
+        slots.acquireUninterruptibly(concurrency);
+        result.wallNanos = System.nanoTime() - t0;
+        return result;
+    }
+
+    private CompletableFuture<Void> send(Exchange e, Map<String, String> idMap, String createdKey, Result result) {
+        IdRemapper.Rewritten r = IdRemapper.rewrite(e, key -> {
+            String mapped = idMap.get(key);
+            if (mapped != null) result.remapped.increment();
+            return mapped;
+        });
+        HttpRequest.BodyPublisher body = r.body.length == 0
+            ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(r.body);
+        HttpRequest.Builder request = HttpRequest.newBuilder(target.resolve(r.pathAndQuery))
+            .timeout(TIMEOUT)
+            .method(e.method(), body);
+        if (!e.accept().isEmpty()) request.header("Accept", e.accept());
+        if (!e.contentType().isEmpty()) request.header("Content-Type", e.contentType());
+        long start = System.nanoTime();
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray()).thenAccept(response -> {
+            result.record(e, response.statusCode(), System.nanoTime() - start);
+            if (createdKey != null && response.statusCode() == 201) {
+                String id = IdRemapper.createdId(response.body());
+                if (id != null) idMap.put(createdKey, id);
+            }
+        });
+    }
+
+    /** Outcome of one replay, per endpoint and in total. */
+    public static final class Result {
+
+        private final int exchanges;
+        private final int sessions;
+        private final int creates;
+        private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder remapped = new LongAdder();
+        private final Histogram lag = new ConcurrentHistogram(3);
+        private volatile long wallNanos;
+
+        Result(int exchanges, int sessions, int creates) {
+            this.exchanges = exchanges;
+            this.sessions = sessions;
+            this.creates = creates;
+        }
+
+        void record(Exchange e, int status, long nanos) {
+            Endpoint ep = endpoints.computeIfAbsent(e.endpoint(), k -> new Endpoint());
+            ep.latency.recordValue(nanos);
+            ep.recorded.recordValue(Math.max(1, e.durationMicros() * 1000));
+            if (status != e.status()) ep.mismatches.increment();
+        }
+
+        public int exchanges() {
+            return exchanges;
+        }
+
+        public long requests() {
+            return endpoints.values().stream().mapToLong(ep -> ep.latency.getTotalCount()).sum();
+        }
+
+        public long mismatches() {
+            return endpoints.values().stream().mapToLong(ep -> ep.mismatches.sum()).sum();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+
+        /** Id references sent with the replayed server's id instead of the recorded one. */
+        public long remapped() {
+            return remapped.sum();
+        }
+
+        public Duration wall() {
+            return Duration.ofNanos(wallNanos);
+        }
+
+        public double throughput() {
+            return wallNanos == 0 ? 0 : requests() / (wallNanos / 1e9);
+        }
+
+        /** How late requests went out against the scaled schedule, 0 at max speed or when it kept up. */
+        public double meanLagMillis() {
+            return lag.getTotalCount() == 0 ? 0 : lag.getMean() / 1e6;
+        }
+
+        /** An empty table for {@link #summaryRow}, one row per replay. */
+        public static ReportTable summaryTable(String title) {
+            return new ReportTable(title, "log", "exchanges", "sessions", "creates", "speed", "concurrency",
+                "wall s", "req/s", "mean lag ms", "status mismatches", "errors", "ids remapped");
+        }
+
+        public void summaryRow(ReportTable t, String log, double speed, int concurrency) {
+            t.row(log, exchanges, sessions, creates, speed == 0 ? "max" : speed + "x", concurrency,
+                wallNanos / 1e9, throughput(), meanLagMillis(), mismatches(), errors(), remapped());
+        }
+
+        public ReportTable endpoints(String title) {
+            ReportTable t = new ReportTable(title, "endpoint", "requests", "status mismatches",
+                "recorded p50 ms", "replay p50 ms", "replay p99 ms", "replay max ms");
+            new TreeMap<>(endpoints).forEach((key, ep) -> t.row(key, ep.latency.getTotalCount(), ep.mismatches.sum(),
+                ep.recorded.getValueAtPercentile(50) / 1e6, ep.latency.getValueAtPercentile(50) / 1e6,
+                ep.latency.getValueAtPercentile(99) / 1e6, ep.latency.getMaxValue() / 1e6));
+            return t;
+        }
+    }
+
+    private static final class Endpoint {
+        final Histogram latency = new ConcurrentHistogram(3);
+        final Histogram recorded = new ConcurrentHistogram(3);
+        final LongAdder mismatches = new LongAdder();
+    }
+}
@@ -0,0 +1,277 @@
+package com.ecse429.restapi.replay;
+
+import com.ecse429.restapi.perf.PerfConfig;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only binary log of {@link Exchange}s.
+ *
+ * The file starts with {@code "TMTL"} and a version byte, followed by one frame per exchange:
+ * a varint length, then start (epoch us) and duration (us) as varints, session, method, path,
+ * Accept and Content-Type as length-prefixed UTF-8, the request body, the status, and the
+ * response body. Response bodies over {@value #DEFLATE_OVER} bytes are deflated; a suite run's
+ * bodies shrink about ninefold. A frame is written with a single call while
+ * holding the file lock, so several JVMs (parallel or sharded forks, the script proxy) can append
+ * to one log; a frame cut short by a crash ends the log on reading and nothing else is lost.
+ *
+ * Recording is switched on with {@code -Drecord.traffic=<file>}, see {@link #recorder()}.
+ */
+public final class TrafficLog implements AutoCloseable {
+
+    private static final byte[] MAGIC = {'T', 'M', 'T', 'L', 1};
+    private static final int DEFLATE_OVER = 256;
+
+    private static TrafficLog recorder;
+    private static boolean recorderChecked;
+
+    private final Path file;
+    private final FileChannel channel;
+    private long appended;
+
+    private TrafficLog(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /** Opens {@code file} for appending, creating it (and its directory) if needed. */
+    public static TrafficLog open(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        return new TrafficLog(file, FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND));
+    }
+
+    /**
+     * This JVM's log when {@code -Drecord.traffic=<file>} is set, opened on first use and closed
+     * by a shutdown hook.
+     */
+    public static synchronized Optional<TrafficLog> recorder() {
+        if (!recorderChecked) {
+            recorderChecked = true;
+            String file = PerfConfig.stringProp("record.traffic", "");
+            if (!file.isEmpty()) {
+                try {
+                    recorder = open(Paths.get(file));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not open traffic log " + file, e);
+                }
+                TrafficLog log = recorder;
+                Runtime.getRuntime().addShutdownHook(new Thread(log::closeQuietly, "traffic-log-close"));
+            }
+        }
+        return Optional.ofNullable(recorder);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /** Exchanges appended through this instance. */
+    public synchronized long appended() {
+        return appended;
+    }
+
+    public synchronized void append(Exchange e) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(256 + e.requestBody().length);
+        writeVarLong(payload, e.startMicros());
+        writeVarLong(payload, e.durationMicros());
+        writeString(payload, e.session());
+        writeString(payload, e.method());
+        writeString(payload, e.pathAndQuery());
+        writeString(payload, e.accept());
+        writeString(payload, e.contentType());
+        writeBytes(payload, e.requestBody());
+        writeVarLong(payload, e.status());
+        byte[] response = e.responseBody();
+        byte[] deflated = response.length > DEFLATE_OVER ? deflate(response) : null;
+        if (deflated != null && deflated.length < response.length) {
+            payload.write(1);
+            writeVarLong(payload, response.length);
+            writeBytes(payload, deflated);
+        } else {
+            payload.write(0);
+            writeBytes(payload, response);
+        }
+
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(payload.size() + 10);
+        writeVarLong(frame, payload.size());
+        frame.writeBytes(payload.toByteArray());
+        try (FileLock lock = channel.lock()) {
+            ByteBuffer buf = channel.size() == 0
+                ? ByteBuffer.wrap(concat(MAGIC, frame.toByteArray()))
+                : ByteBuffer.wrap(frame.toByteArray());
+            while (buf.hasRemaining()) channel.write(buf);
+            appended++;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append to " + file, ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            // JVM is exiting anyway
+        }
+    }
+
+    /** Every exchange in {@code file}, in order of start time. */
+    public static List<Exchange> read(Path file) throws IOException {
+        List<Exchange> exchanges = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            byte[] magic = new byte[MAGIC.length];
+            try {
+                in.readFully(magic);
+            } catch (EOFException empty) {
+                return exchanges;
+            }
+            if (!Arrays.equals(magic, MAGIC)) throw new IOException(file + " is not a traffic log");
+            while (true) {
+                long length = readVarLong(in);
+                if (length < 0) break;
+                byte[] payload = new byte[(int) length];
+                try {
+                    in.readFully(payload);
+                } catch (EOFException truncated) {
+                    break;
+                }
+                exchanges.add(decode(new DataInputStream(new ByteArrayInputStream(payload))));
+            }
+        }
+        exchanges.sort(Comparator.comparingLong(Exchange::startMicros));
+        return exchanges;
+    }
+
+    private static Exchange decode(DataInputStream in) throws IOException {
+        long start = readVarLong(in);
+        long duration = readVarLong(in);
+        String session = readString(in);
+        String method = readString(in);
+        String path = readString(in);
+        String accept = readString(in);
+        String contentType = readString(in);
+        byte[] request = readBytes(in);
+        int status = (int) readVarLong(in);
+        boolean deflated = in.readByte() == 1;
+        byte[] response;
+        if (deflated) {
+            int rawLength = (int) readVarLong(in);
+            response = inflate(readBytes(in), rawLength);
+        } else {
+            response = readBytes(in);
+        }
+        return new Exchange(start, duration, session, method, path, accept, contentType, request, status, response);
+    }
+
+    // ---- encoding ----
+
+    private static void writeVarLong(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    /** The next varint, or -1 at a clean end of stream. */
+    private static long readVarLong(InputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) return -1;
+                throw new EOFException();
+            }
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("varint too long");
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        writeBytes(out, s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] b) {
+        writeVarLong(out, b.length);
+        out.write(b, 0, b.length);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] b = new byte[(int) readVarLong(in)];
+        in.readFully(b);
+        return b;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] out = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 16);
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) out.write(buf, 0, deflater.deflate(buf));
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] deflated, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            byte[] raw = new byte[rawLength];
+            int n = 0;
+            while (n < rawLength && !inflater.finished()) {
+                int read = inflater.inflate(raw, n, rawLength - n);
+                if (read == 0 && inflater.needsInput()) throw new IOException("Truncated response body in traffic log");
+                n += read;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt response body in traffic log", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
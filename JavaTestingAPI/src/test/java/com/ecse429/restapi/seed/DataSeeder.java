@@ -0,0 +1,330 @@
+package com.ecse429.restapi.seed;
+
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.load.Workloads;
+import com.ecse429.restapi.perf.ReportTable;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Populates the Todo Manager with large datasets through the public API.
+ *
+ * Requests are sent asynchronously with at most {@code parallelism} in flight;
+ * 400s caused by the server's unsynchronised relation lists are retried twice, and
+ * so are failed sends of GET, PUT and DELETE. A POST that failed in transit may have
+ * been applied, so it is not resent and counts as an error. Seeding is incremental: given an existing
+ * dataset it only creates what is missing to reach the plan, and links only the
+ * entities the dataset has not recorded as linked. Work goes out in batches of
+ * {@value #BATCH} requests and the dataset is checkpointed after a batch once
+ * {@code CHECKPOINT_EVERY} has passed since the last save, and at the end of every
+ * phase, so an interrupted 1M-todo run resumes close to where it stopped.
+ *
+ * The seeder remembers every entity it created, and every entity of a dataset it
+ * {@link #seed seeded} or reused, until they are deleted; {@link #deleteCreated()} removes
+ * whatever is left, so a benchmark can clean up the server in its {@code @AfterAll}.
+ */
+public final class DataSeeder {
+
+    private static final int ATTEMPTS = 3;
+    private static final int BATCH = 10_000;
+    private static final Duration CHECKPOINT_EVERY = Duration.ofSeconds(30);
+
+    private final LoadContext ctx;
+    private final int parallelism;
+    private final Semaphore inFlight;
+    /** Phase name to requests, errors and seconds, summed over its batches. */
+    private final Map<String, double[]> phases = new LinkedHashMap<>();
+    /** Ids created or seeded and not deleted since, by collection, for {@link #deleteCreated()}. */
+    private final Map<String, Set<String>> created = new LinkedHashMap<>();
+    private long lastCheckpoint = System.nanoTime();
+
+    public DataSeeder(LoadContext ctx, int parallelism) {
+        this.ctx = ctx;
+        this.parallelism = parallelism;
+        this.inFlight = new Semaphore(parallelism);
+    }
+
+    /** Per-phase throughput of everything this seeder has done so far. */
+    public ReportTable report() {
+        ReportTable t = new ReportTable("Seeding throughput (" + parallelism + " in flight)",
+            "phase", "requests", "errors", "seconds", "req/s");
+        synchronized (phases) {
+            phases.forEach((phase, v) -> t.row(phase, (long) v[0], (long) v[1], v[2], v[0] / v[2]));
+        }
+        return t;
+    }
+
+    /**
+     * Grows {@code dataset} to the counts in {@code plan} and wires relations for every
+     * entity not yet linked. {@code checkpoint} may be null.
+     */
+    public SeedDataset seed(SeedPlan plan, SeedDataset dataset, Path checkpoint) throws IOException, InterruptedException {
+        Random rnd = new Random(plan.randomSeed + dataset.count("todos"));
+        int[] targets = {plan.todos, plan.projects, plan.categories};
+        for (int i = 0; i < LoadContext.COLLECTIONS.length; i++) {
+            String collection = LoadContext.COLLECTIONS[i];
+            for (int missing = targets[i] - dataset.count(collection); missing > 0; missing -= BATCH) {
+                int offset = dataset.count(collection);
+                List<String> batch = createEntities(collection, Math.min(missing, BATCH),
+                    j -> Workloads.bodyFor(collection, "seed-" + collection + "-" + (offset + j)));
+                dataset.ids(collection).addAll(batch);
+                checkpoint(dataset, checkpoint, false);
+            }
+            checkpoint(dataset, checkpoint, true);
+        }
+
+        linkPending(dataset, "projects", "tasks", "todos", plan.tasksPerProject, rnd, checkpoint);
+        linkPending(dataset, "todos", "categories", "categories", plan.categoriesPerTodo, rnd, checkpoint);
+        linkPending(dataset, "categories", "projects", "projects", plan.projectsPerCategory, rnd, checkpoint);
+        // a reused dataset's entities were created by an earlier run; they are this run's to delete now
+        for (String collection : LoadContext.COLLECTIONS) track(collection, dataset.ids(collection));
+        return dataset;
+    }
+
+    /**
+     * Links every id of {@code fromCollection} the dataset does not record as linked, a batch at a
+     * time. An id whose batch was cut short keeps the edges that were recorded and only gets the
+     * rest of its degree.
+     */
+    private void linkPending(SeedDataset dataset, String fromCollection, String relation, String targetCollection,
+                             Degree degree, Random rnd, Path checkpoint) throws IOException, InterruptedException {
+        String key = fromCollection + "/" + relation;
+        List<String> targets = dataset.ids(targetCollection);
+        List<String> pending = dataset.unlinked(fromCollection, key);
+        if (targets.isEmpty() || pending.isEmpty()) return;
+        Map<String, Set<String>> partial = new HashMap<>();
+        Set<String> pendingSet = new HashSet<>(pending);
+        synchronized (dataset) {
+            for (SeedDataset.Edge e : dataset.edges(key)) {
+                if (pendingSet.contains(e.from)) partial.computeIfAbsent(e.from, k -> new HashSet<>()).add(e.to);
+            }
+        }
+        for (int start = 0; start < pending.size(); start += BATCH) {
+            List<String> batch = pending.subList(start, Math.min(pending.size(), start + BATCH));
+            List<SeedDataset.Edge> edges = new ArrayList<>();
+            for (String from : batch) {
+                Set<String> existing = partial.getOrDefault(from, Collections.emptySet());
+                int wanted = degree.sample(rnd) - existing.size();
+                if (wanted <= 0) continue;
+                for (String to : pickDistinct(targets, wanted + existing.size(), rnd)) {
+                    if (wanted == 0) break;
+                    if (!existing.contains(to)) {
+                        edges.add(new SeedDataset.Edge(from, to));
+                        wanted--;
+                    }
+                }
+            }
+            link(dataset, fromCollection, relation, edges);
+            synchronized (dataset) {
+                dataset.linked(key).addAll(batch);
+            }
+            checkpoint(dataset, checkpoint, false);
+        }
+        checkpoint(dataset, checkpoint, true);
+    }
+
+    private void checkpoint(SeedDataset dataset, Path file, boolean force) throws IOException {
+        if (file == null) return;
+        if (!force && System.nanoTime() - lastCheckpoint < CHECKPOINT_EVERY.toNanos()) return;
+        dataset.save(file);
+        lastCheckpoint = System.nanoTime();
+    }
+
+    /** POSTs {@code count} entities to {@code /<collection>} and returns their ids. */
+    public List<String> createEntities(String collection, int count, String titlePrefix) throws InterruptedException {
+        return createEntities(collection, count, i -> Workloads.bodyFor(collection, titlePrefix + "-" + i));
+    }
+
+    /**
+     * POSTs {@code count} entities whose JSON body is built per index, e.g. to control
+     * which fraction matches a filter. Ids come back in completion order.
+     */
+    public List<String> createEntities(String collection, int count, IntFunction<String> jsonBody)
+            throws InterruptedException {
+        List<String> ids = Collections.synchronizedList(new ArrayList<>(count));
+        run("POST /" + collection, count,
+            i -> ctx.postJson("/" + collection, jsonBody.apply(i)),
+            (i, resp) -> ids.add(LoadContext.extractId(resp.body())));
+        List<String> out = new ArrayList<>(ids);
+        track(collection, out);
+        return out;
+    }
+
+    /** Sends {@code DELETE /<collection>/:id} for every id; a 404 counts as already deleted. */
+    public void deleteEntities(String collection, List<String> ids) throws InterruptedException {
+        Set<String> deleted = Collections.synchronizedSet(new HashSet<>());
+        try {
+            run("DELETE /" + collection + "/:id", ids.size(), i -> ctx.delete("/" + collection + "/" + ids.get(i)),
+                status -> status == 404, (i, resp) -> deleted.add(ids.get(i)));
+        } finally {
+            synchronized (created) {
+                Set<String> tracked = created.get(collection);
+                if (tracked != null) tracked.removeAll(deleted);
+            }
+        }
+    }
+
+    /**
+     * Deletes every entity this seeder created or seeded that has not been deleted since,
+     * e.g. from a benchmark's {@code @AfterAll}. Relations go with their entities.
+     */
+    public void deleteCreated() throws InterruptedException {
+        Map<String, List<String>> left = new LinkedHashMap<>();
+        synchronized (created) {
+            created.forEach((collection, ids) -> left.put(collection, new ArrayList<>(ids)));
+        }
+        for (Map.Entry<String, List<String>> e : left.entrySet()) deleteEntities(e.getKey(), e.getValue());
+    }
+
+    private void track(String collection, List<String> ids) {
+        synchronized (created) {
+            created.computeIfAbsent(collection, k -> new LinkedHashSet<>()).addAll(ids);
+        }
+    }
+
+    /**
+     * For every id in {@code fromIds}, links {@code degree} distinct random targets via
+     * {@code POST /<fromCollection>/:id/<relation>} and records the edges in the dataset.
+     */
+    public void linkFrom(SeedDataset dataset, String fromCollection, String relation, List<String> fromIds,
+                         List<String> targets, Degree degree, Random rnd) throws InterruptedException {
+        if (targets.isEmpty()) return;
+        List<SeedDataset.Edge> edges = new ArrayList<>();
+        for (String from : fromIds) {
+            for (String to : pickDistinct(targets, degree.sample(rnd), rnd)) edges.add(new SeedDataset.Edge(from, to));
+        }
+        link(dataset, fromCollection, relation, edges);
+    }
+
+    /** Creates the given edges and records the successful ones in the dataset. */
+    public void link(SeedDataset dataset, String fromCollection, String relation, List<SeedDataset.Edge> edges)
+            throws InterruptedException {
+        List<SeedDataset.Edge> done = dataset.edges(fromCollection + "/" + relation);
+        run("POST /" + fromCollection + "/:id/" + relation, edges.size(), i -> {
+            SeedDataset.Edge e = edges.get(i);
+            return ctx.postJson("/" + fromCollection + "/" + e.from + "/" + relation, "{\"id\":\"" + e.to + "\"}");
+        }, (i, resp) -> {
+            synchronized (dataset) {
+                done.add(edges.get(i));
+            }
+        });
+    }
+
+    /** Called with the index of the request in the submitted list. */
+    private interface OnSuccess {
+        void accept(int index, HttpResponse<byte[]> response);
+    }
+
+    /** Sends {@code count} requests built on demand, keeping at most {@code parallelism} in flight. */
+    private void run(String phase, int count, IntFunction<HttpRequest> requests, OnSuccess onSuccess)
+            throws InterruptedException {
+        run(phase, count, requests, status -> false, onSuccess);
+    }
+
+    /** As above; responses whose status passes {@code alsoOk} count as done as well as 2xx. */
+    private void run(String phase, int count, IntFunction<HttpRequest> requests, IntPredicate alsoOk,
+                     OnSuccess onSuccess) throws InterruptedException {
+        if (count == 0) return;
+        AtomicInteger errors = new AtomicInteger();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        long t0 = System.nanoTime();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(parallelism * 2);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            // built before taking a permit, so a request that fails to build cannot leak one
+            HttpRequest request = requests.apply(i);
+            inFlight.acquire();
+            CompletableFuture<Void> f = send(request, ATTEMPTS).handle((resp, err) -> {
+                inFlight.release();
+                if (err == null && (resp.statusCode() >= 200 && resp.statusCode() < 300 || alsoOk.test(resp.statusCode()))) {
+                    onSuccess.accept(index, resp);
+                } else {
+                    errors.incrementAndGet();
+                    firstError.compareAndSet(null, err != null ? err.toString()
+                        : "HTTP " + resp.statusCode() + " " + new String(resp.body(), StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            futures.add(f);
+            if (futures.size() >= parallelism * 2) futures.removeIf(CompletableFuture::isDone);
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        double secs = (System.nanoTime() - t0) / 1e9;
+        synchronized (phases) {
+            double[] v = phases.computeIfAbsent(phase, k -> new double[3]);
+            v[0] += count;
+            v[1] += errors.get();
+            v[2] += secs;
+        }
+        if (errors.get() > count / 100) {
+            throw new IllegalStateException(phase + ": " + errors.get() + " of " + count + " requests failed, first: "
+                + firstError.get());
+        }
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request, int attemptsLeft) {
+        return ctx.client().sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .handle((resp, err) -> {
+                boolean retry = err == null ? concurrentModification(resp) : idempotent(request);
+                if (!retry || attemptsLeft <= 1) {
+                    return err == null ? CompletableFuture.completedFuture(resp)
+                        : CompletableFuture.<HttpResponse<byte[]>>failedFuture(err);
+                }
+                return send(request, attemptsLeft - 1);
+            })
+            .thenCompose(f -> f);
+    }
+
+    /**
+     * The server mutates relation lists without locking; concurrent links to one entity
+     * occasionally fail with a 400 naming ConcurrentModificationException. Safe to resend.
+     */
+    private static boolean concurrentModification(HttpResponse<byte[]> resp) {
+        return resp.statusCode() == 400
+            && new String(resp.body(), StandardCharsets.UTF_8).contains("ConcurrentModificationException");
+    }
+
+    /**
+     * Safe to resend after a failed send: the request may have reached the server, and
+     * repeating it leaves the same state. A repeated create POST would add a second entity.
+     */
+    private static boolean idempotent(HttpRequest request) {
+        switch (request.method()) {
+            case "GET": case "HEAD": case "PUT": case "DELETE": return true;
+            default: return false;
+        }
+    }
+
+    static List<String> pickDistinct(List<String> from, int k, Random rnd) {
+        if (k <= 0) return Collections.emptyList();
+        if (k >= from.size()) return new ArrayList<>(from);
+        Set<Integer> picked = new HashSet<>();
+        List<String> out = new ArrayList<>(k);
+        while (out.size() < k) {
+            int i = rnd.nextInt(from.size());
+            if (picked.add(i)) out.add(from.get(i));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecse429.restapi.seed;
+
+import java.util.Random;
+
+/**
+ * How many relations each entity gets, e.g. tasks per project.
+ *
+ * Parsed from strings so it can come from system properties:
+ * {@code none}, {@code fixed:3}, {@code uniform:0-5}, {@code zipf:100:1.1}
+ * (1..100 with exponent 1.1, so a few entities get very large fan-out).
+ */
+public abstract class Degree {
+
+    public abstract int sample(Random rnd);
+
+    public static Degree parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        switch (parts[0]) {
+            case "none":
+                return fixed(0);
+            case "fixed":
+                return fixed(Integer.parseInt(parts[1]));
+            case "uniform": {
+                String[] range = parts[1].split("-");
+                return uniform(Integer.parseInt(range[0]), Integer.parseInt(range[1]));
+            }
+            case "zipf":
+                return zipf(Integer.parseInt(parts[1]), parts.length > 2 ? Double.parseDouble(parts[2]) : 1.0);
+            default:
+                throw new IllegalArgumentException("Unknown degree distribution: " + spec);
+        }
+    }
+
+    public static Degree fixed(int n) {
+        return new Degree() {
+            @Override
+            public int sample(Random rnd) {
+                return n;
+            }
+
+            @Override
+            public String toString() {
+                return "fixed:" + n;
+            }
+        };
+    }
+
+    public static Degree uniform(int min, int max) {
+        return new Degree() {
+            @Override
+            public int sample(Random rnd) {
+                return min + rnd.nextInt(max - min + 1);
+            }
+
+            @Override
+            public String toString() {
+                return "uniform:" + min + "-" + max;
+            }
+        };
+    }
+
+    /** Zipf over 1..max, sampled by inverting the precomputed CDF. */
+    public static Degree zipf(int max, double exponent) {
+        double[] cdf = new double[max];
+        double sum = 0;
+        for (int k = 1; k <= max; k++) {
+            sum += 1.0 / Math.pow(k, exponent);
+            cdf[k - 1] = sum;
+        }
+        for (int i = 0; i < max; i++) cdf[i] /= sum;
+        return new Degree() {
+            @Override
+            public int sample(Random rnd) {
+                double u = rnd.nextDouble();
+                int lo = 0;
+                int hi = max - 1;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (cdf[mid] < u) lo = mid + 1;
+                    else hi = mid;
+                }
+                return lo + 1;
+            }
+
+            @Override
+            public String toString() {
+                return "zipf:" + max + ":" + exponent;
+            }
+        };
+    }
+}
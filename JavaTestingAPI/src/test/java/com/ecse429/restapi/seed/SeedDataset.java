@@ -0,0 +1,127 @@
+package com.ecse429.restapi.seed;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ids produced by a {@link DataSeeder} run, checkpointed as JSON so later
+ * benchmarks can reuse a dataset instead of seeding it again.
+ */
+public final class SeedDataset {
+
+    /** Relation edge {@code from -> to}, e.g. project id -> todo id for "tasks". */
+    public static final class Edge {
+        public final String from;
+        public final String to;
+
+        public Edge(String from, String to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private static final Gson GSON = new GsonBuilder().create();
+
+    private String baseUrl;
+    private Map<String, List<String>> ids = new LinkedHashMap<>();
+    private Map<String, List<Edge>> relations = new LinkedHashMap<>();
+    private Map<String, List<String>> linked = new LinkedHashMap<>();
+
+    public SeedDataset(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    /** Live ids of a collection ("todos", "projects", "categories"); the list is owned by the dataset. */
+    public synchronized List<String> ids(String collection) {
+        return ids.computeIfAbsent(collection, k -> new ArrayList<>());
+    }
+
+    /** Edges keyed by relation path, e.g. "projects/tasks". */
+    public synchronized List<Edge> edges(String relation) {
+        return relations.computeIfAbsent(relation, k -> new ArrayList<>());
+    }
+
+    /**
+     * Ids whose links of a relation ("projects/tasks") have all been sent, so a resumed seed
+     * does not link them again; the list is owned by the dataset.
+     */
+    public synchronized List<String> linked(String relation) {
+        return linked.computeIfAbsent(relation, k -> new ArrayList<>());
+    }
+
+    /** Ids of {@code collection} not in {@link #linked(String) linked(relation)}, in dataset order. */
+    public synchronized List<String> unlinked(String collection, String relation) {
+        Set<String> done = new HashSet<>(linked(relation));
+        List<String> out = new ArrayList<>();
+        for (String id : ids(collection)) {
+            if (!done.contains(id)) out.add(id);
+        }
+        return out;
+    }
+
+    public synchronized int count(String collection) {
+        return ids(collection).size();
+    }
+
+    public synchronized int edgeCount() {
+        int n = 0;
+        for (List<Edge> e : relations.values()) n += e.size();
+        return n;
+    }
+
+    /** Writes the dataset atomically (temp file + move) so a crash never leaves a half-written checkpoint. */
+    public synchronized void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(this, w);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static SeedDataset load(Path file) throws IOException {
+        try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return GSON.fromJson(r, SeedDataset.class);
+        }
+    }
+
+    /**
+     * True when the checkpoint was made against {@code baseUrl} and its first and
+     * last todo still exist there. The Todo Manager keeps everything in memory,
+     * so a restarted server invalidates every checkpoint.
+     */
+    public boolean isAliveOn(String baseUrl, HttpClient client) throws IOException, InterruptedException {
+        if (!baseUrl.equals(this.baseUrl)) return false;
+        for (String collection : ids.keySet()) {
+            List<String> list = ids(collection);
+            if (list.isEmpty()) continue;
+            for (String id : new String[]{list.get(0), list.get(list.size() - 1)}) {
+                HttpRequest req = HttpRequest.newBuilder(URI.create(baseUrl + "/" + collection + "/" + id)).GET().build();
+                if (client.send(req, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecse429.restapi.seed;
+
+import com.ecse429.restapi.load.LoadContext;
+import com.ecse429.restapi.perf.PerfConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Named, checkpointed datasets shared between benchmark runs.
+ * Checkpoints live in {@code target/perf-data/<name>.json} (override with {@code -Dperf.dataDir}).
+ */
+public final class SeedDatasets {
+
+    private SeedDatasets() {
+    }
+
+    public static Path checkpoint(String name) {
+        return Paths.get(PerfConfig.stringProp("perf.dataDir", "target/perf-data")).resolve(name + ".json");
+    }
+
+    /**
+     * Loads the named dataset if its checkpoint still matches the running server,
+     * otherwise starts a new one, then grows it to {@code plan}.
+     */
+    public static SeedDataset reuseOrSeed(LoadContext ctx, DataSeeder seeder, String name, SeedPlan plan)
+            throws IOException, InterruptedException {
+        Path file = checkpoint(name);
+        String baseUrl = ctx.baseUri().toString().replaceAll("/$", "");
+        SeedDataset dataset = null;
+        if (Files.exists(file)) {
+            SeedDataset saved = SeedDataset.load(file);
+            if (saved.isAliveOn(baseUrl, ctx.client())) dataset = saved;
+        }
+        if (dataset == null) dataset = new SeedDataset(baseUrl);
+        return seeder.seed(plan, dataset, file);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecse429.restapi.seed;
+
+import com.ecse429.restapi.perf.PerfConfig;
+
+/**
+ * What to seed: entity counts per collection and relation degree per entity.
+ *
+ * Relations are created from one side only:
+ * - tasksPerProject      POST /projects/:id/tasks      (mirrored by the server as /todos/:id/tasksof)
+ * - categoriesPerTodo    POST /todos/:id/categories    (not mirrored to /categories/:id/todos)
+ * - projectsPerCategory  POST /categories/:id/projects (not mirrored to /projects/:id/categories)
+ * Readers of a seeded dataset must query the side the links were made from.
+ */
+public final class SeedPlan {
+
+    public final int todos;
+    public final int projects;
+    public final int categories;
+    public final Degree tasksPerProject;
+    public final Degree categoriesPerTodo;
+    public final Degree projectsPerCategory;
+    public final long randomSeed;
+
+    public SeedPlan(int todos, int projects, int categories,
+                    Degree tasksPerProject, Degree categoriesPerTodo, Degree projectsPerCategory, long randomSeed) {
+        this.todos = todos;
+        this.projects = projects;
+        this.categories = categories;
+        this.tasksPerProject = tasksPerProject;
+        this.categoriesPerTodo = categoriesPerTodo;
+        this.projectsPerCategory = projectsPerCategory;
+        this.randomSeed = randomSeed;
+    }
+
+    /** Entities only, no relations. */
+    public static SeedPlan entities(int todos, int projects, int categories) {
+        return new SeedPlan(todos, projects, categories, Degree.fixed(0), Degree.fixed(0), Degree.fixed(0), 42);
+    }
+
+    /**
+     * From {@code -Dseed.todos}, {@code -Dseed.projects}, {@code -Dseed.categories},
+     * {@code -Dseed.tasksPerProject}, {@code -Dseed.categoriesPerTodo}, {@code -Dseed.projectsPerCategory}
+     * and {@code -Dseed.random}.
+     */
+    public static SeedPlan fromSystemProperties() {
+        return new SeedPlan(
+            PerfConfig.intProp("seed.todos", 10_000),
+            PerfConfig.intProp("seed.projects", 1_000),
+            PerfConfig.intProp("seed.categories", 100),
+            Degree.parse(PerfConfig.stringProp("seed.tasksPerProject", "uniform:0-10")),
+            Degree.parse(PerfConfig.stringProp("seed.categoriesPerTodo", "uniform:0-2")),
+            Degree.parse(PerfConfig.stringProp("seed.projectsPerCategory", "zipf:50:1.1")),
+            PerfConfig.longProp("seed.random", 42));
+    }
+
+    @Override
+    public String toString() {
+        return todos + " todos, " + projects + " projects, " + categories + " categories; tasks/project "
+            + tasksPerProject + ", categories/todo " + categoriesPerTodo + ", projects/category " + projectsPerCategory;
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecse429.restapi.server;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stop-the-world pauses read from a server log written with {@link #FLAGS}.
+ *
+ * With {@code -Xlog:gc,gc+phases} every collector logs each pause as one line starting with
+ * {@code Pause}: G1, Parallel and Serial on the {@code gc} tag
+ * ({@code GC(3) Pause Young (Normal) (G1 Evacuation Pause) 16M->3M(64M) 6.170ms}), ZGC on
+ * {@code gc,phases} ({@code GC(0) Pause Mark Start 0.009ms}). Concurrent phases are not pauses
+ * and are skipped.
+ */
+public final class GcLog {
+
+    /** Server JVM flags that produce a parseable log; append the file, e.g. {@code FLAGS + ":file=gc.log"}. */
+    public static final String FLAGS = "-Xlog:gc,gc+phases";
+
+    private static final Pattern PAUSE = Pattern.compile(
+        "^\\[(\\d+\\.\\d+)s\\]\\[\\w+\\s*\\]\\[gc[^\\]]*\\] GC\\((\\d+)\\) (Pause .*?) (\\d+\\.\\d+)ms$");
+
+    /** One pause: JVM uptime at its end, the collection it belongs to, its name and length. */
+    public static final class Pause {
+        private final double uptimeSeconds;
+        private final int collection;
+        private final String name;
+        private final double millis;
+
+        Pause(double uptimeSeconds, int collection, String name, double millis) {
+            this.uptimeSeconds = uptimeSeconds;
+            this.collection = collection;
+            this.name = name;
+            this.millis = millis;
+        }
+
+        public double uptimeSeconds() {
+            return uptimeSeconds;
+        }
+
+        public int collection() {
+            return collection;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public double millis() {
+            return millis;
+        }
+    }
+
+    private final List<Pause> pauses;
+
+    private GcLog(List<Pause> pauses) {
+        this.pauses = pauses;
+    }
+
+    public static GcLog parse(Path log) throws IOException {
+        List<Pause> pauses = new ArrayList<>();
+        for (String line : Files.readAllLines(log, StandardCharsets.UTF_8)) {
+            Matcher m = PAUSE.matcher(line.trim());
+            if (m.matches()) {
+                pauses.add(new Pause(Double.parseDouble(m.group(1)), Integer.parseInt(m.group(2)),
+                    m.group(3), Double.parseDouble(m.group(4))));
+            }
+        }
+        return new GcLog(pauses);
+    }
+
+    public List<Pause> pauses() {
+        return pauses;
+    }
+
+    /** Pauses that ended at or after {@code fromSeconds} of JVM uptime. */
+    public GcLog since(double fromSeconds) {
+        List<Pause> later = new ArrayList<>();
+        for (Pause p : pauses) {
+            if (p.uptimeSeconds >= fromSeconds) later.add(p);
+        }
+        return new GcLog(later);
+    }
+
+    /** Collections that paused at least once (a ZGC cycle has three pauses). */
+    public int collections() {
+        Set<Integer> ids = new HashSet<>();
+        for (Pause p : pauses) ids.add(p.collection);
+        return ids.size();
+    }
+
+    public double totalMillis() {
+        double sum = 0;
+        for (Pause p : pauses) sum += p.millis;
+        return sum;
+    }
+
+    public double maxMillis() {
+        double max = 0;
+        for (Pause p : pauses) max = Math.max(max, p.millis);
+        return max;
+    }
+
+    /** Pauses whose name starts with {@code Pause Full}, i.e. whole-heap stop-the-world collections. */
+    public int fullCollections() {
+        int n = 0;
+        for (Pause p : pauses) {
+            if (p.name.startsWith("Pause Full")) n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecse429.restapi.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Live-object class histogram of a local JVM, from {@code jcmd <pid> GC.class_histogram}.
+ *
+ * The command runs a full GC first, so the counts are what is still reachable. Class names
+ * are kept without the module suffix ({@code [B (java.base@17)} becomes {@code [B}).
+ * {@link #minus} gives the growth between two snapshots of the same process.
+ */
+public final class HeapHistogram {
+
+    /** The Todo Manager's model objects: one per entity, one per relationship link. */
+    public static final String THING_INSTANCE = "uk.co.compendiumdev.thingifier.core.domain.instances.ThingInstance";
+    public static final String RELATIONSHIP_INSTANCE = "uk.co.compendiumdev.thingifier.core.domain.instances.RelationshipInstance";
+
+    private static final Pattern ROW = Pattern.compile("^\\s*\\d+:\\s+(\\d+)\\s+(\\d+)\\s+(\\S+).*$");
+
+    private final Map<String, long[]> classes;
+
+    private HeapHistogram(Map<String, long[]> classes) {
+        this.classes = classes;
+    }
+
+    /** Runs {@code jcmd} from the running JDK against {@code pid}. */
+    public static HeapHistogram capture(long pid) throws IOException, InterruptedException {
+        String jcmd = Paths.get(System.getProperty("java.home"), "bin", "jcmd").toString();
+        Process p = new ProcessBuilder(jcmd, String.valueOf(pid), "GC.class_histogram")
+            .redirectErrorStream(true)
+            .start();
+        String out;
+        try (InputStream in = p.getInputStream()) {
+            out = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (!p.waitFor(60, TimeUnit.SECONDS) || p.exitValue() != 0) {
+            p.destroyForcibly();
+            throw new IOException("jcmd " + pid + " GC.class_histogram failed: " + out.trim());
+        }
+        return parse(out);
+    }
+
+    static HeapHistogram parse(String jcmdOutput) {
+        Map<String, long[]> classes = new HashMap<>();
+        for (String line : jcmdOutput.split("\n")) {
+            Matcher m = ROW.matcher(line);
+            if (m.matches()) {
+                classes.merge(m.group(3), new long[]{Long.parseLong(m.group(1)), Long.parseLong(m.group(2))},
+                    (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+            }
+        }
+        return new HeapHistogram(classes);
+    }
+
+    public long totalBytes() {
+        long sum = 0;
+        for (long[] v : classes.values()) sum += v[1];
+        return sum;
+    }
+
+    public long instances(String className) {
+        long[] v = classes.get(className);
+        return v == null ? 0 : v[0];
+    }
+
+    public long bytes(String className) {
+        long[] v = classes.get(className);
+        return v == null ? 0 : v[1];
+    }
+
+    /** Per-class difference {@code this - earlier}; classes absent on one side count as zero. */
+    public HeapHistogram minus(HeapHistogram earlier) {
+        Set<String> names = new HashSet<>(classes.keySet());
+        names.addAll(earlier.classes.keySet());
+        Map<String, long[]> diff = new HashMap<>();
+        for (String name : names) {
+            diff.put(name, new long[]{instances(name) - earlier.instances(name), bytes(name) - earlier.bytes(name)});
+        }
+        return new HeapHistogram(diff);
+    }
+
+    /**
+     * Classes whose bytes rose at every step of {@code series} (each snapshot relative to the same
+     * baseline, so 0 before the first), mapped to their growth over the whole series. A class that
+     * only fluctuates, such as scratch arrays of the last requests, drops out.
+     */
+    public static Map<String, Long> growingAtEveryStep(List<HeapHistogram> series) {
+        Map<String, Long> growing = new HashMap<>();
+        HeapHistogram last = series.get(series.size() - 1);
+        for (String name : last.classes.keySet()) {
+            long previous = 0;
+            boolean rising = true;
+            for (HeapHistogram h : series) {
+                if (h.bytes(name) <= previous) {
+                    rising = false;
+                    break;
+                }
+                previous = h.bytes(name);
+            }
+            if (rising) growing.put(name, last.bytes(name));
+        }
+        return growing;
+    }
+
+    /** The {@code n} classes with the most bytes, as {@code "name +bytes"}, largest first. */
+    public List<String> top(int n) {
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(classes.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]));
+        List<String> out = new ArrayList<>();
+        for (Map.Entry<String, long[]> e : entries.subList(0, Math.min(n, entries.size()))) {
+            if (e.getValue()[1] <= 0) break;
+            out.add(shortName(e.getKey()) + " +" + e.getValue()[1]);
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    private static String shortName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
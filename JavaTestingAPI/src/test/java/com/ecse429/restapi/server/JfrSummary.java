@@ -0,0 +1,279 @@
+package com.ecse429.restapi.server;
+
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Digest of a Java Flight Recorder file of the Todo Manager (see {@link ServerLaunch#withJfr}),
+ * read with {@code jdk.jfr.consumer}:
+ *
+ *   hot methods   jdk.ExecutionSample: the top frame of each sample, and separately the topmost
+ *                 Todo Manager frame ({@code uk.co.compendiumdev...}) of the same stack
+ *   allocation    jdk.ObjectAllocationSample weights per class, as MB and MB/s of the window
+ *                 (jdk.ObjectAllocationInNewTLAB/OutsideTLAB when the JVM has no sampler)
+ *   contention    jdk.JavaMonitorEnter (blocked entering synchronized) and jdk.ThreadPark, by
+ *                 class and the first frame outside the JDK; workers parked in their pool
+ *                 waiting for the next request show up here too and are idle time, not contention
+ *   GC pauses     jdk.GarbageCollection per collector: count, total and longest pause
+ *
+ * Events that started before {@code from} are skipped, so start-up and warm-up can be left out.
+ */
+public final class JfrSummary {
+
+    static final String SERVER_PACKAGE = "uk.co.compendiumdev.";
+
+    /** Events, total and longest duration of one contention site or collector. */
+    private static final class Stat {
+        final String[] key;
+        long count;
+        long totalNanos;
+        long maxNanos;
+        String longestNote = "";
+
+        Stat(String... key) {
+            this.key = key;
+        }
+
+        void add(Duration d, String note) {
+            add(d, d, note);
+        }
+
+        void add(Duration d, Duration longest, String note) {
+            count++;
+            totalNanos += d.toNanos();
+            if (longest.toNanos() >= maxNanos) {
+                maxNanos = longest.toNanos();
+                longestNote = note;
+            }
+        }
+    }
+
+    private final Map<String, Long> topFrames = new HashMap<>();
+    private final Map<String, Long> serverFrames = new HashMap<>();
+    private final Map<String, Long> sampledAllocation = new HashMap<>();
+    private final Map<String, Long> tlabAllocation = new HashMap<>();
+    private final Map<String, Stat> contention = new HashMap<>();
+    private final Map<String, Stat> collectors = new HashMap<>();
+    private long samples;
+    private Instant first;
+    private Instant last;
+
+    private JfrSummary() {
+    }
+
+    public static JfrSummary read(Path recording) throws IOException {
+        return read(recording, Instant.MIN);
+    }
+
+    public static JfrSummary read(Path recording, Instant from) throws IOException {
+        JfrSummary summary = new JfrSummary();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent e = file.readEvent();
+                if (!e.getStartTime().isBefore(from)) summary.add(e);
+            }
+        }
+        return summary;
+    }
+
+    private void add(RecordedEvent e) {
+        switch (e.getEventType().getName()) {
+            case "jdk.ExecutionSample":
+                samples++;
+                List<RecordedFrame> frames = frames(e);
+                if (!frames.isEmpty()) topFrames.merge(frame(frames.get(0)), 1L, Long::sum);
+                for (RecordedFrame f : frames) {
+                    if (typeName(f).startsWith(SERVER_PACKAGE)) {
+                        serverFrames.merge(frame(f), 1L, Long::sum);
+                        break;
+                    }
+                }
+                break;
+            case "jdk.ObjectAllocationSample":
+                sampledAllocation.merge(className(e.getClass("objectClass")), e.getLong("weight"), Long::sum);
+                break;
+            case "jdk.ObjectAllocationInNewTLAB":
+                tlabAllocation.merge(className(e.getClass("objectClass")), e.getLong("tlabSize"), Long::sum);
+                break;
+            case "jdk.ObjectAllocationOutsideTLAB":
+                tlabAllocation.merge(className(e.getClass("objectClass")), e.getLong("allocationSize"), Long::sum);
+                break;
+            case "jdk.JavaMonitorEnter":
+                contended("monitor", e.getClass("monitorClass"), e);
+                break;
+            case "jdk.ThreadPark":
+                contended("park", e.getClass("parkedClass"), e);
+                break;
+            case "jdk.GarbageCollection":
+                collectors.computeIfAbsent(e.getString("name"), n -> new Stat(n))
+                    .add(e.getDuration("sumOfPauses"), e.getDuration("longestPause"), e.getString("cause"));
+                break;
+            default:
+                return;
+        }
+        if (first == null || e.getStartTime().isBefore(first)) first = e.getStartTime();
+        if (last == null || e.getEndTime().isAfter(last)) last = e.getEndTime();
+    }
+
+    private void contended(String kind, RecordedClass on, RecordedEvent e) {
+        String site = site(e);
+        String cls = className(on);
+        contention.computeIfAbsent(kind + " " + cls + " " + site, k -> new Stat(kind, cls, site))
+            .add(e.getDuration(), e.getThread() == null ? "" : e.getThread().getJavaName());
+    }
+
+    /** The first frame outside the JDK, i.e. the code that asked for the lock or park. */
+    private static String site(RecordedEvent e) {
+        for (RecordedFrame f : frames(e)) {
+            String type = typeName(f);
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) return frame(f);
+        }
+        return "-";
+    }
+
+    private static List<RecordedFrame> frames(RecordedEvent e) {
+        RecordedStackTrace stack = e.getStackTrace();
+        return stack == null ? List.of() : stack.getFrames();
+    }
+
+    private static String typeName(RecordedFrame f) {
+        return f.getMethod() == null ? "" : f.getMethod().getType().getName();
+    }
+
+    /** {@code ClassName.method}, without the package. */
+    private static String frame(RecordedFrame f) {
+        String type = typeName(f);
+        return type.substring(type.lastIndexOf('.') + 1) + "." + f.getMethod().getName();
+    }
+
+    private static String className(RecordedClass c) {
+        return c == null ? "-" : c.getName();
+    }
+
+    /** Seconds between the first and the last summarised event. */
+    public double windowSeconds() {
+        return first == null ? 0 : Duration.between(first, last).toNanos() / 1e9;
+    }
+
+    public long executionSamples() {
+        return samples;
+    }
+
+    /** Estimated bytes allocated per class in the window. */
+    public Map<String, Long> allocation() {
+        return sampledAllocation.isEmpty() ? tlabAllocation : sampledAllocation;
+    }
+
+    public long allocatedBytes() {
+        return allocation().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public double allocationBytesPerSecond() {
+        double seconds = windowSeconds();
+        return seconds == 0 ? 0 : allocatedBytes() / seconds;
+    }
+
+    /** Total time threads spent in recorded {@code kind} events ({@code monitor} or {@code park}). */
+    public double contentionMillis(String kind) {
+        return contention.values().stream().filter(s -> s.key[0].equals(kind)).mapToLong(s -> s.totalNanos).sum() / 1e6;
+    }
+
+    public long gcCount() {
+        return collectors.values().stream().mapToLong(s -> s.count).sum();
+    }
+
+    public double gcPauseMillis() {
+        return collectors.values().stream().mapToLong(s -> s.totalNanos).sum() / 1e6;
+    }
+
+    public double gcLongestPauseMillis() {
+        return collectors.values().stream().mapToLong(s -> s.maxNanos).max().orElse(0) / 1e6;
+    }
+
+    /**
+     * The summary tables keyed by report name: {@code <name>} (overview), {@code <name>-methods},
+     * {@code <name>-allocation}, {@code <name>-contention} and {@code <name>-gc}, each limited to
+     * the {@code jfr.top} (default 15) largest rows.
+     */
+    public Map<String, ReportTable> tables(String name, String title) {
+        int top = PerfConfig.intProp("jfr.top", 15);
+        Map<String, ReportTable> tables = new LinkedHashMap<>();
+
+        ReportTable overview = new ReportTable("JFR summary: " + title, "window s", "execution samples",
+            "allocated MB", "allocation MB/s", "monitor blocked ms", "parked ms", "GCs", "GC pause ms", "longest GC pause ms");
+        overview.row(windowSeconds(), samples, allocatedBytes() / 1e6, allocationBytesPerSecond() / 1e6,
+            contentionMillis("monitor"), contentionMillis("park"), gcCount(), gcPauseMillis(), gcLongestPauseMillis());
+        tables.put(name, overview);
+
+        ReportTable methods = new ReportTable("JFR hot methods: " + title, "view", "method", "samples", "% of samples");
+        for (Map.Entry<String, Long> e : largest(topFrames, top)) {
+            methods.row("top frame", e.getKey(), e.getValue(), 100.0 * e.getValue() / samples);
+        }
+        for (Map.Entry<String, Long> e : largest(serverFrames, top)) {
+            methods.row("server frame", e.getKey(), e.getValue(), 100.0 * e.getValue() / samples);
+        }
+        tables.put(name + "-methods", methods);
+
+        ReportTable allocation = new ReportTable("JFR allocation by class: " + title,
+            "class", "allocated MB", "MB/s", "% of allocation");
+        double seconds = windowSeconds();
+        long total = allocatedBytes();
+        for (Map.Entry<String, Long> e : largest(allocation(), top)) {
+            allocation.row(e.getKey(), e.getValue() / 1e6, seconds == 0 ? 0 : e.getValue() / 1e6 / seconds,
+                100.0 * e.getValue() / total);
+        }
+        tables.put(name + "-allocation", allocation);
+
+        ReportTable locks = new ReportTable("JFR monitor and park events: " + title,
+            "kind", "class", "site", "events", "total ms", "max ms", "longest thread");
+        for (Stat s : longest(contention, top)) {
+            locks.row(s.key[0], s.key[1], s.key[2], s.count, s.totalNanos / 1e6, s.maxNanos / 1e6, s.longestNote);
+        }
+        tables.put(name + "-contention", locks);
+
+        ReportTable gc = new ReportTable("JFR GC pauses: " + title,
+            "collector", "collections", "pause total ms", "longest pause ms", "cause of longest");
+        for (Stat s : longest(collectors, top)) {
+            gc.row(s.key[0], s.count, s.totalNanos / 1e6, s.maxNanos / 1e6, s.longestNote);
+        }
+        tables.put(name + "-gc", gc);
+        return tables;
+    }
+
+    /** Prints every table and saves it under its report name. */
+    public void publish(String name, String title) {
+        tables(name, title).forEach((report, table) -> table.publish(report));
+    }
+
+    /** Saves every table without printing. */
+    public void save(String name, String title) {
+        tables(name, title).forEach((report, table) -> table.save(report));
+    }
+
+    private static List<Map.Entry<String, Long>> largest(Map<String, Long> counts, int n) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        return entries.subList(0, Math.min(n, entries.size()));
+    }
+
+    private static List<Stat> longest(Map<String, Stat> stats, int n) {
+        List<Stat> list = new ArrayList<>(stats.values());
+        list.sort((a, b) -> Long.compare(b.totalNanos, a.totalNanos));
+        return list.subList(0, Math.min(n, list.size()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecse429.restapi.server;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * JDK {@link HttpServer}s on the loopback interface, for the servers the tests run in their own
+ * JVM ({@link StandInServer}, the replay package's recording proxy).
+ *
+ * The JDK server writes headers and body separately; without TCP_NODELAY, Nagle holds the body
+ * back until the client's delayed ACK, adding ~40 ms to every response. The only switch is the
+ * system property {@value #NODELAY}, which the JDK reads once, when its first server is set up,
+ * so it cannot be scoped to one server: it is set here, before that happens, and then holds for
+ * every JDK server in this JVM. A run that sets it itself ({@code -Dsun.net.httpserver.nodelay=false})
+ * keeps its value. The HTTP clients and the Todo Manager jar are not affected.
+ */
+public final class LoopbackHttpServer {
+
+    private static final String NODELAY = "sun.net.httpserver.nodelay";
+
+    private LoopbackHttpServer() {
+    }
+
+    /** An unstarted server on {@code port} of the loopback interface, 0 for any free port. */
+    public static HttpServer create(int port, int backlog) throws IOException {
+        if (System.getProperty(NODELAY) == null) System.setProperty(NODELAY, "true");
+        return HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), backlog);
+    }
+}
@@ -0,0 +1,181 @@
+package com.ecse429.restapi.server;
+
+import com.ecse429.restapi.perf.ReportTable;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Todo Manager JVM started and owned by the test run.
+ *
+ * {@link #start} launches the jar, then polls {@code GET /docs} until it answers 200.
+ * The time from launching the process to that first successful request is kept as
+ * the cold-start figure of the run. Server output goes to
+ * {@code target/server-logs/todo-manager-<port>.log}. With JFR on ({@link ServerLaunch#withJfr})
+ * the recording goes to {@code target/jfr/todo-manager-<port>.jfr}, and {@link #close} saves
+ * its {@link JfrSummary} as {@code jfr-todo-manager-<port>}.
+ */
+public final class ManagedServer implements AutoCloseable {
+
+    private static final Duration POLL = Duration.ofMillis(10);
+
+    private final ServerLaunch launch;
+    private final int port;
+    private final Process process;
+    private final Path log;
+    private final long launchedAt;
+    private Duration timeToFirstSuccess;
+    private int probes;
+
+    private ManagedServer(ServerLaunch launch, int port, Process process, Path log, long launchedAt) {
+        this.launch = launch;
+        this.port = port;
+        this.process = process;
+        this.log = log;
+        this.launchedAt = launchedAt;
+    }
+
+    /** Launches the server and blocks until it serves requests, or throws after the start timeout. */
+    public static ManagedServer start(ServerLaunch launch) throws IOException, InterruptedException {
+        int port = launch.port() == 0 ? freePort() : launch.port();
+        Path log = Paths.get("target", "server-logs", "todo-manager-" + port + ".log");
+        Files.createDirectories(log.getParent());
+        if (launch.jfrSettings() != null) {
+            Files.createDirectories(ServerLaunch.jfrRecording(port).getParent());
+            Files.deleteIfExists(ServerLaunch.jfrRecording(port));
+        }
+        ProcessBuilder pb = new ProcessBuilder(launch.command(port))
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile());
+        long launchedAt = System.nanoTime();
+        ManagedServer server = new ManagedServer(launch, port, pb.start(), log, launchedAt);
+        try {
+            server.awaitReady();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            server.close();
+            throw e;
+        }
+        return server;
+    }
+
+    private void awaitReady() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest docs = HttpRequest.newBuilder(URI.create(baseUrl() + "/docs")).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = launchedAt + launch.startTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Todo Manager exited with " + process.exitValue()
+                    + " before becoming ready: " + tail());
+            }
+            probes++;
+            try {
+                if (client.send(docs, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    timeToFirstSuccess = Duration.ofNanos(System.nanoTime() - launchedAt);
+                    ServerProcesses.manage(process.toHandle());
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(POLL.toMillis());
+        }
+        throw new IllegalStateException("Todo Manager not ready on port " + port + " after "
+            + launch.startTimeout().toSeconds() + "s: " + tail());
+    }
+
+    public int port() {
+        return port;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    public ProcessHandle process() {
+        return process.toHandle();
+    }
+
+    public List<String> jvmArgs() {
+        return launch.jvmArgs();
+    }
+
+    /** From process launch to the first 200 on {@code /docs}. */
+    public Duration timeToFirstSuccess() {
+        return timeToFirstSuccess;
+    }
+
+    /**
+     * Time since the process was launched. The server JVM's own uptime is slightly less (it
+     * starts counting once the VM is up), close enough to line up with its GC log.
+     */
+    public Duration sinceLaunch() {
+        return Duration.ofNanos(System.nanoTime() - launchedAt);
+    }
+
+    /** Readiness probes sent, including the successful one. */
+    public int probes() {
+        return probes;
+    }
+
+    public Path log() {
+        return log;
+    }
+
+    /** The JFR recording, once the server has stopped; empty when JFR is off. */
+    public Optional<Path> jfrRecording() {
+        Path recording = ServerLaunch.jfrRecording(port);
+        return launch.jfrSettings() != null && !process.isAlive() && Files.isRegularFile(recording)
+            ? Optional.of(recording) : Optional.empty();
+    }
+
+    /**
+     * Stops the JVM: a normal termination first, forcibly after {@link ServerLaunch#stopTimeout()}.
+     * A JFR recording written on exit is summarised over the whole run.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        ServerProcesses.release(process.toHandle());
+        process.destroy();
+        if (!process.waitFor(launch.stopTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly().waitFor(5, TimeUnit.SECONDS);
+        }
+        Optional<Path> recording = jfrRecording();
+        if (recording.isPresent()) {
+            try {
+                JfrSummary.read(recording.get()).save("jfr-todo-manager-" + port, "Todo Manager on port " + port + ", whole run");
+                System.out.println("JFR recording " + recording.get() + ", summary in "
+                    + ReportTable.reportDir().resolve("jfr-todo-manager-" + port + ".txt"));
+            } catch (IOException e) {
+                System.out.println("Could not read JFR recording " + recording.get() + ": " + e);
+            }
+        }
+    }
+
+    private String tail() {
+        try {
+            List<String> lines = Files.readAllLines(log, StandardCharsets.UTF_8);
+            return String.join(" | ", lines.subList(Math.max(0, lines.size() - 5), lines.size()));
+        } catch (IOException e) {
+            return "(no log)";
+        }
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecse429.restapi.server;
+
+import com.ecse429.restapi.metrics.RequestTrace;
+import com.ecse429.restapi.metrics.TailAttribution;
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lets the test run launch and own the Todo Manager instead of relying on one started by hand.
+ *
+ * Enabled with {@code -Dserver.managed=true}. The first test class to start launches one
+ * server for the whole JVM (see {@link ServerLaunch#fromSystemProperties()} for JVM flags
+ * and port); {@link com.ecse429.restapi.BaseApiTest} then points RestAssured and the
+ * benchmarks at it. When the JVM exits the server is stopped and its start-up time is saved
+ * to {@code target/perf-reports/server-startup}. A shutdown hook rather than the JUnit root
+ * context owns it, because forked surefire runs start a new root context per test class.
+ * Without the property nothing happens and the suites use the server on the default port.
+ *
+ * With {@code -Dtrace.tail=true} as well, the server also writes a {@link PauseTimeline} log and
+ * the suite's slowest requests per endpoint are attributed to its pauses once it has stopped
+ * ({@code target/perf-reports/tail-attribution}, see {@link TailAttribution}).
+ *
+ * With {@code -Dserver.standin=true} instead, the JVM starts an in-process {@link StandInServer}
+ * on a free port and the suites run against that, with no jar at all.
+ */
+public class ManagedServerExtension implements BeforeAllCallback {
+
+    private static volatile ManagedServer current;
+    private static volatile StandInServer standIn;
+    private static RuntimeException failure;
+
+    /** The server launched for this run, if managed mode is on and it has started. */
+    public static Optional<ManagedServer> current() {
+        return Optional.ofNullable(current);
+    }
+
+    /** The in-process stand-in started for this run, if {@code -Dserver.standin=true}. */
+    public static Optional<StandInServer> standIn() {
+        return Optional.ofNullable(standIn);
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (PerfConfig.boolProp("server.standin", false)) {
+            startStandIn();
+            return;
+        }
+        if (!PerfConfig.boolProp("server.managed", false)) return;
+        synchronized (ManagedServerExtension.class) {
+            if (failure != null) throw failure;
+            if (current != null) return;
+            try {
+                current = launch();
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            }
+        }
+    }
+
+    private static synchronized void startStandIn() {
+        if (standIn != null) return;
+        try {
+            StandInServer server = StandInServer.start(0);
+            System.out.printf("Todo Manager stand-in started on port %d%n", server.port());
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "todo-manager-standin-stop"));
+            standIn = server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the stand-in server", e);
+        }
+    }
+
+    private static ManagedServer launch() {
+        ServerLaunch launch = ServerLaunch.fromSystemProperties();
+        Path pauses = pauseLog();
+        if (RequestTrace.enabled()) {
+            List<String> flags = new ArrayList<>(launch.jvmArgs());
+            flags.add(PauseTimeline.flags(pauses));
+            launch = launch.withJvmArgs(flags);
+        }
+        try {
+            Files.createDirectories(pauses.getParent());
+            ManagedServer server = ManagedServer.start(launch);
+            System.out.printf("Todo Manager started on port %d in %d ms (jvm flags: %s)%n",
+                server.port(), server.timeToFirstSuccess().toMillis(), String.join(" ", launch.jvmArgs()));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> stop(server), "todo-manager-stop"));
+            return server;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting " + launch, e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start " + launch, e);
+        }
+    }
+
+    private static void stop(ManagedServer server) {
+        current = null;
+        try {
+            server.close();
+        } catch (InterruptedException e) {
+            // JVM is exiting anyway
+        }
+        ReportTable table = new ReportTable("Managed Todo Manager start-up",
+            "port", "pid", "jvm flags", "time to first 200 ms", "readiness probes");
+        table.row(server.port(), server.process().pid(), String.join(" ", server.jvmArgs()),
+            server.timeToFirstSuccess().toNanos() / 1e6, server.probes());
+        table.save("server-startup" + ServerTarget.reportSuffix());
+        if (RequestTrace.enabled()) attributeTail();
+    }
+
+    /** One pause log per test JVM, so sharded forks do not share one. */
+    private static Path pauseLog() {
+        return Paths.get("target", "server-logs", "pauses-" + ProcessHandle.current().pid() + ".log");
+    }
+
+    private static void attributeTail() {
+        try {
+            TailAttribution.analyse("suite requests vs managed server pauses", RequestTrace.snapshot(),
+                PauseTimeline.parse(pauseLog()), 10).publish("tail-attribution" + ServerTarget.reportSuffix());
+        } catch (IOException e) {
+            System.out.println("No tail attribution, pause log unreadable: " + e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecse429.restapi.server;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stop-the-world windows of a server JVM on the wall clock, from a log written with {@link #flags}.
+ *
+ * The {@code timemillis} decorator puts the epoch time next to the uptime, so the windows line up
+ * with client timestamps on the same machine. Each {@code safepoint} line gives the end of a
+ * safepoint and its total length (reaching it plus time at it):
+ *
+ *   [4.719s][1792310456262ms][info][safepoint] Safepoint "GenCollectForAllocation", ..., Total: 20934529 ns
+ *
+ * A safepoint during which a GC logged a {@code Pause} line counts as {@link Kind#GC} and takes
+ * that pause's name; the rest ({@code Deoptimize}, {@code Cleanup}, biased-lock revocation, ...)
+ * are {@link Kind#SAFEPOINT}. GC pauses without a matching safepoint line (a log without the
+ * safepoint tag) become GC windows of their own length. JDK 11's
+ * {@code Total time for which application threads were stopped} lines are read too.
+ * The wall clock is in whole milliseconds, so window ends are good to about 1 ms.
+ */
+public final class PauseTimeline {
+
+    private static final Pattern GC_PAUSE = Pattern.compile(
+        "^\\[\\d+\\.\\d+s\\]\\[(\\d+)ms\\]\\[\\w+\\s*\\]\\[gc[^\\]]*\\] GC\\(\\d+\\) (Pause .*?) (\\d+\\.\\d+)ms$");
+    private static final Pattern SAFEPOINT = Pattern.compile(
+        "^\\[\\d+\\.\\d+s\\]\\[(\\d+)ms\\]\\[\\w+\\s*\\]\\[safepoint\\s*\\] Safepoint \"([^\"]+)\".* Total: (\\d+) ns$");
+    private static final Pattern STOPPED_JDK11 = Pattern.compile(
+        "^\\[\\d+\\.\\d+s\\]\\[(\\d+)ms\\]\\[\\w+\\s*\\]\\[safepoint\\s*\\] Total time for which application threads were stopped: (\\d+\\.\\d+) seconds.*$");
+
+    /** Server JVM flag writing a parseable log to {@code file}. */
+    public static String flags(Path file) {
+        return "-Xlog:gc,gc+phases,safepoint:file=" + file.toAbsolutePath() + ":uptime,timemillis,level,tags";
+    }
+
+    public enum Kind { GC, SAFEPOINT }
+
+    /** One stop-the-world window in epoch microseconds. */
+    public static final class Stall {
+        private final Kind kind;
+        private final String name;
+        private final long startMicros;
+        private final long endMicros;
+
+        Stall(Kind kind, String name, long startMicros, long endMicros) {
+            this.kind = kind;
+            this.name = name;
+            this.startMicros = startMicros;
+            this.endMicros = endMicros;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long startMicros() {
+            return startMicros;
+        }
+
+        public long endMicros() {
+            return endMicros;
+        }
+
+        public double millis() {
+            return (endMicros - startMicros) / 1e3;
+        }
+    }
+
+    /** Allowance for the millisecond resolution of the log's wall clock. */
+    static final long SLACK_MICROS = 1000;
+
+    private final List<Stall> stalls;
+
+    private PauseTimeline(List<Stall> stalls) {
+        this.stalls = stalls;
+    }
+
+    public static PauseTimeline parse(Path log) throws IOException {
+        List<Stall> gc = new ArrayList<>();
+        List<Stall> safepoints = new ArrayList<>();
+        for (String line : Files.readAllLines(log, StandardCharsets.UTF_8)) {
+            String l = line.trim();
+            Matcher m;
+            if ((m = GC_PAUSE.matcher(l)).matches()) {
+                long end = Long.parseLong(m.group(1)) * 1000;
+                gc.add(new Stall(Kind.GC, m.group(2), end - Math.round(Double.parseDouble(m.group(3)) * 1000), end));
+            } else if ((m = SAFEPOINT.matcher(l)).matches()) {
+                long end = Long.parseLong(m.group(1)) * 1000;
+                safepoints.add(new Stall(Kind.SAFEPOINT, m.group(2), end - Long.parseLong(m.group(3)) / 1000, end));
+            } else if ((m = STOPPED_JDK11.matcher(l)).matches()) {
+                long end = Long.parseLong(m.group(1)) * 1000;
+                safepoints.add(new Stall(Kind.SAFEPOINT, "safepoint", end - Math.round(Double.parseDouble(m.group(2)) * 1e6), end));
+            }
+        }
+        List<Stall> stalls = new ArrayList<>();
+        List<Stall> unmatched = new ArrayList<>(gc);
+        for (Stall s : safepoints) {
+            Stall pause = null;
+            for (Stall p : unmatched) {
+                if (p.endMicros >= s.startMicros - SLACK_MICROS && p.endMicros <= s.endMicros + SLACK_MICROS) {
+                    pause = p;
+                    break;
+                }
+            }
+            if (pause == null) {
+                stalls.add(s);
+            } else {
+                unmatched.remove(pause);
+                stalls.add(new Stall(Kind.GC, pause.name, s.startMicros, s.endMicros));
+            }
+        }
+        stalls.addAll(unmatched);
+        stalls.sort((a, b) -> Long.compare(a.startMicros, b.startMicros));
+        return new PauseTimeline(Collections.unmodifiableList(stalls));
+    }
+
+    public List<Stall> stalls() {
+        return stalls;
+    }
+
+    /** Stalls that overlap {@code [fromMicros, toMicros]}, widened by the clock resolution. */
+    public List<Stall> overlapping(long fromMicros, long toMicros) {
+        List<Stall> out = new ArrayList<>();
+        for (Stall s : stalls) {
+            if (s.startMicros - SLACK_MICROS > toMicros) break;
+            if (s.endMicros + SLACK_MICROS >= fromMicros) out.add(s);
+        }
+        return out;
+    }
+
+    /** Microseconds of {@code s} inside {@code [fromMicros, toMicros]}, with the same widening. */
+    public static long overlapMicros(Stall s, long fromMicros, long toMicros) {
+        long from = Math.max(fromMicros, s.startMicros - SLACK_MICROS);
+        long to = Math.min(toMicros, s.endMicros + SLACK_MICROS);
+        return Math.max(0, Math.min(to - from, s.endMicros - s.startMicros + SLACK_MICROS));
+    }
+}
@@ -0,0 +1,80 @@
+package com.ecse429.restapi.server;
+
+import com.sun.management.ThreadMXBean;
+import com.sun.tools.attach.AttachNotSupportedException;
+import com.sun.tools.attach.VirtualMachine;
+
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+
+/**
+ * JMX connection to a local JVM such as the Todo Manager, needing no flags on its command line.
+ *
+ * {@link #attach} uses the JDK attach API to start the target's local management agent and then
+ * connects to the address it returns. The platform MXBeans of the server are then available as
+ * proxies, e.g. {@link #threads()} for thread dumps and per-thread CPU and allocation counters.
+ * Both processes must run as the same user.
+ */
+public final class ServerJmx implements AutoCloseable {
+
+    private final JMXConnector connector;
+    private final MBeanServerConnection mbeans;
+
+    private ServerJmx(JMXConnector connector) throws IOException {
+        this.connector = connector;
+        this.mbeans = connector.getMBeanServerConnection();
+    }
+
+    public static ServerJmx attach(long pid) throws IOException {
+        VirtualMachine vm;
+        try {
+            vm = VirtualMachine.attach(String.valueOf(pid));
+        } catch (AttachNotSupportedException e) {
+            throw new IOException("Cannot attach to " + pid, e);
+        }
+        try {
+            return new ServerJmx(JMXConnectorFactory.connect(new JMXServiceURL(vm.startLocalManagementAgent())));
+        } finally {
+            vm.detach();
+        }
+    }
+
+    /** The server's thread MXBean, with the HotSpot extensions (allocated bytes per thread). */
+    public ThreadMXBean threads() throws IOException {
+        return ManagementFactory.newPlatformMXBeanProxy(mbeans, ManagementFactory.THREAD_MXBEAN_NAME, ThreadMXBean.class);
+    }
+
+    /**
+     * Bytes allocated so far by the server's Jetty pool threads ({@link StackSampler#WORKER_PREFIX}),
+     * which parse, handle and write every request. JMX's own RMI threads are left out. A thread
+     * that has exited no longer counts, so compare two readings over a busy window, when the
+     * pool keeps its threads.
+     */
+    public long workerAllocatedBytes() throws IOException {
+        ThreadMXBean t = threads();
+        long[] ids = t.getAllThreadIds();
+        ThreadInfo[] infos = t.getThreadInfo(ids, 0);
+        long[] bytes = t.getThreadAllocatedBytes(ids);
+        long sum = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] != null && bytes[i] > 0 && infos[i].getThreadName().startsWith(StackSampler.WORKER_PREFIX)) {
+                sum += bytes[i];
+            }
+        }
+        return sum;
+    }
+
+    public MBeanServerConnection mbeans() {
+        return mbeans;
+    }
+
+    @Override
+    public void close() throws IOException {
+        connector.close();
+    }
+}
@@ -0,0 +1,153 @@
+package com.ecse429.restapi.server;
+
+import com.ecse429.restapi.perf.PerfConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How to launch a Todo Manager JVM: which jar, which {@code java}, JVM flags,
+ * application arguments and port. Port 0 means "pick a free one".
+ */
+public final class ServerLaunch {
+
+    static final String JAR_NAME = "runTodoManagerRestAPI-1.5.5.jar";
+
+    private final Path jar;
+    private final Path java;
+    private final List<String> jvmArgs;
+    private final List<String> appArgs;
+    private final int port;
+    private final Duration startTimeout;
+    private final Duration stopTimeout;
+    private final String jfrSettings;
+
+    private ServerLaunch(Path jar, Path java, List<String> jvmArgs, List<String> appArgs, int port,
+                         Duration startTimeout, Duration stopTimeout, String jfrSettings) {
+        this.jar = jar;
+        this.java = java;
+        this.jvmArgs = Collections.unmodifiableList(new ArrayList<>(jvmArgs));
+        this.appArgs = Collections.unmodifiableList(new ArrayList<>(appArgs));
+        this.port = port;
+        this.startTimeout = startTimeout;
+        this.stopTimeout = stopTimeout;
+        this.jfrSettings = jfrSettings;
+    }
+
+    /**
+     * Launch from {@code -Dserver.jar}, {@code -Dserver.java}, {@code -Dserver.jvmArgs},
+     * {@code -Dserver.args}, {@code -Dserver.port} (0 = free port), {@code -Dserver.startTimeout}
+     * and {@code -Dserver.stopTimeout} (how long a normal termination may take before the JVM is
+     * killed; raise it when the server writes something on exit, such as a CDS archive).
+     * Flags are separated by spaces, e.g. {@code -Dserver.jvmArgs="-Xmx256m -XX:+UseSerialGC"}.
+     * {@code -Dserver.jfr=profile} (or {@code default}, or a .jfc path) records the server with
+     * Java Flight Recorder, see {@link #withJfr}; the stop timeout then defaults to 30s so the
+     * recording can be written.
+     */
+    public static ServerLaunch fromSystemProperties() {
+        String jar = PerfConfig.stringProp("server.jar", null);
+        String java = PerfConfig.stringProp("server.java", null);
+        String jfr = PerfConfig.stringProp("server.jfr", null);
+        if ("false".equals(jfr)) jfr = null;
+        if ("true".equals(jfr)) jfr = "profile";
+        return new ServerLaunch(
+            jar != null ? Paths.get(jar) : findJar(),
+            java != null ? Paths.get(java) : Paths.get(System.getProperty("java.home"), "bin", "java"),
+            split(PerfConfig.stringProp("server.jvmArgs", "")),
+            split(PerfConfig.stringProp("server.args", "")),
+            PerfConfig.intProp("server.port", 0),
+            PerfConfig.durationProp("server.startTimeout", Duration.ofSeconds(60)),
+            PerfConfig.durationProp("server.stopTimeout", Duration.ofSeconds(jfr == null ? 5 : 30)),
+            jfr);
+    }
+
+    public ServerLaunch withJvmArgs(List<String> jvmArgs) {
+        return new ServerLaunch(jar, java, jvmArgs, appArgs, port, startTimeout, stopTimeout, jfrSettings);
+    }
+
+    public ServerLaunch withPort(int port) {
+        return new ServerLaunch(jar, java, jvmArgs, appArgs, port, startTimeout, stopTimeout, jfrSettings);
+    }
+
+    /**
+     * Records the server with Java Flight Recorder from its start, using the named settings
+     * ({@code profile} samples methods every 10-20 ms and records locks held for 10 ms or more;
+     * {@code default} is lighter). The recording is written to {@link #jfrRecording} when the
+     * JVM exits normally, so the stop timeout is raised to at least 30s. {@code null} turns it off.
+     */
+    public ServerLaunch withJfr(String settings) {
+        Duration stop = settings == null || stopTimeout.getSeconds() >= 30 ? stopTimeout : Duration.ofSeconds(30);
+        return new ServerLaunch(jar, java, jvmArgs, appArgs, port, startTimeout, stop, settings);
+    }
+
+    /** The JFR settings the server is recorded with, or {@code null}. */
+    public String jfrSettings() {
+        return jfrSettings;
+    }
+
+    /** Where a server on {@code port} dumps its recording: {@code target/jfr/todo-manager-<port>.jfr}. */
+    static Path jfrRecording(int port) {
+        return Paths.get("target", "jfr", "todo-manager-" + port + ".jfr").toAbsolutePath();
+    }
+
+    public Path jar() {
+        return jar;
+    }
+
+    public List<String> jvmArgs() {
+        return jvmArgs;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    public Duration startTimeout() {
+        return startTimeout;
+    }
+
+    public Duration stopTimeout() {
+        return stopTimeout;
+    }
+
+    /** {@code java <jvmArgs> [-XX:StartFlightRecording=...] -jar <jar> -port=<port> <appArgs>} */
+    List<String> command(int actualPort) {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(java.toString());
+        cmd.addAll(jvmArgs);
+        if (jfrSettings != null) {
+            cmd.add("-XX:StartFlightRecording=settings=" + jfrSettings + ",filename=" + jfrRecording(actualPort)
+                + ",dumponexit=true");
+        }
+        cmd.add("-jar");
+        cmd.add(jar.toString());
+        cmd.add("-port=" + actualPort);
+        cmd.addAll(appArgs);
+        return cmd;
+    }
+
+    /** The jar in the working directory or one of its parents (the repo keeps it next to JavaTestingAPI/). */
+    static Path findJar() {
+        for (Path dir = Paths.get("").toAbsolutePath(); dir != null; dir = dir.getParent()) {
+            Path candidate = dir.resolve(JAR_NAME);
+            if (Files.isRegularFile(candidate)) return candidate;
+        }
+        throw new IllegalStateException(JAR_NAME + " not found above " + Paths.get("").toAbsolutePath()
+            + "; set -Dserver.jar");
+    }
+
+    private static List<String> split(String flags) {
+        return flags.isBlank() ? Collections.emptyList() : Arrays.asList(flags.trim().split("\\s+"));
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" ", command(port));
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecse429.restapi.server;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds the operating-system process of the Todo Manager under test so benchmarks
+ * can read its CPU time, memory and thread count (and attach JDK tooling to it).
+ *
+ * A server launched by the tests ({@link ManagedServer}) takes precedence. Otherwise it is the
+ * process with the jar name on its command line that listens on {@link ServerTarget#port()},
+ * found through {@code /proc/net/tcp} and the processes' socket descriptors; without /proc, the
+ * one started with that {@code -port} (4567 when the option is absent). There is no separate
+ * process while the in-process {@link StandInServer} is the target.
+ */
+public final class ServerProcesses {
+
+    static final String JAR_MARKER = "runTodoManagerRestAPI";
+
+    private static final Pattern PORT_OPTION = Pattern.compile("-port=(\\d+)");
+    private static final String TCP_LISTEN = "0A";
+
+    private static volatile ProcessHandle managed;
+
+    private ServerProcesses() {
+    }
+
+    /** The process of the Todo Manager under test, if it runs on this machine. */
+    public static Optional<ProcessHandle> current() {
+        if (ManagedServerExtension.standIn().isPresent()) return Optional.empty();
+        ProcessHandle own = managed;
+        if (own != null && own.isAlive()) return Optional.of(own);
+        return listeningOn(ServerTarget.port());
+    }
+
+    /** Like {@link #current()}, for benchmarks that cannot run without the process. */
+    public static ProcessHandle require() {
+        if (ManagedServerExtension.standIn().isPresent()) {
+            throw new IllegalStateException("The target is the in-process stand-in (-Dserver.standin), "
+                + "which has no Todo Manager process to attach to");
+        }
+        return current().orElseThrow(() -> new IllegalStateException("No Todo Manager process on this machine "
+            + "listens on port " + ServerTarget.port()));
+    }
+
+    /** The Todo Manager process listening on {@code port}. */
+    static Optional<ProcessHandle> listeningOn(int port) {
+        List<ProcessHandle> candidates = ProcessHandle.allProcesses()
+            .filter(p -> p.info().commandLine().map(c -> c.contains(JAR_MARKER)).orElse(false))
+            .collect(Collectors.toList());
+        Set<String> sockets = listeningSockets(port);
+        if (sockets != null) {
+            return candidates.stream().filter(p -> ownsSocket(p, sockets)).findFirst();
+        }
+        return candidates.stream().filter(p -> portOption(p.info().commandLine().orElse("")) == port).findFirst();
+    }
+
+    /** Port a Todo Manager command line asks for. */
+    static int portOption(String commandLine) {
+        Matcher m = PORT_OPTION.matcher(commandLine);
+        return m.find() ? Integer.parseInt(m.group(1)) : ServerTarget.DEFAULT_PORT;
+    }
+
+    /** Inodes of the sockets listening on {@code port}, or null where there is no /proc/net. */
+    private static Set<String> listeningSockets(int port) {
+        Set<String> inodes = new HashSet<>();
+        boolean readable = false;
+        for (String table : new String[]{"/proc/net/tcp", "/proc/net/tcp6"}) {
+            try {
+                List<String> lines = Files.readAllLines(Paths.get(table));
+                readable = true;
+                for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+                    // sl local_address rem_address st tx:rx tr:when retrnsmt uid timeout inode
+                    String[] f = line.trim().split("\\s+");
+                    if (f.length < 10 || !f[3].equals(TCP_LISTEN)) continue;
+                    String local = f[1];
+                    if (Integer.parseInt(local.substring(local.indexOf(':') + 1), 16) == port) inodes.add(f[9]);
+                }
+            } catch (IOException | RuntimeException e) {
+                // no such table here
+            }
+        }
+        return readable ? inodes : null;
+    }
+
+    private static boolean ownsSocket(ProcessHandle process, Set<String> inodes) {
+        try (Stream<Path> fds = Files.list(Paths.get("/proc", String.valueOf(process.pid()), "fd"))) {
+            return fds.anyMatch(fd -> {
+                try {
+                    String target = Files.readSymbolicLink(fd).toString();
+                    return target.startsWith("socket:[") && inodes.contains(target.substring(8, target.length() - 1));
+                } catch (IOException e) {
+                    return false;
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            // gone, or not ours to inspect
+            return false;
+        }
+    }
+
+    static void manage(ProcessHandle process) {
+        managed = process;
+    }
+
+    static void release(ProcessHandle process) {
+        if (process.equals(managed)) managed = null;
+    }
+
+    /** Resident set size in bytes from {@code /proc/<pid>/status}, or -1 where there is no /proc. */
+    public static long rssBytes(ProcessHandle process) {
+        long kb = procStatus(process, "VmRSS:");
+        return kb < 0 ? -1 : kb * 1024;
+    }
+
+    /** Live OS threads of the process from {@code /proc/<pid>/status}, or -1 where there is no /proc. */
+    public static long threads(ProcessHandle process) {
+        return procStatus(process, "Threads:");
+    }
+
+    private static long procStatus(ProcessHandle process, String field) {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(process.pid()), "status"))) {
+                if (line.startsWith(field)) return Long.parseLong(line.substring(field.length()).trim().split("\\s+")[0]);
+            }
+        } catch (IOException | RuntimeException e) {
+            // not Linux, or the process is gone
+        }
+        return -1;
+    }
+
+    /** Total CPU time the process has used so far, or {@link Duration#ZERO} when the OS does not say. */
+    public static Duration cpuTime(ProcessHandle process) {
+        return process.info().totalCpuDuration().orElse(Duration.ZERO);
+    }
+}
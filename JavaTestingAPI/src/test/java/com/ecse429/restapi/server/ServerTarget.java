@@ -0,0 +1,46 @@
+package com.ecse429.restapi.server;
+
+import com.ecse429.restapi.perf.PerfConfig;
+
+import java.util.List;
+
+/**
+ * Which Todo Manager this JVM talks to.
+ *
+ * In order of precedence:
+ * 0. the in-process {@link StandInServer} ({@code -Dserver.standin=true});
+ * 1. the server launched by {@link ManagedServerExtension} ({@code -Dserver.managed=true});
+ * 2. an entry of {@code -Dserver.ports=4567,4568,...} picked by shard number, for servers
+ *    started by hand (a single entry simply moves the suites to another port);
+ * 3. {@link #DEFAULT_PORT}.
+ *
+ * The shard number comes from {@code -Dserver.shard}, which the {@code sharded} Maven profile
+ * sets to the surefire fork number (1-based). It is 0 when the run is not sharded.
+ */
+public final class ServerTarget {
+
+    public static final int DEFAULT_PORT = 4567;
+
+    private ServerTarget() {
+    }
+
+    public static int port() {
+        StandInServer standIn = ManagedServerExtension.standIn().orElse(null);
+        if (standIn != null) return standIn.port();
+        ManagedServer managed = ManagedServerExtension.current().orElse(null);
+        if (managed != null) return managed.port();
+        List<Integer> ports = PerfConfig.intListProp("server.ports", List.of());
+        if (ports.isEmpty()) return DEFAULT_PORT;
+        return ports.get(Math.max(0, shard() - 1) % ports.size());
+    }
+
+    /** This fork's shard, 1..N, or 0 when not sharded. */
+    public static int shard() {
+        return PerfConfig.intProp("server.shard", 0);
+    }
+
+    /** {@code "-shard3"} when sharded, so per-JVM reports of different forks do not overwrite each other. */
+    public static String reportSuffix() {
+        return shard() == 0 ? "" : "-shard" + shard();
+    }
+}
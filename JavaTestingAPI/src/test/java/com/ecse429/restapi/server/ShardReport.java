@@ -0,0 +1,74 @@
+package com.ecse429.restapi.server;
+
+import com.ecse429.restapi.perf.PerfConfig;
+import com.ecse429.restapi.perf.ReportTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Per-shard throughput of a sharded run (see {@link ServerTarget}).
+ *
+ * Every fork drops one line into {@code perf-reports/shards/<run>/} when it finishes, then
+ * rebuilds {@code shard-throughput} from all lines present, under a file lock. The last fork
+ * to finish therefore leaves the complete table. {@code <run>} comes from {@code -Dshard.run},
+ * which the {@code sharded} profile sets to the build timestamp so older runs are not mixed in.
+ */
+public final class ShardReport {
+
+    private ShardReport() {
+    }
+
+    /** Records this fork's totals and republishes the combined table. No-op when not sharded. */
+    public static void record(int classes, long requests, Duration elapsed) {
+        int shard = ServerTarget.shard();
+        if (shard == 0) return;
+        Path dir = ReportTable.reportDir().resolve("shards").resolve(PerfConfig.stringProp("shard.run", "latest"));
+        String line = shard + "," + ServerTarget.port() + "," + classes + "," + requests + "," + elapsed.toMillis();
+        try {
+            Files.createDirectories(dir);
+            try (FileChannel lockFile = FileChannel.open(dir.resolve(".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockFile.lock()) {
+                Files.write(dir.resolve("shard-" + shard + ".csv"), line.getBytes(StandardCharsets.UTF_8));
+                table(dir).publish("shard-throughput");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write shard report", e);
+        }
+    }
+
+    private static ReportTable table(Path dir) throws IOException {
+        List<long[]> shards = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path f : files.filter(p -> p.getFileName().toString().startsWith("shard-")).collect(Collectors.toList())) {
+                String[] v = Files.readString(f).trim().split(",");
+                long[] row = new long[v.length];
+                for (int i = 0; i < v.length; i++) row[i] = Long.parseLong(v[i]);
+                shards.add(row);
+            }
+        }
+        shards.sort((a, b) -> Long.compare(a[0], b[0]));
+        ReportTable table = new ReportTable("Throughput per shard", "shard", "port", "classes", "requests", "seconds", "req/s");
+        long classes = 0, requests = 0, wall = 0;
+        for (long[] s : shards) {
+            table.row(s[0], s[1], s[2], s[3], s[4] / 1e3, s[3] / (s[4] / 1e3));
+            classes += s[2];
+            requests += s[3];
+            wall = Math.max(wall, s[4]);
+        }
+        // forks run side by side, so the run takes as long as its slowest shard
+        table.row("all", "-", classes, requests, wall / 1e3, requests / (wall / 1e3));
+        return table;
+    }
+}
@@ -0,0 +1,213 @@
+package com.ecse429.restapi.server;
+
+import com.ecse429.restapi.perf.ReportTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * Poor man's sampling profiler: thread dumps of the server every {@code interval}, over JMX
+ * ({@link ServerJmx}), counted per distinct stack.
+ *
+ * {@link #writeCollapsed} writes the counts in the collapsed-stack format of flamegraph.pl and
+ * speedscope ({@code frame;frame;...;leaf count}, root first). Two filters:
+ *
+ *   request threads only   threads inside Jetty's {@code HttpChannel.handle}, i.e. serving a
+ *                          request; idle workers, selectors and the acceptor are left out
+ *   runnable only          threads in state RUNNABLE, for an on-CPU view instead of wall clock
+ *
+ * Thread dumps are taken at a safepoint, so hot loops without one are under-counted (safepoint
+ * bias); the JFR execution samples of {@link JfrSummary} do not have that problem but need JFR.
+ */
+public final class StackSampler implements AutoCloseable {
+
+    static final String REQUEST_FRAME = "org.eclipse.jetty.server.HttpChannel.handle";
+    /** Jetty's worker pool threads are {@code qtp<hash>-<n>}; the acceptor adds {@code -acceptor-}. */
+    static final String WORKER_PREFIX = "qtp";
+
+    private static final Duration REFRESH_IDS = Duration.ofSeconds(1);
+
+    private final ThreadMXBean threads;
+    private final Duration interval;
+    private final boolean requestThreadsOnly;
+    private final boolean runnableOnly;
+    private final Map<String, Long> stacks = new ConcurrentHashMap<>();
+    private final Thread sampler;
+    private volatile boolean running = true;
+    private volatile long dumps;
+    private volatile long dumpNanos;
+    private volatile long samples;
+
+    private StackSampler(ThreadMXBean threads, Duration interval, boolean requestThreadsOnly, boolean runnableOnly) {
+        this.threads = threads;
+        this.interval = interval;
+        this.requestThreadsOnly = requestThreadsOnly;
+        this.runnableOnly = runnableOnly;
+        this.sampler = new Thread(this::run, "stack-sampler");
+        this.sampler.setDaemon(true);
+    }
+
+    public static StackSampler start(ThreadMXBean threads, Duration interval, boolean requestThreadsOnly,
+                                     boolean runnableOnly) {
+        StackSampler s = new StackSampler(threads, interval, requestThreadsOnly, runnableOnly);
+        s.sampler.start();
+        return s;
+    }
+
+    private void run() {
+        long next = System.nanoTime();
+        long[] ids = null;
+        long idsAt = 0;
+        while (running) {
+            long t0 = System.nanoTime();
+            ThreadInfo[] infos;
+            try {
+                if (ids == null || t0 - idsAt > REFRESH_IDS.toNanos()) {
+                    ids = candidates();
+                    idsAt = t0;
+                }
+                infos = threads.getThreadInfo(ids, Integer.MAX_VALUE);
+            } catch (RuntimeException e) {
+                // server gone or connection closed while stopping
+                break;
+            }
+            dumpNanos += System.nanoTime() - t0;
+            dumps++;
+            for (ThreadInfo info : infos) {
+                if (info == null || !matches(info)) continue;
+                stacks.merge(collapse(info.getStackTrace()), 1L, Long::sum);
+                samples++;
+            }
+            next += interval.toNanos();
+            long wait = next - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            else next = System.nanoTime();
+        }
+    }
+
+    /**
+     * Ids of the threads worth dumping, refreshed every second. A dump's cost over JMX grows with
+     * the stack frames it carries, so with the request filter only Jetty workers are fetched.
+     */
+    private long[] candidates() {
+        long[] all = threads.getAllThreadIds();
+        if (!requestThreadsOnly) return all;
+        ThreadInfo[] named = threads.getThreadInfo(all, 0);
+        return IntStream.range(0, all.length)
+            .filter(i -> named[i] != null && named[i].getThreadName().startsWith(WORKER_PREFIX)
+                && !named[i].getThreadName().contains("-acceptor-"))
+            .mapToLong(i -> all[i])
+            .toArray();
+    }
+
+    private boolean matches(ThreadInfo info) {
+        if (info.getStackTrace().length == 0) return false;
+        if (runnableOnly && info.getThreadState() != Thread.State.RUNNABLE) return false;
+        if (!requestThreadsOnly) return true;
+        for (StackTraceElement f : info.getStackTrace()) {
+            if (frame(f).equals(REQUEST_FRAME)) return true;
+        }
+        return false;
+    }
+
+    private static String frame(StackTraceElement f) {
+        return f.getClassName() + "." + f.getMethodName();
+    }
+
+    private static String collapse(StackTraceElement[] stack) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = stack.length - 1; i >= 0; i--) {
+            if (sb.length() > 0) sb.append(';');
+            sb.append(frame(stack[i]));
+        }
+        return sb.toString();
+    }
+
+    /** Stops sampling and waits for the last dump to finish. */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        sampler.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public long dumps() {
+        return dumps;
+    }
+
+    /** Thread stacks that passed the filters, summed over all dumps. */
+    public long samples() {
+        return samples;
+    }
+
+    /**
+     * Mean round trip of one thread dump as seen from here. Over remote JMX that is mostly RMI and
+     * serialization of the stacks, so it says how fast sampling can go, not how long the server was
+     * held at a safepoint; that is in the server's {@code -Xlog:safepoint} ({@link PauseTimeline}).
+     */
+    public double meanDumpMillis() {
+        return dumps == 0 ? 0 : dumpNanos / 1e6 / dumps;
+    }
+
+    public Map<String, Long> stacks() {
+        return new HashMap<>(stacks);
+    }
+
+    public void writeCollapsed(Path file) {
+        StringBuilder sb = new StringBuilder();
+        stacks.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
+            .forEach(e -> sb.append(e.getKey()).append(' ').append(e.getValue()).append('\n'));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + file, e);
+        }
+    }
+
+    /**
+     * The {@code n} frames with the most samples as the leaf (self), and the {@code n} Todo Manager
+     * frames with the most samples anywhere on the stack (total, counted once per stack even when
+     * recursive; Jetty and Spark frames would all be near 100%).
+     */
+    public ReportTable topFrames(String title, int n) {
+        Map<String, Long> self = new HashMap<>();
+        Map<String, Long> total = new HashMap<>();
+        for (Map.Entry<String, Long> e : stacks.entrySet()) {
+            String[] frames = e.getKey().split(";");
+            self.merge(frames[frames.length - 1], e.getValue(), Long::sum);
+            Set<String> seen = new HashSet<>();
+            for (String f : frames) {
+                if (f.startsWith(JfrSummary.SERVER_PACKAGE) && seen.add(f)) total.merge(f, e.getValue(), Long::sum);
+            }
+        }
+        ReportTable table = new ReportTable(title, "view", "frame", "samples", "% of samples");
+        add(table, "self", self, n);
+        add(table, "server total", total, n);
+        return table;
+    }
+
+    private void add(ReportTable table, String view, Map<String, Long> counts, int n) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        for (Map.Entry<String, Long> e : entries.subList(0, Math.min(n, entries.size()))) {
+            table.row(view, e.getKey(), e.getValue(), 100.0 * e.getValue() / samples);
+        }
+    }
+}
@@ -0,0 +1,724 @@
+package com.ecse429.restapi.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Todo Manager: the same routes, JSON and XML shapes, validation
+ * messages and 404s as runTodoManagerRestAPI-1.5.5.jar, answered from in-memory maps.
+ *
+ * It exists to take the server out of a measurement. A benchmark run against the stand-in costs
+ * the client the same work (RestAssured or the SDK building, sending and parsing the same
+ * requests and responses) while the server side shrinks to a map lookup, so the difference to a
+ * run against the jar is the server's share of each request. With {@code -Dserver.standin=true}
+ * the suites run against it too (see {@link ManagedServerExtension}), which needs no jar, no JVM
+ * start-up and no port 4567.
+ *
+ * What is reproduced, as probed against a freshly started 1.5.5:
+ *
+ *   seed data         todos 1 and 2, project 1 "Office Work" with both as tasks, categories 1 and 2
+ *   entities          per-type id counters; booleans as "true"/"false" strings; relations listed
+ *                     only when non-empty, newest first; XML elements in the jar's (hash) order
+ *   envelopes         {"todos":[...]} for lists and GET by id, the bare entity for create (201,
+ *                     Location: todos/N), PUT and POST /:id; errors as {"errorMessages":[...]}
+ *   content types     Accept application/xml gives XML, anything else JSON (406 when neither);
+ *                     XML and JSON request bodies; a form body is 415
+ *   relations         tasks/tasksof mirrored both ways, categories one-way; linking without an id
+ *                     creates the target; an unknown owner id, or none (/todos/categories), lists
+ *                     the relation over all owners; DELETE /projects/tasks deletes those todos
+ *   everything else   HEAD, OPTIONS, 405 on unsupported methods, an empty text/html 404 for
+ *                     unknown routes, exact-match query filters
+ *
+ * The jar is one lock-free Spark app; the stand-in takes one lock per request, which is plenty
+ * for the suites and still well under the client's own cost per request.
+ */
+public final class StandInServer implements AutoCloseable {
+
+    private static final Gson GSON = new Gson();
+    private static final String JSON = "application/json";
+    private static final String XML = "application/xml";
+    private static final String HTML = "text/html;charset=utf-8";
+
+    /** Rethrows instead of the default handler's "[Fatal Error]" line on stderr; the caller answers 400. */
+    private static final ErrorHandler QUIET_XML_ERRORS = new ErrorHandler() {
+        @Override
+        public void warning(SAXParseException e) {
+        }
+
+        @Override
+        public void error(SAXParseException e) throws SAXException {
+            throw e;
+        }
+
+        @Override
+        public void fatalError(SAXParseException e) throws SAXException {
+            throw e;
+        }
+    };
+
+    private final HttpServer http;
+    private final ExecutorService executor;
+    private final Map<Type, TreeMap<Integer, Item>> items = new EnumMap<>(Type.class);
+    private final Map<Type, AtomicInteger> nextId = new EnumMap<>(Type.class);
+    private final AtomicLong requests = new AtomicLong();
+
+    private StandInServer(HttpServer http) {
+        this.http = http;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "standin-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (Type type : Type.values()) {
+            items.put(type, new TreeMap<>());
+            nextId.put(type, new AtomicInteger(1));
+        }
+        seed();
+        http.createContext("/", this::handle);
+        http.setExecutor(executor);
+    }
+
+    /** Starts a stand-in on {@code port} of the loopback interface, 0 for any free port. */
+    public static StandInServer start(int port) throws IOException {
+        HttpServer http = LoopbackHttpServer.create(port, 1024);
+        StandInServer server = new StandInServer(http);
+        http.start();
+        return server;
+    }
+
+    public int port() {
+        return http.getAddress().getPort();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + port();
+    }
+
+    /** Requests answered so far, all routes. */
+    public long requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        http.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---- model ----
+
+    private enum Kind { STRING, BOOLEAN }
+
+    /** A relation field, e.g. a project's {@code tasks}: its target type and the mirrored field on the target, if any. */
+    private static final class Relation {
+        final String name;
+        final Type target;
+        final String mirror;
+
+        Relation(String name, Type target, String mirror) {
+            this.name = name;
+            this.target = target;
+            this.mirror = mirror;
+        }
+    }
+
+    private enum Type {
+        TODO("todos", "todo", true,
+            new String[] {"title", "doneStatus", "description"},
+            new String[] {"doneStatus", "description", "tasksof", "id", "categories", "title"}),
+        PROJECT("projects", "project", false,
+            new String[] {"title", "completed", "active", "description"},
+            new String[] {"active", "description", "id", "completed", "categories", "title", "tasks"}),
+        CATEGORY("categories", "category", true,
+            new String[] {"title", "description"},
+            new String[] {"projects", "description", "id", "todos", "title"});
+
+        final String plural;
+        final String singular;
+        final boolean titleRequired;
+        final List<String> fields;
+        final List<String> xmlOrder;
+        /** In JSON order, which is also alphabetical. */
+        final Map<String, Relation> relations = new TreeMap<>();
+
+        Type(String plural, String singular, boolean titleRequired, String[] fields, String[] xmlOrder) {
+            this.plural = plural;
+            this.singular = singular;
+            this.titleRequired = titleRequired;
+            this.fields = Arrays.asList(fields);
+            this.xmlOrder = Arrays.asList(xmlOrder);
+        }
+
+        Kind kind(String field) {
+            return field.equals("doneStatus") || field.equals("completed") || field.equals("active")
+                ? Kind.BOOLEAN : Kind.STRING;
+        }
+
+        String defaultValue(String field) {
+            return kind(field) == Kind.BOOLEAN ? "false" : "";
+        }
+
+        static Type byPlural(String plural) {
+            for (Type t : values()) {
+                if (t.plural.equals(plural)) return t;
+            }
+            return null;
+        }
+
+        static {
+            TODO.relations.put("tasksof", new Relation("tasksof", PROJECT, "tasks"));
+            TODO.relations.put("categories", new Relation("categories", CATEGORY, null));
+            PROJECT.relations.put("tasks", new Relation("tasks", TODO, "tasksof"));
+            PROJECT.relations.put("categories", new Relation("categories", CATEGORY, null));
+            CATEGORY.relations.put("todos", new Relation("todos", TODO, null));
+            CATEGORY.relations.put("projects", new Relation("projects", PROJECT, null));
+        }
+    }
+
+    private static final class Item {
+        final Type type;
+        final int id;
+        final Map<String, String> values = new LinkedHashMap<>();
+        final Map<String, List<Item>> links = new TreeMap<>();
+
+        Item(Type type, int id) {
+            this.type = type;
+            this.id = id;
+            reset();
+        }
+
+        void reset() {
+            for (String f : type.fields) values.put(f, type.defaultValue(f));
+        }
+
+        List<Item> linked(String relation) {
+            return links.computeIfAbsent(relation, r -> new ArrayList<>());
+        }
+    }
+
+    /** An error answered as {@code errorMessages}. */
+    private static final class ApiError extends RuntimeException {
+        final int status;
+
+        ApiError(int status, String message) {
+            super(message, null, false, false);
+            this.status = status;
+        }
+    }
+
+    private void seed() {
+        Item office = insert(Type.CATEGORY, Map.of("title", "Office"));
+        insert(Type.CATEGORY, Map.of("title", "Home"));
+        Item work = insert(Type.PROJECT, Map.of("title", "Office Work"));
+        Item scan = insert(Type.TODO, Map.of("title", "scan paperwork"));
+        Item file = insert(Type.TODO, Map.of("title", "file paperwork"));
+        link(scan, "categories", office);
+        link(work, "tasks", scan);
+        link(work, "tasks", file);
+    }
+
+    private Item insert(Type type, Map<String, String> values) {
+        Item item = new Item(type, nextId.get(type).getAndIncrement());
+        item.values.putAll(values);
+        items.get(type).put(item.id, item);
+        return item;
+    }
+
+    private Item find(Type type, String id) {
+        try {
+            return items.get(type).get(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void link(Item owner, String relation, Item target) {
+        add(owner.linked(relation), target);
+        String mirror = owner.type.relations.get(relation).mirror;
+        if (mirror != null) add(target.linked(mirror), owner);
+    }
+
+    private static void add(List<Item> list, Item item) {
+        if (!list.contains(item)) list.add(0, item);
+    }
+
+    private void unlink(Item owner, String relation, Item target) {
+        owner.linked(relation).remove(target);
+        String mirror = owner.type.relations.get(relation).mirror;
+        if (mirror != null) target.linked(mirror).remove(owner);
+    }
+
+    private void delete(Item item) {
+        items.get(item.type).remove(item.id);
+        for (TreeMap<Integer, Item> all : items.values()) {
+            for (Item other : all.values()) {
+                for (List<Item> list : other.links.values()) list.remove(item);
+            }
+        }
+    }
+
+    /** The relation over every owner, duplicates included, as the jar answers for an absent or unknown owner. */
+    private List<Item> union(Type owner, String relation) {
+        List<Item> all = new ArrayList<>();
+        for (Item o : items.get(owner).values()) all.addAll(o.linked(relation));
+        return all;
+    }
+
+    // ---- HTTP ----
+
+    private static final class Response {
+        final int status;
+        final String contentType;
+        final String body;
+        String location;
+
+        Response(int status, String contentType, String body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Response empty(int status, String contentType) {
+            return new Response(status, contentType, "");
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        // read to EOF before answering: the JDK server closes a connection whose request body was left unread
+        String text = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Response response;
+        try {
+            response = route(exchange, text);
+        } catch (RuntimeException e) {
+            response = new Response(500, JSON, errors(false, String.valueOf(e)));
+        }
+        byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", response.contentType);
+        if (response.location != null) exchange.getResponseHeaders().set("Location", response.location);
+        boolean head = exchange.getRequestMethod().equals("HEAD");
+        exchange.sendResponseHeaders(response.status, head || body.length == 0 ? -1 : body.length);
+        if (!head && body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    private Response route(HttpExchange exchange, String text) {
+        String method = exchange.getRequestMethod();
+        List<String> path = new ArrayList<>();
+        for (String s : exchange.getRequestURI().getPath().split("/")) {
+            if (!s.isEmpty()) path.add(s);
+        }
+        if (path.size() == 1 && path.get(0).equals("docs")) {
+            return new Response(200, HTML, "<html><body><h1>Todo Manager stand-in</h1></body></html>");
+        }
+        Type type = path.isEmpty() ? null : Type.byPlural(path.get(0));
+        if (type == null || path.size() > 4) return Response.empty(404, HTML);
+        if (method.equals("OPTIONS")) return Response.empty(200, HTML);
+
+        Boolean xml = acceptsXml(exchange.getRequestHeaders().getFirst("Accept"));
+        if (xml == null) return new Response(406, JSON, errors(false, "Unrecognised Accept Type"));
+        String query = exchange.getRequestURI().getRawQuery();
+        try {
+            synchronized (this) {
+                return dispatch(method, type, path, query, xml, exchange, text);
+            }
+        } catch (ApiError e) {
+            return new Response(e.status, xml ? XML : JSON, errors(xml, e.getMessage()));
+        }
+    }
+
+    private Response dispatch(String method, Type type, List<String> path, String query, boolean xml,
+                              HttpExchange exchange, String text) {
+        boolean read = method.equals("GET") || method.equals("HEAD");
+        if (path.size() == 1) {
+            if (read) return list(type.plural, filter(items.get(type).values(), query), xml);
+            if (method.equals("POST")) return created(create(type, body(exchange, text)), xml);
+            return Response.empty(405, HTML);
+        }
+
+        String second = path.get(1);
+        Relation relation = type.relations.get(second);
+        if (path.size() == 2 && relation != null) {
+            // /todos/categories: no owner id, the relation over all owners
+            if (read) return list(relation.target.plural, filter(union(type, second), query), xml);
+            if (method.equals("DELETE")) {
+                for (Item target : new LinkedHashSet<>(union(type, second))) delete(target);
+                return Response.empty(200, xml ? XML : JSON);
+            }
+            if (method.equals("POST")) {
+                throw new ApiError(404, "Could not find parent thing for relationship " + type.plural + "/" + second);
+            }
+            return Response.empty(405, HTML);
+        }
+
+        if (path.size() == 2) {
+            Item item = find(type, second);
+            if (read) {
+                if (item == null) throw new ApiError(404, "Could not find an instance with " + type.plural + "/" + second);
+                return list(type.plural, List.of(item), xml);
+            }
+            switch (method) {
+                case "PUT":
+                    if (item == null) throw new ApiError(404, "Invalid GUID for " + second + " entity " + type.singular);
+                    return ok(replace(item, body(exchange, text)), xml);
+                case "POST":
+                    if (item == null) {
+                        throw new ApiError(404, "No such " + type.singular + " entity instance with GUID or ID " + second + " found");
+                    }
+                    return ok(amend(item, body(exchange, text)), xml);
+                case "DELETE":
+                    if (item == null) throw new ApiError(404, "Could not find any instances with " + type.plural + "/" + second);
+                    delete(item);
+                    return Response.empty(200, xml ? XML : JSON);
+                default:
+                    return Response.empty(405, HTML);
+            }
+        }
+
+        relation = type.relations.get(path.get(2));
+        if (relation == null) return Response.empty(404, HTML);
+        String name = type.plural + "/" + second + "/" + path.get(2);
+        Item owner = find(type, second);
+        if (path.size() == 4) {
+            if (!method.equals("DELETE")) return Response.empty(405, HTML);
+            Item target = find(relation.target, path.get(3));
+            if (owner == null || target == null || !owner.linked(relation.name).contains(target)) {
+                throw new ApiError(404, "Could not find any instances with " + name + "/" + path.get(3));
+            }
+            unlink(owner, relation.name, target);
+            return Response.empty(200, xml ? XML : JSON);
+        }
+        if (read) {
+            List<Item> targets = owner == null ? union(type, relation.name) : owner.linked(relation.name);
+            return list(relation.target.plural, filter(targets, query), xml);
+        }
+        if (!method.equals("POST")) return Response.empty(405, HTML);
+        if (owner == null) throw new ApiError(404, "Could not find parent thing for relationship " + name);
+        JsonObject body = body(exchange, text);
+        if (body.has("id")) {
+            Item target = find(relation.target, text(body.get("id")));
+            if (target == null) throw new ApiError(404, "Could not find thing matching value for id");
+            link(owner, relation.name, target);
+            return Response.empty(201, xml ? XML : JSON);
+        }
+        Item target = create(relation.target, body);
+        link(owner, relation.name, target);
+        return created(target, xml);
+    }
+
+    private Response list(String plural, List<Item> list, boolean xml) {
+        if (!xml) {
+            JsonArray array = new JsonArray();
+            for (Item i : list) array.add(json(i));
+            JsonObject envelope = new JsonObject();
+            envelope.add(plural, array);
+            return new Response(200, JSON, GSON.toJson(envelope));
+        }
+        StringBuilder sb = new StringBuilder("<").append(plural).append('>');
+        for (Item i : list) xml(sb, i);
+        return new Response(200, XML, sb.append("</").append(plural).append('>').toString());
+    }
+
+    private Response ok(Item item, boolean xml) {
+        return new Response(200, xml ? XML : JSON, render(item, xml));
+    }
+
+    private Response created(Item item, boolean xml) {
+        Response r = new Response(201, xml ? XML : JSON, render(item, xml));
+        r.location = item.type.plural + "/" + item.id;
+        return r;
+    }
+
+    private static String render(Item item, boolean xml) {
+        if (!xml) return GSON.toJson(json(item));
+        StringBuilder sb = new StringBuilder();
+        xml(sb, item);
+        return sb.toString();
+    }
+
+    private static JsonObject json(Item item) {
+        JsonObject o = new JsonObject();
+        o.addProperty("id", String.valueOf(item.id));
+        item.values.forEach(o::addProperty);
+        for (Map.Entry<String, List<Item>> e : item.links.entrySet()) {
+            if (e.getValue().isEmpty()) continue;
+            JsonArray refs = new JsonArray();
+            for (Item target : e.getValue()) {
+                JsonObject ref = new JsonObject();
+                ref.addProperty("id", String.valueOf(target.id));
+                refs.add(ref);
+            }
+            o.add(e.getKey(), refs);
+        }
+        return o;
+    }
+
+    private static void xml(StringBuilder sb, Item item) {
+        sb.append('<').append(item.type.singular).append('>');
+        for (String field : item.type.xmlOrder) {
+            if (field.equals("id")) {
+                sb.append("<id>").append(item.id).append("</id>");
+            } else if (item.type.relations.containsKey(field)) {
+                for (Item target : item.links.getOrDefault(field, List.of())) {
+                    sb.append('<').append(field).append("><id>").append(target.id).append("</id></").append(field).append('>');
+                }
+            } else {
+                String value = item.values.get(field);
+                if (value.isEmpty()) sb.append('<').append(field).append("/>");
+                else sb.append('<').append(field).append('>').append(escape(value)).append("</").append(field).append('>');
+            }
+        }
+        sb.append("</").append(item.type.singular).append('>');
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static String errors(boolean xml, String message) {
+        if (xml) return "<errorMessages><errorMessage>" + escape(message) + "</errorMessage></errorMessages>";
+        JsonArray messages = new JsonArray();
+        messages.add(message);
+        JsonObject o = new JsonObject();
+        o.add("errorMessages", messages);
+        return GSON.toJson(o);
+    }
+
+    /** XML only when asked for and before JSON; JSON for none, {@code *}{@code /*} or JSON; null when neither is acceptable. */
+    private static Boolean acceptsXml(String accept) {
+        if (accept == null || accept.isBlank()) return false;
+        for (String part : accept.split(",")) {
+            String type = part.split(";")[0].trim();
+            if (type.equals(JSON) || type.equals("*/*") || type.equals("application/*")) return false;
+            if (type.equals(XML) || type.equals("text/xml")) return true;
+        }
+        return null;
+    }
+
+    private static List<Item> filter(Iterable<Item> list, String rawQuery) {
+        Map<String, String> filter = new LinkedHashMap<>();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq <= 0) continue;
+                filter.putIfAbsent(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            }
+        }
+        List<Item> result = new ArrayList<>();
+        outer:
+        for (Item item : list) {
+            for (Map.Entry<String, String> f : filter.entrySet()) {
+                String value = f.getKey().equals("id") ? String.valueOf(item.id) : item.values.get(f.getKey());
+                // parameters that are not fields of the type are ignored, as by the jar
+                if (value == null && !item.type.fields.contains(f.getKey()) && !f.getKey().equals("id")) continue;
+                if (!f.getValue().equals(value)) continue outer;
+            }
+            result.add(item);
+        }
+        return result;
+    }
+
+    private static String decode(String s) {
+        return URLDecoder.decode(s, StandardCharsets.UTF_8);
+    }
+
+    // ---- request bodies ----
+
+    private enum Mode { CREATE, REPLACE, AMEND }
+
+    private Item create(Type type, JsonObject body) {
+        Map<String, List<Item>> links = validate(type, body, Mode.CREATE);
+        Item item = new Item(type, nextId.get(type).getAndIncrement());
+        apply(item, body);
+        items.get(type).put(item.id, item);
+        links.forEach((relation, targets) -> targets.forEach(t -> link(item, relation, t)));
+        return item;
+    }
+
+    private Item replace(Item item, JsonObject body) {
+        Map<String, List<Item>> links = validate(item.type, body, Mode.REPLACE);
+        item.reset();
+        for (Map.Entry<String, List<Item>> e : item.links.entrySet()) {
+            for (Item target : new ArrayList<>(e.getValue())) unlink(item, e.getKey(), target);
+        }
+        apply(item, body);
+        links.forEach((relation, targets) -> targets.forEach(t -> link(item, relation, t)));
+        return item;
+    }
+
+    private Item amend(Item item, JsonObject body) {
+        Map<String, List<Item>> links = validate(item.type, body, Mode.AMEND);
+        apply(item, body);
+        links.forEach((relation, targets) -> targets.forEach(t -> link(item, relation, t)));
+        return item;
+    }
+
+    private static void apply(Item item, JsonObject body) {
+        for (String field : item.type.fields) {
+            if (body.has(field)) item.values.put(field, text(body.get(field)));
+        }
+    }
+
+    /** Checks a body against the type's fields, returning the relation targets it names. */
+    private Map<String, List<Item>> validate(Type type, JsonObject body, Mode mode) {
+        Map<String, List<Item>> links = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> e : body.entrySet()) {
+            String field = e.getKey();
+            JsonElement value = e.getValue();
+            if (field.equals("id")) {
+                throw new ApiError(400, mode == Mode.CREATE
+                    ? "Invalid Creation: Failed Validation: Not allowed to create with id"
+                    : "Failed Validation: id should be ID");
+            }
+            Relation relation = type.relations.get(field);
+            if (relation != null) {
+                links.put(field, targets(relation, value));
+            } else if (!type.fields.contains(field)) {
+                throw new ApiError(400, "Could not find field: " + field);
+            } else if (type.kind(field) == Kind.BOOLEAN) {
+                if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isBoolean()) {
+                    throw new ApiError(400, "Failed Validation: " + field + " should be BOOLEAN");
+                }
+            } else if (!value.isJsonNull() && !value.isJsonPrimitive()) {
+                throw new ApiError(400, "Failed Validation: " + field + " should be STRING");
+            }
+        }
+        if (type.titleRequired) {
+            if (!body.has("title")) {
+                if (mode != Mode.AMEND) throw new ApiError(400, "title : field is mandatory");
+            } else if (text(body.get("title")).isEmpty()) {
+                throw new ApiError(400, "Failed Validation: title : can not be empty");
+            }
+        }
+        return links;
+    }
+
+    private List<Item> targets(Relation relation, JsonElement value) {
+        List<JsonElement> refs = new ArrayList<>();
+        if (value.isJsonArray()) value.getAsJsonArray().forEach(refs::add);
+        else refs.add(value);
+        List<Item> targets = new ArrayList<>();
+        for (JsonElement ref : refs) {
+            JsonElement id = ref.isJsonObject() ? ref.getAsJsonObject().get("id") : ref;
+            Item target = id == null ? null : find(relation.target, text(id));
+            if (target == null) throw new ApiError(404, "Could not find thing matching value for id");
+            targets.add(target);
+        }
+        return targets;
+    }
+
+    /** A JSON value as the jar stores it: numbers went through a double, so 5 is "5.0". */
+    private static String text(JsonElement value) {
+        if (value == null || value.isJsonNull()) return "";
+        if (!value.isJsonPrimitive()) return value.toString();
+        JsonPrimitive p = value.getAsJsonPrimitive();
+        return p.isNumber() ? String.valueOf(p.getAsDouble()) : p.getAsString();
+    }
+
+    private static JsonObject body(HttpExchange exchange, String text) {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null && contentType.startsWith("application/x-www-form-urlencoded")) {
+            throw new ApiError(415, "Unsupported Content Type - " + contentType);
+        }
+        if (contentType != null && contentType.contains("xml")) return xmlBody(text);
+        if (text.isBlank()) return new JsonObject();
+        try {
+            JsonElement parsed = JsonParser.parseString(text);
+            if (!parsed.isJsonObject()) {
+                throw new ApiError(400, "java.lang.IllegalStateException: Expected BEGIN_OBJECT but was "
+                    + (parsed.isJsonArray() ? "BEGIN_ARRAY" : "STRING") + " at line 1 column 1 path $");
+            }
+            return parsed.getAsJsonObject();
+        } catch (JsonParseException e) {
+            throw new ApiError(400, "java.lang.IllegalStateException: " + e.getMessage());
+        }
+    }
+
+    /**
+     * {@code <todo><title>t</title><tasksof><id>1</id></tasksof></todo>} as the equivalent JSON
+     * object. As in the jar's XML-to-JSON conversion "true" and "false" become booleans.
+     */
+    private static JsonObject xmlBody(String text) {
+        Element root;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            builder.setErrorHandler(QUIET_XML_ERRORS);
+            root = builder.parse(new InputSource(new StringReader(text))).getDocumentElement();
+        } catch (SAXException e) {
+            throw new ApiError(400, e.getMessage());
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        JsonObject body = new JsonObject();
+        NodeList children = root.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child.getNodeType() != Node.ELEMENT_NODE) continue;
+            Element field = (Element) child;
+            NodeList ids = field.getElementsByTagName("id");
+            if (ids.getLength() > 0 && !field.getTagName().equals("id")) {
+                JsonArray refs = body.has(field.getTagName()) ? body.getAsJsonArray(field.getTagName()) : new JsonArray();
+                JsonObject ref = new JsonObject();
+                ref.addProperty("id", ids.item(0).getTextContent().trim());
+                refs.add(ref);
+                body.add(field.getTagName(), refs);
+                continue;
+            }
+            String value = field.getTextContent();
+            if (value.equals("true") || value.equals("false")) body.addProperty(field.getTagName(), Boolean.parseBoolean(value));
+            else body.addProperty(field.getTagName(), value);
+        }
+        return body;
+    }
+}